@@ -43,6 +43,7 @@ public class ProgressMonitor<T extends Chromosome<T>> implements SearchListener<
     private StoppingCondition<T> stoppingCondition;
     private long max;
     private int currentCoverage;
+    private double currentExactCoverage;
 
     protected int lastCoverage;
     protected int lastProgress;
@@ -53,6 +54,7 @@ public class ProgressMonitor<T extends Chromosome<T>> implements SearchListener<
         stoppingCondition = null;
         max = 1;
         currentCoverage = 0;
+        currentExactCoverage = 0;
         lastCoverage = 0;
         lastProgress = 0;
         iteration = 0;
@@ -63,6 +65,7 @@ public class ProgressMonitor<T extends Chromosome<T>> implements SearchListener<
         this.stoppingCondition = that.stoppingCondition.clone();
         this.max = that.max;
         this.currentCoverage = that.currentCoverage;
+        this.currentExactCoverage = that.currentExactCoverage;
         this.lastCoverage = that.lastCoverage;
         this.lastProgress = that.lastProgress;
         this.iteration = that.iteration;
@@ -79,7 +82,7 @@ public class ProgressMonitor<T extends Chromosome<T>> implements SearchListener<
     public void updateStatus(int percent) {
         ClientState state = ClientState.SEARCH;
         ClientStateInformation information = new ClientStateInformation(state);
-        information.setCoverage(currentCoverage);
+        information.setExactCoverage(currentExactCoverage);
         information.setProgress(percent);
         information.setIteration(iteration);
         //LoggingUtils.getEvoLogger().info("Setting to: "+state.getNumPhase()+": "+information.getCoverage()+"/"+information.getProgress());
@@ -93,6 +96,17 @@ public class ProgressMonitor<T extends Chromosome<T>> implements SearchListener<
         //out.writeObject(currentTask);
     }
 
+    /**
+     * Updates are only sent when the coverage gains whole percentage points,
+     * but they carry the exact value
+     *
+     * @param coverage ratio of covered goals, 0-1
+     */
+    private void setCurrentCoverage(double coverage) {
+        currentExactCoverage = coverage * 100;
+        currentCoverage = (int) Math.floor(currentExactCoverage);
+    }
+
     /* (non-Javadoc)
      * @see org.evosuite.ga.SearchListener#searchStarted(org.evosuite.ga.GeneticAlgorithm)
      */
@@ -121,7 +135,7 @@ public class ProgressMonitor<T extends Chromosome<T>> implements SearchListener<
     @Override
     public void iteration(GeneticAlgorithm<T> algorithm) {
         long current = stoppingCondition.getCurrentValue();
-        currentCoverage = (int) Math.floor(algorithm.getBestIndividual().getCoverage() * 100);
+        setCurrentCoverage(algorithm.getBestIndividual().getCoverage());
         updateStatus((int) (100 * current / max));
         iteration++;
     }
@@ -135,7 +149,7 @@ public class ProgressMonitor<T extends Chromosome<T>> implements SearchListener<
      */
     @Override
     public void searchFinished(GeneticAlgorithm<T> algorithm) {
-        currentCoverage = (int) Math.floor(algorithm.getBestIndividual().getCoverage() * 100);
+        setCurrentCoverage(algorithm.getBestIndividual().getCoverage());
         if (currentCoverage > lastCoverage) {
             updateStatus((int) (100 * stoppingCondition.getCurrentValue() / max));
         }
@@ -152,7 +166,7 @@ public class ProgressMonitor<T extends Chromosome<T>> implements SearchListener<
     @Override
     public void fitnessEvaluation(T individual) {
         int current = (int) ((int) (100 * stoppingCondition.getCurrentValue()) / max);
-        currentCoverage = (int) Math.floor(individual.getCoverage() * 100);
+        setCurrentCoverage(individual.getCoverage());
         if (currentCoverage > lastCoverage || current > lastProgress)
             updateStatus(current);
     }
@@ -307,6 +307,13 @@ public class Properties {
     @Parameter(key = "migrants_communication_rate", group = "Test Creation", description = "Determines amount of migrants per communication step")
     public static int MIGRANTS_COMMUNICATION_RATE = 3;
 
+    @Parameter(key = "migration_channel", group = "Test Creation", description = "Send migrants directly to the neighbour client through a memory mapped file, instead of through the master process. RMI is still used when the neighbour is not searching or its channel is full")
+    public static boolean MIGRATION_CHANNEL = false;
+
+    @Parameter(key = "migration_channel_size", group = "Test Creation", description = "Size in KB of the memory mapped file in which each client receives migrants")
+    @IntValue(min = 1)
+    public static int MIGRATION_CHANNEL_SIZE = 4096;
+
     // ---------------------------------------------------------------
     // Search algorithm
     public enum Algorithm {
@@ -447,6 +454,9 @@ public class Properties {
     @Parameter(key = "dse_constraint_length", group = "DSE", description = "Maximal length of the constraints in DSE")
     public static int DSE_CONSTRAINT_LENGTH = 100000;
 
+    @Parameter(key = "dse_streaming_path_condition", group = "DSE", description = "Keep collected path conditions in an append-only log shared by all the negated prefixes explored from them, instead of copying each prefix")
+    public static boolean DSE_STREAMING_PATH_CONDITION = false;
+
     @Parameter(key = "dse_constant_probability", group = "DSE", description = "Probability with which to use constants from the constraints when resetting variables during search")
     @DoubleValue(min = 0.0, max = 1.0)
     public static double DSE_CONSTANT_PROBABILITY = 0.5;
@@ -454,6 +464,10 @@ public class Properties {
     @Parameter(key = "dse_variable_resets", group = "DSE", description = "Times DSE resets the int and real variables with random values")
     public static int DSE_VARIABLE_RESETS = 2;
 
+    @Parameter(key = "dse_avm_portfolio_size", group = "DSE", description = "Number of AVM searches run in parallel by the EvoSuite solver, each one with its own seed, variable order and step sizes. A value of 1 runs a single sequential search. With more than one, the first solution found is used, so results are not reproducible for a given seed")
+    @IntValue(min = 1)
+    public static int DSE_AVM_PORTFOLIO_SIZE = 1;
+
     // By default the target is 100
     @Parameter(key = "dse_target_coverage", group = "DSE", description = "Percentage (out of 100) of target coverage to cover")
     public static int DSE_TARGET_COVERAGE = 100;
@@ -496,6 +510,9 @@ public class Properties {
     @Parameter(key = "dse_solver", group = "DSE", description = "Specify which constraint solver to use. Note: external solver will need to be installed and cofigured separately")
     public static SolverType DSE_SOLVER = SolverType.EVOSUITE_SOLVER;
 
+    @Parameter(key = "dse_incremental_solving", group = "DSE", description = "Keep the constraint solver alive between queries and reuse shared path condition prefixes through push/pop (only supported by the Z3 solver)")
+    public static boolean DSE_INCREMENTAL_SOLVING = false;
+
     @Parameter(key = "z3_path", group = "DSE", description = "Indicates the path to the Z3 solver")
     public static String Z3_PATH = null;
 
@@ -926,6 +943,21 @@ public class Properties {
     @Parameter(key = "ctg_history_file", group = "Continuous Test Generation", description = "File with the list of new(A)/modified(M)/deleted(D) files")
     public static String CTG_HISTORY_FILE = null;
 
+    @Parameter(key = "ctg_change_index", group = "Continuous Test Generation", description = "Detect the modified classes by comparing the structure of their bytecode, and of the bytecode of the CUTs they depend on, with the one of the previous CTG run. Only used by the HISTORY schedule, and replaces ctg_history_file")
+    public static boolean CTG_CHANGE_INDEX = false;
+
+    @Parameter(key = "ctg_adaptive_budget", group = "Continuous Test Generation", description = "Stop a job once the coverage of its search has plateaued, and give the time it did not use to the jobs still to execute")
+    public static boolean CTG_ADAPTIVE_BUDGET = false;
+
+    @Parameter(key = "ctg_plateau_threshold", group = "Continuous Test Generation", description = "Coverage increase, in percentage points per minute, below which the coverage of a job is considered to have plateaued. Only used with ctg_adaptive_budget")
+    public static double CTG_PLATEAU_THRESHOLD = 0.5;
+
+    @Parameter(key = "ctg_plateau_window", group = "Continuous Test Generation", description = "Seconds of search over which the coverage increase of a job is measured. Only used with ctg_adaptive_budget")
+    public static int CTG_PLATEAU_WINDOW = 120;
+
+    @Parameter(key = "ctg_progress_file", group = "Continuous Test Generation", description = "File where the coverage of the search is reported during a CTG job, so that the job can be stopped early. Set by CTG")
+    public static String CTG_PROGRESS_FILE = null;
+
     @Parameter(key = "ctg_selected_cuts", group = "Continuous Test Generation", description = "Comma ',' separated list of CUTs to use in CTG. If none specified, then test all classes")
     public static String CTG_SELECTED_CUTS = null;
 
@@ -1018,6 +1050,9 @@ public class Properties {
     @Parameter(key = "junit_check", group = "Output", description = "Compile and run resulting JUnit test suite (if any was created)")
     public static JUnitCheckValues JUNIT_CHECK = JUnitCheckValues.TRUE;
 
+    @Parameter(key = "junit_check_shared_sut_loader", group = "Output", description = "Load the SUT only once when checking the generated tests, and define just the compiled tests in a new class loader for each run. The static state of the SUT is reset between runs. Only used if reset_static_fields is enabled")
+    public static boolean JUNIT_CHECK_SHARED_SUT_LOADER = false;
+
     @Parameter(key = "junit_check_on_separate_process", group = "Output", description = "Compile and run resulting JUnit test suite on a separate process")
     @Deprecated
     //this gives quite a few issues. and hopefully the problems it was aimed to fix are no longer
@@ -1169,6 +1204,9 @@ public class Properties {
     @Parameter(key = "max_mutants_per_class", group = "Output", description = "How many mutants can be used as target for a single class")
     public static int MAX_MUTANTS_PER_CLASS = 1000;
 
+    @Parameter(key = "mutant_pruning", group = "Output", description = "Do not create mutants that are trivially equivalent to the original code or to another mutant")
+    public static boolean MUTANT_PRUNING = false;
+
     @Parameter(key = "max_replace_mutants", group = "Output", description = "How many replacement mutants can be inserted for any one variable")
     public static int MAX_REPLACE_MUTANTS = 100;
 
@@ -1212,12 +1250,15 @@ public class Properties {
     public static boolean SERIALIZE_DSE = false;
 
     public enum StatisticsBackend {
-        NONE, CONSOLE, CSV, HTML, DEBUG
+        NONE, CONSOLE, CSV, HTML, DEBUG, BINARY
     }
 
     @Parameter(key = "statistics_backend", group = "Output", description = "Which backend to use to collect data")
     public static StatisticsBackend STATISTICS_BACKEND = StatisticsBackend.CSV;
 
+    @Parameter(key = "telemetry", group = "Output", description = "Collect live metrics (test executions, archive, JVM, phase timings) in the client, and expose them through JMX")
+    public static boolean TELEMETRY = false;
+
     @Parameter(key = "timeline_interval", group = "Output", description = "Time interval in milliseconds for timeline statistics")
     public static long TIMELINE_INTERVAL = 60 * 1000;
 
@@ -1231,6 +1272,10 @@ public class Properties {
     @Parameter(key = "output_granularity", group = "Output", description = "Write all test cases for a class into a single file or to separate files.")
     public static OutputGranularity OUTPUT_GRANULARITY = OutputGranularity.MERGED;
 
+    @Parameter(key = "junit_writer_threads", group = "Output", description = "Number of threads used to generate the code of the test methods when writing a JUnit test suite. Each thread has its own code visitor, and the code is written in the same order as with 1 thread")
+    @IntValue(min = 1)
+    public static int JUNIT_WRITER_THREADS = 1;
+
     @Parameter(key = "max_coverage_depth", group = "Output", description = "Maximum depth in the calltree to count a branch as covered")
     public static int MAX_COVERAGE_DEPTH = -1;
 
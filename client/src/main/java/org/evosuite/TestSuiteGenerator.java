@@ -560,21 +560,8 @@ public class TestSuiteGenerator {
 
         // compile and run each test one at a time. and keep track of total time
         long start = java.lang.System.currentTimeMillis();
-        Iterator<TestCase> iter = testCases.iterator();
-        while (iter.hasNext()) {
-            if (!TimeController.getInstance().hasTimeToExecuteATestCase()) {
-                break;
-            }
-            TestCase tc = iter.next();
-            List<TestCase> list = new ArrayList<>();
-            list.add(tc);
-            numUnstable += JUnitAnalyzer.handleTestsThatAreUnstable(list);
-            if (list.isEmpty()) {
-                // if the test was unstable and deleted, need to remove it from
-                // final testSuite
-                iter.remove();
-            }
-        }
+        // if a test is unstable and deleted, it is removed from the final testSuite
+        numUnstable += JUnitAnalyzer.handleEachTestThatIsUnstable(testCases);
         /*
          * compiling and running each single test individually will take more
          * than compiling/running everything in on single suite. so it can be
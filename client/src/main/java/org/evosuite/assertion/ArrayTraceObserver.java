@@ -38,18 +38,16 @@ public class ArrayTraceObserver extends AssertionTraceObserver<ArrayTraceEntry>
      * {@inheritDoc}
      */
     @Override
-    public synchronized void afterStatement(Statement statement, Scope scope,
-                                            Throwable exception) {
-        // By default, no assertions are created for statements that threw exceptions
-        if (exception != null)
-            return;
-
-        // No assertions are created for mock statements
-        if (statement instanceof FunctionalMockStatement)
-            return;
-
-        visitReturnValue(statement, scope);
-        visitDependencies(statement, scope);
+    protected boolean observesReturnValue(Statement statement) {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean observesDependencies(Statement statement) {
+        return true;
     }
 
     private Object[] getArray(Object val) {
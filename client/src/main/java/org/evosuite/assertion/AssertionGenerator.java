@@ -74,21 +74,17 @@ public abstract class AssertionGenerator {
 
     protected static final ContainsTraceObserver containsTraceObserver = new ContainsTraceObserver();
 
+    protected static final CompositeTraceObserver traceObserver = new CompositeTraceObserver(primitiveObserver,
+            comparisonObserver, inspectorObserver, fieldObserver, nullObserver, sameObserver, arrayObserver,
+            arrayLengthObserver, containsTraceObserver);
+
     /**
      * <p>
      * Constructor for AssertionGenerator.
      * </p>
      */
     public AssertionGenerator() {
-        TestCaseExecutor.getInstance().addObserver(primitiveObserver);
-        TestCaseExecutor.getInstance().addObserver(comparisonObserver);
-        TestCaseExecutor.getInstance().addObserver(inspectorObserver);
-        TestCaseExecutor.getInstance().addObserver(fieldObserver);
-        TestCaseExecutor.getInstance().addObserver(nullObserver);
-        TestCaseExecutor.getInstance().addObserver(sameObserver);
-        TestCaseExecutor.getInstance().addObserver(arrayObserver);
-        TestCaseExecutor.getInstance().addObserver(arrayLengthObserver);
-        TestCaseExecutor.getInstance().addObserver(containsTraceObserver);
+        TestCaseExecutor.getInstance().addObserver(traceObserver);
     }
 
     /**
@@ -221,6 +217,8 @@ public abstract class AssertionGenerator {
             Properties.getInitializedTargetClass();
 
             ClientServices.getInstance().getClientNode().trackOutputVariable(RuntimeVariable.Mutants, MutationPool.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT()).getMutantCounter());
+            ClientServices.getInstance().getClientNode().trackOutputVariable(RuntimeVariable.Pruned_Equivalent_Mutants, MutationPool.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT()).getPrunedEquivalentCounter());
+            ClientServices.getInstance().getClientNode().trackOutputVariable(RuntimeVariable.Pruned_Duplicate_Mutants, MutationPool.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT()).getPrunedDuplicateCounter());
 
             for (TestChromosome test : suite.getTestChromosomes()) {
                 DefaultTestCase dtest = (DefaultTestCase) test.getTestCase();
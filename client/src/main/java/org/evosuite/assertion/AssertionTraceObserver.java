@@ -32,6 +32,8 @@ import org.evosuite.testcase.variable.VariableReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 /**
@@ -77,24 +79,68 @@ public abstract class AssertionTraceObserver<T extends OutputTraceEntry> extends
      * @param scope     a {@link org.evosuite.testcase.execution.Scope} object.
      */
     protected void visitDependencies(Statement statement, Scope scope) {
-        Set<VariableReference> dependencies = currentTest.getDependencies(statement.getReturnValue());
+        visitVariables(statement, scope, getObservedDependencies(statement));
+    }
 
-        for (VariableReference var : dependencies) {
+    /**
+     * Returns the variables the statement depends on for which values
+     * can be observed
+     *
+     * @param statement a {@link org.evosuite.testcase.statements.Statement} object.
+     * @return the observed dependencies of the statement
+     */
+    protected static Set<VariableReference> getObservedDependencies(Statement statement) {
+        Set<VariableReference> dependencies = new LinkedHashSet<>();
+        for (VariableReference var : currentTest.getDependencies(statement.getReturnValue())) {
             if (var.isVoid())
                 continue;
             // No assertions on mocked objects
             if (statement.getTestCase().getStatement(var.getStPosition()) instanceof FunctionalMockStatement)
                 continue;
-            if (!var.isVoid()) {
-                try {
-                    visit(statement, scope, var);
-                } catch (CodeUnderTestException e) {
-                    // ignore
-                }
+            dependencies.add(var);
+        }
+        return dependencies;
+    }
+
+    /**
+     * Visits each of the given variables after the statement
+     *
+     * @param statement a {@link org.evosuite.testcase.statements.Statement} object.
+     * @param scope     a {@link org.evosuite.testcase.execution.Scope} object.
+     * @param variables the variables to visit
+     */
+    protected void visitVariables(Statement statement, Scope scope, Collection<VariableReference> variables) {
+        for (VariableReference var : variables) {
+            try {
+                visit(statement, scope, var);
+            } catch (CodeUnderTestException e) {
+                // ignore
             }
         }
     }
 
+    /**
+     * Determines whether the return value of the statement is observed
+     *
+     * @param statement a {@link org.evosuite.testcase.statements.Statement} object.
+     * @return true if the return value is visited after the statement
+     */
+    protected boolean observesReturnValue(Statement statement) {
+        // Only need to check returnvalue here, nothing else can have changed
+        return statement instanceof FieldStatement;
+    }
+
+    /**
+     * Determines whether the dependencies of the statement are observed
+     *
+     * @param statement a {@link org.evosuite.testcase.statements.Statement} object.
+     * @return true if the dependencies are visited after the statement
+     */
+    protected boolean observesDependencies(Statement statement) {
+        // No assertions for primitives
+        return !(statement instanceof PrimitiveStatement<?>) && !(statement instanceof FieldStatement);
+    }
+
 
     /**
      * <p>
@@ -105,11 +151,7 @@ public abstract class AssertionTraceObserver<T extends OutputTraceEntry> extends
      * @param scope     a {@link org.evosuite.testcase.execution.Scope} object.
      */
     protected void visitReturnValue(Statement statement, Scope scope) {
-        if (statement.getReturnClass().equals(void.class))
-            return;
-
-        // No need to assert anything about values just assigned
-        if (statement.isAssignmentStatement())
+        if (!hasObservableReturnValue(statement))
             return;
 
         try {
@@ -120,6 +162,36 @@ public abstract class AssertionTraceObserver<T extends OutputTraceEntry> extends
 
     }
 
+    /**
+     * Determines whether the statement has a return value that can be visited
+     *
+     * @param statement a {@link org.evosuite.testcase.statements.Statement} object.
+     * @return false for void statements and assignments
+     */
+    protected static boolean hasObservableReturnValue(Statement statement) {
+        if (statement.getReturnClass().equals(void.class))
+            return false;
+
+        // No need to assert anything about values just assigned
+        return !statement.isAssignmentStatement();
+    }
+
+    /**
+     * Visits a variable on behalf of an observer that drives this one,
+     * such as a {@link CompositeTraceObserver}
+     *
+     * @param statement a {@link org.evosuite.testcase.statements.Statement} object.
+     * @param scope     a {@link org.evosuite.testcase.execution.Scope} object.
+     * @param var       a {@link org.evosuite.testcase.variable.VariableReference} object.
+     */
+    synchronized void visitObserved(Statement statement, Scope scope, VariableReference var) {
+        try {
+            visit(statement, scope, var);
+        } catch (CodeUnderTestException e) {
+            // ignore
+        }
+    }
+
     /**
      * <p>
      * visit
@@ -149,21 +221,14 @@ public abstract class AssertionTraceObserver<T extends OutputTraceEntry> extends
         if (statement instanceof FunctionalMockStatement)
             return;
 
-        // No assertions for primitives
-        if (statement instanceof PrimitiveStatement<?>)
-            return;
-
-
         // By default, no assertions are created for statements that threw exceptions
         if (exception != null)
             return;
 
-        if (statement instanceof FieldStatement) {
-            // Only need to check returnvalue here, nothing else can have changed
+        if (observesReturnValue(statement))
             visitReturnValue(statement, scope);
-        } else {
+        if (observesDependencies(statement))
             visitDependencies(statement, scope);
-        }
     }
 
     /* (non-Javadoc)
@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.assertion;
+
+import org.evosuite.testcase.execution.ExecutionObserver;
+import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testcase.execution.Scope;
+import org.evosuite.testcase.statements.FunctionalMockStatement;
+import org.evosuite.testcase.statements.Statement;
+import org.evosuite.testcase.variable.VariableReference;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Execution observer that drives a group of assertion trace observers in a
+ * single pass: the checks shared by all observers are done once per
+ * statement, the dependencies of a statement are only computed once and
+ * only if one of the observers needs them, and each observed variable is
+ * handed to all the observers in turn.
+ * <p>
+ * The traces are still collected by the individual observers.
+ */
+public class CompositeTraceObserver extends ExecutionObserver {
+
+    private final List<AssertionTraceObserver<?>> observers;
+
+    /**
+     * @param observers the observers to drive, in the order they are informed
+     */
+    public CompositeTraceObserver(AssertionTraceObserver<?>... observers) {
+        this.observers = Collections.unmodifiableList(Arrays.asList(observers));
+    }
+
+    /**
+     * @return the observers driven by this observer
+     */
+    public List<AssertionTraceObserver<?>> getObservers() {
+        return observers;
+    }
+
+    @Override
+    public void output(int position, String output) {
+        for (AssertionTraceObserver<?> observer : observers)
+            observer.output(position, output);
+    }
+
+    @Override
+    public void beforeStatement(Statement statement, Scope scope) {
+        for (AssertionTraceObserver<?> observer : observers)
+            observer.beforeStatement(statement, scope);
+    }
+
+    @Override
+    public void afterStatement(Statement statement, Scope scope, Throwable exception) {
+        // No assertions are created for mock statements
+        if (statement instanceof FunctionalMockStatement)
+            return;
+
+        // No assertions are created for statements that threw exceptions
+        if (exception != null)
+            return;
+
+        List<AssertionTraceObserver<?>> returnValueObservers = new ArrayList<>(observers.size());
+        List<AssertionTraceObserver<?>> dependencyObservers = new ArrayList<>(observers.size());
+        for (AssertionTraceObserver<?> observer : observers) {
+            if (observer.observesReturnValue(statement))
+                returnValueObservers.add(observer);
+            if (observer.observesDependencies(statement))
+                dependencyObservers.add(observer);
+        }
+
+        // Each variable is visited once, by all the observers interested in it
+        if (!returnValueObservers.isEmpty() && AssertionTraceObserver.hasObservableReturnValue(statement))
+            visit(statement, scope, statement.getReturnValue(), returnValueObservers);
+
+        if (!dependencyObservers.isEmpty()) {
+            for (VariableReference var : AssertionTraceObserver.getObservedDependencies(statement))
+                visit(statement, scope, var, dependencyObservers);
+        }
+    }
+
+    private static void visit(Statement statement, Scope scope, VariableReference var,
+                              List<AssertionTraceObserver<?>> observers) {
+        for (AssertionTraceObserver<?> observer : observers)
+            observer.visitObserved(statement, scope, var);
+    }
+
+    @Override
+    public void testExecutionFinished(ExecutionResult r, Scope s) {
+        for (AssertionTraceObserver<?> observer : observers)
+            observer.testExecutionFinished(r, s);
+    }
+
+    @Override
+    public void clear() {
+        for (AssertionTraceObserver<?> observer : observers)
+            observer.clear();
+    }
+}
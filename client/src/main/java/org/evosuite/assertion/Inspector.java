@@ -22,6 +22,7 @@ package org.evosuite.assertion;
 import org.evosuite.TestGenerationContext;
 import org.evosuite.runtime.sandbox.Sandbox;
 import org.evosuite.setup.TestClusterUtils;
+import org.evosuite.testcase.statements.InvocationCache;
 import org.evosuite.utils.LoggingUtils;
 import org.objectweb.asm.Type;
 
@@ -80,7 +81,7 @@ public class Inspector implements Serializable {
         Object ret = null;
 
         try {
-            ret = this.method.invoke(object);
+            ret = InvocationCache.invoke(method, object);
         } finally {
             if (needsSandbox) {
                 if (!safe)
@@ -69,6 +69,9 @@ public abstract class MutationAssertionGenerator extends AssertionGenerator {
     protected final static ArrayTraceObserver arrayObserver = new ArrayTraceObserver();
     protected final static ArrayLengthObserver arrayLengthObserver = new ArrayLengthObserver();
     protected final static ContainsTraceObserver containsTraceObserver = new ContainsTraceObserver();
+    protected final static CompositeTraceObserver traceObserver = new CompositeTraceObserver(primitiveObserver,
+            comparisonObserver, sameObserver, inspectorObserver, fieldObserver, nullObserver, arrayObserver,
+            arrayLengthObserver, containsTraceObserver);
 
     protected final static Map<Mutation, Integer> timedOutMutations = new HashMap<>();
 
@@ -89,15 +92,7 @@ public abstract class MutationAssertionGenerator extends AssertionGenerator {
             mutants.put(m.getId(), m);
         }
         TestCaseExecutor.getInstance().newObservers();
-        TestCaseExecutor.getInstance().addObserver(primitiveObserver);
-        TestCaseExecutor.getInstance().addObserver(comparisonObserver);
-        TestCaseExecutor.getInstance().addObserver(sameObserver);
-        TestCaseExecutor.getInstance().addObserver(inspectorObserver);
-        TestCaseExecutor.getInstance().addObserver(fieldObserver);
-        TestCaseExecutor.getInstance().addObserver(nullObserver);
-        TestCaseExecutor.getInstance().addObserver(arrayObserver);
-        TestCaseExecutor.getInstance().addObserver(arrayLengthObserver);
-        TestCaseExecutor.getInstance().addObserver(containsTraceObserver);
+        TestCaseExecutor.getInstance().addObserver(traceObserver);
     }
 
     /**
@@ -119,15 +114,7 @@ public abstract class MutationAssertionGenerator extends AssertionGenerator {
     protected ExecutionResult runTest(TestCase test, Mutation mutant) {
         ExecutionResult result = new ExecutionResult(test, mutant);
         // resetObservers();
-        comparisonObserver.clear();
-        sameObserver.clear();
-        primitiveObserver.clear();
-        inspectorObserver.clear();
-        fieldObserver.clear();
-        nullObserver.clear();
-        arrayObserver.clear();
-        arrayLengthObserver.clear();
-        containsTraceObserver.clear();
+        traceObserver.clear();
         try {
             logger.debug("Executing test");
             if (mutant == null) {
@@ -158,6 +145,22 @@ public abstract class MutationAssertionGenerator extends AssertionGenerator {
         return result;
     }
 
+    /**
+     * A test can only reveal a mutant that infects the state. If the run on
+     * the original unit reached the mutant but its infection distance was
+     * never 0, the mutated code computed the same values as the original one
+     * at each execution, and so running the test on the mutant would just
+     * reproduce the traces of the original run.
+     *
+     * @param origResult result of the test on the original unit
+     * @param mutant
+     * @return true if running the test on the mutant would give the same traces
+     */
+    protected static boolean isNotInfected(ExecutionResult origResult, Mutation mutant) {
+        Double distance = origResult.getTrace().getMutationDistances().get(mutant.getId());
+        return distance != null && distance > 0.0;
+    }
+
     protected Criterion[] oldCriterion = Properties.CRITERION;
 
     /**
@@ -23,7 +23,6 @@ import org.evosuite.Properties;
 import org.evosuite.testcase.execution.CodeUnderTestException;
 import org.evosuite.testcase.execution.ExecutionResult;
 import org.evosuite.testcase.execution.Scope;
-import org.evosuite.testcase.statements.FunctionalMockStatement;
 import org.evosuite.testcase.statements.MethodStatement;
 import org.evosuite.testcase.statements.PrimitiveStatement;
 import org.evosuite.testcase.statements.Statement;
@@ -40,17 +39,16 @@ public class PrimitiveTraceObserver extends AssertionTraceObserver<PrimitiveTrac
      * {@inheritDoc}
      */
     @Override
-    public synchronized void afterStatement(Statement statement, Scope scope,
-                                            Throwable exception) {
-        // By default, no assertions are created for statements that threw exceptions
-        if (exception != null)
-            return;
-
-        // No assertions are created for mock statements
-        if (statement instanceof FunctionalMockStatement)
-            return;
+    protected boolean observesReturnValue(Statement statement) {
+        return true;
+    }
 
-        visitReturnValue(statement, scope);
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean observesDependencies(Statement statement) {
+        return false;
     }
 
     /* (non-Javadoc)
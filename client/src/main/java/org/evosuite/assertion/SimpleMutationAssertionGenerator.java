@@ -113,8 +113,8 @@ public class SimpleMutationAssertionGenerator extends MutationAssertionGenerator
      * @param killed  a {@link java.util.Set} object.
      * @param mutants a {@link java.util.Map} object.
      */
-    private void addAssertions(TestCase test, Set<Integer> killed,
-                               Map<Integer, Mutation> mutants) {
+    void addAssertions(TestCase test, Set<Integer> killed,
+                       Map<Integer, Mutation> mutants) {
 
         if (test.isEmpty())
             return;
@@ -148,6 +148,13 @@ public class SimpleMutationAssertionGenerator extends MutationAssertionGenerator
         int numExecutedMutants = 0;
         for (Mutation m : executedMutants) {
 
+            if (isNotInfected(origResult, m)) {
+                // the traces of the original run can be used, and they cannot kill the mutant.
+                // As the test is not run, the mutant does not count towards MAX_MUTANTS_PER_TEST
+                logger.debug("Not running test on mutation {}, as it is not infected", m.getMutationName());
+                continue;
+            }
+
             numExecutedMutants++;
             if (!TimeController.getInstance().isThereStillTimeInThisPhase()) {
                 logger.info("Reached maximum time to generate assertions!");
@@ -55,6 +55,12 @@ public class MutationPool {
 
     private int numMutations = 0;
 
+    // mutants that were not added because they are equivalent to the original code
+    private int numPrunedEquivalent = 0;
+
+    // mutants that were not added because an existing mutant has the same effect
+    private int numPrunedDuplicate = 0;
+
     public Mutation addMutation(String className, String methodName,
                                 String mutationName, BytecodeInstruction instruction,
                                 AbstractInsnNode mutation, InsnList distance) {
@@ -132,6 +138,8 @@ public class MutationPool {
         mutationMap.clear();
         mutationIdMap.clear();
         numMutations = 0;
+        numPrunedEquivalent = 0;
+        numPrunedDuplicate = 0;
     }
 
     /**
@@ -142,4 +150,38 @@ public class MutationPool {
     public int getMutantCounter() {
         return numMutations;
     }
+
+    /**
+     * Records a mutant that was not added because it is equivalent to the
+     * original code
+     */
+    public void addPrunedEquivalentMutant() {
+        numPrunedEquivalent++;
+    }
+
+    /**
+     * Records a mutant that was not added because it duplicates an existing
+     * mutant
+     */
+    public void addPrunedDuplicateMutant() {
+        numPrunedDuplicate++;
+    }
+
+    /**
+     * Returns the number of mutants pruned as equivalent
+     *
+     * @return The number of mutants pruned as equivalent
+     */
+    public int getPrunedEquivalentCounter() {
+        return numPrunedEquivalent;
+    }
+
+    /**
+     * Returns the number of mutants pruned as duplicates
+     *
+     * @return The number of mutants pruned as duplicates
+     */
+    public int getPrunedDuplicateCounter() {
+        return numPrunedDuplicate;
+    }
 }
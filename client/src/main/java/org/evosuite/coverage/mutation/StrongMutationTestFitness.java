@@ -62,6 +62,11 @@ public class StrongMutationTestFitness extends MutationTestFitness {
             new InspectorTraceObserver(), new PrimitiveFieldTraceObserver(),
             new NullTraceObserver(), new ArrayTraceObserver(), new ArrayLengthObserver()};
 
+    /**
+     * Observer that informs all the <code>observers</code> in a single pass
+     */
+    protected static CompositeTraceObserver traceObserver = new CompositeTraceObserver(observers);
+
     /**
      * <p>
      * Constructor for StrongMutationTestFitness.
@@ -71,10 +76,8 @@ public class StrongMutationTestFitness extends MutationTestFitness {
      */
     public StrongMutationTestFitness(Mutation mutation) {
         super(mutation);
-        for (AssertionTraceObserver<?> observer : observers) {
-            logger.debug("StrongMutation adding observer " + observer);
-            TestCaseExecutor.getInstance().addObserver(observer);
-        }
+        logger.debug("StrongMutation adding observer " + traceObserver);
+        TestCaseExecutor.getInstance().addObserver(traceObserver);
     }
 
     /**
@@ -0,0 +1,511 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.dse;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dispatch table of the {@link VM}. For each callback it holds the registered
+ * listeners whose class actually implements that callback. Listeners extending
+ * {@link AbstractVM} that just inherit its stub for a callback are left out,
+ * so the VM does not call them for every executed instruction.
+ * <p>
+ * Overloaded callbacks (e.g. CALLER_STACK_PARAM) share the same identifier, so
+ * a listener implementing one of the overloads is called for all of them.
+ */
+final class DispatchTable {
+
+    /*
+     * Callback identifiers, used to index the dispatch table
+     */
+    static final int NEW = 0;
+    static final int CALLER_STACK_PARAM = 1;
+    static final int SRC_LINE_NUMBER = 2;
+    static final int METHOD_BEGIN = 3;
+    static final int METHOD_MAXS = 4;
+    static final int METHOD_BEGIN_PARAM = 5;
+    static final int METHOD_BEGIN_RECEIVER = 6;
+    static final int CALL_RESULT = 7;
+    static final int BB_BEGIN = 8;
+    static final int HANDLER_BEGIN = 9;
+    static final int NOP = 10;
+    static final int ACONST_NULL = 11;
+    static final int ICONST_M1 = 12;
+    static final int ICONST_0 = 13;
+    static final int ICONST_1 = 14;
+    static final int ICONST_2 = 15;
+    static final int ICONST_3 = 16;
+    static final int ICONST_4 = 17;
+    static final int ICONST_5 = 18;
+    static final int LCONST_0 = 19;
+    static final int LCONST_1 = 20;
+    static final int FCONST_0 = 21;
+    static final int FCONST_1 = 22;
+    static final int FCONST_2 = 23;
+    static final int DCONST_0 = 24;
+    static final int DCONST_1 = 25;
+    static final int BIPUSH = 26;
+    static final int SIPUSH = 27;
+    static final int LDC = 28;
+    static final int LDC_W = 29;
+    static final int LDC2_W = 30;
+    static final int ILOAD = 31;
+    static final int LLOAD = 32;
+    static final int FLOAD = 33;
+    static final int DLOAD = 34;
+    static final int ALOAD = 35;
+    static final int ILOAD_0 = 36;
+    static final int ILOAD_1 = 37;
+    static final int ILOAD_2 = 38;
+    static final int ILOAD_3 = 39;
+    static final int LLOAD_0 = 40;
+    static final int LLOAD_1 = 41;
+    static final int LLOAD_2 = 42;
+    static final int LLOAD_3 = 43;
+    static final int FLOAD_0 = 44;
+    static final int FLOAD_1 = 45;
+    static final int FLOAD_2 = 46;
+    static final int FLOAD_3 = 47;
+    static final int DLOAD_0 = 48;
+    static final int DLOAD_1 = 49;
+    static final int DLOAD_2 = 50;
+    static final int DLOAD_3 = 51;
+    static final int ALOAD_0 = 52;
+    static final int ALOAD_1 = 53;
+    static final int ALOAD_2 = 54;
+    static final int ALOAD_3 = 55;
+    static final int IALOAD = 56;
+    static final int LALOAD = 57;
+    static final int FALOAD = 58;
+    static final int DALOAD = 59;
+    static final int AALOAD = 60;
+    static final int BALOAD = 61;
+    static final int CALOAD = 62;
+    static final int SALOAD = 63;
+    static final int ISTORE = 64;
+    static final int LSTORE = 65;
+    static final int FSTORE = 66;
+    static final int DSTORE = 67;
+    static final int ASTORE = 68;
+    static final int ISTORE_0 = 69;
+    static final int ISTORE_1 = 70;
+    static final int ISTORE_2 = 71;
+    static final int ISTORE_3 = 72;
+    static final int LSTORE_0 = 73;
+    static final int LSTORE_1 = 74;
+    static final int LSTORE_2 = 75;
+    static final int LSTORE_3 = 76;
+    static final int FSTORE_0 = 77;
+    static final int FSTORE_1 = 78;
+    static final int FSTORE_2 = 79;
+    static final int FSTORE_3 = 80;
+    static final int DSTORE_0 = 81;
+    static final int DSTORE_1 = 82;
+    static final int DSTORE_2 = 83;
+    static final int DSTORE_3 = 84;
+    static final int ASTORE_0 = 85;
+    static final int ASTORE_1 = 86;
+    static final int ASTORE_2 = 87;
+    static final int ASTORE_3 = 88;
+    static final int IASTORE = 89;
+    static final int LASTORE = 90;
+    static final int FASTORE = 91;
+    static final int DASTORE = 92;
+    static final int AASTORE = 93;
+    static final int BASTORE = 94;
+    static final int CASTORE = 95;
+    static final int SASTORE = 96;
+    static final int POP = 97;
+    static final int POP2 = 98;
+    static final int DUP = 99;
+    static final int DUP_X1 = 100;
+    static final int DUP_X2 = 101;
+    static final int DUP2 = 102;
+    static final int DUP2_X1 = 103;
+    static final int DUP2_X2 = 104;
+    static final int SWAP = 105;
+    static final int IADD = 106;
+    static final int LADD = 107;
+    static final int FADD = 108;
+    static final int DADD = 109;
+    static final int ISUB = 110;
+    static final int LSUB = 111;
+    static final int FSUB = 112;
+    static final int DSUB = 113;
+    static final int IMUL = 114;
+    static final int LMUL = 115;
+    static final int FMUL = 116;
+    static final int DMUL = 117;
+    static final int IDIV = 118;
+    static final int LDIV = 119;
+    static final int FDIV = 120;
+    static final int DDIV = 121;
+    static final int IREM = 122;
+    static final int LREM = 123;
+    static final int FREM = 124;
+    static final int DREM = 125;
+    static final int INEG = 126;
+    static final int LNEG = 127;
+    static final int FNEG = 128;
+    static final int DNEG = 129;
+    static final int ISHL = 130;
+    static final int LSHL = 131;
+    static final int ISHR = 132;
+    static final int LSHR = 133;
+    static final int IUSHR = 134;
+    static final int LUSHR = 135;
+    static final int IAND = 136;
+    static final int LAND = 137;
+    static final int IOR = 138;
+    static final int LOR = 139;
+    static final int IXOR = 140;
+    static final int LXOR = 141;
+    static final int IINC = 142;
+    static final int I2L = 143;
+    static final int I2F = 144;
+    static final int I2D = 145;
+    static final int L2I = 146;
+    static final int L2F = 147;
+    static final int L2D = 148;
+    static final int F2I = 149;
+    static final int F2L = 150;
+    static final int F2D = 151;
+    static final int D2I = 152;
+    static final int D2L = 153;
+    static final int D2F = 154;
+    static final int I2B = 155;
+    static final int I2C = 156;
+    static final int I2S = 157;
+    static final int LCMP = 158;
+    static final int FCMPL = 159;
+    static final int FCMPG = 160;
+    static final int DCMPL = 161;
+    static final int DCMPG = 162;
+    static final int IFEQ = 163;
+    static final int IFNE = 164;
+    static final int IFLT = 165;
+    static final int IFGE = 166;
+    static final int IFGT = 167;
+    static final int IFLE = 168;
+    static final int IF_ICMPEQ = 169;
+    static final int IF_ICMPNE = 170;
+    static final int IF_ICMPLT = 171;
+    static final int IF_ICMPGE = 172;
+    static final int IF_ICMPGT = 173;
+    static final int IF_ICMPLE = 174;
+    static final int IF_ACMPEQ = 175;
+    static final int IF_ACMPNE = 176;
+    static final int GOTO = 177;
+    static final int JSR = 178;
+    static final int RET = 179;
+    static final int TABLESWITCH = 180;
+    static final int LOOKUPSWITCH = 181;
+    static final int IRETURN = 182;
+    static final int LRETURN = 183;
+    static final int FRETURN = 184;
+    static final int DRETURN = 185;
+    static final int ARETURN = 186;
+    static final int RETURN = 187;
+    static final int GETSTATIC = 188;
+    static final int PUTSTATIC = 189;
+    static final int GETFIELD = 190;
+    static final int PUTFIELD = 191;
+    static final int INVOKESTATIC = 192;
+    static final int INVOKESPECIAL = 193;
+    static final int INVOKEVIRTUAL = 194;
+    static final int INVOKEINTERFACE = 195;
+    static final int NEWARRAY = 196;
+    static final int ANEWARRAY = 197;
+    static final int ARRAYLENGTH = 198;
+    static final int ATHROW = 199;
+    static final int CHECKCAST = 200;
+    static final int INSTANCEOF = 201;
+    static final int MONITORENTER = 202;
+    static final int MONITOREXIT = 203;
+    static final int WIDE = 204;
+    static final int MULTIANEWARRAY = 205;
+    static final int IFNULL = 206;
+    static final int IFNONNULL = 207;
+    static final int GOTO_W = 208;
+    static final int JSR_W = 209;
+
+    private static final String[] CALLBACK_NAMES = {
+            "NEW",
+            "CALLER_STACK_PARAM",
+            "SRC_LINE_NUMBER",
+            "METHOD_BEGIN",
+            "METHOD_MAXS",
+            "METHOD_BEGIN_PARAM",
+            "METHOD_BEGIN_RECEIVER",
+            "CALL_RESULT",
+            "BB_BEGIN",
+            "HANDLER_BEGIN",
+            "NOP",
+            "ACONST_NULL",
+            "ICONST_M1",
+            "ICONST_0",
+            "ICONST_1",
+            "ICONST_2",
+            "ICONST_3",
+            "ICONST_4",
+            "ICONST_5",
+            "LCONST_0",
+            "LCONST_1",
+            "FCONST_0",
+            "FCONST_1",
+            "FCONST_2",
+            "DCONST_0",
+            "DCONST_1",
+            "BIPUSH",
+            "SIPUSH",
+            "LDC",
+            "LDC_W",
+            "LDC2_W",
+            "ILOAD",
+            "LLOAD",
+            "FLOAD",
+            "DLOAD",
+            "ALOAD",
+            "ILOAD_0",
+            "ILOAD_1",
+            "ILOAD_2",
+            "ILOAD_3",
+            "LLOAD_0",
+            "LLOAD_1",
+            "LLOAD_2",
+            "LLOAD_3",
+            "FLOAD_0",
+            "FLOAD_1",
+            "FLOAD_2",
+            "FLOAD_3",
+            "DLOAD_0",
+            "DLOAD_1",
+            "DLOAD_2",
+            "DLOAD_3",
+            "ALOAD_0",
+            "ALOAD_1",
+            "ALOAD_2",
+            "ALOAD_3",
+            "IALOAD",
+            "LALOAD",
+            "FALOAD",
+            "DALOAD",
+            "AALOAD",
+            "BALOAD",
+            "CALOAD",
+            "SALOAD",
+            "ISTORE",
+            "LSTORE",
+            "FSTORE",
+            "DSTORE",
+            "ASTORE",
+            "ISTORE_0",
+            "ISTORE_1",
+            "ISTORE_2",
+            "ISTORE_3",
+            "LSTORE_0",
+            "LSTORE_1",
+            "LSTORE_2",
+            "LSTORE_3",
+            "FSTORE_0",
+            "FSTORE_1",
+            "FSTORE_2",
+            "FSTORE_3",
+            "DSTORE_0",
+            "DSTORE_1",
+            "DSTORE_2",
+            "DSTORE_3",
+            "ASTORE_0",
+            "ASTORE_1",
+            "ASTORE_2",
+            "ASTORE_3",
+            "IASTORE",
+            "LASTORE",
+            "FASTORE",
+            "DASTORE",
+            "AASTORE",
+            "BASTORE",
+            "CASTORE",
+            "SASTORE",
+            "POP",
+            "POP2",
+            "DUP",
+            "DUP_X1",
+            "DUP_X2",
+            "DUP2",
+            "DUP2_X1",
+            "DUP2_X2",
+            "SWAP",
+            "IADD",
+            "LADD",
+            "FADD",
+            "DADD",
+            "ISUB",
+            "LSUB",
+            "FSUB",
+            "DSUB",
+            "IMUL",
+            "LMUL",
+            "FMUL",
+            "DMUL",
+            "IDIV",
+            "LDIV",
+            "FDIV",
+            "DDIV",
+            "IREM",
+            "LREM",
+            "FREM",
+            "DREM",
+            "INEG",
+            "LNEG",
+            "FNEG",
+            "DNEG",
+            "ISHL",
+            "LSHL",
+            "ISHR",
+            "LSHR",
+            "IUSHR",
+            "LUSHR",
+            "IAND",
+            "LAND",
+            "IOR",
+            "LOR",
+            "IXOR",
+            "LXOR",
+            "IINC",
+            "I2L",
+            "I2F",
+            "I2D",
+            "L2I",
+            "L2F",
+            "L2D",
+            "F2I",
+            "F2L",
+            "F2D",
+            "D2I",
+            "D2L",
+            "D2F",
+            "I2B",
+            "I2C",
+            "I2S",
+            "LCMP",
+            "FCMPL",
+            "FCMPG",
+            "DCMPL",
+            "DCMPG",
+            "IFEQ",
+            "IFNE",
+            "IFLT",
+            "IFGE",
+            "IFGT",
+            "IFLE",
+            "IF_ICMPEQ",
+            "IF_ICMPNE",
+            "IF_ICMPLT",
+            "IF_ICMPGE",
+            "IF_ICMPGT",
+            "IF_ICMPLE",
+            "IF_ACMPEQ",
+            "IF_ACMPNE",
+            "GOTO",
+            "JSR",
+            "RET",
+            "TABLESWITCH",
+            "LOOKUPSWITCH",
+            "IRETURN",
+            "LRETURN",
+            "FRETURN",
+            "DRETURN",
+            "ARETURN",
+            "RETURN",
+            "GETSTATIC",
+            "PUTSTATIC",
+            "GETFIELD",
+            "PUTFIELD",
+            "INVOKESTATIC",
+            "INVOKESPECIAL",
+            "INVOKEVIRTUAL",
+            "INVOKEINTERFACE",
+            "NEWARRAY",
+            "ANEWARRAY",
+            "ARRAYLENGTH",
+            "ATHROW",
+            "CHECKCAST",
+            "INSTANCEOF",
+            "MONITORENTER",
+            "MONITOREXIT",
+            "WIDE",
+            "MULTIANEWARRAY",
+            "IFNULL",
+            "IFNONNULL",
+            "GOTO_W",
+            "JSR_W",
+    };
+
+    /**
+     * Names of the callbacks implemented by each listener class
+     */
+    private static final Map<Class<?>, Set<String>> implementedCallbacks = new ConcurrentHashMap<>();
+
+    private DispatchTable() {
+    }
+
+    /**
+     * Builds the dispatch table for the given listeners. The relative order of
+     * the listeners is kept for each callback.
+     *
+     * @param listeners
+     * @return an array indexed by callback identifier
+     */
+    static IVM[][] build(IVM[] listeners) {
+        IVM[][] table = new IVM[CALLBACK_NAMES.length][];
+        List<IVM> implementors = new ArrayList<>(listeners.length);
+        for (int callback = 0; callback < CALLBACK_NAMES.length; callback++) {
+            implementors.clear();
+            for (IVM listener : listeners) {
+                Set<String> callbacks = implementedCallbacks.computeIfAbsent(listener.getClass(),
+                        DispatchTable::collectImplementedCallbacks);
+                if (callbacks.contains(CALLBACK_NAMES[callback])) {
+                    implementors.add(listener);
+                }
+            }
+            table[callback] = implementors.toArray(new IVM[implementors.size()]);
+        }
+        return table;
+    }
+
+    private static Set<String> collectImplementedCallbacks(Class<?> listenerClass) {
+        Set<String> callbacks = new HashSet<>();
+        for (Method method : listenerClass.getMethods()) {
+            Class<?> declaringClass = method.getDeclaringClass();
+            if (declaringClass != AbstractVM.class && IVM.class.isAssignableFrom(declaringClass)
+                    && !declaringClass.isInterface()) {
+                callbacks.add(method.getName());
+            }
+        }
+        return callbacks;
+    }
+}
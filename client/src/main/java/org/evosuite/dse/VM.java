@@ -103,6 +103,12 @@ public final class VM {
     // protected IVM[] listeners = new IVM[] { new InsnLogger() };
     protected IVM[] listeners = new IVM[0];
 
+    /*
+     * For each callback, the listeners that implement it. Built from the
+     * listeners when they are registered.
+     */
+    protected IVM[][] dispatchTable = DispatchTable.build(listeners);
+
     protected List<IVM> prependListeners = new LinkedList<>();
     protected List<IVM> appendListeners = new LinkedList<>();
 
@@ -118,6 +124,7 @@ public final class VM {
         list.addAll(paramListeners);
         list.addAll(appendListeners);
         this.listeners = list.toArray(new IVM[list.size()]);
+        this.dispatchTable = DispatchTable.build(this.listeners);
     }
 
     /**
@@ -163,7 +170,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.NEW])
                 listener.NEW(typeName);
         } catch (Throwable t) {
             handleException(t);
@@ -187,6 +194,7 @@ public final class VM {
             // TODO catch StopVMException in Listeners. Enforce no listener
             // exception reaches the VM.
             vm.listeners = new IVM[0];
+            vm.dispatchTable = DispatchTable.build(vm.listeners);
             vm.stopped = true;
         } else if (t instanceof OutOfMemoryError) {
             // do not wrap memory exceptions
@@ -224,7 +232,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.CALLER_STACK_PARAM])
                 listener.CALLER_STACK_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -239,7 +247,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.CALLER_STACK_PARAM])
                 listener.CALLER_STACK_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -254,7 +262,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.CALLER_STACK_PARAM])
                 listener.CALLER_STACK_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -269,7 +277,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.CALLER_STACK_PARAM])
                 listener.CALLER_STACK_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -284,7 +292,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.CALLER_STACK_PARAM])
                 listener.CALLER_STACK_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -299,7 +307,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.CALLER_STACK_PARAM])
                 listener.CALLER_STACK_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -314,7 +322,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.CALLER_STACK_PARAM])
                 listener.CALLER_STACK_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -329,7 +337,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.CALLER_STACK_PARAM])
                 listener.CALLER_STACK_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -344,7 +352,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.CALLER_STACK_PARAM])
                 listener.CALLER_STACK_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -361,7 +369,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.SRC_LINE_NUMBER])
                 listener.SRC_LINE_NUMBER(lineNr);
         } catch (Throwable t) {
             handleException(t);
@@ -379,7 +387,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.METHOD_BEGIN])
                 listener.METHOD_BEGIN(access, className, methName, methDesc);
         } catch (Throwable t) {
             handleException(t);
@@ -397,7 +405,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.METHOD_MAXS])
                 listener.METHOD_MAXS(className, methName, methDesc, maxStack,
                         maxLocals);
         } catch (Throwable t) {
@@ -417,7 +425,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.METHOD_BEGIN_PARAM])
                 listener.METHOD_BEGIN_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -432,7 +440,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.METHOD_BEGIN_PARAM])
                 listener.METHOD_BEGIN_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -447,7 +455,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.METHOD_BEGIN_PARAM])
                 listener.METHOD_BEGIN_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -462,7 +470,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.METHOD_BEGIN_PARAM])
                 listener.METHOD_BEGIN_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -477,7 +485,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.METHOD_BEGIN_PARAM])
                 listener.METHOD_BEGIN_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -492,7 +500,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.METHOD_BEGIN_PARAM])
                 listener.METHOD_BEGIN_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -507,7 +515,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.METHOD_BEGIN_PARAM])
                 listener.METHOD_BEGIN_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -522,7 +530,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.METHOD_BEGIN_PARAM])
                 listener.METHOD_BEGIN_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -537,7 +545,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.METHOD_BEGIN_PARAM])
                 listener.METHOD_BEGIN_PARAM(nr, calleeLocalsIndex, value);
         } catch (Throwable t) {
             handleException(t);
@@ -551,7 +559,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.METHOD_BEGIN_RECEIVER])
                 listener.METHOD_BEGIN_RECEIVER(value);
         } catch (Throwable t) {
             handleException(t);
@@ -565,7 +573,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.CALL_RESULT])
                 listener.CALL_RESULT(owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -580,7 +588,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.CALL_RESULT])
                 listener.CALL_RESULT(res, owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -595,7 +603,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.CALL_RESULT])
                 listener.CALL_RESULT(res, owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -610,7 +618,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.CALL_RESULT])
                 listener.CALL_RESULT(res, owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -625,7 +633,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.CALL_RESULT])
                 listener.CALL_RESULT(res, owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -640,7 +648,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.CALL_RESULT])
                 listener.CALL_RESULT(res, owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -655,7 +663,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.CALL_RESULT])
                 listener.CALL_RESULT(res, owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -672,7 +680,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.BB_BEGIN])
                 listener.BB_BEGIN();
         } catch (Throwable t) {
             handleException(t);
@@ -690,7 +698,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.HANDLER_BEGIN])
                 listener.HANDLER_BEGIN(access, className, methName, methDesc);
         } catch (Throwable t) {
             handleException(t);
@@ -708,7 +716,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.NOP])
                 listener.NOP();
         } catch (Throwable t) {
             handleException(t);
@@ -722,7 +730,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.ACONST_NULL])
                 listener.ACONST_NULL();
         } catch (Throwable t) {
             handleException(t);
@@ -740,7 +748,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.ICONST_M1])
                 listener.ICONST_M1();
         } catch (Throwable t) {
             handleException(t);
@@ -758,7 +766,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.ICONST_0])
                 listener.ICONST_0();
         } catch (Throwable t) {
             handleException(t);
@@ -776,7 +784,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.ICONST_1])
                 listener.ICONST_1();
         } catch (Throwable t) {
             handleException(t);
@@ -794,7 +802,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.ICONST_2])
                 listener.ICONST_2();
         } catch (Throwable t) {
             handleException(t);
@@ -812,7 +820,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.ICONST_3])
                 listener.ICONST_3();
         } catch (Throwable t) {
             handleException(t);
@@ -830,7 +838,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.ICONST_4])
                 listener.ICONST_4();
         } catch (Throwable t) {
             handleException(t);
@@ -848,7 +856,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.ICONST_5])
                 listener.ICONST_5();
         } catch (Throwable t) {
             handleException(t);
@@ -862,7 +870,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.LCONST_0])
                 listener.LCONST_0();
         } catch (Throwable t) {
             handleException(t);
@@ -876,7 +884,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.LCONST_1])
                 listener.LCONST_1();
         } catch (Throwable t) {
             handleException(t);
@@ -890,7 +898,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.FCONST_0])
                 listener.FCONST_0();
         } catch (Throwable t) {
             handleException(t);
@@ -904,7 +912,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.FCONST_1])
                 listener.FCONST_1();
         } catch (Throwable t) {
             handleException(t);
@@ -918,7 +926,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.FCONST_2])
                 listener.FCONST_2();
         } catch (Throwable t) {
             handleException(t);
@@ -932,7 +940,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.DCONST_0])
                 listener.DCONST_0();
         } catch (Throwable t) {
             handleException(t);
@@ -946,7 +954,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.DCONST_1])
                 listener.DCONST_1();
         } catch (Throwable t) {
             handleException(t);
@@ -960,7 +968,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.BIPUSH])
                 listener.BIPUSH(value);
         } catch (Throwable t) {
             handleException(t);
@@ -974,7 +982,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.SIPUSH])
                 listener.SIPUSH(value);
         } catch (Throwable t) {
             handleException(t);
@@ -992,7 +1000,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.LDC])
                 listener.LDC(x);
         } catch (Throwable t) {
             handleException(t);
@@ -1010,7 +1018,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.LDC])
                 listener.LDC(x);
         } catch (Throwable t) {
             handleException(t);
@@ -1028,7 +1036,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.LDC])
                 listener.LDC(x);
         } catch (Throwable t) {
             handleException(t);
@@ -1046,7 +1054,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.LDC])
                 listener.LDC(x);
         } catch (Throwable t) {
             handleException(t);
@@ -1063,7 +1071,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.LDC_W])
                 listener.LDC_W();
         } catch (Throwable t) {
             handleException(t);
@@ -1081,7 +1089,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.LDC2_W])
                 listener.LDC2_W(x);
         } catch (Throwable t) {
             handleException(t);
@@ -1099,7 +1107,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.LDC2_W])
                 listener.LDC2_W(x);
         } catch (Throwable t) {
             handleException(t);
@@ -1117,7 +1125,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.ILOAD])
                 listener.ILOAD(i);
         } catch (Throwable t) {
             handleException(t);
@@ -1131,7 +1139,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.LLOAD])
                 listener.LLOAD(i);
         } catch (Throwable t) {
             handleException(t);
@@ -1145,7 +1153,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.FLOAD])
                 listener.FLOAD(i);
         } catch (Throwable t) {
             handleException(t);
@@ -1159,7 +1167,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.DLOAD])
                 listener.DLOAD(i);
         } catch (Throwable t) {
             handleException(t);
@@ -1173,7 +1181,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.ALOAD])
                 listener.ALOAD(i);
         } catch (Throwable t) {
             handleException(t);
@@ -1191,7 +1199,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.ILOAD_0])
                 listener.ILOAD_0();
         } catch (Throwable t) {
             handleException(t);
@@ -1205,7 +1213,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.ILOAD_1])
                 listener.ILOAD_1();
         } catch (Throwable t) {
             handleException(t);
@@ -1219,7 +1227,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.ILOAD_2])
                 listener.ILOAD_2();
         } catch (Throwable t) {
             handleException(t);
@@ -1233,7 +1241,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.ILOAD_3])
                 listener.ILOAD_3();
         } catch (Throwable t) {
             handleException(t);
@@ -1251,7 +1259,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.LLOAD_0])
                 listener.LLOAD_0();
         } catch (Throwable t) {
             handleException(t);
@@ -1265,7 +1273,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.LLOAD_1])
                 listener.LLOAD_1();
         } catch (Throwable t) {
             handleException(t);
@@ -1279,7 +1287,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.LLOAD_2])
                 listener.LLOAD_2();
         } catch (Throwable t) {
             handleException(t);
@@ -1293,7 +1301,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.LLOAD_3])
                 listener.LLOAD_3();
         } catch (Throwable t) {
             handleException(t);
@@ -1311,7 +1319,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.FLOAD_0])
                 listener.FLOAD_0();
         } catch (Throwable t) {
             handleException(t);
@@ -1325,7 +1333,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.FLOAD_1])
                 listener.FLOAD_1();
         } catch (Throwable t) {
             handleException(t);
@@ -1339,7 +1347,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.FLOAD_2])
                 listener.FLOAD_2();
         } catch (Throwable t) {
             handleException(t);
@@ -1353,7 +1361,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.FLOAD_3])
                 listener.FLOAD_3();
         } catch (Throwable t) {
             handleException(t);
@@ -1371,7 +1379,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.DLOAD_0])
                 listener.DLOAD_0();
         } catch (Throwable t) {
             handleException(t);
@@ -1385,7 +1393,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.DLOAD_1])
                 listener.DLOAD_1();
         } catch (Throwable t) {
             handleException(t);
@@ -1399,7 +1407,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.DLOAD_2])
                 listener.DLOAD_2();
         } catch (Throwable t) {
             handleException(t);
@@ -1413,7 +1421,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.DLOAD_3])
                 listener.DLOAD_3();
         } catch (Throwable t) {
             handleException(t);
@@ -1431,7 +1439,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.ALOAD_0])
                 listener.ALOAD_0();
         } catch (Throwable t) {
             handleException(t);
@@ -1445,7 +1453,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.ALOAD_1])
                 listener.ALOAD_1();
         } catch (Throwable t) {
             handleException(t);
@@ -1459,7 +1467,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.ALOAD_2])
                 listener.ALOAD_2();
         } catch (Throwable t) {
             handleException(t);
@@ -1473,7 +1481,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.ALOAD_3])
                 listener.ALOAD_3();
         } catch (Throwable t) {
             handleException(t);
@@ -1487,7 +1495,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.IALOAD])
                 listener.IALOAD(receiver, index, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -1501,7 +1509,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.LALOAD])
                 listener.LALOAD(receiver, index, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -1515,7 +1523,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.FALOAD])
                 listener.FALOAD(receiver, index, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -1529,7 +1537,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.DALOAD])
                 listener.DALOAD(receiver, index, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -1543,7 +1551,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.AALOAD])
                 listener.AALOAD(receiver, index, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -1557,7 +1565,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.BALOAD])
                 listener.BALOAD(receiver, index, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -1571,7 +1579,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.CALOAD])
                 listener.CALOAD(receiver, index, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -1585,7 +1593,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.SALOAD])
                 listener.SALOAD(receiver, index, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -1603,7 +1611,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.ISTORE])
                 listener.ISTORE(i);
         } catch (Throwable t) {
             handleException(t);
@@ -1617,7 +1625,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.LSTORE])
                 listener.LSTORE(i);
         } catch (Throwable t) {
             handleException(t);
@@ -1631,7 +1639,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.FSTORE])
                 listener.FSTORE(i);
         } catch (Throwable t) {
             handleException(t);
@@ -1645,7 +1653,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.DSTORE])
                 listener.DSTORE(i);
         } catch (Throwable t) {
             handleException(t);
@@ -1659,7 +1667,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.ASTORE])
                 listener.ASTORE(i);
         } catch (Throwable t) {
             handleException(t);
@@ -1677,7 +1685,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.ISTORE_0])
                 listener.ISTORE_0();
         } catch (Throwable t) {
             handleException(t);
@@ -1691,7 +1699,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.ISTORE_1])
                 listener.ISTORE_1();
         } catch (Throwable t) {
             handleException(t);
@@ -1705,7 +1713,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.ISTORE_2])
                 listener.ISTORE_2();
         } catch (Throwable t) {
             handleException(t);
@@ -1719,7 +1727,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.ISTORE_3])
                 listener.ISTORE_3();
         } catch (Throwable t) {
             handleException(t);
@@ -1737,7 +1745,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.LSTORE_0])
                 listener.LSTORE_0();
         } catch (Throwable t) {
             handleException(t);
@@ -1751,7 +1759,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.LSTORE_1])
                 listener.LSTORE_1();
         } catch (Throwable t) {
             handleException(t);
@@ -1765,7 +1773,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.LSTORE_2])
                 listener.LSTORE_2();
         } catch (Throwable t) {
             handleException(t);
@@ -1779,7 +1787,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.LSTORE_3])
                 listener.LSTORE_3();
         } catch (Throwable t) {
             handleException(t);
@@ -1797,7 +1805,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.FSTORE_0])
                 listener.FSTORE_0();
         } catch (Throwable t) {
             handleException(t);
@@ -1811,7 +1819,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.FSTORE_1])
                 listener.FSTORE_1();
         } catch (Throwable t) {
             handleException(t);
@@ -1825,7 +1833,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.FSTORE_2])
                 listener.FSTORE_2();
         } catch (Throwable t) {
             handleException(t);
@@ -1839,7 +1847,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.FSTORE_3])
                 listener.FSTORE_3();
         } catch (Throwable t) {
             handleException(t);
@@ -1857,7 +1865,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.DSTORE_0])
                 listener.DSTORE_0();
         } catch (Throwable t) {
             handleException(t);
@@ -1871,7 +1879,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.DSTORE_1])
                 listener.DSTORE_1();
         } catch (Throwable t) {
             handleException(t);
@@ -1885,7 +1893,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.DSTORE_2])
                 listener.DSTORE_2();
         } catch (Throwable t) {
             handleException(t);
@@ -1899,7 +1907,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.DSTORE_3])
                 listener.DSTORE_3();
         } catch (Throwable t) {
             handleException(t);
@@ -1917,7 +1925,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.ASTORE_0])
                 listener.ASTORE_0();
         } catch (Throwable t) {
             handleException(t);
@@ -1931,7 +1939,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.ASTORE_1])
                 listener.ASTORE_1();
         } catch (Throwable t) {
             handleException(t);
@@ -1945,7 +1953,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.ASTORE_2])
                 listener.ASTORE_2();
         } catch (Throwable t) {
             handleException(t);
@@ -1959,7 +1967,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.ASTORE_3])
                 listener.ASTORE_3();
         } catch (Throwable t) {
             handleException(t);
@@ -1973,7 +1981,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.IASTORE])
                 listener.IASTORE(receiver, index, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -1987,7 +1995,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.LASTORE])
                 listener.LASTORE(receiver, index, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -2001,7 +2009,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.FASTORE])
                 listener.FASTORE(receiver, index, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -2015,7 +2023,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.DASTORE])
                 listener.DASTORE(receiver, index, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -2034,7 +2042,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.AASTORE])
                 listener.AASTORE(receiver, index, value, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -2048,7 +2056,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.BASTORE])
                 listener.BASTORE(receiver, index, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -2062,7 +2070,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.CASTORE])
                 listener.CASTORE(receiver, index, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -2076,7 +2084,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.SASTORE])
                 listener.SASTORE(receiver, index, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -2090,7 +2098,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.POP])
                 listener.POP();
         } catch (Throwable t) {
             handleException(t);
@@ -2104,7 +2112,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.POP2])
                 listener.POP2();
         } catch (Throwable t) {
             handleException(t);
@@ -2118,7 +2126,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.DUP])
                 listener.DUP();
         } catch (Throwable t) {
             handleException(t);
@@ -2132,7 +2140,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.DUP_X1])
                 listener.DUP_X1();
         } catch (Throwable t) {
             handleException(t);
@@ -2146,7 +2154,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.DUP_X2])
                 listener.DUP_X2();
         } catch (Throwable t) {
             handleException(t);
@@ -2160,7 +2168,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.DUP2])
                 listener.DUP2();
         } catch (Throwable t) {
             handleException(t);
@@ -2174,7 +2182,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.DUP2_X1])
                 listener.DUP2_X1();
         } catch (Throwable t) {
             handleException(t);
@@ -2188,7 +2196,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.DUP2_X2])
                 listener.DUP2_X2();
         } catch (Throwable t) {
             handleException(t);
@@ -2202,7 +2210,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.SWAP])
                 listener.SWAP();
         } catch (Throwable t) {
             handleException(t);
@@ -2220,7 +2228,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.IADD])
                 listener.IADD();
         } catch (Throwable t) {
             handleException(t);
@@ -2234,7 +2242,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.LADD])
                 listener.LADD();
         } catch (Throwable t) {
             handleException(t);
@@ -2248,7 +2256,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.FADD])
                 listener.FADD();
         } catch (Throwable t) {
             handleException(t);
@@ -2262,7 +2270,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.DADD])
                 listener.DADD();
         } catch (Throwable t) {
             handleException(t);
@@ -2276,7 +2284,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.ISUB])
                 listener.ISUB();
         } catch (Throwable t) {
             handleException(t);
@@ -2290,7 +2298,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.LSUB])
                 listener.LSUB();
         } catch (Throwable t) {
             handleException(t);
@@ -2304,7 +2312,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.FSUB])
                 listener.FSUB();
         } catch (Throwable t) {
             handleException(t);
@@ -2318,7 +2326,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.DSUB])
                 listener.DSUB();
         } catch (Throwable t) {
             handleException(t);
@@ -2336,7 +2344,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.IMUL])
                 listener.IMUL();
         } catch (Throwable t) {
             handleException(t);
@@ -2350,7 +2358,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.LMUL])
                 listener.LMUL();
         } catch (Throwable t) {
             handleException(t);
@@ -2364,7 +2372,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.FMUL])
                 listener.FMUL();
         } catch (Throwable t) {
             handleException(t);
@@ -2378,7 +2386,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.DMUL])
                 listener.DMUL();
         } catch (Throwable t) {
             handleException(t);
@@ -2392,7 +2400,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.IDIV])
                 listener.IDIV(rhs);
         } catch (Throwable t) {
             handleException(t);
@@ -2406,7 +2414,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.LDIV])
                 listener.LDIV(rhs);
         } catch (Throwable t) {
             handleException(t);
@@ -2420,7 +2428,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.FDIV])
                 listener.FDIV(rhs);
         } catch (Throwable t) {
             handleException(t);
@@ -2434,7 +2442,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.DDIV])
                 listener.DDIV(rhs);
         } catch (Throwable t) {
             handleException(t);
@@ -2448,7 +2456,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.IREM])
                 listener.IREM(rhs);
         } catch (Throwable t) {
             handleException(t);
@@ -2462,7 +2470,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.LREM])
                 listener.LREM(rhs);
         } catch (Throwable t) {
             handleException(t);
@@ -2476,7 +2484,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.FREM])
                 listener.FREM(rhs);
         } catch (Throwable t) {
             handleException(t);
@@ -2490,7 +2498,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.DREM])
                 listener.DREM(rhs);
         } catch (Throwable t) {
             handleException(t);
@@ -2504,7 +2512,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.INEG])
                 listener.INEG();
         } catch (Throwable t) {
             handleException(t);
@@ -2518,7 +2526,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.LNEG])
                 listener.LNEG();
         } catch (Throwable t) {
             handleException(t);
@@ -2532,7 +2540,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.FNEG])
                 listener.FNEG();
         } catch (Throwable t) {
             handleException(t);
@@ -2546,7 +2554,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.DNEG])
                 listener.DNEG();
         } catch (Throwable t) {
             handleException(t);
@@ -2560,7 +2568,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.ISHL])
                 listener.ISHL();
         } catch (Throwable t) {
             handleException(t);
@@ -2574,7 +2582,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.LSHL])
                 listener.LSHL();
         } catch (Throwable t) {
             handleException(t);
@@ -2588,7 +2596,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.ISHR])
                 listener.ISHR();
         } catch (Throwable t) {
             handleException(t);
@@ -2602,7 +2610,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.LSHR])
                 listener.LSHR();
         } catch (Throwable t) {
             handleException(t);
@@ -2616,7 +2624,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.IUSHR])
                 listener.IUSHR();
         } catch (Throwable t) {
             handleException(t);
@@ -2630,7 +2638,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.LUSHR])
                 listener.LUSHR();
         } catch (Throwable t) {
             handleException(t);
@@ -2644,7 +2652,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.IAND])
                 listener.IAND();
         } catch (Throwable t) {
             handleException(t);
@@ -2658,7 +2666,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.LAND])
                 listener.LAND();
         } catch (Throwable t) {
             handleException(t);
@@ -2672,7 +2680,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.IOR])
                 listener.IOR();
         } catch (Throwable t) {
             handleException(t);
@@ -2686,7 +2694,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.LOR])
                 listener.LOR();
         } catch (Throwable t) {
             handleException(t);
@@ -2700,7 +2708,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.IXOR])
                 listener.IXOR();
         } catch (Throwable t) {
             handleException(t);
@@ -2714,7 +2722,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.LXOR])
                 listener.LXOR();
         } catch (Throwable t) {
             handleException(t);
@@ -2728,7 +2736,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.IINC])
                 listener.IINC(i, value);
         } catch (Throwable t) {
             handleException(t);
@@ -2742,7 +2750,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.I2L])
                 listener.I2L();
         } catch (Throwable t) {
             handleException(t);
@@ -2756,7 +2764,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.I2F])
                 listener.I2F();
         } catch (Throwable t) {
             handleException(t);
@@ -2770,7 +2778,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.I2D])
                 listener.I2D();
         } catch (Throwable t) {
             handleException(t);
@@ -2784,7 +2792,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.L2I])
                 listener.L2I();
         } catch (Throwable t) {
             handleException(t);
@@ -2798,7 +2806,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.L2F])
                 listener.L2F();
         } catch (Throwable t) {
             handleException(t);
@@ -2812,7 +2820,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.L2D])
                 listener.L2D();
         } catch (Throwable t) {
             handleException(t);
@@ -2826,7 +2834,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.F2I])
                 listener.F2I();
         } catch (Throwable t) {
             handleException(t);
@@ -2840,7 +2848,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.F2L])
                 listener.F2L();
         } catch (Throwable t) {
             handleException(t);
@@ -2854,7 +2862,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.F2D])
                 listener.F2D();
         } catch (Throwable t) {
             handleException(t);
@@ -2868,7 +2876,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.D2I])
                 listener.D2I();
         } catch (Throwable t) {
             handleException(t);
@@ -2882,7 +2890,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.D2L])
                 listener.D2L();
         } catch (Throwable t) {
             handleException(t);
@@ -2896,7 +2904,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.D2F])
                 listener.D2F();
         } catch (Throwable t) {
             handleException(t);
@@ -2910,7 +2918,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.I2B])
                 listener.I2B();
         } catch (Throwable t) {
             handleException(t);
@@ -2924,7 +2932,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.I2C])
                 listener.I2C();
         } catch (Throwable t) {
             handleException(t);
@@ -2938,7 +2946,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.I2S])
                 listener.I2S();
         } catch (Throwable t) {
             handleException(t);
@@ -2952,7 +2960,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.LCMP])
                 listener.LCMP();
         } catch (Throwable t) {
             handleException(t);
@@ -2966,7 +2974,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.FCMPL])
                 listener.FCMPL();
         } catch (Throwable t) {
             handleException(t);
@@ -2980,7 +2988,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.FCMPG])
                 listener.FCMPG();
         } catch (Throwable t) {
             handleException(t);
@@ -2994,7 +3002,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.DCMPL])
                 listener.DCMPL();
         } catch (Throwable t) {
             handleException(t);
@@ -3008,7 +3016,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.DCMPG])
                 listener.DCMPG();
         } catch (Throwable t) {
             handleException(t);
@@ -3023,7 +3031,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.IFEQ])
                 listener.IFEQ(className, methName, branchIndex, param);
         } catch (Throwable t) {
             handleException(t);
@@ -3038,7 +3046,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.IFNE])
                 listener.IFNE(className, methName, branchIndex, param);
         } catch (Throwable t) {
             handleException(t);
@@ -3053,7 +3061,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.IFLT])
                 listener.IFLT(className, methName, branchIndex, param);
         } catch (Throwable t) {
             handleException(t);
@@ -3068,7 +3076,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.IFGE])
                 listener.IFGE(className, methName, branchIndex, param);
         } catch (Throwable t) {
             handleException(t);
@@ -3083,7 +3091,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.IFGT])
                 listener.IFGT(className, methName, branchIndex, param);
         } catch (Throwable t) {
             handleException(t);
@@ -3098,7 +3106,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.IFLE])
                 listener.IFLE(className, methName, branchIndex, param);
         } catch (Throwable t) {
             handleException(t);
@@ -3113,7 +3121,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.IF_ICMPEQ])
                 listener.IF_ICMPEQ(className, methName, branchIndex, left,
                         right);
         } catch (Throwable t) {
@@ -3129,7 +3137,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.IF_ICMPNE])
                 listener.IF_ICMPNE(className, methName, branchIndex, left,
                         right);
         } catch (Throwable t) {
@@ -3145,7 +3153,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.IF_ICMPLT])
                 listener.IF_ICMPLT(className, methName, branchIndex, left,
                         right);
         } catch (Throwable t) {
@@ -3161,7 +3169,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.IF_ICMPGE])
                 listener.IF_ICMPGE(className, methName, branchIndex, left,
                         right);
         } catch (Throwable t) {
@@ -3177,7 +3185,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.IF_ICMPGT])
                 listener.IF_ICMPGT(className, methName, branchIndex, left,
                         right);
         } catch (Throwable t) {
@@ -3193,7 +3201,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.IF_ICMPLE])
                 listener.IF_ICMPLE(className, methName, branchIndex, left,
                         right);
         } catch (Throwable t) {
@@ -3209,7 +3217,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.IF_ACMPEQ])
                 listener.IF_ACMPEQ(className, methName, branchIndex, left,
                         right);
         } catch (Throwable t) {
@@ -3225,7 +3233,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.IF_ACMPNE])
                 listener.IF_ACMPNE(className, methName, branchIndex, left,
                         right);
         } catch (Throwable t) {
@@ -3240,7 +3248,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.GOTO])
                 listener.GOTO();
         } catch (Throwable t) {
             handleException(t);
@@ -3254,7 +3262,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.JSR])
                 listener.JSR();
         } catch (Throwable t) {
             handleException(t);
@@ -3268,7 +3276,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.RET])
                 listener.RET();
         } catch (Throwable t) {
             handleException(t);
@@ -3283,7 +3291,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.TABLESWITCH])
                 listener.TABLESWITCH(className, methName, branchIndex, target,
                         min, max);
         } catch (Throwable t) {
@@ -3299,7 +3307,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.LOOKUPSWITCH])
                 listener.LOOKUPSWITCH(className, methName, branchIndex, target,
                         goals);
         } catch (Throwable t) {
@@ -3314,7 +3322,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.IRETURN])
                 listener.IRETURN();
         } catch (Throwable t) {
             handleException(t);
@@ -3328,7 +3336,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.LRETURN])
                 listener.LRETURN();
         } catch (Throwable t) {
             handleException(t);
@@ -3342,7 +3350,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.FRETURN])
                 listener.FRETURN();
         } catch (Throwable t) {
             handleException(t);
@@ -3356,7 +3364,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.DRETURN])
                 listener.DRETURN();
         } catch (Throwable t) {
             handleException(t);
@@ -3370,7 +3378,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.ARETURN])
                 listener.ARETURN();
         } catch (Throwable t) {
             handleException(t);
@@ -3384,7 +3392,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.RETURN])
                 listener.RETURN();
         } catch (Throwable t) {
             handleException(t);
@@ -3398,7 +3406,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.GETSTATIC])
                 listener.GETSTATIC(owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -3412,7 +3420,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.PUTSTATIC])
                 listener.PUTSTATIC(owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -3427,7 +3435,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.GETFIELD])
                 listener.GETFIELD(receiver, owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -3442,7 +3450,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.PUTFIELD])
                 listener.PUTFIELD(receiver, owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -3456,7 +3464,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.INVOKESTATIC])
                 listener.INVOKESTATIC(owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -3470,7 +3478,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.INVOKESPECIAL])
                 listener.INVOKESPECIAL(owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -3485,7 +3493,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.INVOKEVIRTUAL])
                 listener.INVOKEVIRTUAL(receiver, owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -3500,7 +3508,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.INVOKESPECIAL])
                 listener.INVOKESPECIAL(receiver, owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -3515,7 +3523,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.INVOKEINTERFACE])
                 listener.INVOKEINTERFACE(receiver, owner, name, desc);
         } catch (Throwable t) {
             handleException(t);
@@ -3576,7 +3584,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.NEWARRAY])
                 listener.NEWARRAY(length,
                         getArrayComponentType(componentTypeInt),
                         className,
@@ -3593,7 +3601,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.ANEWARRAY])
                 listener.ANEWARRAY(length, componentTypeName, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -3607,7 +3615,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.ARRAYLENGTH])
                 listener.ARRAYLENGTH(reference);
         } catch (Throwable t) {
             handleException(t);
@@ -3621,7 +3629,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.ATHROW])
                 listener.ATHROW((Throwable) throwable);
         } catch (Throwable t) {
             handleException(t);
@@ -3635,7 +3643,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.CHECKCAST])
                 listener.CHECKCAST(reference, typeName);
         } catch (Throwable t) {
             handleException(t);
@@ -3649,7 +3657,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.INSTANCEOF])
                 listener.INSTANCEOF(reference, typeName);
         } catch (Throwable t) {
             handleException(t);
@@ -3663,7 +3671,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.MONITORENTER])
                 listener.MONITORENTER();
         } catch (Throwable t) {
             handleException(t);
@@ -3677,7 +3685,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.MONITOREXIT])
                 listener.MONITOREXIT();
         } catch (Throwable t) {
             handleException(t);
@@ -3691,7 +3699,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.WIDE])
                 listener.WIDE();
         } catch (Throwable t) {
             handleException(t);
@@ -3705,7 +3713,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.MULTIANEWARRAY])
                 listener.MULTIANEWARRAY(arrayTypeDesc, nrDimensions, className, methodName);
         } catch (Throwable t) {
             handleException(t);
@@ -3720,7 +3728,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.IFNULL])
                 listener.IFNULL(className, methName, branchIndex, param);
         } catch (Throwable t) {
             handleException(t);
@@ -3735,7 +3743,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.IFNONNULL])
                 listener.IFNONNULL(className, methName, branchIndex, param);
         } catch (Throwable t) {
             handleException(t);
@@ -3749,7 +3757,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.GOTO_W])
                 listener.GOTO_W();
         } catch (Throwable t) {
             handleException(t);
@@ -3763,7 +3771,7 @@ public final class VM {
         ignoreCallback = true;
         vm.countCallback();
         try {
-            for (IVM listener : vm.listeners)
+            for (IVM listener : vm.dispatchTable[DispatchTable.JSR_W])
                 listener.JSR_W();
         } catch (Throwable t) {
             handleException(t);
@@ -587,6 +587,19 @@ public abstract class GeneticAlgorithm<T extends Chromosome<T>> implements Searc
         });
     }
 
+    /**
+     * Calculate fitness for the immigrants received from the other clients.
+     * Immigrants sent through the migration channel carry no fitness values,
+     * and the ones sent through the master were evaluated by another client,
+     * so all of them are evaluated again here, in the search thread
+     *
+     * @param immigrants
+     */
+    protected void calculateFitnessOfImmigrants(Collection<T> immigrants) {
+        logger.debug("Calculating fitness for " + immigrants.size() + " immigrants");
+        immigrants.forEach(this::calculateFitness);
+    }
+
     /**
      * Calculate fitness for all individuals and sort them
      */
@@ -99,7 +99,9 @@ public class MOSA extends AbstractMOSA {
 
         // for parallel runs: integrate possible immigrants
         if (Properties.NUM_PARALLEL_CLIENTS > 1 && !immigrants.isEmpty()) {
-            union.addAll(immigrants.poll());
+            List<TestChromosome> arrivals = immigrants.poll();
+            this.calculateFitnessOfImmigrants(arrivals);
+            union.addAll(arrivals);
         }
 
         Set<TestFitnessFunction> uncoveredGoals = this.getUncoveredGoals();
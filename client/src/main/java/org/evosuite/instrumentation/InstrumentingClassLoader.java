@@ -27,6 +27,7 @@ import org.objectweb.asm.ClassReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -48,7 +49,7 @@ public class InstrumentingClassLoader extends ClassLoader {
 
     private final BytecodeInstrumentation instrumentation;
     private final ClassLoader classLoader;
-    private final Map<String, Class<?>> classes = new HashMap<>();
+    private final Map<String, Class<?>> classes = new LinkedHashMap<>();
 
     /**
      * <p>
@@ -102,6 +103,68 @@ public class InstrumentingClassLoader extends ClassLoader {
         }
     }
 
+    /**
+     * Define a class from bytecode that is not on the classpath, e.g. a test
+     * compiled in memory
+     *
+     * @param fullyQualifiedTargetClass
+     * @param bytecode
+     * @return the defined class
+     * @throws ClassNotFoundException
+     */
+    public Class<?> loadClassFromBytes(String fullyQualifiedTargetClass, byte[] bytecode) throws ClassNotFoundException {
+        byte[] byteBuffer;
+        try {
+            byteBuffer = transformClassBytes(fullyQualifiedTargetClass, bytecode);
+        } catch (Throwable t) {
+            logger.info("Error while loading class " + fullyQualifiedTargetClass + " : " + t);
+            throw new ClassNotFoundException(t.getMessage(), t);
+        }
+        return defineTransformedClass(fullyQualifiedTargetClass, byteBuffer);
+    }
+
+    /**
+     * Apply to the given bytecode the same transformation done when loading
+     * it, without defining the class. For a {@link NonInstrumentingClassLoader}
+     * this does not depend on the classes already loaded, and so it can be
+     * done ahead of time on a different thread.
+     *
+     * @param fullyQualifiedTargetClass
+     * @param bytecode
+     * @return the transformed bytecode, to be given to {@link #defineTransformedClass(String, byte[])}
+     * @throws IOException
+     */
+    public byte[] transformClassBytes(String fullyQualifiedTargetClass, byte[] bytecode) throws IOException {
+        String className = fullyQualifiedTargetClass.replace('.', '/');
+        try (InputStream is = new ByteArrayInputStream(bytecode)) {
+            return getTransformedBytes(className, is);
+        }
+    }
+
+    /**
+     * Define a class from bytecode already transformed with
+     * {@link #transformClassBytes(String, byte[])}
+     *
+     * @param fullyQualifiedTargetClass
+     * @param byteBuffer
+     * @return the defined class
+     * @throws ClassNotFoundException
+     */
+    public Class<?> defineTransformedClass(String fullyQualifiedTargetClass, byte[] byteBuffer) throws ClassNotFoundException {
+        try {
+            createPackageDefinition(fullyQualifiedTargetClass);
+            Class<?> result = defineClass(fullyQualifiedTargetClass, byteBuffer, 0, byteBuffer.length);
+
+            classes.put(fullyQualifiedTargetClass, result);
+
+            logger.info("Loaded class " + fullyQualifiedTargetClass + " directly from memory");
+            return result;
+        } catch (Throwable t) {
+            logger.info("Error while loading class " + fullyQualifiedTargetClass + " : " + t);
+            throw new ClassNotFoundException(t.getMessage(), t);
+        }
+    }
+
     @Override
     public Class<?> loadClass(String name) throws ClassNotFoundException {
         synchronized (getClassLoadingLock(name)) {
@@ -188,8 +251,11 @@ public class InstrumentingClassLoader extends ClassLoader {
         return instrumentation;
     }
 
+    /**
+     * @return the names of the classes defined by this loader, in the order they were loaded
+     */
     public Set<String> getLoadedClasses() {
-        HashSet<String> loadedClasses = new HashSet<>(this.classes.keySet());
+        Set<String> loadedClasses = new LinkedHashSet<>(this.classes.keySet());
         return loadedClasses;
     }
 
@@ -19,6 +19,8 @@
  */
 package org.evosuite.instrumentation;
 
+import org.evosuite.Properties;
+import org.evosuite.runtime.instrumentation.CreateClassResetClassAdapter;
 import org.evosuite.runtime.util.ComputeClassWriter;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassVisitor;
@@ -29,8 +31,20 @@ import java.io.InputStream;
 
 public class NonInstrumentingClassLoader extends InstrumentingClassLoader {
 
+    private final boolean addStaticReset;
+
     public NonInstrumentingClassLoader() {
+        this(false);
+    }
+
+    /**
+     * @param addStaticReset whether to add the __STATIC_RESET() method to the
+     *                       loaded classes, so that their static state can be
+     *                       reset through the {@link org.evosuite.runtime.classhandling.ClassResetter}
+     */
+    public NonInstrumentingClassLoader(boolean addStaticReset) {
         super();
+        this.addStaticReset = addStaticReset;
     }
 
 	/*
@@ -57,6 +71,9 @@ public class NonInstrumentingClassLoader extends InstrumentingClassLoader {
         ClassWriter writer = new ComputeClassWriter(asmFlags);
 
         ClassVisitor cv = writer;
+        if (addStaticReset) {
+            cv = new CreateClassResetClassAdapter(cv, className, Properties.RESET_STATIC_FINAL_FIELDS);
+        }
         cv = new NonTargetClassAdapter(cv, className);
         reader.accept(cv, readFlags);
         return writer.toByteArray();
@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.instrumentation;
+
+/**
+ * Class loader for compiled tests that shares the classes of the SUT with
+ * other test runs. Only the classes defined through
+ * {@link #defineTransformedClass(String, byte[])} (i.e., the tests) belong to
+ * this loader, any other class is loaded by the given SUT loader.
+ */
+public class TestClassLoader extends NonInstrumentingClassLoader {
+
+    private final NonInstrumentingClassLoader sutLoader;
+
+    /**
+     * @param sutLoader the loader of the SUT classes, shared by several test loaders
+     */
+    public TestClassLoader(NonInstrumentingClassLoader sutLoader) {
+        super();
+        this.sutLoader = sutLoader;
+    }
+
+    public NonInstrumentingClassLoader getSUTLoader() {
+        return sutLoader;
+    }
+
+    @Override
+    public Class<?> loadClass(String name) throws ClassNotFoundException {
+        synchronized (getClassLoadingLock(name)) {
+            Class<?> result = findLoadedClass(name);
+            if (result != null) {
+                return result;
+            }
+            return sutLoader.loadClass(name);
+        }
+    }
+}
@@ -0,0 +1,365 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.instrumentation.mutation;
+
+import org.evosuite.Properties;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.coverage.mutation.Mutation;
+import org.evosuite.coverage.mutation.MutationPool;
+import org.evosuite.graphs.cfg.BytecodeInstruction;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.IntInsnNode;
+import org.objectweb.asm.tree.LdcInsnNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Static pruning of mutants before they are added to the {@link MutationPool}.
+ * <p>
+ * Operator replacements are compared by their effect on the left operand,
+ * which is only known when the right operand is a constant (e.g.
+ * <code>x + 0</code>, <code>x * 1</code>, <code>x | 0</code> and
+ * <code>x &lt;&lt; 0</code> all leave <code>x</code> unchanged). A replacement
+ * with the same effect as the original operator is equivalent and never
+ * created, and a replacement with the same effect as a mutant that already
+ * exists on the same expression is a duplicate and never created either. The
+ * right operand is found through the dataflow frames of the CFG.
+ */
+public class MutantPruning {
+
+    private static final Logger logger = LoggerFactory.getLogger(MutantPruning.class);
+
+    private static final String IDENTITY = "id";
+
+    private MutantPruning() {
+    }
+
+    /**
+     * Returns the opcodes that remain of the given replacements of a binary
+     * arithmetic or bitwise operator once equivalent and duplicate mutants
+     * are removed. Pruned mutants are counted in the mutation pool.
+     *
+     * @param className    the class of the instruction
+     * @param methodName   the method of the instruction
+     * @param instruction  the operator instruction to be mutated
+     * @param replacements the candidate replacement opcodes
+     * @return the replacement opcodes to create mutants for
+     */
+    public static List<Integer> pruneOperatorReplacements(String className, String methodName,
+                                                          BytecodeInstruction instruction,
+                                                          Collection<Integer> replacements) {
+        List<Integer> kept = new ArrayList<>();
+        if (!Properties.MUTANT_PRUNING) {
+            kept.addAll(replacements);
+            return kept;
+        }
+
+        MutationPool pool = MutationPool.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT());
+        int opcode = instruction.getASMNode().getOpcode();
+        BytecodeInstruction operand = getRightOperandSource(instruction);
+        Long constant = operand == null ? null : getIntegralValue(operand.getASMNode());
+
+        String original = getEffect(opcode, constant);
+        Set<String> effects = getEffectsOfExistingMutants(pool, className, methodName, opcode, operand);
+
+        for (int replacement : replacements) {
+            String effect = getEffect(replacement, constant);
+            if (effect.equals(original)) {
+                logger.debug("Pruning equivalent mutant {} -> {} in {}.{}", opcode, replacement,
+                        className, methodName);
+                pool.addPrunedEquivalentMutant();
+            } else if (!effects.add(effect)) {
+                logger.debug("Pruning duplicate mutant {} -> {} in {}.{}", opcode, replacement,
+                        className, methodName);
+                pool.addPrunedDuplicateMutant();
+            } else {
+                kept.add(replacement);
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * Determines whether replacing a constant yields an equivalent mutant,
+     * which is the case when the replacement is the same value (e.g.
+     * <code>value + 1.0</code> for large doubles).
+     *
+     * @param value       the original constant
+     * @param replacement the replacement constant
+     * @return true if the mutant should not be created
+     */
+    public static boolean isEquivalentConstant(Object value, Object replacement) {
+        if (!Properties.MUTANT_PRUNING || !value.equals(replacement)) {
+            return false;
+        }
+        MutationPool.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT()).addPrunedEquivalentMutant();
+        return true;
+    }
+
+    /**
+     * The effects of the mutants already in the pool that act on the right
+     * operand of the given operator: constant replacements of a constant
+     * operand, and the negation of a loaded operand which turns an addition
+     * into a subtraction and vice versa.
+     */
+    private static Set<String> getEffectsOfExistingMutants(MutationPool pool, String className, String methodName,
+                                                           int opcode, BytecodeInstruction operand) {
+        Set<String> effects = new HashSet<>();
+        if (operand == null) {
+            return effects;
+        }
+
+        for (Mutation mutation : pool.retrieveMutationsInMethod(className, methodName)) {
+            if (mutation.getOriginalNode() != operand.getASMNode()) {
+                continue;
+            }
+            AbstractInsnNode last = mutation.getMutation().getLast();
+            if (mutation.getMutationName().startsWith(ReplaceConstant.NAME)) {
+                if (last instanceof LdcInsnNode && isIntegral(((LdcInsnNode) last).cst)) {
+                    effects.add(getEffect(opcode, ((Number) ((LdcInsnNode) last).cst).longValue()));
+                }
+            } else if (mutation.getMutationName().startsWith(InsertUnaryOperator.NAME) && isNegation(last)) {
+                int negated = getAdditiveInverse(opcode);
+                if (negated >= 0) {
+                    effects.add(getEffect(negated, null));
+                }
+            }
+        }
+        return effects;
+    }
+
+    private static BytecodeInstruction getRightOperandSource(BytecodeInstruction instruction) {
+        try {
+            return instruction.getSourceOfStackInstruction(0);
+        } catch (IllegalStateException e) {
+            // no dataflow information for this instruction
+            return null;
+        }
+    }
+
+    private static boolean isIntegral(Object value) {
+        return value instanceof Integer || value instanceof Long;
+    }
+
+    private static boolean isNegation(AbstractInsnNode node) {
+        if (node == null) {
+            return false;
+        }
+        switch (node.getOpcode()) {
+            case Opcodes.INEG:
+            case Opcodes.LNEG:
+            case Opcodes.FNEG:
+            case Opcodes.DNEG:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * <code>x + (-y)</code> is <code>x - y</code> and <code>x - (-y)</code> is
+     * <code>x + y</code> for all numeric types.
+     */
+    private static int getAdditiveInverse(int opcode) {
+        switch (opcode) {
+            case Opcodes.IADD:
+                return Opcodes.ISUB;
+            case Opcodes.LADD:
+                return Opcodes.LSUB;
+            case Opcodes.FADD:
+                return Opcodes.FSUB;
+            case Opcodes.DADD:
+                return Opcodes.DSUB;
+            case Opcodes.ISUB:
+                return Opcodes.IADD;
+            case Opcodes.LSUB:
+                return Opcodes.LADD;
+            case Opcodes.FSUB:
+                return Opcodes.FADD;
+            case Opcodes.DSUB:
+                return Opcodes.DADD;
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * Returns the value of an int or long constant instruction, or null if
+     * the instruction is not such a constant.
+     */
+    static Long getIntegralValue(AbstractInsnNode node) {
+        switch (node.getOpcode()) {
+            case Opcodes.ICONST_M1:
+                return -1L;
+            case Opcodes.ICONST_0:
+            case Opcodes.LCONST_0:
+                return 0L;
+            case Opcodes.ICONST_1:
+            case Opcodes.LCONST_1:
+                return 1L;
+            case Opcodes.ICONST_2:
+                return 2L;
+            case Opcodes.ICONST_3:
+                return 3L;
+            case Opcodes.ICONST_4:
+                return 4L;
+            case Opcodes.ICONST_5:
+                return 5L;
+            case Opcodes.BIPUSH:
+            case Opcodes.SIPUSH:
+                return (long) ((IntInsnNode) node).operand;
+            case Opcodes.LDC:
+                Object cst = ((LdcInsnNode) node).cst;
+                return isIntegral(cst) ? ((Number) cst).longValue() : null;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Describes what the operator does to its left operand when the right
+     * operand is the given constant. Operators with the same description
+     * compute the same value for every left operand. Without a constant the
+     * description is the operator itself.
+     *
+     * @param opcode   the binary operator
+     * @param constant the right operand or null if it is not a known constant
+     * @return the description of the effect
+     */
+    static String getEffect(int opcode, Long constant) {
+        if (constant == null || !isIntegralOperator(opcode)) {
+            return "op:" + opcode;
+        }
+
+        boolean isLong = isLongOperator(opcode);
+        long c = isLong ? constant : (int) constant.longValue();
+        switch (opcode) {
+            case Opcodes.IADD:
+            case Opcodes.LADD:
+                return c == 0 ? IDENTITY : "add:" + c;
+            case Opcodes.ISUB:
+            case Opcodes.LSUB:
+                return c == 0 ? IDENTITY : "add:" + (isLong ? -c : (int) -c);
+            case Opcodes.IMUL:
+            case Opcodes.LMUL:
+                if (c == 1)
+                    return IDENTITY;
+                else if (c == 0)
+                    return "const:0";
+                else if (c == -1)
+                    return "neg";
+                return "mul:" + c;
+            case Opcodes.IDIV:
+            case Opcodes.LDIV:
+                if (c == 1)
+                    return IDENTITY;
+                else if (c == 0)
+                    return "throw";
+                else if (c == -1)
+                    return "neg";
+                return "div:" + c;
+            case Opcodes.IREM:
+            case Opcodes.LREM:
+                if (c == 0)
+                    return "throw";
+                else if (c == 1 || c == -1)
+                    return "const:0";
+                // the sign of the remainder only depends on the dividend
+                return "rem:" + (c == Long.MIN_VALUE ? c : Math.abs(c));
+            case Opcodes.IAND:
+            case Opcodes.LAND:
+                if (c == 0)
+                    return "const:0";
+                else if (c == -1)
+                    return IDENTITY;
+                return "and:" + c;
+            case Opcodes.IOR:
+            case Opcodes.LOR:
+                if (c == 0)
+                    return IDENTITY;
+                else if (c == -1)
+                    return "const:-1";
+                return "or:" + c;
+            case Opcodes.IXOR:
+            case Opcodes.LXOR:
+                if (c == 0)
+                    return IDENTITY;
+                else if (c == -1)
+                    return "not";
+                return "xor:" + c;
+            case Opcodes.ISHL:
+            case Opcodes.LSHL:
+            case Opcodes.ISHR:
+            case Opcodes.LSHR:
+            case Opcodes.IUSHR:
+            case Opcodes.LUSHR:
+                // only the lowest five (six for long) bits of the distance are used
+                long distance = c & (isLong ? 0x3f : 0x1f);
+                return distance == 0 ? IDENTITY : "shift" + opcode + ":" + distance;
+            default:
+                return "op:" + opcode;
+        }
+    }
+
+    private static boolean isIntegralOperator(int opcode) {
+        switch (opcode) {
+            case Opcodes.IADD:
+            case Opcodes.ISUB:
+            case Opcodes.IMUL:
+            case Opcodes.IDIV:
+            case Opcodes.IREM:
+            case Opcodes.IAND:
+            case Opcodes.IOR:
+            case Opcodes.IXOR:
+            case Opcodes.ISHL:
+            case Opcodes.ISHR:
+            case Opcodes.IUSHR:
+                return true;
+            default:
+                return isLongOperator(opcode);
+        }
+    }
+
+    private static boolean isLongOperator(int opcode) {
+        switch (opcode) {
+            case Opcodes.LADD:
+            case Opcodes.LSUB:
+            case Opcodes.LMUL:
+            case Opcodes.LDIV:
+            case Opcodes.LREM:
+            case Opcodes.LAND:
+            case Opcodes.LOR:
+            case Opcodes.LXOR:
+            case Opcodes.LSHL:
+            case Opcodes.LSHR:
+            case Opcodes.LUSHR:
+                return true;
+            default:
+                return false;
+        }
+    }
+}
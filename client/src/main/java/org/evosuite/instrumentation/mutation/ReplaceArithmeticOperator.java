@@ -178,7 +178,8 @@ public class ReplaceArithmeticOperator implements MutationOperator {
 
         InsnNode node = (InsnNode) instruction.getASMNode();
 
-        for (int opcode : getMutations(node.getOpcode())) {
+        for (int opcode : MutantPruning.pruneOperatorReplacements(className, methodName, instruction,
+                getMutations(node.getOpcode()))) {
 
             InsnNode mutation = new InsnNode(opcode);
             // insert mutation into pool
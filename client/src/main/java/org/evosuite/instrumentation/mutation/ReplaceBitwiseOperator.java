@@ -94,7 +94,8 @@ public class ReplaceBitwiseOperator implements MutationOperator {
             replacement.addAll(opcodesLongShift);
         replacement.remove(node.getOpcode());
 
-        for (int opcode : replacement) {
+        for (int opcode : MutantPruning.pruneOperatorReplacements(className, methodName, instruction,
+                replacement)) {
 
             InsnNode mutation = new InsnNode(opcode);
             // insert mutation into pool
@@ -61,6 +61,9 @@ public class ReplaceConstant implements MutationOperator {
         Object value = getValue(instruction.getASMNode());
 
         for (Object replacement : getReplacement(value)) {
+            if (MutantPruning.isEquivalentConstant(value, replacement))
+                continue;
+
             // insert mutation into bytecode with conditional
             LdcInsnNode mutation = new LdcInsnNode(replacement);
             // insert mutation into pool
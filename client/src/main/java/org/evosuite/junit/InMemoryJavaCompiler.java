@@ -0,0 +1,289 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.junit;
+
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.runtime.util.JarPathing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.tools.*;
+import javax.tools.JavaCompiler.CompilationTask;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Compiles generated tests without writing anything to disk.
+ *
+ * <p>
+ * Sources are held in memory and the produced bytecode is collected in memory
+ * as well. The underlying {@link StandardJavaFileManager} is created once and
+ * reused, so the expanded classpath is set (and its archives opened) only once
+ * rather than on each compilation.
+ */
+public class InMemoryJavaCompiler {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryJavaCompiler.class);
+
+    private static InMemoryJavaCompiler instance = null;
+
+    /**
+     * By default javac stops attributing the remaining compilation units as
+     * soon as one of them has an error. We want the diagnostics of all the
+     * units, so that each failing test can be identified in a single task.
+     * The two flags are the JDK 8 and JDK 9+ spelling of the same option.
+     */
+    private static final List<String> OPTIONS = Collections.unmodifiableList(Arrays.asList(
+            "-proc:none",
+            "-XDshouldStopPolicyIfError=FLOW",
+            "-XDshould-stop.ifError=FLOW"));
+
+    private final JavaCompiler compiler;
+
+    private final StandardJavaFileManager fileManager;
+
+    /**
+     * Classpath (before expanding pathing jars) currently set in the file manager
+     */
+    private String classpath = null;
+
+    private InMemoryJavaCompiler(JavaCompiler compiler) {
+        this.compiler = compiler;
+        this.fileManager = compiler.getStandardFileManager(null, Locale.getDefault(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return the shared compiler, or {@code null} if no Java compiler is available
+     */
+    public static synchronized InMemoryJavaCompiler getInstance() {
+        if (instance == null) {
+            JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+            if (compiler == null) {
+                logger.error("No Java compiler is available");
+                return null;
+            }
+            instance = new InMemoryJavaCompiler(compiler);
+        }
+        return instance;
+    }
+
+    /**
+     * Compile all the given sources in a single compilation task
+     *
+     * @param sources source code indexed by fully qualified class name
+     * @return the outcome of the compilation
+     * @throws IOException if the classpath could not be set
+     */
+    public synchronized CompilationResult compile(Map<String, String> sources) throws IOException {
+
+        updateClasspath();
+
+        List<SourceFile> units = new ArrayList<>(sources.size());
+        Map<URI, String> classOfUnit = new HashMap<>();
+        for (Map.Entry<String, String> source : sources.entrySet()) {
+            SourceFile unit = new SourceFile(source.getKey(), source.getValue());
+            units.add(unit);
+            classOfUnit.put(unit.toUri(), source.getKey());
+        }
+
+        CompilationResult result = new CompilationResult();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        JavaFileManager memoryFileManager = new MemoryFileManager(fileManager, result.classFiles);
+
+        CompilationTask task = compiler.getTask(null, memoryFileManager, diagnostics, OPTIONS, null, units);
+        result.successful = task.call();
+
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() != Diagnostic.Kind.ERROR) {
+                continue;
+            }
+            result.errors.add(diagnostic);
+            String className = diagnostic.getSource() == null ? null : classOfUnit.get(diagnostic.getSource().toUri());
+            if (className != null) {
+                result.classesWithErrors.add(className);
+            } else {
+                result.unattributedErrors = true;
+            }
+        }
+
+        if (!result.successful && result.errors.isEmpty()) {
+            // failed without telling us why, so nothing can be blamed on a specific unit
+            result.unattributedErrors = true;
+        }
+
+        return result;
+    }
+
+    /**
+     * The classpath might change during the search (e.g., when the CUT is
+     * re-instrumented), so it is checked before each compilation. It is only
+     * expanded and set in the file manager when it did change.
+     */
+    private void updateClasspath() throws IOException {
+        String evosuiteCP = ClassPathHandler.getInstance().getEvoSuiteClassPath();
+        String targetProjectCP = ClassPathHandler.getInstance().getTargetProjectClasspath();
+        String current = targetProjectCP + File.pathSeparator + evosuiteCP;
+
+        if (current.equals(classpath)) {
+            return;
+        }
+
+        if (JarPathing.containsAPathingJar(evosuiteCP)) {
+            evosuiteCP = JarPathing.expandPathingJars(evosuiteCP);
+        }
+        if (JarPathing.containsAPathingJar(targetProjectCP)) {
+            targetProjectCP = JarPathing.expandPathingJars(targetProjectCP);
+        }
+
+        List<File> entries = new ArrayList<>();
+        for (String entry : (targetProjectCP + File.pathSeparator + evosuiteCP).split(File.pathSeparator)) {
+            if (!entry.isEmpty()) {
+                entries.add(new File(entry));
+            }
+        }
+
+        logger.debug("Setting classpath of in-memory compiler: " + entries);
+        fileManager.setLocation(StandardLocation.CLASS_PATH, entries);
+        classpath = current;
+    }
+
+    /**
+     * Outcome of a compilation task
+     */
+    public static class CompilationResult {
+
+        private boolean successful;
+
+        private boolean unattributedErrors = false;
+
+        private final Map<String, byte[]> classFiles = new LinkedHashMap<>();
+
+        private final Set<String> classesWithErrors = new LinkedHashSet<>();
+
+        private final List<Diagnostic<? extends JavaFileObject>> errors = new ArrayList<>();
+
+        public boolean isSuccessful() {
+            return successful;
+        }
+
+        /**
+         * @return the bytecode of all generated classes (including inner and
+         * anonymous ones) indexed by binary name
+         */
+        public Map<String, byte[]> getClassFiles() {
+            return Collections.unmodifiableMap(classFiles);
+        }
+
+        /**
+         * @return the names of the compiled sources that have at least one error
+         */
+        public Set<String> getClassesWithErrors() {
+            return Collections.unmodifiableSet(classesWithErrors);
+        }
+
+        /**
+         * @return whether there are errors that could not be mapped to any of
+         * the compiled sources (e.g., a broken classpath)
+         */
+        public boolean hasUnattributedErrors() {
+            return unattributedErrors;
+        }
+
+        public List<Diagnostic<? extends JavaFileObject>> getErrors() {
+            return Collections.unmodifiableList(errors);
+        }
+    }
+
+    private static URI uriOf(String className, JavaFileObject.Kind kind) {
+        return URI.create("mem:///" + className.replace('.', '/') + kind.extension);
+    }
+
+    private static class SourceFile extends SimpleJavaFileObject {
+
+        private final String code;
+
+        SourceFile(String className, String code) {
+            super(uriOf(className, Kind.SOURCE), Kind.SOURCE);
+            this.code = code;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return code;
+        }
+    }
+
+    private static class ClassFile extends SimpleJavaFileObject {
+
+        private final String className;
+
+        private final Map<String, byte[]> classFiles;
+
+        ClassFile(String className, Map<String, byte[]> classFiles) {
+            super(uriOf(className, Kind.CLASS), Kind.CLASS);
+            this.className = className;
+            this.classFiles = classFiles;
+        }
+
+        @Override
+        public OutputStream openOutputStream() {
+            return new ByteArrayOutputStream() {
+                @Override
+                public void close() throws IOException {
+                    super.close();
+                    classFiles.put(className, toByteArray());
+                }
+            };
+        }
+    }
+
+    /**
+     * Reads everything through the shared file manager, but keeps the
+     * generated class files in memory
+     */
+    private static class MemoryFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+
+        private final Map<String, byte[]> classFiles;
+
+        MemoryFileManager(StandardJavaFileManager fileManager, Map<String, byte[]> classFiles) {
+            super(fileManager);
+            this.classFiles = classFiles;
+        }
+
+        @Override
+        public JavaFileObject getJavaFileForOutput(Location location, String className,
+                                                   JavaFileObject.Kind kind, FileObject sibling) throws IOException {
+            if (kind == JavaFileObject.Kind.CLASS) {
+                return new ClassFile(className, classFiles);
+            }
+            return super.getJavaFileForOutput(location, className, kind, sibling);
+        }
+
+        @Override
+        public void close() {
+            // the shared file manager stays open for the next compilation
+        }
+    }
+}
@@ -19,19 +19,21 @@
  */
 package org.evosuite.junit;
 
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.evosuite.Properties;
 import org.evosuite.TestGenerationContext;
 import org.evosuite.TimeController;
 import org.evosuite.classpath.ClassPathHandler;
 import org.evosuite.instrumentation.NonInstrumentingClassLoader;
+import org.evosuite.instrumentation.TestClassLoader;
 import org.evosuite.junit.writer.TestSuiteWriter;
 import org.evosuite.junit.writer.TestSuiteWriterUtils;
+import org.evosuite.runtime.classhandling.ClassResetter;
+import org.evosuite.runtime.classhandling.ClassStateSupport;
 import org.evosuite.runtime.classhandling.JDKClassResetter;
 import org.evosuite.runtime.sandbox.Sandbox;
-import org.evosuite.runtime.util.JarPathing;
 import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.execution.reset.ClassReInitializer;
 import org.junit.platform.engine.TestExecutionResult;
 import org.junit.platform.engine.discovery.DiscoverySelectors;
 import org.junit.platform.launcher.*;
@@ -43,11 +45,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.tools.*;
-import javax.tools.JavaCompiler.CompilationTask;
 import java.io.File;
 import java.io.IOException;
-import java.nio.charset.Charset;
-import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -64,13 +63,14 @@ public abstract class JUnitAnalyzer {
 
     private static final Logger logger = LoggerFactory.getLogger(JUnitAnalyzer.class);
 
-    private static int dirCounter = 0;
-
-    private static final String JAVA = ".java";
-    private static final String CLASS = ".class";
-
     private static NonInstrumentingClassLoader loader = new NonInstrumentingClassLoader();
 
+    /**
+     * Loader of the SUT shared by the test runs if
+     * {@link Properties#JUNIT_CHECK_SHARED_SUT_LOADER} is set
+     */
+    private static NonInstrumentingClassLoader sutLoader = null;
+
     private static final VersionDependentAnalyzing versionDependentAnalyzer;
 
     static {
@@ -80,7 +80,12 @@ public abstract class JUnitAnalyzer {
 
     /**
      * Try to compile each test separately, and remove the ones that cannot be
-     * compiled
+     * compiled.
+     *
+     * <p>
+     * Each test is written in its own test suite, but all the suites are
+     * compiled in memory in a single compilation task. Compilation errors are
+     * then mapped back to the test of the suite they belong to.
      *
      * @param tests
      */
@@ -92,44 +97,101 @@ public abstract class JUnitAnalyzer {
             return;
         }
 
-        Iterator<TestCase> iter = tests.iterator();
+        List<Map<String, String>> sourcesOfTest = new ArrayList<>();
 
-        while (iter.hasNext()) {
+        for (TestCase test : tests) {
             if (!TimeController.getInstance().hasTimeToExecuteATestCase()) {
                 break;
             }
+            sourcesOfTest.add(getSources(Collections.singletonList(test)));
+        }
 
-            TestCase test = iter.next();
+        Set<Integer> failing = getTestsThatDoNotCompile(sourcesOfTest, Collections.emptySet());
+        if (failing == null) {
+            return;
+        }
 
-            File dir = createNewTmpDir();
-            if (dir == null) {
-                logger.warn("Failed to create tmp dir");
+        if (!failing.isEmpty()) {
+            /*
+             * Errors should only be reported on the suites that contain them,
+             * but let's be sure the remaining ones do compile together
+             */
+            Set<Integer> stillFailing = getTestsThatDoNotCompile(sourcesOfTest, failing);
+            if (stillFailing == null) {
                 return;
             }
-            logger.debug("Created tmp folder: " + dir.getAbsolutePath());
+            failing.addAll(stillFailing);
+        }
 
-            try {
-                List<TestCase> singleList = new ArrayList<>();
-                singleList.add(test);
-                List<File> generated = compileTests(singleList, dir);
-                if (generated == null) {
-                    iter.remove();
-                    String code = test.toCode();
-                    logger.error("Failed to compile test case:\n" + code);
+        // remove from the end, so that the indices of the other tests do not change
+        for (int i = sourcesOfTest.size() - 1; i >= 0; i--) {
+            if (failing.contains(i)) {
+                TestCase test = tests.remove(i);
+                String code = test.toCode();
+                logger.error("Failed to compile test case:\n" + code);
+            }
+        }
+    }
+
+    /**
+     * Compile the given test suites in a single task
+     *
+     * @param sourcesOfTest the sources of the test suite of each test
+     * @param excluded      the indices of the tests to not compile
+     * @return the indices of the tests whose suite does not compile, or
+     * {@code null} if compilation was not possible at all
+     */
+    private static Set<Integer> getTestsThatDoNotCompile(List<Map<String, String>> sourcesOfTest, Set<Integer> excluded) {
+
+        Set<Integer> failing = new LinkedHashSet<>();
+
+        Map<String, String> sources = new LinkedHashMap<>();
+        Map<String, Integer> testOfClass = new HashMap<>();
+        for (int i = 0; i < sourcesOfTest.size(); i++) {
+            if (excluded.contains(i)) {
+                continue;
+            }
+            sources.putAll(sourcesOfTest.get(i));
+            for (String className : sourcesOfTest.get(i).keySet()) {
+                testOfClass.put(className, i);
+            }
+        }
+
+        if (sources.isEmpty()) {
+            return failing;
+        }
+
+        InMemoryJavaCompiler.CompilationResult result = compile(sources);
+        if (result == null) {
+            return null;
+        }
+        if (result.isSuccessful()) {
+            return failing;
+        }
+
+        if (result.hasUnattributedErrors()) {
+            logger.warn("Compilation errors cannot be mapped to tests, compiling each test on its own");
+            for (int i = 0; i < sourcesOfTest.size(); i++) {
+                if (excluded.contains(i)) {
+                    continue;
                 }
-            } finally {
-                //let's be sure we clean up all what we wrote on disk
-                if (dir != null) {
-                    try {
-                        FileUtils.deleteDirectory(dir);
-                        logger.debug("Deleted tmp folder: " + dir.getAbsolutePath());
-                    } catch (Exception e) {
-                        logger.error("Cannot delete tmp dir: " + dir.getAbsolutePath(), e);
-                    }
+                InMemoryJavaCompiler.CompilationResult single = compile(sourcesOfTest.get(i));
+                if (single == null) {
+                    return null;
+                }
+                if (!single.isSuccessful()) {
+                    logCompilationErrors(sourcesOfTest.get(i), single);
+                    failing.add(i);
                 }
             }
+            return failing;
+        }
 
-        } // end of while
+        logCompilationErrors(sources, result);
+        for (String className : result.getClassesWithErrors()) {
+            failing.add(testOfClass.get(className));
+        }
+        return failing;
     }
 
     /**
@@ -152,16 +214,10 @@ public abstract class JUnitAnalyzer {
             return numUnstable;
         }
 
-        File dir = createNewTmpDir();
-        if (dir == null) {
-            logger.error("Failed to create tmp dir");
-            return numUnstable;
-        }
-        logger.debug("Created tmp folder: " + dir.getAbsolutePath());
-
         try {
-            List<File> generated = compileTests(tests, dir);
-            if (generated == null) {
+            Map<String, String> sources = getSources(tests);
+            InMemoryJavaCompiler.CompilationResult compiled = compileTests(sources);
+            if (compiled == null) {
                 /*
                  * Note: in theory this shouldn't really happen, as check for compilation
                  * is done before calling this method
@@ -176,116 +232,278 @@ public abstract class JUnitAnalyzer {
             }
 
             // Create a new classloader so that each test gets freshly loaded classes
-            loader = new NonInstrumentingClassLoader();
-            Class<?>[] testClasses = loadTests(generated);
+            loader = newTestLoader();
+            Class<?>[] testClasses = loadTests(prepareClasses(loader, sources.keySet(), compiled.getClassFiles()));
 
-            if (testClasses == null) {
-                logger.error("Found no classes for compiled tests");
-                return numUnstable;
+            JUnitResult result = runTests(testClasses);
+            return handleFailures(tests, result);
+
+        } catch (Exception e) {
+            logger.error("" + e, e);
+            return numUnstable;
+        }
+    }
+
+    /**
+     * Check each of the given tests on its own, as calling
+     * {@link #handleTestsThatAreUnstable(List)} on a list with only that test
+     * would do, and remove from the input list the tests that get deleted.
+     *
+     * <p>
+     * The suites of all the tests are compiled in a single task. Each suite
+     * is then loaded with its own class loader and run, one at a time and in
+     * order: they share the EvoSuite runtime, the sandbox and the JVM state
+     * the scaffolding resets, so running them concurrently could change which
+     * tests are found to be unstable.
+     *
+     * @param tests
+     * @return the number of unstable tests
+     */
+    public static int handleEachTestThatIsUnstable(List<TestCase> tests) {
+
+        int numUnstable = 0;
+        logger.info("Going to execute: handleEachTestThatIsUnstable");
+
+        if (tests == null || tests.isEmpty()) { //nothing to do
+            return numUnstable;
+        }
+
+        List<Map<String, String>> sourcesOfTest = new ArrayList<>();
+        Map<String, String> sources = new LinkedHashMap<>();
+        for (TestCase test : tests) {
+            if (!TimeController.getInstance().hasTimeToExecuteATestCase()) {
+                break;
             }
+            Map<String, String> testSources = getSources(Collections.singletonList(test));
+            sourcesOfTest.add(testSources);
+            sources.putAll(testSources);
+        }
 
-            JUnitResult result = runTests(testClasses, dir);
+        InMemoryJavaCompiler.CompilationResult compiled = compile(sources);
+        if (compiled == null || !compiled.isSuccessful()) {
+            /*
+             * Note: in theory this shouldn't really happen, as check for compilation
+             * is done before calling this method. The classes that do compile are not
+             * generated, so let's fall back to compiling each test on its own
+             */
+            logger.warn("Failed to compile the test cases together");
+            return handleEachTestThatIsUnstableSequentially(tests);
+        }
 
-            if (result.wasSuccessful()) {
-                return numUnstable; //everything is OK
+        Iterator<TestCase> iter = tests.iterator();
+        for (Map<String, String> testSources : sourcesOfTest) {
+            TestCase test = iter.next();
+            if (!TimeController.getInstance().hasTimeToExecuteATestCase()) {
+                break;
             }
 
+            List<TestCase> list = new ArrayList<>();
+            list.add(test);
+            try {
+                Map<String, byte[]> classFiles = getClassFilesOf(testSources.keySet(), compiled.getClassFiles());
+                // each test gets freshly loaded classes
+                loader = newTestLoader();
+                Class<?>[] testClasses = loadTests(prepareClasses(loader, testSources.keySet(), classFiles));
+                numUnstable += handleFailures(list, runTests(testClasses));
+            } catch (Exception e) {
+                logger.error("" + e, e);
+            }
 
-            failure_loop:
-            for (JUnitFailure failure : result.getFailures()) {
-                String testName = failure.getDescriptionMethodName();//TODO check if correct
-                for (int i = 0; i < tests.size(); i++) {
-                    if (TestSuiteWriterUtils.getNameOfTest(tests, i).equals(testName)) {
-                        if (tests.get(i).isFailing()) {
-                            logger.info("Failure is expected, continuing...");
-                            continue failure_loop;
-                        }
-                    }
-                }
+            if (list.isEmpty()) {
+                // if the test was unstable and deleted, need to remove it from
+                // the input list
+                iter.remove();
+            }
+        }
 
-                if (testName == null) {
-                    /*
-                     * this can happen if there is a failure in the scaffolding (eg @AfterClass/@BeforeClass).
-                     * in such case, everything need to be deleted
-                     */
-                    StringBuilder sb = new StringBuilder();
-                    sb.append("Issue in scaffolding of the test suite: ").append(failure.getMessage()).append("\n");
-                    sb.append("Stack trace:\n");
-                    for (String elem : failure.getExceptionStackTrace()) {
-                        sb.append(elem).append("\n");
-                    }
-                    logger.error(sb.toString());
-                    numUnstable = tests.size();
-                    tests.clear();
-                    return numUnstable;
-                }
+        return numUnstable;
+    }
 
-                // On the Sheffield cluster, the "well-known fle is not secure" issue is impossible to understand,
-                // so it might be best to ignore it for now.
-                if (testName.equals("initializationError") && failure.getMessage().contains("Failed to attach Java Agent")) {
-                    logger.warn("Likely error with EvoSuite instrumentation, ignoring failure in test execution");
-                    continue failure_loop;
-                }
+    private static int handleEachTestThatIsUnstableSequentially(List<TestCase> tests) {
+        int numUnstable = 0;
+        Iterator<TestCase> iter = tests.iterator();
+        while (iter.hasNext()) {
+            if (!TimeController.getInstance().hasTimeToExecuteATestCase()) {
+                break;
+            }
+            List<TestCase> list = new ArrayList<>();
+            list.add(iter.next());
+            numUnstable += handleTestsThatAreUnstable(list);
+            if (list.isEmpty()) {
+                iter.remove();
+            }
+        }
+        return numUnstable;
+    }
 
+    /**
+     * Mark as unstable (or remove) the tests that failed in the given run
+     *
+     * @param tests  the tests that were run
+     * @param result
+     * @return the number of unstable tests
+     */
+    private static int handleFailures(List<TestCase> tests, JUnitResult result) {
 
-                logger.warn("Found unstable test named " + testName + " -> "
-                        + failure.getExceptionClassName() + ": " + failure.getMessage());
+        int numUnstable = 0;
 
-                for (String elem : failure.getExceptionStackTrace()) {
-                    logger.info("Exception trace: {}", elem);
-                }
+        if (result.wasSuccessful()) {
+            return numUnstable; //everything is OK
+        }
 
-                boolean toRemove = !(failure.isAssertionError());
-
-                for (int i = 0; i < tests.size(); i++) {
-                    if (TestSuiteWriterUtils.getNameOfTest(tests, i).equals(testName)) {
-                        logger.warn("Failing test:\n " + tests.get(i).toCode());
-                        numUnstable++;
-                        /*
-                         * we have a match. should we remove it or mark as unstable?
-                         * When we have an Assert.* failing, we can just comment out
-                         * all the assertions in the test case. If it is an "assert"
-                         * in the SUT that fails, we do want to have the JUnit test fail.
-                         * On the other hand, if a test fail due to an uncaught exception,
-                         * we should delete it, as it would either represent a bug in EvoSuite
-                         * or something we cannot (easily) fix here
-                         */
-                        if (!toRemove) {
-                            logger.debug("Going to mark test as unstable: " + testName);
-                            tests.get(i).setUnstable(true);
-                        } else {
-                            logger.debug("Going to remove unstable test: " + testName);
-                            tests.remove(i);
-                        }
-                        break;
+
+        failure_loop:
+        for (JUnitFailure failure : result.getFailures()) {
+            String testName = failure.getDescriptionMethodName();//TODO check if correct
+            for (int i = 0; i < tests.size(); i++) {
+                if (TestSuiteWriterUtils.getNameOfTest(tests, i).equals(testName)) {
+                    if (tests.get(i).isFailing()) {
+                        logger.info("Failure is expected, continuing...");
+                        continue failure_loop;
                     }
                 }
             }
-        } catch (Exception e) {
-            logger.error("" + e, e);
-            return numUnstable;
-        } finally {
-            //let's be sure we clean up all what we wrote on disk
-
-            if (dir != null) {
-                try {
-                    FileUtils.deleteDirectory(dir);
-                } catch (Exception e) {
-                    logger.warn("Cannot delete tmp dir: " + dir.getName(), e);
+
+            if (testName == null) {
+                /*
+                 * this can happen if there is a failure in the scaffolding (eg @AfterClass/@BeforeClass).
+                 * in such case, everything need to be deleted
+                 */
+                StringBuilder sb = new StringBuilder();
+                sb.append("Issue in scaffolding of the test suite: ").append(failure.getMessage()).append("\n");
+                sb.append("Stack trace:\n");
+                for (String elem : failure.getExceptionStackTrace()) {
+                    sb.append(elem).append("\n");
                 }
+                logger.error(sb.toString());
+                numUnstable = tests.size();
+                tests.clear();
+                return numUnstable;
+            }
+
+            // On the Sheffield cluster, the "well-known fle is not secure" issue is impossible to understand,
+            // so it might be best to ignore it for now.
+            if (testName.equals("initializationError") && failure.getMessage().contains("Failed to attach Java Agent")) {
+                logger.warn("Likely error with EvoSuite instrumentation, ignoring failure in test execution");
+                continue failure_loop;
             }
 
+
+            logger.warn("Found unstable test named " + testName + " -> "
+                    + failure.getExceptionClassName() + ": " + failure.getMessage());
+
+            for (String elem : failure.getExceptionStackTrace()) {
+                logger.info("Exception trace: {}", elem);
+            }
+
+            boolean toRemove = !(failure.isAssertionError());
+
+            for (int i = 0; i < tests.size(); i++) {
+                if (TestSuiteWriterUtils.getNameOfTest(tests, i).equals(testName)) {
+                    logger.warn("Failing test:\n " + tests.get(i).toCode());
+                    numUnstable++;
+                    /*
+                     * we have a match. should we remove it or mark as unstable?
+                     * When we have an Assert.* failing, we can just comment out
+                     * all the assertions in the test case. If it is an "assert"
+                     * in the SUT that fails, we do want to have the JUnit test fail.
+                     * On the other hand, if a test fail due to an uncaught exception,
+                     * we should delete it, as it would either represent a bug in EvoSuite
+                     * or something we cannot (easily) fix here
+                     */
+                    if (!toRemove) {
+                        logger.debug("Going to mark test as unstable: " + testName);
+                        tests.get(i).setUnstable(true);
+                    } else {
+                        logger.debug("Going to remove unstable test: " + testName);
+                        tests.remove(i);
+                    }
+                    break;
+                }
+            }
         }
 
         //if we arrive here, then it means at least one test was unstable
         return numUnstable;
     }
 
-    private static JUnitResult runTests(Class<?>[] testClasses, File testClassDir)
+    private static JUnitResult runTests(Class<?>[] testClasses)
             throws JUnitExecutionException {
         return runJUnitOnCurrentProcess(testClasses);
     }
 
+    /**
+     * Create the loader for a run of compiled tests. Unless the SUT loader
+     * is shared, the SUT is loaded again by each loader.
+     *
+     * @return
+     */
+    private static NonInstrumentingClassLoader newTestLoader() {
+        /*
+         * Without the static reset, the static state left by previous
+         * runs could make tests look unstable
+         */
+        if (!Properties.JUNIT_CHECK_SHARED_SUT_LOADER || !Properties.RESET_STATIC_FIELDS) {
+            return new NonInstrumentingClassLoader();
+        }
+        if (sutLoader == null) {
+            sutLoader = new NonInstrumentingClassLoader(true);
+        }
+        return new TestClassLoader(sutLoader);
+    }
+
+    /**
+     * @return the SUT loader shared by the test runs, null if none was created yet
+     */
+    static NonInstrumentingClassLoader getSharedSUTLoader() {
+        return sutLoader;
+    }
+
+    /**
+     * If the tests share the SUT loader with previous runs, bring the SUT
+     * classes loaded by those runs back to the state they had after their
+     * initialisation. The shared SUT loader adds the static reset to the
+     * classes it loads.
+     *
+     * <p>
+     * This runs SUT code, so it has to be called where the tests are run,
+     * after the sandbox has been handled. The caller restores the loader of
+     * the {@link ClassResetter}, which is changed here.
+     *
+     * @param testClasses
+     */
+    static void resetSUTClasses(Class<?>[] testClasses) {
+        if (testClasses.length == 0 || !(testClasses[0].getClassLoader() instanceof TestClassLoader)) {
+            return;
+        }
+        NonInstrumentingClassLoader sutLoader = ((TestClassLoader) testClasses[0].getClassLoader()).getSUTLoader();
+        Set<String> loadedClasses = sutLoader.getLoadedClasses();
+        if (loadedClasses.isEmpty()) {
+            return;
+        }
+        /*
+         * Static initialisers can read the state of other classes, so reset
+         * in the order the classes were initialised during the search, and
+         * the classes not seen there in the order they were loaded
+         */
+        Set<String> classesToReset = new LinkedHashSet<>();
+        for (String className : ClassReInitializer.getInstance().getInitializedClasses()) {
+            if (loadedClasses.contains(className)) {
+                classesToReset.add(className);
+            }
+        }
+        classesToReset.addAll(loadedClasses);
+        logger.debug("Resetting {} classes of the shared SUT loader", loadedClasses.size());
+        ClassResetter.getInstance().setClassLoader(sutLoader);
+        ClassStateSupport.resetClasses(classesToReset.toArray(new String[0]));
+    }
+
+    private static void restoreClassResetterLoader(ClassLoader resetterLoader) {
+        if (resetterLoader != null) {
+            ClassResetter.getInstance().setClassLoader(resetterLoader);
+        }
+    }
+
 
     private static JUnitResult runJUnitOnCurrentProcess(Class<?>[] testClasses) {
         return versionDependentAnalyzer.runJUnitOnCurrentProcess(testClasses);
@@ -305,7 +523,14 @@ public abstract class JUnitAnalyzer {
     // EvoSuite classloader, and thus cannot easily be re-loaded
     private static int NUM = 0;
 
-    private static List<File> compileTests(List<TestCase> tests, File dir) {
+    /**
+     * Generate the sources of a test suite containing the given tests
+     *
+     * @param tests
+     * @return the source code of each class of the suite, indexed by fully
+     * qualified class name
+     */
+    private static Map<String, String> getSources(List<TestCase> tests) {
 
         TestSuiteWriter suite = new TestSuiteWriter();
         suite.insertAllTests(tests);
@@ -315,112 +540,152 @@ public abstract class JUnitAnalyzer {
         String name = Properties.TARGET_CLASS.substring(beginIndex);
         name += "_" + (NUM++) + "_tmp_" + Properties.JUNIT_SUFFIX; //postfix
 
-        try {
-            //now generate the JUnit test case
-            List<File> generated = suite.writeTestSuite(name, dir.getAbsolutePath(), Collections.EMPTY_LIST);
-            for (File file : generated) {
-                if (!file.exists()) {
-                    logger.error("Supposed to generate " + file
-                            + " but it does not exist");
-                    return null;
-                }
-            }
+        String packagePrefix = Properties.CLASS_PREFIX;
+        if (!packagePrefix.isEmpty() && !packagePrefix.endsWith(".")) {
+            packagePrefix += ".";
+        }
 
-            //try to compile the test cases
-            JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
-            if (compiler == null) {
-                logger.error("No Java compiler is available");
-                return null;
-            }
+        Map<String, String> sources = new LinkedHashMap<>();
+        for (Map.Entry<String, String> source : suite.getTestSuiteSources(name, Collections.emptyList()).entrySet()) {
+            sources.put(packagePrefix + source.getKey(), source.getValue());
+        }
+        return sources;
+    }
 
-            DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
-            Locale locale = Locale.getDefault();
-            Charset charset = StandardCharsets.UTF_8;
-            StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics,
-                    locale,
-                    charset);
+    private static InMemoryJavaCompiler.CompilationResult compile(Map<String, String> sources) {
+        InMemoryJavaCompiler compiler = InMemoryJavaCompiler.getInstance();
+        if (compiler == null) {
+            return null;
+        }
+        try {
+            return compiler.compile(sources);
+        } catch (IOException e) {
+            logger.error("" + e, e);
+            return null;
+        }
+    }
 
-            Iterable<? extends JavaFileObject> compilationUnits = fileManager.getJavaFileObjectsFromFiles(generated);
+    private static InMemoryJavaCompiler.CompilationResult compileTests(Map<String, String> sources) {
 
-            String evosuiteCP = ClassPathHandler.getInstance().getEvoSuiteClassPath();
-            if (JarPathing.containsAPathingJar(evosuiteCP)) {
-                evosuiteCP = JarPathing.expandPathingJars(evosuiteCP);
-            }
+        InMemoryJavaCompiler.CompilationResult result = compile(sources);
+        if (result == null) {
+            return null;
+        }
 
-            String targetProjectCP = ClassPathHandler.getInstance().getTargetProjectClasspath();
-            if (JarPathing.containsAPathingJar(targetProjectCP)) {
-                targetProjectCP = JarPathing.expandPathingJars(targetProjectCP);
-            }
+        if (!result.isSuccessful()) {
+            logger.error("Compilation failed on compilation units: " + sources.keySet());
+            logger.error("Classpath: " + ClassPathHandler.getInstance().getTargetProjectClasspath()
+                    + File.pathSeparator + ClassPathHandler.getInstance().getEvoSuiteClassPath());
+            logCompilationErrors(sources, result);
+            return null;
+        }
 
-            String classpath = targetProjectCP + File.pathSeparator + evosuiteCP;
+        return result;
+    }
 
-            List<String> optionList = new ArrayList<>(Arrays.asList("-classpath", classpath));
+    private static void logCompilationErrors(Map<String, String> sources, InMemoryJavaCompiler.CompilationResult result) {
 
-            CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
-                    optionList, null, compilationUnits);
-            boolean compiled = task.call();
-            fileManager.close();
+        for (Diagnostic<?> diagnostic : result.getErrors()) {
+            logger.error("Diagnostic: " + diagnostic.getMessage(null) + ": "
+                    + diagnostic.getLineNumber());
+        }
 
-            if (!compiled) {
-                logger.error("Compilation failed on compilation units: " + compilationUnits);
-                logger.error("Classpath: " + classpath);
-                //TODO remove
-                logger.error("evosuiteCP: " + evosuiteCP);
+        StringBuilder buffer = new StringBuilder();
+        for (String className : result.getClassesWithErrors()) {
+            buffer.append(className).append("\n");
 
+            String[] lines = sources.get(className).split("\\r?\\n");
+            for (int i = 0; i < lines.length; i++) {
+                buffer.append(i + 1).append(": ").append(lines[i]).append("\n");
+            }
+        }
+        logger.error(buffer.toString());
+    }
 
-                for (Diagnostic<?> diagnostic : diagnostics.getDiagnostics()) {
-                    if (diagnostic.getMessage(null).startsWith("error while writing")) {
-                        logger.error("Error is due to file permissions, ignoring...");
-                        return generated;
-                    }
-                    logger.error("Diagnostic: " + diagnostic.getMessage(null) + ": "
-                            + diagnostic.getLineNumber());
-                }
+    /**
+     * The compiled classes of a test suite, already transformed by the class
+     * loader that will define them
+     */
+    private static class PreparedClasses {
 
-                StringBuffer buffer = new StringBuffer();
-                for (JavaFileObject sourceFile : compilationUnits) {
-                    List<String> lines = FileUtils.readLines(new File(sourceFile.toUri().getPath()));
+        private final NonInstrumentingClassLoader loader;
 
-                    buffer.append(compilationUnits.iterator().next().toString() + "\n");
+        /**
+         * Transformed bytecode in loading order. Null if the transformation failed
+         */
+        private final Map<String, byte[]> transformed = new LinkedHashMap<>();
 
-                    for (int i = 0; i < lines.size(); i++) {
-                        buffer.append((i + 1) + ": " + lines.get(i) + "\n");
-                    }
-                }
-                logger.error(buffer.toString());
-                return null;
-            }
+        private final Set<String> testClassNames = new LinkedHashSet<>();
 
-            return generated;
+        private PreparedClasses(NonInstrumentingClassLoader loader) {
+            this.loader = loader;
+        }
+    }
 
-        } catch (IOException e) {
-            logger.error("" + e, e);
-            return null;
+    /**
+     * @return the class files generated from the given sources, including
+     * their inner and anonymous classes
+     */
+    private static Map<String, byte[]> getClassFilesOf(Set<String> sourceClassNames, Map<String, byte[]> classFiles) {
+        Map<String, byte[]> result = new LinkedHashMap<>();
+        for (Map.Entry<String, byte[]> classFile : classFiles.entrySet()) {
+            String className = classFile.getKey();
+            int dollar = className.indexOf('$');
+            String topLevelName = dollar < 0 ? className : className.substring(0, dollar);
+            if (sourceClassNames.contains(topLevelName)) {
+                result.put(className, classFile.getValue());
+            }
         }
+        return result;
     }
 
-    protected static File createNewTmpDir() {
-        File dir = null;
-        String dirName = FileUtils.getTempDirectoryPath() + File.separator + "EvoSuite_"
-                + (dirCounter++) + "_" + +System.currentTimeMillis();
+    private static PreparedClasses prepareClasses(NonInstrumentingClassLoader classLoader, Set<String> sourceClassNames,
+                                                  Map<String, byte[]> classFiles) {
 
-        //first create a tmp folder
-        dir = new File(dirName);
-        if (!dir.mkdirs()) {
-            logger.error("Cannot create tmp dir: " + dirName);
-            return null;
+        PreparedClasses prepared = new PreparedClasses(classLoader);
+
+        /*
+         * first the scaffolding files, then the tests that depend on them.
+         * All the other compiled classes are loaded as well, as otherwise
+         * we will miss all the anonymous classes
+         */
+        List<String> order = new ArrayList<>();
+        for (String className : sourceClassNames) {
+            if (isScaffolding(className)) {
+                order.add(className);
+            }
+        }
+        for (String className : sourceClassNames) {
+            if (!isScaffolding(className)) {
+                order.add(className);
+                prepared.testClassNames.add(className);
+            }
+        }
+        for (String className : classFiles.keySet()) {
+            if (!sourceClassNames.contains(className)) {
+                order.add(className);
+            }
         }
 
-        if (!dir.exists()) {
-            logger.error("Weird behavior: we created folder, but Java cannot determine if it exists? Folder: "
-                    + dirName);
-            return null;
+        for (String className : order) {
+            byte[] bytecode = classFiles.get(className);
+            if (bytecode == null) {
+                logger.error("No bytecode was generated for " + className);
+                continue;
+            }
+            byte[] transformed = null;
+            try {
+                transformed = classLoader.transformClassBytes(className, bytecode);
+            } catch (Throwable t) {
+                logger.error("Failed to transform " + className + ", error " + t, t);
+            }
+            prepared.transformed.put(className, transformed);
         }
 
-        return dir;
+        return prepared;
     }
 
-    private static Class<?>[] loadTests(List<File> tests) {
+    private static Class<?>[] loadTests(PreparedClasses prepared) {
 
         /*
          * Ideally, when we run a generated test case, it
@@ -434,67 +699,26 @@ public abstract class JUnitAnalyzer {
          * non-instrumenting classloader to re-load the CUT, and so see
          * if the JavaAgent works properly.
          */
-        Class<?>[] testClasses = getClassesFromFiles(tests);
-        List<File> otherClasses = listOnlyFiles(tests);
-        /*
-         * this is important to force the loading of all files generated
-         * in the target folder.
-         * If we do not do that, then we will miss all the anonymous classes
-         */
-        getClassesFromFiles(otherClasses);
-
-        return testClasses;
-    }
-
-    private static List<File> listOnlyFiles(List<File> tests) throws IllegalArgumentException {
-        if (tests == null || tests.isEmpty()) {
-            return null;
-        }
-
-        Set<String> classNames = new LinkedHashSet<>();
-
-        File parentFolder = tests.get(0).getParentFile();
-        for (File file : tests) {
-            if (!file.getParentFile().equals(parentFolder)) {
-                throw new IllegalArgumentException("Tests file are not in the same folder");
-            }
-            classNames.add(removeFileExtension(file.getName()));
-        }
-
-        /*
-         * if we already loaded a CUT due to its .java, do not want
-         * to re-loaded it for a .class file that is in the same folder
-         */
-
-        List<File> otherClasses = new LinkedList<>();
+        List<Class<?>> testClasses = new ArrayList<>();
 
-        for (File file : parentFolder.listFiles()) {
-            String name = removeFileExtension(file.getName());
-
-            if (classNames.contains(name)) {
+        for (Map.Entry<String, byte[]> entry : prepared.transformed.entrySet()) {
+            String className = entry.getKey();
+            if (entry.getValue() == null) {
                 continue;
             }
-
-            classNames.add(name);
-            otherClasses.add(file);
-        }
-
-        return otherClasses;
-    }
-
-
-    private static String removeFileExtension(String str) {
-        if (str == null) {
-            return null;
-        }
-
-        int pos = str.lastIndexOf(".");
-
-        if (pos == -1) {
-            return str;
+            Class<?> clazz = null;
+            try {
+                logger.info("Loading class " + className);
+                clazz = prepared.loader.defineTransformedClass(className, entry.getValue());
+            } catch (ClassNotFoundException e) {
+                logger.error("Failed to load test case " + className + " from memory, error " + e, e);
+            }
+            if (clazz != null && prepared.testClassNames.contains(className)) {
+                testClasses.add(clazz);
+            }
         }
 
-        return str.substring(0, pos);
+        return testClasses.toArray(new Class<?>[testClasses.size()]);
     }
 
     /**
@@ -522,29 +746,19 @@ public abstract class JUnitAnalyzer {
             return true;
         }
 
-        File dir = createNewTmpDir();
-        if (dir == null) {
-            logger.warn("Failed to create tmp dir");
-            return false;
-        }
-
         try {
-            List<File> generated = compileTests(tests, dir);
-            if (generated == null) {
+            Map<String, String> sources = getSources(tests);
+            InMemoryJavaCompiler.CompilationResult compiled = compileTests(sources);
+            if (compiled == null) {
                 logger.warn("Failed to compile the test cases ");
                 return false;
             }
 
             //as last step, execute the generated/compiled test cases
 
-            Class<?>[] testClasses = loadTests(generated);
+            Class<?>[] testClasses = loadTests(prepareClasses(loader, sources.keySet(), compiled.getClassFiles()));
 
-            if (testClasses == null) {
-                logger.error("Found no classes for compiled tests");
-                return false;
-            }
-
-            JUnitResult result = runTests(testClasses, dir);
+            JUnitResult result = runTests(testClasses);
 
             if (!result.wasSuccessful()) {
                 logger.error("" + result.getFailureCount() + " test cases failed");
@@ -568,15 +782,6 @@ public abstract class JUnitAnalyzer {
         } catch (Exception e) {
             logger.error("" + e, e);
             return false;
-        } finally {
-            //let's be sure we clean up all what we wrote on disk
-            if (dir != null) {
-                try {
-                    FileUtils.deleteDirectory(dir);
-                } catch (IOException e) {
-                    logger.warn("Cannot delete tmp dir: " + dir.getName(), e);
-                }
-            }
         }
 
         logger.debug("Successfully compiled and run test cases generated for "
@@ -584,91 +789,8 @@ public abstract class JUnitAnalyzer {
         return true;
     }
 
-    /**
-     * Given a list of files representing .java/.class classes, load them (it
-     * assumes the classpath to be correctly set)
-     *
-     * @param files
-     * @return
-     */
-    private static Class<?>[] getClassesFromFiles(Collection<File> files) {
-        /*
-         * first load only the scaffolding files
-         */
-        for (File file : files) {
-            if (!isScaffolding(file)) {
-                continue;
-            }
-            loadClass(file);
-        }
-
-        List<Class<?>> classes = new ArrayList<>();
-
-        /*
-         * once the scaffoldings are loaded, we can load the tests that
-         * depend on them
-         */
-        for (File file : files) {
-            if (isScaffolding(file)) {
-                continue;
-            }
-            Class<?> clazz = loadClass(file);
-            if (clazz != null) {
-                classes.add(clazz);
-            }
-        }
-
-        return classes.toArray(new Class<?>[classes.size()]);
-    }
-
-    private static boolean isScaffolding(File file) {
-        String name = file.getName();
-        return name.endsWith("_" + Properties.SCAFFOLDING_SUFFIX + JAVA) ||
-                name.endsWith("_" + Properties.SCAFFOLDING_SUFFIX + CLASS);
-    }
-
-    private static Class<?> loadClass(File file) {
-        if (!file.isFile()) {
-            return null;
-        }
-
-        String packagePrefix = Properties.CLASS_PREFIX;
-        if (!packagePrefix.isEmpty() && !packagePrefix.endsWith(".")) {
-            packagePrefix += ".";
-        }
-
-        String name = file.getName();
-
-        if (!name.endsWith(JAVA) && !name.endsWith(CLASS)) {
-            /*
-             * this could happen when we scan a folder for all src/compiled
-             * files
-             */
-            return null;
-        }
-
-        String fileName = file.getAbsolutePath();
-
-        if (name.endsWith(JAVA)) {
-            name = name.substring(0, name.length() - JAVA.length());
-            fileName = fileName.substring(0, fileName.length() - JAVA.length()) + ".class";
-        } else {
-            assert name.endsWith(CLASS);
-            name = name.substring(0, name.length() - CLASS.length());
-        }
-
-        String className = packagePrefix + name;
-
-        Class<?> testClass = null;
-        try {
-            logger.info("Loading class " + className);
-            //testClass = ((InstrumentingClassLoader) TestGenerationContext.getInstance().getClassLoaderForSUT()).loadClassFromFile(className,
-            testClass = loader.loadClassFromFile(className, fileName);
-        } catch (ClassNotFoundException e) {
-            logger.error("Failed to load test case " + className + " from file "
-                    + file.getAbsolutePath() + " , error " + e, e);
-        }
-        return testClass;
+    private static boolean isScaffolding(String className) {
+        return className.endsWith("_" + Properties.SCAFFOLDING_SUFFIX);
     }
 
     /**
@@ -705,13 +827,16 @@ public abstract class JUnitAnalyzer {
 
             Result result = null;
             ClassLoader currentLoader = Thread.currentThread().getContextClassLoader();
+            ClassLoader resetterLoader = ClassResetter.getInstance().getClassLoader();
 
             try {
                 TestGenerationContext.getInstance().goingToExecuteSUTCode();
                 Thread.currentThread().setContextClassLoader(testClasses[0].getClassLoader());
                 JDKClassResetter.reset(); //be sure we reset it here, otherwise "init" in the test case would take current changed state
+                resetSUTClasses(testClasses);
                 result = runner.run(testClasses);
             } finally {
+                restoreClassResetterLoader(resetterLoader);
                 Thread.currentThread().setContextClassLoader(currentLoader);
                 TestGenerationContext.getInstance().doneWithExecutingSUTCode();
             }
@@ -751,12 +876,14 @@ public abstract class JUnitAnalyzer {
 
             List<Pair<TestIdentifier, TestExecutionResult>> result = new ArrayList<>();
             ClassLoader currentLoader = Thread.currentThread().getContextClassLoader();
+            ClassLoader resetterLoader = ClassResetter.getInstance().getClassLoader();
 
 
             try {
                 TestGenerationContext.getInstance().goingToExecuteSUTCode();
                 Thread.currentThread().setContextClassLoader(testClasses[0].getClassLoader());
                 JDKClassResetter.reset(); //be sure we reset it here, otherwise "init" in the test case would take current changed state
+                resetSUTClasses(testClasses);
                 LauncherDiscoveryRequest request_ = LauncherDiscoveryRequestBuilder.request()
                         .selectors(Arrays.stream(testClasses).map(DiscoverySelectors::selectClass).collect(Collectors.toList()))
                         .filters(includeClassNamePatterns(".*Test"))
@@ -772,6 +899,7 @@ public abstract class JUnitAnalyzer {
 
                 launcher.execute(request_);
             } finally {
+                restoreClassResetterLoader(resetterLoader);
                 Thread.currentThread().setContextClassLoader(currentLoader);
                 TestGenerationContext.getInstance().doneWithExecutingSUTCode();
             }
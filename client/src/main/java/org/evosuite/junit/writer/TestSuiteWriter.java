@@ -49,9 +49,19 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.swing.*;
+import java.io.Closeable;
 import java.io.File;
+import java.io.IOException;
 import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
 
 import static org.evosuite.junit.writer.TestSuiteWriterUtils.*;
 
@@ -90,6 +100,18 @@ public class TestSuiteWriter implements Opcodes {
 
     private TestNameGenerationStrategy nameGenerator = null;
 
+    /**
+     * Imports of the test suite being generated. They are the same for all
+     * the generated classes, so they are only computed once per suite.
+     */
+    private String imports = null;
+
+    /**
+     * Number of test methods per thread that are generated before they are
+     * written, which bounds the code kept in memory
+     */
+    private static final int TESTS_PER_THREAD = 16;
+
     /**
      * Add test to suite. If the test is a prefix of an existing test, just keep
      * existing test. If an existing test is a prefix of the test, replace the
@@ -186,6 +208,63 @@ public class TestSuiteWriter implements Opcodes {
      */
     public List<File> writeTestSuite(String name, String directory, List<ExecutionResult> cachedResults) throws IllegalArgumentException {
 
+        List<ExecutionResult> results = prepareTestSuite(name, cachedResults);
+
+        String dir = TestSuiteWriterUtils.makeDirectory(directory);
+
+        // The code is written as soon as it is generated, one window of tests at a time
+        List<File> generated;
+        try (SourceFileWriter writer = new SourceFileWriter(dir)) {
+            generateTestSuiteSources(name, results, writer);
+            generated = writer.getFiles();
+        }
+
+        writeCoveredGoalsFile();
+
+        // The generation result keeps the code of the whole suite, so it is read back once written
+        StringBuilder content = new StringBuilder();
+        for (File file : generated) {
+            try {
+                content.append(new String(Files.readAllBytes(file.toPath()), Charset.defaultCharset()));
+            } catch (IOException e) {
+                logger.error("Error while reading file " + file.getName() + " , " + e.getMessage(), e);
+            }
+        }
+        TestGenerationResultBuilder.getInstance().setTestSuiteCode(content.toString());
+        return generated;
+    }
+
+    /**
+     * Generate the source code of the JUnit test suite for class, without
+     * writing anything to disk
+     *
+     * @param name Name of the class
+     * @return the source code of each generated class, indexed by simple class
+     * name, in the order in which they would be written
+     */
+    public Map<String, String> getTestSuiteSources(String name, List<ExecutionResult> cachedResults) throws IllegalArgumentException {
+
+        List<ExecutionResult> results = prepareTestSuite(name, cachedResults);
+
+        Map<String, StringBuilder> builders = new LinkedHashMap<>();
+        generateTestSuiteSources(name, results,
+                (className, code) -> builders.computeIfAbsent(className, k -> new StringBuilder()).append(code));
+
+        Map<String, String> sources = new LinkedHashMap<>();
+        for (Map.Entry<String, StringBuilder> entry : builders.entrySet()) {
+            sources.put(entry.getKey(), entry.getValue().toString());
+        }
+        return sources;
+    }
+
+    /**
+     * Execute the tests and prepare them for the generation of their code
+     *
+     * @param name Name of the class
+     * @return the execution results of the tests
+     */
+    private List<ExecutionResult> prepareTestSuite(String name, List<ExecutionResult> cachedResults) throws IllegalArgumentException {
+
         if (name == null || name.isEmpty()) {
             throw new IllegalArgumentException("Empty test class name");
         }
@@ -196,10 +275,6 @@ public class TestSuiteWriter implements Opcodes {
             throw new IllegalArgumentException("Test classes should have name ending with 'Test'. Invalid input name: " + name);
         }
 
-        List<File> generated = new ArrayList<>();
-        String dir = TestSuiteWriterUtils.makeDirectory(directory);
-        String content = "";
-
         // Execute all tests
         executor.newObservers();
         LoopCounter.getInstance().setActive(true); //be sure it is active here, as JUnit checks might have left it to false
@@ -239,38 +314,126 @@ public class TestSuiteWriter implements Opcodes {
         // let's try to remove any remaining assertions. TODO: Better solution
         removeAssertionsAfterException(results);
 
+        return results;
+    }
 
-        if (Properties.OUTPUT_GRANULARITY == OutputGranularity.MERGED || testCases.size() == 0) {
-            File file = new File(dir + "/" + name + ".java");
-            //executor.newObservers();
-            content = getUnitTestsAllInSameFile(name, results);
-            FileIOUtils.writeFile(content, file);
-            generated.add(file);
-        } else {
-            for (int i = 0; i < testCases.size(); i++) {
-                File file = new File(dir + "/" + name + "_" + i + ".java"); // e.g., dir/Foo_ESTest_0.java
-                //executor.newObservers();
-                String testCode = getOneUnitTestInAFile(name, i, results);
-                FileIOUtils.writeFile(testCode, file);
-                content += testCode;
-                generated.add(file);
+    /**
+     * Generate the source code of each class of the test suite, and pass it to
+     * the consumer in the order in which the classes would be written. The
+     * code of a class can be passed in several consecutive pieces.
+     *
+     * @param name     Name of the class
+     * @param results  the execution results of the tests
+     * @param consumer receives the simple name of a class and a piece of its source code
+     */
+    private void generateTestSuiteSources(String name, List<ExecutionResult> results,
+                                          BiConsumer<String, String> consumer) {
+
+        // The imports are computed before any test is chopped
+        imports = getImports(results);
+
+        ExecutorService pool = null;
+        if (Properties.JUNIT_WRITER_THREADS > 1 && testCases.size() > 1) {
+            ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+            pool = Executors.newFixedThreadPool(Properties.JUNIT_WRITER_THREADS, r -> {
+                Thread t = new Thread(r, "TestSuiteWriter-code-generation");
+                t.setDaemon(true);
+                t.setContextClassLoader(contextClassLoader);
+                return t;
+            });
+        }
+
+        try {
+            if (Properties.OUTPUT_GRANULARITY == OutputGranularity.MERGED || testCases.size() == 0) {
+                writeUnitTestsAllInSameFile(name, results, pool, consumer);
+            } else {
+                int window = getWindowSize();
+                for (int from = 0; from < testCases.size(); from += window) {
+                    int to = Math.min(from + window, testCases.size());
+                    List<String> tests = testsToString(from, to, results, pool);
+                    for (int i = from; i < to; i++) {
+                        consumer.accept(name + "_" + i, getOneUnitTestInAFile(name, i, results, tests.get(i - from)));
+                    }
+                }
+            }
+        } finally {
+            if (pool != null) {
+                pool.shutdownNow();
             }
+            imports = null;
         }
 
         if (Properties.TEST_SCAFFOLDING && !Properties.NO_RUNTIME_DEPENDENCY) {
             String scaffoldingName = Scaffolding.getFileName(name);
-            File file = new File(dir + "/" + scaffoldingName + ".java");
             String scaffoldingContent = Scaffolding.getScaffoldingFileContent(name, results,
                     TestSuiteWriterUtils.hasAnySecurityException(results));
-            FileIOUtils.writeFile(scaffoldingContent, file);
-            generated.add(file);
-            content += scaffoldingContent;
+            consumer.accept(scaffoldingName, scaffoldingContent);
         }
+    }
 
-        writeCoveredGoalsFile();
+    private static int getWindowSize() {
+        return TESTS_PER_THREAD * Math.max(1, Properties.JUNIT_WRITER_THREADS);
+    }
 
-        TestGenerationResultBuilder.getInstance().setTestSuiteCode(content);
-        return generated;
+    /**
+     * Writes each generated class to its file as its code comes in
+     */
+    private static final class SourceFileWriter implements BiConsumer<String, String>, Closeable {
+
+        private final String dir;
+
+        private final List<File> files = new ArrayList<>();
+
+        private String className = null;
+
+        private Writer writer = null;
+
+        private SourceFileWriter(String dir) {
+            this.dir = dir;
+        }
+
+        @Override
+        public void accept(String className, String code) {
+            if (!className.equals(this.className)) {
+                close();
+                this.className = className;
+                File file = new File(dir + "/" + className + ".java"); // e.g., dir/Foo_ESTest_0.java
+                files.add(file);
+                try {
+                    writer = Files.newBufferedWriter(file.toPath(), Charset.defaultCharset());
+                } catch (IOException e) {
+                    logger.error("Error while writing file " + file.getName() + " , " + e.getMessage(), e);
+                }
+            }
+            if (writer == null) {
+                return;
+            }
+            try {
+                writer.write(code);
+            } catch (IOException e) {
+                logger.error("Error while writing file " + className + ".java , " + e.getMessage(), e);
+            }
+        }
+
+        /**
+         * @return the files written so far, in the order they were started
+         */
+        private List<File> getFiles() {
+            return files;
+        }
+
+        @Override
+        public void close() {
+            if (writer == null) {
+                return;
+            }
+            try {
+                writer.close();
+            } catch (IOException e) {
+                logger.error("Error while writing file " + className + ".java , " + e.getMessage(), e);
+            }
+            writer = null;
+        }
     }
 
     /**
@@ -312,12 +475,14 @@ public class TestSuiteWriter implements Opcodes {
 
 
     /**
-     * Create JUnit file for given class name
+     * Create JUnit file for given class name, passing its code to the
+     * consumer one window of tests at a time
      *
-     * @param name Name of the class file
-     * @return String representation of JUnit test file
+     * @param name     Name of the class file
+     * @param consumer receives the name of the class and the pieces of its code
      */
-    private String getUnitTestsAllInSameFile(String name, List<ExecutionResult> results) {
+    private void writeUnitTestsAllInSameFile(String name, List<ExecutionResult> results, ExecutorService pool,
+                                             BiConsumer<String, String> consumer) {
 
         /*
          * if there was any security exception, then we need to scaffold the
@@ -335,14 +500,17 @@ public class TestSuiteWriter implements Opcodes {
 
         if (testCases.isEmpty()) {
             builder.append(getEmptyTest());
-        } else {
-            for (int i = 0; i < testCases.size(); i++) {
-                builder.append(testToString(i, i, results.get(i)));
-            }
         }
-        builder.append(getFooter());
+        consumer.accept(name, builder.toString());
 
-        return builder.toString();
+        int window = getWindowSize();
+        for (int from = 0; from < testCases.size(); from += window) {
+            int to = Math.min(from + window, testCases.size());
+            for (String test : testsToString(from, to, results, pool)) {
+                consumer.accept(name, test);
+            }
+        }
+        consumer.accept(name, getFooter());
     }
 
     /**
@@ -350,9 +518,10 @@ public class TestSuiteWriter implements Opcodes {
      *
      * @param name   Name of the class file
      * @param testId a int.
+     * @param test   the code of the test method
      * @return String representation of JUnit test file
      */
-    private String getOneUnitTestInAFile(String name, int testId, List<ExecutionResult> results) {
+    private String getOneUnitTestInAFile(String name, int testId, List<ExecutionResult> results, String test) {
 
         boolean wasSecurityException = results.get(testId).hasSecurityException();
 
@@ -364,7 +533,7 @@ public class TestSuiteWriter implements Opcodes {
             builder.append(new Scaffolding().getBeforeAndAfterMethods(name + "_" + testId, wasSecurityException, results));
         }
 
-        builder.append(testToString(testId, testId, results.get(testId)));
+        builder.append(test);
         builder.append(getFooter());
 
         return builder.toString();
@@ -538,7 +707,7 @@ public class TestSuiteWriter implements Opcodes {
         builder.append(NEWLINE);
 
         builder.append(adapter.getImports());
-        builder.append(getImports(results));
+        builder.append(imports != null ? imports : getImports(results));
 
         if (TestSuiteWriterUtils.needToUseAgent() && !Properties.NO_RUNTIME_DEPENDENCY) {
             builder.append(getRunner());
@@ -621,6 +790,81 @@ public class TestSuiteWriter implements Opcodes {
      * @return String representation of test case
      */
     protected String testToString(int number, int id, ExecutionResult result) {
+        return addTestCode(generateTestCode(number, id, result, visitor));
+    }
+
+    /**
+     * Convert the tests in the given range to Java methods. If a pool is
+     * given, the code of the tests is generated concurrently, each thread
+     * with its own visitor.
+     *
+     * @param from    index of the first test case
+     * @param to      index after the last test case
+     * @param results the execution results of all the tests
+     * @param pool    the threads to generate the code with, or null
+     * @return the code of each test, in order
+     */
+    private List<String> testsToString(int from, int to, List<ExecutionResult> results, ExecutorService pool) {
+        List<String> tests = new ArrayList<>(to - from);
+        if (pool == null) {
+            for (int i = from; i < to; i++) {
+                tests.add(testToString(i, i, results.get(i)));
+            }
+            return tests;
+        }
+
+        // Class names are already known from the imports, so all visitors
+        // refer to classes in the same way
+        ThreadLocal<TestCodeVisitor> visitors = ThreadLocal.withInitial(() -> new TestCodeVisitor(visitor));
+        List<Future<TestCode>> futures = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            final int id = i;
+            futures.add(pool.submit(() -> generateTestCode(id, id, results.get(id), visitors.get())));
+        }
+        for (Future<TestCode> future : futures) {
+            try {
+                tests.add(addTestCode(future.get()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while generating the code of the tests", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException)
+                    throw (RuntimeException) cause;
+                if (cause instanceof Error)
+                    throw (Error) cause;
+                throw new IllegalStateException(cause);
+            }
+        }
+        return tests;
+    }
+
+    /**
+     * Code of a test method, and what is needed to add it to the test generation result
+     */
+    private static final class TestCode {
+        private final String methodName;
+        private final String code;
+        private final TestCase test;
+        private final String testInfo;
+        private final ExecutionResult result;
+
+        private TestCode(String methodName, String code, TestCase test, String testInfo, ExecutionResult result) {
+            this.methodName = methodName;
+            this.code = code;
+            this.test = test;
+            this.testInfo = testInfo;
+            this.result = result;
+        }
+    }
+
+    private String addTestCode(TestCode testCode) {
+        TestGenerationResultBuilder.getInstance().setTestCase(testCode.methodName, testCode.code, testCode.test,
+                testCode.testInfo, testCode.result);
+        return testCode.code;
+    }
+
+    private TestCode generateTestCode(int number, int id, ExecutionResult result, TestCodeVisitor visitor) {
 
         boolean wasSecurityException = result.hasSecurityException();
 
@@ -728,10 +972,7 @@ public class TestSuiteWriter implements Opcodes {
         builder.append("}");
         builder.append(NEWLINE);
 
-        String testCode = builder.toString();
-        TestGenerationResultBuilder.getInstance().setTestCase(methodName, testCode, test,
-                testInfo, result);
-        return testCode;
+        return new TestCode(methodName, builder.toString(), test, testInfo, result);
     }
 
     /**
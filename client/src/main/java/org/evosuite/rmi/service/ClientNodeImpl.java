@@ -21,7 +21,6 @@ package org.evosuite.rmi.service;
 
 import org.evosuite.Properties;
 import org.evosuite.*;
-import org.evosuite.Properties.NoSuchParameterException;
 import org.evosuite.classpath.ClassPathHandler;
 import org.evosuite.coverage.ClassStatisticsPrinter;
 import org.evosuite.ga.Chromosome;
@@ -34,6 +33,12 @@ import org.evosuite.runtime.sandbox.Sandbox;
 import org.evosuite.setup.DependencyAnalysis;
 import org.evosuite.setup.TestCluster;
 import org.evosuite.statistics.RuntimeVariable;
+import org.evosuite.statistics.StatisticsEvent;
+import org.evosuite.statistics.Telemetry;
+import org.evosuite.testcase.BinaryTestCaseReader;
+import org.evosuite.testcase.BinaryTestCaseWriter;
+import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.TestChromosome;
 import org.evosuite.utils.FileIOUtils;
 import org.evosuite.utils.Listener;
 import org.evosuite.utils.LoggingUtils;
@@ -41,10 +46,16 @@ import org.evosuite.utils.Randomness;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.rmi.RemoteException;
 import java.rmi.registry.Registry;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class ClientNodeImpl<T extends Chromosome<T>>
         implements ClientNodeLocal<T>, ClientNodeRemote<T> {
@@ -52,11 +63,25 @@ public class ClientNodeImpl<T extends Chromosome<T>>
     private static final Logger logger = LoggerFactory.getLogger(ClientNodeImpl.class);
     private static final long serialVersionUID = 485858845631346580L;
 
+    private static final long MIGRATION_POLLING_INTERVAL_MS = 20;
+
+    /**
+     * Max number of updates waiting to be sent to the master
+     */
+    private static final int MASTER_OUTBOX_CAPACITY = 1000;
+
+    private static final long MASTER_OUTBOX_TIMEOUT_MS = 3000;
+
     /**
      * The current state/phase in which this client process is (eg, search or assertion generation)
      */
     private volatile ClientState state;
 
+    /**
+     * When the client entered its current state
+     */
+    private volatile long stateStartTime = System.currentTimeMillis();
+
     /**
      * RMI reference used to communicate with the master node
      */
@@ -85,11 +110,29 @@ public class ClientNodeImpl<T extends Chromosome<T>>
 
     protected final ExecutorService searchExecutor = Executors.newSingleThreadExecutor();
 
-    private final BlockingQueue<OutputVariable> outputVariableQueue = new LinkedBlockingQueue<>();
-
     private Collection<Set<T>> bestSolutions;
 
-    private Thread statisticsThread;
+    /**
+     * Updates waiting to be sent to the master, so that the search does not block on RMI calls
+     */
+    private volatile MasterOutbox masterOutbox;
+
+    /**
+     * The last state queued in the master outbox
+     */
+    private final AtomicReference<ClientState> queuedState = new AtomicReference<>();
+
+    /**
+     * Channel in which migrants are received directly from the other clients, if enabled
+     */
+    private MigrationChannel inbox;
+
+    /**
+     * Channel of the neighbour client, to which migrants are sent
+     */
+    private MigrationChannel outbox;
+
+    private Thread migrationThread;
 
     //only for testing
     protected ClientNodeImpl() {
@@ -104,17 +147,6 @@ public class ClientNodeImpl<T extends Chromosome<T>>
         this.bestSolutions = Collections.synchronizedList(new ArrayList<>(Properties.NUM_PARALLEL_CLIENTS));
     }
 
-    private static class OutputVariable {
-        public RuntimeVariable variable;
-        public Object value;
-
-        public OutputVariable(RuntimeVariable variable, Object value) {
-            super();
-            this.variable = variable;
-            this.value = value;
-        }
-    }
-
     @Override
     public void startNewSearch() throws RemoteException, IllegalStateException {
         if (!state.equals(ClientState.NOT_STARTED)) {
@@ -195,6 +227,9 @@ public class ClientNodeImpl<T extends Chromosome<T>>
 
     @Override
     public void emigrate(Set<T> immigrants) {
+        if (inbox != null && sendToNeighbour(immigrants)) {
+            return;
+        }
         try {
             logger.debug(ClientProcess.getPrettyPrintIdentifier() + "Sending " + immigrants.size() + " immigrants");
             masterNode.evosuite_migrate(clientRmiIdentifier, immigrants);
@@ -222,16 +257,51 @@ public class ClientNodeImpl<T extends Chromosome<T>>
     public void changeState(ClientState state, ClientStateInformation information) {
         if (this.state != state) {
             logger.info(ClientProcess.getPrettyPrintIdentifier() + "Client changing state from " + this.state + " to " + state);
+
+            long now = System.currentTimeMillis();
+            if (this.state != null) {
+                Telemetry.getInstance().addPhaseTime(this.state.name(), now - stateStartTime);
+            }
+            stateStartTime = now;
+
+            if (inbox != null) {
+                try {
+                    inbox.setOpen(state == ClientState.SEARCH);
+                } catch (IOException e) {
+                    logger.warn("Cannot update the state of the migration channel: " + e.getMessage());
+                }
+            }
         }
 
         this.state = state;
 
         TimeController.getInstance().updateState(state);
 
-        try {
-            masterNode.evosuite_informChangeOfStateInClient(clientRmiIdentifier, state, information);
-        } catch (RemoteException e) {
-            logger.error("Cannot inform master of change of state", e);
+        MasterOutbox currentOutbox = masterOutbox;
+        if (currentOutbox != null) {
+            /*
+             * Progress updates within the same state can replace each other,
+             * but a new state has to be seen by the master
+             */
+            boolean newState = queuedState.getAndSet(state) != state;
+            currentOutbox.offer("state", newState, () ->
+                    masterNode.evosuite_informChangeOfStateInClient(clientRmiIdentifier, state, information));
+
+            if (state.equals(ClientState.FINISHED)) {
+                masterOutbox = null;
+                try {
+                    currentOutbox.close(MASTER_OUTBOX_TIMEOUT_MS);
+                } catch (InterruptedException e) {
+                    logger.error("Failed to send all updates to master in time");
+                    Thread.currentThread().interrupt();
+                }
+            }
+        } else {
+            try {
+                masterNode.evosuite_informChangeOfStateInClient(clientRmiIdentifier, state, information);
+            } catch (RemoteException e) {
+                logger.error("Cannot inform master of change of state", e);
+            }
         }
 
         if (this.state.equals(ClientState.DONE)) {
@@ -256,25 +326,31 @@ public class ClientNodeImpl<T extends Chromosome<T>>
     }
 
     @Override
-    public void flushStatisticsForClassChange() {
-        logger.info("Flushing output variables to master process");
+    public void updateStatistics(List<StatisticsEvent> events) {
+        logger.debug("Sending statistics of {} individuals to master process", events.size());
 
         try {
-            masterNode.evosuite_flushStatisticsForClassChange(clientRmiIdentifier);
+            masterNode.evosuite_collectStatisticsEvents(clientRmiIdentifier, events);
         } catch (RemoteException e) {
             logger.error("Cannot inform master of change of state", e);
+            throw new IllegalStateException(e);
         }
     }
 
+    @Override
+    public void flushStatisticsForClassChange() {
+        logger.info("Flushing output variables to master process");
+
+        // sent after the output variables already queued
+        sendToMaster(null, true, () -> masterNode.evosuite_flushStatisticsForClassChange(clientRmiIdentifier));
+    }
+
     @Override
     public void updateProperty(String propertyName, Object value) {
         logger.info("Updating property '" + propertyName + "' with value '" + value + "' on master process");
 
-        try {
-            masterNode.evosuite_updateProperty(clientRmiIdentifier, propertyName, value);
-        } catch (RemoteException | IllegalArgumentException | IllegalAccessException | NoSuchParameterException e) {
-            logger.error("Cannot inform master of change of state", e);
-        }
+        sendToMaster("property:" + propertyName, false,
+                () -> masterNode.evosuite_updateProperty(clientRmiIdentifier, propertyName, value));
     }
 
     @Override
@@ -283,9 +359,25 @@ public class ClientNodeImpl<T extends Chromosome<T>>
 
         /*
          * As this code might be called from unsafe blocks, we just put the values
-         * on a queue, and have a privileged thread doing the RMI connection to master
+         * on a queue, and have a privileged thread doing the RMI connection to master.
+         * Only the latest value of a variable still in the queue is sent
          */
-        outputVariableQueue.offer(new OutputVariable(variable, value));
+        sendToMaster(variable, false,
+                () -> masterNode.evosuite_collectStatistics(clientRmiIdentifier, variable, value));
+    }
+
+    private void sendToMaster(Object key, boolean barrier, MasterOutbox.Update update) {
+        MasterOutbox currentOutbox = masterOutbox;
+        if (currentOutbox != null) {
+            currentOutbox.offer(key, barrier, update);
+            return;
+        }
+
+        try {
+            update.send();
+        } catch (Exception e) {
+            logger.error("Error when sending update to master", e);
+        }
     }
 
     @Override
@@ -331,27 +423,9 @@ public class ClientNodeImpl<T extends Chromosome<T>>
     }
 
     public void stop() {
-        if (statisticsThread != null) {
-            statisticsThread.interrupt();
-            List<OutputVariable> vars = new ArrayList<>();
-            outputVariableQueue.drainTo(vars);
-            for (OutputVariable ov : vars) {
-                try {
-                    masterNode.evosuite_collectStatistics(clientRmiIdentifier, ov.variable, ov.value);
-                } catch (RemoteException e) {
-                    logger.error("Error when exporting statistics: " + ov.variable + "=" + ov.value, e);
-                    break;
-                }
-            }
-
-            try {
-                statisticsThread.join(3000);
-            } catch (InterruptedException e) {
-                logger.error("Failed to stop statisticsThread in time");
-            }
-            statisticsThread = null;
-        }
+        closeMigrationChannel();
 
+        // also sends what is left in the master outbox
         changeState(ClientState.FINISHED);
     }
 
@@ -360,29 +434,18 @@ public class ClientNodeImpl<T extends Chromosome<T>>
         try {
             masterNode = (MasterNodeRemote) registry.lookup(MasterNodeRemote.RMI_SERVICE_NAME);
             masterNode.evosuite_registerClientNode(clientRmiIdentifier);
+            Telemetry.getInstance().registerMBean();
             masterNode.evosuite_informChangeOfStateInClient(clientRmiIdentifier, state,
                     new ClientStateInformation(state));
 
-            statisticsThread = new Thread() {
-                @Override
-                public void run() {
-                    while (!this.isInterrupted()) {
-                        OutputVariable ov = null;
-                        try {
-                            ov = outputVariableQueue.take(); //this is blocking
-                            masterNode.evosuite_collectStatistics(clientRmiIdentifier, ov.variable, ov.value);
-                        } catch (InterruptedException e) {
-                            break;
-                        } catch (RemoteException e) {
-                            logger.error("Error when exporting statistics: " + ov.variable + "=" + ov.value, e);
-                            break;
-                        }
-                    }
-                }
-            };
-            statisticsThread.setName("Statistics sender in client process");
-            Sandbox.addPrivilegedThread(statisticsThread);
-            statisticsThread.start();
+            queuedState.set(state);
+            MasterOutbox newOutbox = new MasterOutbox(MASTER_OUTBOX_CAPACITY);
+            newOutbox.start();
+            masterOutbox = newOutbox;
+
+            if (Properties.MIGRATION_CHANNEL && Properties.NUM_PARALLEL_CLIENTS > 1) {
+                openMigrationChannel();
+            }
 
         } catch (Exception e) {
             logger.error("Error when connecting to master via RMI", e);
@@ -526,6 +589,129 @@ public class ClientNodeImpl<T extends Chromosome<T>>
         fireEvent(migrants);
     }
 
+    private int getClientId() {
+        return Integer.parseInt(clientRmiIdentifier.replaceAll("[^0-9]", ""));
+    }
+
+    private void openMigrationChannel() {
+        try {
+            inbox = MigrationChannel.create(MigrationChannel.getFile(getClientId()),
+                    Properties.MIGRATION_CHANNEL_SIZE * 1024L);
+        } catch (IOException e) {
+            logger.warn("Cannot create migration channel, migrants go through the master: " + e.getMessage());
+            return;
+        }
+
+        migrationThread = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    for (byte[] record : inbox.drain()) {
+                        immigrate(deserializeMigrants(record));
+                    }
+                    Thread.sleep(MIGRATION_POLLING_INTERVAL_MS);
+                } catch (InterruptedException e) {
+                    break;
+                } catch (IOException | ClassNotFoundException e) {
+                    logger.error("Error when receiving migrants", e);
+                }
+            }
+        });
+        migrationThread.setName("Migrants receiver in client process");
+        migrationThread.setDaemon(true);
+        Sandbox.addPrivilegedThread(migrationThread);
+        migrationThread.start();
+    }
+
+    private void closeMigrationChannel() {
+        if (migrationThread != null) {
+            migrationThread.interrupt();
+            try {
+                migrationThread.join(3000);
+            } catch (InterruptedException e) {
+                logger.error("Failed to stop migrationThread in time");
+            }
+            migrationThread = null;
+        }
+        try {
+            if (inbox != null) {
+                inbox.close();
+                MigrationChannel.getFile(getClientId()).delete();
+            }
+            if (outbox != null) {
+                outbox.close();
+            }
+        } catch (IOException e) {
+            logger.warn("Cannot close migration channel: " + e.getMessage());
+        }
+        inbox = null;
+        outbox = null;
+    }
+
+    /**
+     * Send the migrants directly to the next client in the ring
+     *
+     * @param migrants
+     * @return <code>false</code> if the migrants need to be sent through the master
+     */
+    private boolean sendToNeighbour(Set<T> migrants) {
+        try {
+            if (outbox == null) {
+                int neighbour = (getClientId() + 1) % Properties.NUM_PARALLEL_CLIENTS;
+                outbox = MigrationChannel.connect(MigrationChannel.getFile(neighbour));
+                if (outbox == null) {
+                    return false;
+                }
+            }
+            boolean sent = outbox.offer(serializeMigrants(migrants));
+            if (sent) {
+                logger.debug(ClientProcess.getPrettyPrintIdentifier() + "Sent " + migrants.size()
+                        + " immigrants through migration channel");
+            }
+            return sent;
+        } catch (IOException e) {
+            logger.warn("Cannot send migrants through migration channel: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private byte[] serializeMigrants(Set<T> migrants) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        if (migrants.stream().allMatch(migrant -> migrant instanceof TestChromosome)) {
+            // fitness values are not transferred, the receiver computes them
+            try (BinaryTestCaseWriter out = new BinaryTestCaseWriter(bytes)) {
+                for (T migrant : migrants) {
+                    out.writeTestCase(((TestChromosome) migrant).getTestCase());
+                }
+            }
+        } else {
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(new HashSet<>(migrants));
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<T> deserializeMigrants(byte[] record) throws IOException, ClassNotFoundException {
+        ByteArrayInputStream bytes = new ByteArrayInputStream(record);
+        if (BinaryTestCaseReader.isBinaryFormat(bytes)) {
+            Set<T> migrants = new HashSet<>();
+            try (BinaryTestCaseReader in = new BinaryTestCaseReader(bytes)) {
+                TestCase test = in.readTestCase();
+                while (test != null) {
+                    TestChromosome migrant = new TestChromosome();
+                    migrant.setTestCase(test);
+                    migrants.add((T) migrant);
+                    test = in.readTestCase();
+                }
+            }
+            return migrants;
+        }
+        try (ObjectInputStream in = new ObjectInputStream(bytes)) {
+            return (Set<T>) in.readObject();
+        }
+    }
+
     @Override
     public void collectBestSolutions(Set<T> solutions) throws RemoteException {
         logger.debug(ClientProcess.getPrettyPrintIdentifier() + "added solution to set");
@@ -21,8 +21,10 @@ package org.evosuite.rmi.service;
 
 import org.evosuite.ga.Chromosome;
 import org.evosuite.statistics.RuntimeVariable;
+import org.evosuite.statistics.StatisticsEvent;
 import org.evosuite.utils.Listenable;
 
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -44,6 +46,8 @@ public interface ClientNodeLocal<T extends Chromosome<T>> extends Listenable<Set
 
     void updateStatistics(T individual);
 
+    void updateStatistics(List<StatisticsEvent> events);
+
     void flushStatisticsForClassChange();
 
     void updateProperty(String propertyName, Object value);
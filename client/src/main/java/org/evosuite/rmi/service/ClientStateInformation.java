@@ -37,6 +37,11 @@ public class ClientStateInformation implements Serializable {
      */
     private int coverage = 0;
 
+    /**
+     * Achieved coverage 0-100, not rounded down to whole percentage points
+     */
+    private double exactCoverage = 0;
+
     private int iteration = 0;
 
     public ClientStateInformation(ClientState state) {
@@ -70,6 +75,19 @@ public class ClientStateInformation implements Serializable {
 
     public void setCoverage(int coverage) {
         this.coverage = coverage;
+        this.exactCoverage = coverage;
+    }
+
+    public double getExactCoverage() {
+        return exactCoverage;
+    }
+
+    /**
+     * @param exactCoverage achieved coverage 0-100, also setting the coverage rounded down
+     */
+    public void setExactCoverage(double exactCoverage) {
+        this.exactCoverage = exactCoverage;
+        this.coverage = (int) Math.floor(exactCoverage);
     }
 
 
@@ -21,9 +21,11 @@ package org.evosuite.rmi.service;
 
 import org.evosuite.ga.Chromosome;
 import org.evosuite.statistics.RuntimeVariable;
+import org.evosuite.statistics.StatisticsEvent;
 
 import java.rmi.RemoteException;
 import java.rmi.registry.Registry;
+import java.util.List;
 
 public class DummyClientNodeImpl<T extends Chromosome<T>> extends ClientNodeImpl<T> {
 
@@ -63,6 +65,11 @@ public class DummyClientNodeImpl<T extends Chromosome<T>> extends ClientNodeImpl
 
     }
 
+    @Override
+    public void updateStatistics(List<StatisticsEvent> events) {
+
+    }
+
     @Override
     public void trackOutputVariable(RuntimeVariable name, Object value) {
         // TODO Auto-generated method stub
@@ -0,0 +1,230 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.rmi.service;
+
+import org.evosuite.runtime.sandbox.Sandbox;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ * Queue of the updates a client sends to the master, eg state changes and
+ * output variables. The updates are sent in order by a single privileged
+ * thread, so that the search thread does not wait for the RMI calls.
+ * </p>
+ *
+ * <p>
+ * An update can be given a key: if an update with the same key is still
+ * waiting to be sent, it is replaced by the new one, eg only the latest value
+ * of an output variable is sent. A barrier update is never replaced, and no
+ * update queued after it replaces one queued before it, so that ordering
+ * is kept where it matters (eg, output variables and the flush for a class
+ * change).
+ * </p>
+ *
+ * <p>
+ * The queue is bounded: when it is full, a thread queueing an update waits
+ * for the sender to make room.
+ * </p>
+ */
+public class MasterOutbox {
+
+    private static final Logger logger = LoggerFactory.getLogger(MasterOutbox.class);
+
+    /**
+     * An update to send to the master
+     */
+    public interface Update {
+        void send() throws Exception;
+    }
+
+    private static class Entry {
+        private final Object key;
+        private Update update;
+
+        private Entry(Object key, Update update) {
+            this.key = key;
+            this.update = update;
+        }
+    }
+
+    private final int capacity;
+
+    private final Deque<Entry> queue = new ArrayDeque<>();
+
+    /**
+     * Entries still in the queue that can be replaced, by key
+     */
+    private final Map<Object, Entry> replaceable = new HashMap<>();
+
+    private final Thread sender;
+
+    private boolean sending = false;
+
+    private boolean closed = false;
+
+    private long coalesced = 0;
+
+    public MasterOutbox(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity should be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.sender = new Thread(this::sendUpdates);
+        this.sender.setName("Master outbox sender in client process");
+        this.sender.setDaemon(true);
+    }
+
+    public void start() {
+        Sandbox.addPrivilegedThread(sender);
+        sender.start();
+    }
+
+    /**
+     * @param key     if not null, the update replaces the queued update with the same key
+     * @param barrier whether no update queued afterwards should replace one queued before
+     * @param update
+     */
+    public synchronized void offer(Object key, boolean barrier, Update update) {
+        if (closed) {
+            logger.warn("Outbox to master is closed, update is not sent");
+            return;
+        }
+
+        if (barrier) {
+            replaceable.clear();
+        } else if (key != null) {
+            Entry entry = replaceable.get(key);
+            if (entry != null) {
+                entry.update = update;
+                coalesced++;
+                return;
+            }
+        }
+
+        while (queue.size() >= capacity && !closed) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                // better to go over capacity than to lose the update
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        Entry entry = new Entry(key, update);
+        queue.addLast(entry);
+        if (key != null) {
+            replaceable.put(key, entry);
+        }
+        notifyAll();
+    }
+
+    /**
+     * Wait till all the queued updates have been sent
+     *
+     * @param timeoutInMs
+     * @return whether all updates were sent in time
+     * @throws InterruptedException
+     */
+    public synchronized boolean flush(long timeoutInMs) throws InterruptedException {
+        long end = System.currentTimeMillis() + timeoutInMs;
+        while (!queue.isEmpty() || sending) {
+            long remaining = end - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return false;
+            }
+            wait(remaining);
+        }
+        return true;
+    }
+
+    /**
+     * Send the queued updates, and stop the sender thread. No update can be
+     * queued afterwards.
+     *
+     * @param timeoutInMs
+     * @throws InterruptedException
+     */
+    public void close(long timeoutInMs) throws InterruptedException {
+        synchronized (this) {
+            closed = true;
+            notifyAll();
+        }
+        sender.join(timeoutInMs);
+        if (sender.isAlive()) {
+            logger.warn("Failed to send all updates to master in time");
+            sender.interrupt();
+        }
+    }
+
+    public synchronized int size() {
+        return queue.size();
+    }
+
+    /**
+     * @return how many updates were replaced before being sent
+     */
+    public synchronized long getNumberOfCoalescedUpdates() {
+        return coalesced;
+    }
+
+    private void sendUpdates() {
+        while (true) {
+            Update update;
+            synchronized (this) {
+                while (queue.isEmpty() && !closed) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (queue.isEmpty()) {
+                    // closed, and everything was sent
+                    return;
+                }
+                Entry entry = queue.pollFirst();
+                if (entry.key != null && replaceable.get(entry.key) == entry) {
+                    replaceable.remove(entry.key);
+                }
+                update = entry.update;
+                sending = true;
+                notifyAll();
+            }
+
+            try {
+                update.send();
+            } catch (Exception e) {
+                logger.error("Error when sending update to master", e);
+            } finally {
+                synchronized (this) {
+                    sending = false;
+                    notifyAll();
+                }
+            }
+        }
+    }
+}
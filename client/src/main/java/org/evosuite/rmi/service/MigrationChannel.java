@@ -0,0 +1,251 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.rmi.service;
+
+import org.evosuite.Properties;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Memory mapped ring buffer used by a client process to receive migrants
+ * directly from the other clients running on the same host, without going
+ * through the master process.
+ * </p>
+ *
+ * <p>
+ * Each client owns the channel in which it receives migrants. The channel is a
+ * file made of a header (magic number, whether the owner is accepting migrants,
+ * and the read and write positions) followed by the ring of records. Each record
+ * is its length followed by its bytes. Senders and receiver synchronize
+ * through a lock on the header of the file, as they are in different processes.
+ * </p>
+ */
+public class MigrationChannel implements Closeable {
+
+    private static final int MAGIC = 0x45564d43; // "EVMC"
+
+    private static final int MAGIC_OFFSET = 0;
+    private static final int OPEN_OFFSET = 4;
+    private static final int READ_OFFSET = 8;
+    private static final int WRITE_OFFSET = 16;
+
+    protected static final int HEADER_SIZE = 64;
+
+    private final RandomAccessFile raf;
+
+    private final FileChannel channel;
+
+    private final MappedByteBuffer buffer;
+
+    private final long capacity;
+
+    private MigrationChannel(RandomAccessFile raf, long size) throws IOException {
+        this.raf = raf;
+        this.channel = raf.getChannel();
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        this.capacity = size - HEADER_SIZE;
+    }
+
+    /**
+     * @param clientId
+     * @return the file of the channel in which the given client receives migrants
+     */
+    public static File getFile(int clientId) {
+        File dir = new File(System.getProperty("java.io.tmpdir"),
+                "evosuite_migration_" + Properties.PROCESS_COMMUNICATION_PORT);
+        return new File(dir, "ClientNode" + clientId + ".channel");
+    }
+
+    /**
+     * Create the channel in which the owner receives migrants. The channel is
+     * not accepting migrants until {@link #setOpen(boolean)} is called
+     *
+     * @param file
+     * @param size  of the file in bytes, including the header
+     * @return
+     * @throws IOException
+     */
+    public static MigrationChannel create(File file, long size) throws IOException {
+        if (size <= HEADER_SIZE) {
+            throw new IllegalArgumentException("Too small channel size: " + size);
+        }
+        File dir = file.getParentFile();
+        if (!dir.exists() && !dir.mkdirs() && !dir.exists()) {
+            throw new IOException("Cannot create folder " + dir.getAbsolutePath());
+        }
+
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            raf.setLength(size);
+            MigrationChannel migrationChannel = new MigrationChannel(raf, size);
+            try (FileLock lock = migrationChannel.lock()) {
+                migrationChannel.buffer.putInt(OPEN_OFFSET, 0);
+                migrationChannel.buffer.putLong(READ_OFFSET, 0L);
+                migrationChannel.buffer.putLong(WRITE_OFFSET, 0L);
+                // the magic number is written last, as it tells senders that the channel is initialized
+                migrationChannel.buffer.putInt(MAGIC_OFFSET, MAGIC);
+            }
+            return migrationChannel;
+        } catch (IOException | RuntimeException e) {
+            raf.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Open the channel of another client to send migrants to it
+     *
+     * @param file
+     * @return <code>null</code> if the channel has not been created yet
+     * @throws IOException
+     */
+    public static MigrationChannel connect(File file) throws IOException {
+        if (!file.exists() || file.length() <= HEADER_SIZE) {
+            return null;
+        }
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            MigrationChannel migrationChannel = new MigrationChannel(raf, raf.length());
+            if (migrationChannel.buffer.getInt(MAGIC_OFFSET) != MAGIC) {
+                migrationChannel.close();
+                return null;
+            }
+            return migrationChannel;
+        } catch (IOException | RuntimeException e) {
+            raf.close();
+            throw e;
+        }
+    }
+
+    private FileLock lock() throws IOException {
+        return channel.lock(0, HEADER_SIZE, false);
+    }
+
+    /**
+     * @param open whether the owner of the channel accepts migrants
+     * @throws IOException
+     */
+    public synchronized void setOpen(boolean open) throws IOException {
+        try (FileLock lock = lock()) {
+            buffer.putInt(OPEN_OFFSET, open ? 1 : 0);
+        }
+    }
+
+    /**
+     * Append a record to the channel
+     *
+     * @param record
+     * @return <code>false</code> if the owner does not accept migrants, or if there is not enough space
+     * @throws IOException
+     */
+    public synchronized boolean offer(byte[] record) throws IOException {
+        try (FileLock lock = lock()) {
+            if (buffer.getInt(OPEN_OFFSET) == 0) {
+                return false;
+            }
+            long read = buffer.getLong(READ_OFFSET);
+            long write = buffer.getLong(WRITE_OFFSET);
+            long free = capacity - (write - read);
+            if (4L + record.length > free) {
+                return false;
+            }
+
+            byte[] length = new byte[]{
+                    (byte) (record.length >>> 24), (byte) (record.length >>> 16),
+                    (byte) (record.length >>> 8), (byte) record.length};
+            write = put(write, length);
+            write = put(write, record);
+            buffer.putLong(WRITE_OFFSET, write);
+            return true;
+        }
+    }
+
+    /**
+     * Remove all the records in the channel
+     *
+     * @return the records, in the order in which they were sent
+     * @throws IOException
+     */
+    public synchronized List<byte[]> drain() throws IOException {
+        List<byte[]> records = new ArrayList<>();
+        try (FileLock lock = lock()) {
+            long read = buffer.getLong(READ_OFFSET);
+            long write = buffer.getLong(WRITE_OFFSET);
+            while (read < write) {
+                byte[] length = new byte[4];
+                read = get(read, length);
+                byte[] record = new byte[((length[0] & 0xFF) << 24) | ((length[1] & 0xFF) << 16)
+                        | ((length[2] & 0xFF) << 8) | (length[3] & 0xFF)];
+                read = get(read, record);
+                records.add(record);
+            }
+            buffer.putLong(READ_OFFSET, read);
+        }
+        return records;
+    }
+
+    /**
+     * Copy the bytes at the given position of the ring, wrapping at its end
+     *
+     * @return the position after the copied bytes
+     */
+    private long put(long position, byte[] bytes) {
+        int offset = 0;
+        while (offset < bytes.length) {
+            int index = (int) (position % capacity);
+            int length = (int) Math.min(bytes.length - offset, capacity - index);
+            ByteBuffer target = buffer.duplicate();
+            target.position(HEADER_SIZE + index);
+            target.put(bytes, offset, length);
+            offset += length;
+            position += length;
+        }
+        return position;
+    }
+
+    private long get(long position, byte[] bytes) {
+        int offset = 0;
+        while (offset < bytes.length) {
+            int index = (int) (position % capacity);
+            int length = (int) Math.min(bytes.length - offset, capacity - index);
+            ByteBuffer source = buffer.duplicate();
+            source.position(HEADER_SIZE + index);
+            source.get(bytes, offset, length);
+            offset += length;
+            position += length;
+        }
+        return position;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        raf.close();
+    }
+}
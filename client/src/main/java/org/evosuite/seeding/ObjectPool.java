@@ -21,10 +21,11 @@ package org.evosuite.seeding;
 
 import org.evosuite.Properties;
 import org.evosuite.testcarver.extraction.CarvingRunListener;
+import org.evosuite.testcase.BinaryTestCaseReader;
+import org.evosuite.testcase.BinaryTestCaseWriter;
 import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.TestChromosome;
 import org.evosuite.testsuite.TestSuiteChromosome;
-import org.evosuite.utils.DebuggingObjectOutputStream;
 import org.evosuite.utils.Randomness;
 import org.evosuite.utils.generic.GenericClass;
 import org.evosuite.utils.generic.GenericClassFactory;
@@ -143,11 +144,15 @@ public class ObjectPool implements Serializable {
      * @param fileName
      */
     public static ObjectPool getPoolFromFile(String fileName) {
-        try {
-            InputStream in = new FileInputStream(fileName);
-            ObjectInputStream objectIn = new ObjectInputStream(in);
-            ObjectPool pool = (ObjectPool) objectIn.readObject();
-            in.close();
+        try (InputStream in = new BufferedInputStream(new FileInputStream(fileName))) {
+            ObjectPool pool;
+            if (BinaryTestCaseReader.isBinaryFormat(in)) {
+                pool = readPool(new BinaryTestCaseReader(in));
+            } else {
+                // pool written with Java serialization
+                ObjectInputStream objectIn = new ObjectInputStream(in);
+                pool = (ObjectPool) objectIn.readObject();
+            }
             // TODO: Do we also need to call that in the other factory methods?
             pool.filterUnaccessibleTests();
             return pool;
@@ -158,6 +163,18 @@ public class ObjectPool implements Serializable {
         return null;
     }
 
+    private static ObjectPool readPool(BinaryTestCaseReader reader) throws IOException {
+        ObjectPool pool = new ObjectPool();
+        TestCase test = reader.readTestCase();
+        while (test != null) {
+            if (reader.getCurrentClass() != null) {
+                pool.addSequence(reader.getCurrentClass(), test);
+            }
+            test = reader.readTestCase();
+        }
+        return pool;
+    }
+
     protected void filterUnaccessibleTests() {
         for (Set<TestCase> testSet : pool.values()) {
             Iterator<TestCase> testIterator = testSet.iterator();
@@ -242,11 +259,13 @@ public class ObjectPool implements Serializable {
     }
 
     public void writePool(String fileName) {
-        try {
-            ObjectOutputStream out = new DebuggingObjectOutputStream(
-                    new FileOutputStream(fileName));
-            out.writeObject(this);
-            out.close();
+        try (BinaryTestCaseWriter out = new BinaryTestCaseWriter(new FileOutputStream(fileName))) {
+            for (Map.Entry<GenericClass<?>, Set<TestCase>> entry : pool.entrySet()) {
+                out.writeClass(entry.getKey());
+                for (TestCase test : entry.getValue()) {
+                    out.writeTestCase(test);
+                }
+            }
         } catch (IOException e) {
             logger.warn("Error while writing pool to file " + fileName + ": " + e);
         }
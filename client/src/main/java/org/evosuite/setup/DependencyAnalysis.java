@@ -390,6 +390,16 @@ public class DependencyAnalysis {
                             .getClientNode()
                             .trackOutputVariable(RuntimeVariable.Mutants,
                                     MutationPool.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT()).getMutantCounter());
+                    ClientServices
+                            .getInstance()
+                            .getClientNode()
+                            .trackOutputVariable(RuntimeVariable.Pruned_Equivalent_Mutants,
+                                    MutationPool.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT()).getPrunedEquivalentCounter());
+                    ClientServices
+                            .getInstance()
+                            .getClientNode()
+                            .trackOutputVariable(RuntimeVariable.Pruned_Duplicate_Mutants,
+                                    MutationPool.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT()).getPrunedDuplicateCounter());
                     break;
 
                 default:
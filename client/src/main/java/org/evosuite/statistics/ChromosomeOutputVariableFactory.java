@@ -19,10 +19,8 @@
  */
 package org.evosuite.statistics;
 
-import org.evosuite.testsuite.TestSuiteChromosome;
-
 /**
- * Factory to create an output variable when given a test suite chromosome
+ * Factory to create an output variable when given the statistics of a test suite chromosome
  *
  * @param <T>
  * @author gordon
@@ -35,9 +33,9 @@ public abstract class ChromosomeOutputVariableFactory<T> {
         this.variable = variable;
     }
 
-    protected abstract T getData(TestSuiteChromosome individual);
+    protected abstract T getData(StatisticsEvent individual);
 
-    public OutputVariable<T> getVariable(TestSuiteChromosome chromosome) {
+    public OutputVariable<T> getVariable(StatisticsEvent chromosome) {
         return new OutputVariable<>(variable.name(), getData(chromosome));
     }
 
@@ -122,6 +122,14 @@ public enum RuntimeVariable {
      * Number of mutants
      */
     Mutants,
+    /**
+     * Number of mutants not created because they are equivalent to the original code
+     */
+    Pruned_Equivalent_Mutants,
+    /**
+     * Number of mutants not created because they duplicate another mutant
+     */
+    Pruned_Duplicate_Mutants,
     /**
      * Total number of statements executed
      */
@@ -607,6 +615,12 @@ public enum RuntimeVariable {
     MaxPathConditionLength,
     MinPathConditionLength,
     AvgPathConditionLength,
+    /**
+     * Peak number of constraints kept alive by the path conditions of a single
+     * DSE iteration (the executed one and its children). Shared constraint logs
+     * are counted once.
+     */
+    PeakPathConditionConstraints,
 
     /**
      * Path explotarion related
@@ -21,14 +21,13 @@ package org.evosuite.statistics;
 
 import org.evosuite.Properties;
 import org.evosuite.TimeController;
-import org.evosuite.testsuite.TestSuiteChromosome;
 
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Creates an output variable that represents a sequence of values extracted from
- * a test suite
+ * the statistics of a test suite
  *
  * @param <T>
  * @author gordon
@@ -50,10 +49,10 @@ public abstract class SequenceOutputVariableFactory<T extends Number> {
         this.startTime = time;
     }
 
-    protected abstract T getValue(TestSuiteChromosome individual);
+    protected abstract T getValue(StatisticsEvent individual);
 
-    public void update(TestSuiteChromosome individual) {
-        timeStamps.add(System.currentTimeMillis() - startTime);
+    public void update(StatisticsEvent individual) {
+        timeStamps.add(individual.getTimestamp() - startTime);
         values.add(getValue(individual));
     }
 
@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.statistics;
+
+import org.evosuite.ga.FitnessFunction;
+import org.evosuite.testsuite.TestSuiteChromosome;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * Snapshot of the values of a test suite the timeline variables are computed
+ * from. It is much cheaper to send to master than the test suite itself, which
+ * would carry all its tests and execution results.
+ */
+public class StatisticsEvent implements Serializable {
+
+    private static final long serialVersionUID = 2384105961733492317L;
+
+    /**
+     * When the snapshot was taken
+     */
+    private final long timestamp;
+
+    private final double fitness;
+
+    private final double coverage;
+
+    private final int size;
+
+    private final int length;
+
+    private final int numOfNotCoveredGoals;
+
+    /**
+     * Types of the fitness functions, with their fitness value at the same
+     * position in {@link #fitnessValues}
+     */
+    private final Class<?>[] fitnessFunctions;
+
+    private final double[] fitnessValues;
+
+    /**
+     * Types of the fitness functions, with their coverage value at the same
+     * position in {@link #coverageValues}
+     */
+    private final Class<?>[] coverageFunctions;
+
+    private final double[] coverageValues;
+
+    public StatisticsEvent(TestSuiteChromosome individual) {
+        this.timestamp = System.currentTimeMillis();
+        this.fitness = individual.getFitness();
+        this.coverage = individual.getCoverage();
+        this.size = individual.size();
+        this.length = individual.totalLengthOfTestCases();
+        this.numOfNotCoveredGoals = individual.getNumOfNotCoveredGoals();
+
+        Map<? extends FitnessFunction<?>, Double> fitnesses = individual.getFitnessValues();
+        this.fitnessFunctions = new Class<?>[fitnesses.size()];
+        this.fitnessValues = new double[fitnesses.size()];
+        int i = 0;
+        for (Map.Entry<? extends FitnessFunction<?>, Double> entry : fitnesses.entrySet()) {
+            fitnessFunctions[i] = entry.getKey().getClass();
+            fitnessValues[i] = entry.getValue();
+            i++;
+        }
+
+        Map<? extends FitnessFunction<?>, Double> coverages = individual.getCoverageValues();
+        this.coverageFunctions = new Class<?>[coverages.size()];
+        this.coverageValues = new double[coverages.size()];
+        i = 0;
+        for (Map.Entry<? extends FitnessFunction<?>, Double> entry : coverages.entrySet()) {
+            coverageFunctions[i] = entry.getKey().getClass();
+            coverageValues[i] = entry.getValue();
+            i++;
+        }
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public double getFitness() {
+        return fitness;
+    }
+
+    public double getCoverage() {
+        return coverage;
+    }
+
+    /**
+     * @return the number of tests in the test suite
+     */
+    public int size() {
+        return size;
+    }
+
+    public int totalLengthOfTestCases() {
+        return length;
+    }
+
+    public int getNumOfNotCoveredGoals() {
+        return numOfNotCoveredGoals;
+    }
+
+    /**
+     * Same as {@link org.evosuite.ga.Chromosome#getFitnessInstanceOf(Class)}
+     * on the test suite the snapshot was taken of.
+     *
+     * @param clazz
+     * @return
+     */
+    public double getFitnessInstanceOf(Class<?> clazz) {
+        return getValueInstanceOf(clazz, fitnessFunctions, fitnessValues);
+    }
+
+    /**
+     * Same as {@link org.evosuite.ga.Chromosome#getCoverageInstanceOf(Class)}
+     * on the test suite the snapshot was taken of.
+     *
+     * @param clazz
+     * @return
+     */
+    public double getCoverageInstanceOf(Class<?> clazz) {
+        return getValueInstanceOf(clazz, coverageFunctions, coverageValues);
+    }
+
+    private static double getValueInstanceOf(Class<?> clazz, Class<?>[] functions, double[] values) {
+        for (int i = 0; i < functions.length; i++) {
+            if (clazz.isAssignableFrom(functions[i])) {
+                return values[i];
+            }
+        }
+        return 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return "StatisticsEvent [timestamp=" + timestamp + ", fitness=" + fitness + ", coverage=" + coverage
+                + ", size=" + size + ", length=" + length + "]";
+    }
+}
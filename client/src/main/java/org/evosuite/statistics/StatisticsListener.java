@@ -30,11 +30,17 @@ import org.evosuite.rmi.ClientServices;
 import org.evosuite.runtime.sandbox.Sandbox;
 import org.evosuite.testsuite.TestSuiteChromosome;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Client-side listener that transmits data to master
+ * Client-side listener that transmits data to master.
+ * During the search only the statistics of the individuals are sent, in batches,
+ * whereas the best individual itself is sent once the search is finished, after
+ * all the statistics.
  *
  * @author gordon
  */
@@ -42,7 +48,7 @@ public class StatisticsListener<T extends Chromosome<T>> implements SearchListen
 
     private static final long serialVersionUID = -8229756367168023616L;
 
-    private final BlockingQueue<T> individuals;
+    private final BlockingQueue<StatisticsEvent> events;
 
     private volatile boolean done;
 
@@ -50,6 +56,12 @@ public class StatisticsListener<T extends Chromosome<T>> implements SearchListen
 
     private volatile boolean minimizing;
 
+    /**
+     * Best individual of the finished search, sent by the notifier once all
+     * the statistics are sent
+     */
+    private volatile T finalIndividual;
+
     private int numFitnessEvaluations;
 
     private final Thread notifier;
@@ -60,31 +72,40 @@ public class StatisticsListener<T extends Chromosome<T>> implements SearchListen
     private volatile long timeFromLastGenerationUpdate = 0;
 
     public StatisticsListener() {
-        individuals = new LinkedBlockingQueue<>();
+        events = new LinkedBlockingQueue<>();
         done = false;
         bestFitness = Double.MAX_VALUE;
         minimizing = true;
         numFitnessEvaluations = 0;
 
         notifier = new Thread(() -> {
-            // Wait for new element in queue
-            // If there is a new element, then send it to master through RMI
-            while (!done || !individuals.isEmpty()) {
-                T individual;
+            // Wait for new elements in queue
+            // If there are new elements, then send all of them to master through RMI
+            while (!done || !events.isEmpty()) {
                 try {
-                    individual = individuals.take();
-                    StatisticsSender.sendIndividualToMaster(individual);
+                    StatisticsEvent event = events.poll(100, TimeUnit.MILLISECONDS);
+                    if (event == null) {
+                        continue;
+                    }
+                    List<StatisticsEvent> batch = new ArrayList<>();
+                    batch.add(event);
+                    events.drainTo(batch);
+                    StatisticsSender.sendStatisticsToMaster(batch);
                 } catch (InterruptedException e) {
                     done = true;
                 }
             }
+            T individual = finalIndividual;
+            if (individual != null) {
+                StatisticsSender.sendIndividualToMaster(individual);
+            }
         });
         Sandbox.addPrivilegedThread(notifier);
         notifier.start();
     }
 
     public StatisticsListener(StatisticsListener<T> that) {
-        this.individuals = new LinkedBlockingQueue<>(that.individuals);
+        this.events = new LinkedBlockingQueue<>(that.events);
         this.bestFitness = that.bestFitness;
         this.done = that.done;
         this.minimizing = that.minimizing;
@@ -108,8 +129,8 @@ public class StatisticsListener<T extends Chromosome<T>> implements SearchListen
              * is no point in sending too many
              */
             timeFromLastGenerationUpdate = System.currentTimeMillis();
-            // Enqueue current best individual
-            individuals.offer(algorithm.getBestIndividual());
+            // Enqueue statistics of current best individual
+            offer(algorithm.getBestIndividual());
             // send timeline variable directly
             ClientServices.getInstance().getClientNode().trackOutputVariable(RuntimeVariable.TotalExceptionsTimeline, ExceptionCoverageSuiteFitness.getMaxExceptionsCovered());
         }
@@ -118,9 +139,6 @@ public class StatisticsListener<T extends Chromosome<T>> implements SearchListen
     @Override
     public void searchFinished(GeneticAlgorithm<T> algorithm) {
 
-        // If the search is finished, we may want to clear the queue and just send the final element?
-        //individuals.clear(); // TODO: Maybe have a check on size
-        individuals.offer(algorithm.getBestIndividual());
         ClientServices.getInstance().getClientNode().trackOutputVariable(RuntimeVariable.Statements_Executed, MaxStatementsStoppingCondition.getNumExecutedStatements());
         ClientServices.getInstance().getClientNode().trackOutputVariable(RuntimeVariable.Tests_Executed, MaxTestsStoppingCondition.getNumExecutedTests());
         ClientServices.getInstance().getClientNode().trackOutputVariable(RuntimeVariable.Generations, algorithm.getAge());
@@ -130,6 +148,12 @@ public class StatisticsListener<T extends Chromosome<T>> implements SearchListen
         if (algorithm.getBestIndividual() instanceof TestSuiteChromosome) {
             reportTestSuiteResult((TestSuiteChromosome) algorithm.getBestIndividual());
         }
+        /*
+         * Only the final individual is sent as a whole. Its statistics are not queued,
+         * as the master computes them from the individual. It is sent by the notifier,
+         * so that it does not overtake the statistics still in the queue
+         */
+        finalIndividual = algorithm.getBestIndividual();
         done = true;
         try {
             notifier.join(3000);
@@ -139,6 +163,12 @@ public class StatisticsListener<T extends Chromosome<T>> implements SearchListen
         }
     }
 
+    private void offer(T individual) {
+        if (individual instanceof TestSuiteChromosome) {
+            events.offer(new StatisticsEvent((TestSuiteChromosome) individual));
+        }
+    }
+
     private void reportTestSuiteResult(TestSuiteChromosome testSuite) {
 
     }
@@ -167,13 +197,13 @@ public class StatisticsListener<T extends Chromosome<T>> implements SearchListen
             if (fitness < bestFitness) {
                 bestFitness = fitness;
 
-                individuals.offer(individual);
+                offer(individual);
             }
         } else {
             if (fitness > bestFitness) {
                 bestFitness = fitness;
 
-                individuals.offer(individual);
+                offer(individual);
             }
         }
     }
@@ -62,6 +62,22 @@ public class StatisticsSender {
         ClientServices.<T>getInstance().getClientNode().updateStatistics(individual);
     }
 
+    /**
+     * Send the statistics of the individuals of the ongoing search to master.
+     * This is much cheaper than sending the individuals themselves.
+     *
+     * @param events
+     */
+    public static void sendStatisticsToMaster(List<StatisticsEvent> events) throws IllegalArgumentException {
+        if (events == null) {
+            throw new IllegalArgumentException("No defined statistics to send");
+        }
+        if (!Properties.NEW_STATISTICS || events.isEmpty())
+            return;
+
+        ClientServices.getInstance().getClientNode().updateStatistics(events);
+    }
+
 
     /**
      * First execute (if needed) the test cases to be sure to have latest correct data,
@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.statistics;
+
+import org.evosuite.Properties;
+import org.evosuite.coverage.FitnessFunctions;
+import org.evosuite.ga.archive.Archive;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.ObjectName;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ * Registry of the live metrics of the client process, enabled with {@link Properties#TELEMETRY}.
+ * </p>
+ *
+ * <p>
+ * Counters are {@link LongAdder}s, so updating them from the search threads
+ * does not need any lock. The archive and JVM metrics are read only when a
+ * snapshot is taken. All values are totals since the start of the client:
+ * rates (eg, tests per second, GC time per second) are obtained by comparing
+ * successive snapshots.
+ * </p>
+ */
+public class Telemetry implements TelemetryMXBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(Telemetry.class);
+
+    public static final String TESTS_EXECUTED = "tests.executed";
+    public static final String TESTS_EXECUTION_TIME = "tests.execution_time_ms";
+    public static final String TESTS_TIMEOUTS = "tests.timeouts";
+
+    private static final Telemetry instance = new Telemetry();
+
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    private final long startTime = System.currentTimeMillis();
+
+    private boolean registered = false;
+
+    private Telemetry() {
+    }
+
+    public static Telemetry getInstance() {
+        return instance;
+    }
+
+    public static boolean isEnabled() {
+        return Properties.TELEMETRY;
+    }
+
+    public void increment(String name) {
+        add(name, 1);
+    }
+
+    public void add(String name, long value) {
+        if (!Properties.TELEMETRY) {
+            return;
+        }
+        LongAdder counter = counters.get(name);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(name, k -> new LongAdder());
+        }
+        counter.add(value);
+    }
+
+    /**
+     * Time spent in the given phase of the test generation
+     *
+     * @param phase
+     * @param timeInMs
+     */
+    public void addPhaseTime(String phase, long timeInMs) {
+        add("phase." + phase.toLowerCase() + ".time_ms", timeInMs);
+    }
+
+    @Override
+    public Map<String, Long> getMetrics() {
+        Map<String, Long> metrics = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> entry : counters.entrySet()) {
+            metrics.put(entry.getKey(), entry.getValue().sum());
+        }
+
+        long uptime = System.currentTimeMillis() - startTime;
+        metrics.put("uptime_ms", uptime);
+        long executed = metrics.getOrDefault(TESTS_EXECUTED, 0L);
+        if (executed > 0) {
+            metrics.put("tests.mean_execution_time_ms", metrics.getOrDefault(TESTS_EXECUTION_TIME, 0L) / executed);
+        }
+
+        addArchiveMetrics(metrics);
+        addJvmMetrics(metrics);
+        return metrics;
+    }
+
+    private void addArchiveMetrics(Map<String, Long> metrics) {
+        try {
+            Archive archive = Archive.getArchiveInstance();
+            metrics.put("archive.solutions", (long) archive.getNumberOfSolutions());
+            for (Properties.Criterion criterion : Properties.CRITERION) {
+                Class<?> goalClass = FitnessFunctions.getTestFitnessFunctionClass(criterion);
+                String name = "goals." + criterion.name().toLowerCase();
+                metrics.put(name + ".covered", (long) archive.getNumberOfCoveredTargets(goalClass));
+                metrics.put(name + ".uncovered", (long) archive.getNumberOfUncoveredTargets(goalClass));
+            }
+        } catch (RuntimeException e) {
+            // the archive is not thread safe, and it might be updated by the search while reading it
+            logger.debug("Cannot read archive metrics: " + e);
+        }
+    }
+
+    private static void addJvmMetrics(Map<String, Long> metrics) {
+        long gcCount = 0;
+        long gcTime = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcCount += Math.max(0, gc.getCollectionCount());
+            gcTime += Math.max(0, gc.getCollectionTime());
+        }
+        metrics.put("jvm.gc.count", gcCount);
+        metrics.put("jvm.gc.time_ms", gcTime);
+        metrics.put("jvm.heap.used_bytes", ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed());
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean sunThreads = (com.sun.management.ThreadMXBean) threads;
+            if (sunThreads.isThreadAllocatedMemoryEnabled()) {
+                // only of the threads still alive
+                long allocated = 0;
+                for (long bytes : sunThreads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+                    allocated += Math.max(0, bytes);
+                }
+                metrics.put("jvm.allocated_bytes", allocated);
+            }
+        }
+    }
+
+    /**
+     * Expose the metrics through JMX, if telemetry is enabled
+     */
+    public synchronized void registerMBean() {
+        if (!Properties.TELEMETRY || registered) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+            registered = true;
+        } catch (Exception e) {
+            logger.warn("Cannot register telemetry MBean: " + e.getMessage());
+        }
+    }
+
+    public void reset() {
+        counters.clear();
+    }
+}
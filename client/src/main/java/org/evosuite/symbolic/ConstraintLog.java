@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic;
+
+import java.util.Arrays;
+
+/**
+ * Append-only log of the branch conditions collected during a concolic
+ * execution.
+ * <p>
+ * Path conditions built over the log only keep its reference and a length, so
+ * the negated prefixes explored from a single execution share the collected
+ * branch conditions instead of copying them. Entries are never removed or
+ * replaced, hence a prefix of the log never changes once it was written.
+ */
+public final class ConstraintLog {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private BranchCondition[] branchConditions = new BranchCondition[INITIAL_CAPACITY];
+
+    private int size = 0;
+
+    /**
+     * Number of constraints (branch and supporting constraints) in the log
+     */
+    private long constraintCount = 0;
+
+    /**
+     * Appends a new branch condition at the end of the log
+     *
+     * @param branchCondition
+     */
+    public void append(BranchCondition branchCondition) {
+        if (size == branchConditions.length) {
+            branchConditions = Arrays.copyOf(branchConditions, size + (size >> 1));
+        }
+        branchConditions[size++] = branchCondition;
+        constraintCount += branchCondition.getSupportingConstraints().size() + 1;
+    }
+
+    /**
+     * Returns the branch condition at position <code>index</code>
+     *
+     * @param index
+     * @return
+     */
+    public BranchCondition get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return branchConditions[index];
+    }
+
+    /**
+     * The number of branch conditions in the log
+     *
+     * @return
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The number of constraints in the log, including supporting constraints
+     *
+     * @return
+     */
+    public long getConstraintCount() {
+        return constraintCount;
+    }
+}
@@ -21,6 +21,8 @@ package org.evosuite.symbolic;
 
 import org.evosuite.symbolic.expr.Constraint;
 
+import java.util.AbstractList;
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -42,6 +44,77 @@ public class PathCondition {
         this.pathCondition = new LinkedList<>(branchConditions);
     }
 
+    /**
+     * Creates a new path condition over all the branch conditions currently in
+     * the log. Branch conditions appended to the log later on are not part of
+     * the path condition.
+     *
+     * @param constraintLog
+     */
+    public PathCondition(ConstraintLog constraintLog) {
+        this(new LogView(constraintLog, constraintLog.size(), LogView.NO_NEGATED_INDEX));
+    }
+
+    private PathCondition(LogView logView) {
+        this.pathCondition = logView;
+    }
+
+    /**
+     * Returns the path condition made of the first <code>index</code> branch
+     * conditions of this one followed by the negation of the branch condition
+     * at position <code>index</code>.
+     * <p>
+     * If this path condition was created over a {@link ConstraintLog}, the new
+     * one shares the log and the negated branch condition is only built on
+     * demand.
+     *
+     * @param index
+     * @return
+     */
+    public PathCondition negateAt(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+
+        if (pathCondition instanceof LogView) {
+            LogView logView = (LogView) pathCondition;
+            if (logView.negatedIndex == LogView.NO_NEGATED_INDEX || logView.negatedIndex > index) {
+                return new PathCondition(new LogView(logView.constraintLog, index + 1, index));
+            }
+        }
+
+        List<BranchCondition> branchConditions = new ArrayList<>(pathCondition.subList(0, index));
+        branchConditions.add(pathCondition.get(index).getNegatedVersion());
+        return new PathCondition(branchConditions);
+    }
+
+    /**
+     * Returns the number of constraints of this path condition, including the
+     * supporting ones.
+     *
+     * @return
+     */
+    public long getConstraintCount() {
+        long count = 0;
+        for (BranchCondition b : this.pathCondition) {
+            count += b.getSupportingConstraints().size() + 1;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of constraints kept alive only by this path condition.
+     * Constraints in a shared {@link ConstraintLog} are not included.
+     *
+     * @return
+     */
+    public long getRetainedConstraintCount() {
+        if (pathCondition instanceof LogView) {
+            return ((LogView) pathCondition).negatedIndex == LogView.NO_NEGATED_INDEX ? 0 : 1;
+        }
+        return getConstraintCount();
+    }
+
     /**
      * Returns the constraints for this path condition
      *
@@ -96,4 +169,48 @@ public class PathCondition {
     public String toString() {
         return pathCondition.toString();
     }
+
+    /**
+     * Read-only view of a prefix of a {@link ConstraintLog}, with optionally
+     * its last branch condition negated.
+     */
+    private static final class LogView extends AbstractList<BranchCondition> {
+
+        private static final int NO_NEGATED_INDEX = -1;
+
+        private final ConstraintLog constraintLog;
+
+        private final int length;
+
+        private final int negatedIndex;
+
+        private BranchCondition negatedBranchCondition;
+
+        private LogView(ConstraintLog constraintLog, int length, int negatedIndex) {
+            this.constraintLog = constraintLog;
+            this.length = length;
+            this.negatedIndex = negatedIndex;
+        }
+
+        @Override
+        public BranchCondition get(int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + length);
+            }
+
+            if (index == negatedIndex) {
+                if (negatedBranchCondition == null) {
+                    negatedBranchCondition = constraintLog.get(index).getNegatedVersion();
+                }
+                return negatedBranchCondition;
+            }
+
+            return constraintLog.get(index);
+        }
+
+        @Override
+        public int size() {
+            return length;
+        }
+    }
 }
@@ -125,7 +125,14 @@ public class ConcolicExecutorImpl implements ConcolicExecutor {
         VM.disableCallBacks(); // ignore all callbacks from now on
         VM.getInstance().cleanUpListeners();
 
-        List<BranchCondition> branches = pathConditionCollector.getPathCondition();
+        PathCondition pathCondition;
+        if (Properties.DSE_STREAMING_PATH_CONDITION) {
+            pathCondition = new PathCondition(pathConditionCollector.getConstraintLog());
+        } else {
+            pathCondition = new PathCondition(pathConditionCollector.getPathCondition());
+        }
+
+        List<BranchCondition> branches = pathCondition.getBranchConditions();
         logger.info("Concolic execution ended with " + branches.size() + " branches collected");
         if (!result.noThrownExceptions()) {
             int idx = result.getFirstPositionOfThrownException();
@@ -137,7 +144,7 @@ public class ConcolicExecutorImpl implements ConcolicExecutor {
         logger.debug("Cleaning concolic execution");
         TestCaseExecutor.getInstance().setExecutionObservers(originalExecutionObservers);
 
-        return new PathCondition(branches);
+        return pathCondition;
     }
 
     private ExecutionResult executeTestCase(DefaultTestCase defaultTestCase) throws Exception {
@@ -79,6 +79,7 @@ public class DSEStatistics {
             RuntimeVariable.MaxPathConditionLength.name(),
             RuntimeVariable.MinPathConditionLength.name(),
             RuntimeVariable.AvgPathConditionLength.name(),
+            RuntimeVariable.PeakPathConditionConstraints.name(),
             RuntimeVariable.NumberOfPathsExplored.name(),
             RuntimeVariable.NumberOfPathsDiverged.name()
     );
@@ -131,6 +132,7 @@ public class DSEStatistics {
     private int maxPathConditionLength;
     private int minPathConditionLength;
     private double avgPathConditionLength;
+    private long peakPathConditionConstraints = 0;
 
     // Constraint metrics
     private int constraintCount = 0;
@@ -459,6 +461,7 @@ public class DSEStatistics {
         logger.info(String.format("  - max path condition length: %s", maxPathConditionLength));
         logger.info(String.format("  - min path condition length: %s", minPathConditionLength));
         logger.info(String.format("  - avg path condition length: %s", avgPathConditionLength));
+        logger.info(String.format("  - peak path condition constraints in memory: %s", peakPathConditionConstraints));
     }
 
     private int getConstraintTooLongCounter() {
@@ -469,6 +472,18 @@ public class DSEStatistics {
         return pathDivergencesCounter;
     }
 
+    /**
+     * Reports the number of constraints kept alive by the path conditions of
+     * the current iteration. Only the peak value is stored.
+     *
+     * @param retainedConstraints
+     */
+    public void reportPathConditionMemory(long retainedConstraints) {
+        if (retainedConstraints > peakPathConditionConstraints) {
+            peakPathConditionConstraints = retainedConstraints;
+        }
+    }
+
     public void reportNewConstraints(Collection<Constraint<?>> constraints) {
 
         if (pathConditionCount == 0) {
@@ -698,6 +713,7 @@ public class DSEStatistics {
         trackOutputVariable(RuntimeVariable.MaxPathConditionLength, maxPathConditionLength);
         trackOutputVariable(RuntimeVariable.MinPathConditionLength, minPathConditionLength);
         trackOutputVariable(RuntimeVariable.AvgPathConditionLength, avgPathConditionLength);
+        trackOutputVariable(RuntimeVariable.PeakPathConditionConstraints, peakPathConditionConstraints);
 
         /** Path exploration specific data */
         trackOutputVariable(RuntimeVariable.NumberOfPathsExplored, pathsExploredCounter);
@@ -199,21 +199,29 @@ public abstract class ExplorationAlgorithm extends ExplorationAlgorithmBase {
         Collections.sort(targetStaticMethods, new MethodComparator());
         logger.debug(ENTRY_POINTS_FOUND_DEBUG_MESSAGE, targetStaticMethods.size());
 
-        for (Method entryMethod : targetStaticMethods) {
-            if (this.isFinished()) {
-                logger.debug(STOPPING_CONDITION_MET_DEBUG_MESSAGE);
-                break;
-            }
+        try {
+            for (Method entryMethod : targetStaticMethods) {
+                if (this.isFinished()) {
+                    logger.debug(STOPPING_CONDITION_MET_DEBUG_MESSAGE);
+                    break;
+                }
 
-            LoggingUtils.getEvoLogger().info("* " + GENERATING_TESTS_FOR_ENTRY_DEBUG_MESSAGE, entryMethod.getName());
-            int testCaseCount = testSuite.getTests().size();
+                LoggingUtils.getEvoLogger().info("* " + GENERATING_TESTS_FOR_ENTRY_DEBUG_MESSAGE, entryMethod.getName());
+                int testCaseCount = testSuite.getTests().size();
 
-            /** Setting up current method being targeted */
-            Properties.CURRENT_TARGET_METHOD = entryMethod.getName();
+                /** Setting up current method being targeted */
+                Properties.CURRENT_TARGET_METHOD = entryMethod.getName();
 
-            explore(entryMethod);
-            int numOfGeneratedTestCases = testSuite.getTests().size() - testCaseCount;
-            LoggingUtils.getEvoLogger().info("* " + TESTS_WERE_GENERATED_FOR_ENTRY_METHOD_DEBUG_MESSAGE, numOfGeneratedTestCases, entryMethod.getName());
+                explore(entryMethod);
+                int numOfGeneratedTestCases = testSuite.getTests().size() - testCaseCount;
+                LoggingUtils.getEvoLogger().info("* " + TESTS_WERE_GENERATED_FOR_ENTRY_METHOD_DEBUG_MESSAGE, numOfGeneratedTestCases, entryMethod.getName());
+            }
+        } finally {
+            // Releases the solver session (if any) kept alive during the exploration,
+            // also when the exploration fails
+            if (solver instanceof IncrementalSolver) {
+                ((IncrementalSolver) solver).close();
+            }
         }
 
         // Run this before finish
@@ -274,6 +282,7 @@ public abstract class ExplorationAlgorithm extends ExplorationAlgorithmBase {
 
                 // Generates the children
                 List<GenerationalSearchPathCondition> children = pathsExpansionStrategy.generateChildren(currentExecutedPathCondition);
+                reportPathConditionMemory(currentExecutedPathCondition, children);
 
                 processChildren(testCasesWorkList, seenChildren, currentTestCase, children, hasPathConditionDiverged);
             }
@@ -281,6 +290,14 @@ public abstract class ExplorationAlgorithm extends ExplorationAlgorithmBase {
         }
     }
 
+    private void reportPathConditionMemory(GenerationalSearchPathCondition executedPathCondition, List<GenerationalSearchPathCondition> children) {
+        long retainedConstraints = executedPathCondition.getPathCondition().getConstraintCount();
+        for (GenerationalSearchPathCondition child : children) {
+            retainedConstraints += child.getPathCondition().getRetainedConstraintCount();
+        }
+        statisticsLogger.reportPathConditionMemory(retainedConstraints);
+    }
+
     /**
      * Work list implementation. Depends on the subjacent algorithm that want's to be created.
      *
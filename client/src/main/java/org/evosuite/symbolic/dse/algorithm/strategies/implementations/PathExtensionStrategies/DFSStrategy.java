@@ -19,7 +19,6 @@
  */
 package org.evosuite.symbolic.dse.algorithm.strategies.implementations.PathExtensionStrategies;
 
-import org.evosuite.symbolic.BranchCondition;
 import org.evosuite.symbolic.PathCondition;
 import org.evosuite.symbolic.dse.algorithm.GenerationalSearchPathCondition;
 import org.evosuite.symbolic.dse.algorithm.strategies.PathExtensionStrategy;
@@ -47,33 +46,20 @@ public class DFSStrategy implements PathExtensionStrategy {
     @Override
     public List<GenerationalSearchPathCondition> generateChildren(GenerationalSearchPathCondition currentPathConditionChild) {
         List<GenerationalSearchPathCondition> result = new ArrayList();
-        List<BranchCondition> accumulatedBranchConditions = new ArrayList();
-        List<BranchCondition> currentPathConditionBranchConditions = currentPathConditionChild.getPathCondition().getBranchConditions();
+        PathCondition currentPathCondition = currentPathConditionChild.getPathCondition();
 
         // Create the PCs from the longest to the shortest
-        for (int i = 0; i < currentPathConditionBranchConditions.size(); i++) {
+        for (int i = 0; i < currentPathCondition.size(); i++) {
             logger.debug(DEBUG_MSG_NEGATING_INDEX_OF_PATH_CONDITION, i);
 
-            BranchCondition currentBranchCondition = currentPathConditionBranchConditions.get(i);
-
-            // Add negated version of current branch
-            accumulatedBranchConditions.add(currentBranchCondition.getNegatedVersion());
-
+            // Keeps the prefix and negates the current branch
             GenerationalSearchPathCondition newChild = new GenerationalSearchPathCondition(
-                    new PathCondition(
-                            new ArrayList(accumulatedBranchConditions)
-                    ),
+                    currentPathCondition.negateAt(i),
                     0 // not relevant for DFS
             );
 
             // Append the new PC
             result.add(newChild);
-
-            // Replace the negated branch condition with the original one for continuing generating
-            accumulatedBranchConditions.set(
-                    accumulatedBranchConditions.size() - 1,
-                    currentBranchCondition
-            );
         }
 
         // Revert it from largest to smallest
@@ -81,4 +67,4 @@ public class DFSStrategy implements PathExtensionStrategy {
 
         return result;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver;
+
+import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.expr.Variable;
+import org.evosuite.symbolic.solver.smt.SmtSolverSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Solver that keeps a single {@link SmtSolverSession} alive across queries.
+ * <p>
+ * Consecutive DSE queries usually share a long prefix of the path condition.
+ * The constraints of the prefix shared with the previous query are asserted in
+ * the session (one scope per constraint), the ones that were asserted but are
+ * no longer shared are popped, and the remaining suffix is checked as
+ * assumptions.
+ */
+public final class IncrementalSolver extends Solver implements Closeable {
+
+    static Logger logger = LoggerFactory.getLogger(IncrementalSolver.class);
+
+    /**
+     * Creates the sessions used by the solver
+     */
+    public interface SessionFactory {
+        SmtSolverSession newSession() throws IOException;
+    }
+
+    private final SessionFactory sessionFactory;
+
+    private SmtSolverSession session;
+
+    /**
+     * Constraints asserted in the session, one per scope
+     */
+    private final List<Constraint<?>> assertedConstraints = new ArrayList<>();
+
+    /**
+     * The last query sent to the session
+     */
+    private List<Constraint<?>> lastQuery = new ArrayList<>();
+
+    public IncrementalSolver(SessionFactory sessionFactory, boolean addMissingVariables) {
+        super(addMissingVariables);
+        this.sessionFactory = sessionFactory;
+    }
+
+    public IncrementalSolver(SessionFactory sessionFactory) {
+        super();
+        this.sessionFactory = sessionFactory;
+    }
+
+    @Override
+    public SolverResult executeSolver(Collection<Constraint<?>> constraints) throws SolverTimeoutException,
+            IOException, SolverParseException, SolverEmptyQueryException, SolverErrorException {
+
+        List<Constraint<?>> query = new ArrayList<>(constraints);
+        Set<Variable<?>> variables = getVariables(query);
+        if (variables.isEmpty()) {
+            logger.debug("Incremental query has no variables");
+            throw new SolverEmptyQueryException("Incremental query has no variables");
+        }
+
+        int sharedPrefixLength = getSharedPrefixLength(lastQuery, query);
+
+        SolverResult result;
+        try {
+            SmtSolverSession currentSession = getSession();
+            synchronizeAssertions(currentSession, query.subList(0, sharedPrefixLength));
+            lastQuery = query;
+            result = currentSession.checkSatAssuming(query.subList(sharedPrefixLength, query.size()));
+        } catch (SolverTimeoutException e) {
+            if (session != null && !session.isAlive()) {
+                discardSession();
+            }
+            throw e;
+        } catch (IOException | SolverParseException | SolverErrorException e) {
+            discardSession();
+            throw e;
+        }
+
+        if (result.isSAT()) {
+            if (addMissingVariables()) {
+                Map<String, Object> model = result.getModel();
+                Map<String, Object> initialValues = getConcreteValues(variables);
+                for (Map.Entry<String, Object> entry : initialValues.entrySet()) {
+                    model.putIfAbsent(entry.getKey(), entry.getValue());
+                }
+                result = SolverResult.newSAT(model);
+            }
+
+            // check if solution is correct, otherwise return UNSAT
+            boolean check = checkSAT(query, result);
+            if (!check) {
+                logger.debug("Incremental solution fails to solve the constraint system!");
+                return SolverResult.newUNSAT();
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * @return the number of scopes currently open in the session
+     */
+    public int getAssertedConstraintsCount() {
+        return assertedConstraints.size();
+    }
+
+    @Override
+    public void close() {
+        discardSession();
+    }
+
+    private SmtSolverSession getSession() throws IOException {
+        if (session == null) {
+            session = sessionFactory.newSession();
+        }
+        return session;
+    }
+
+    private void discardSession() {
+        if (session != null) {
+            try {
+                session.close();
+            } catch (IOException e) {
+                logger.debug("Could not close solver session: " + e.getMessage());
+            }
+            session = null;
+        }
+        assertedConstraints.clear();
+        lastQuery = new ArrayList<>();
+    }
+
+    /**
+     * Pops the scopes that are no longer part of the prefix and pushes the
+     * missing prefix constraints.
+     *
+     * @param currentSession
+     * @param prefix
+     * @throws IOException
+     */
+    private void synchronizeAssertions(SmtSolverSession currentSession, List<Constraint<?>> prefix) throws IOException {
+        int keep = getSharedPrefixLength(assertedConstraints, prefix);
+        while (assertedConstraints.size() > keep) {
+            currentSession.pop();
+            assertedConstraints.remove(assertedConstraints.size() - 1);
+        }
+        for (Constraint<?> constraint : prefix.subList(keep, prefix.size())) {
+            currentSession.push();
+            currentSession.assertConstraint(constraint);
+            assertedConstraints.add(constraint);
+        }
+    }
+
+    private static int getSharedPrefixLength(List<Constraint<?>> left, List<Constraint<?>> right) {
+        int length = 0;
+        int maxLength = Math.min(left.size(), right.size());
+        while (length < maxLength && left.get(length).equals(right.get(length))) {
+            length++;
+        }
+        return length;
+    }
+}
@@ -425,6 +425,31 @@ public abstract class SmtExprBuilder {
         return new SmtConstantDeclaration(constName, SmtSort.ARRAY, indexSort, valueSort);
     }
 
+    /**
+     * Builds the constant declaration that matches the sort of the given variable.
+     *
+     * @param variable
+     * @return
+     */
+    public static SmtConstantDeclaration mkConstantDeclaration(SmtVariable variable) {
+        String varName = variable.getName();
+        if (variable instanceof SmtIntVariable) {
+            return mkIntConstantDeclaration(varName);
+        } else if (variable instanceof SmtRealVariable) {
+            return mkRealConstantDeclaration(varName);
+        } else if (variable instanceof SmtStringVariable) {
+            return mkStringConstantDeclaration(varName);
+        } else if (variable instanceof SmtArrayVariable.SmtRealArrayVariable) {
+            return mkRealArrayConstantDeclaration(varName);
+        } else if (variable instanceof SmtArrayVariable.SmtIntegerArrayVariable) {
+            return mkIntegerArrayConstantDeclaration(varName);
+        } else if (variable instanceof SmtArrayVariable.SmtStringArrayVariable) {
+            return mkStringArrayConstantDeclaration(varName);
+        } else {
+            throw new RuntimeException("Unknown variable type " + variable.getClass().getCanonicalName());
+        }
+    }
+
     public static SmtExpr mkStrIndexOf(SmtExpr left, SmtExpr right) {
         return new SmtOperation(SmtOperation.Operator.STR_INDEXOF, left, right);
     }
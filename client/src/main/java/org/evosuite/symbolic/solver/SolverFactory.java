@@ -23,6 +23,7 @@ import org.evosuite.Properties;
 import org.evosuite.symbolic.solver.avm.EvoSuiteSolver;
 import org.evosuite.symbolic.solver.cvc4.CVC4Solver;
 import org.evosuite.symbolic.solver.z3.Z3Solver;
+import org.evosuite.symbolic.solver.z3.Z3SolverSession;
 
 public class SolverFactory {
 
@@ -35,6 +36,10 @@ public class SolverFactory {
     public Solver buildNewSolver() {
         switch (Properties.DSE_SOLVER) {
             case Z3_SOLVER:
+                if (Properties.DSE_INCREMENTAL_SOLVING) {
+                    return new IncrementalSolver(
+                            () -> new Z3SolverSession(Properties.DSE_CONSTRAINT_SOLVER_TIMEOUT_MILLIS), true);
+                }
                 return new Z3Solver(true);
             case CVC4_SOLVER: {
                 CVC4Solver solver = new CVC4Solver(true);
@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver.avm;
+
+import org.evosuite.symbolic.expr.Variable;
+import org.evosuite.utils.Randomness;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Settings of a single Alternating Variable Method search: the source of
+ * randomness, the order in which variables are optimised and the factors
+ * used to grow the steps of the pattern moves.
+ * <p>
+ * The default configuration reproduces the sequential search and draws its
+ * random numbers from {@link Randomness}. Portfolio members use a private
+ * random generator, so that they can run concurrently without sharing
+ * {@link Randomness}.
+ */
+final class AvmConfiguration {
+
+    private static final long[] INTEGER_STEP_FACTORS = {2, 4, 8};
+
+    private static final double[] REAL_STEP_FACTORS = {2.0, 4.0, 10.0};
+
+    static final AvmConfiguration DEFAULT = new AvmConfiguration(null, false, 2, 2.0, new AtomicBoolean(false));
+
+    /**
+     * The random generator of the search, null means {@link Randomness}
+     */
+    private final Random random;
+
+    private final boolean shuffleVariables;
+
+    private final long integerStepFactor;
+
+    private final double realStepFactor;
+
+    private final AtomicBoolean cancelled;
+
+    private AvmConfiguration(Random random, boolean shuffleVariables, long integerStepFactor, double realStepFactor,
+                             AtomicBoolean cancelled) {
+        this.random = random;
+        this.shuffleVariables = shuffleVariables;
+        this.integerStepFactor = integerStepFactor;
+        this.realStepFactor = realStepFactor;
+        this.cancelled = cancelled;
+    }
+
+    /**
+     * Builds the configuration of the i-th member of a portfolio. The first
+     * member keeps the variable order and the step factors of the sequential
+     * search, the remaining ones shuffle the variables and vary the factors.
+     *
+     * @param index     the position of the member in the portfolio
+     * @param seed      the seed of the portfolio
+     * @param cancelled flag shared by all the members, set to stop them
+     * @return
+     */
+    static AvmConfiguration forPortfolioMember(int index, long seed, AtomicBoolean cancelled) {
+        Random random = new Random(seed + 31L * index);
+        return new AvmConfiguration(random,
+                index > 0,
+                INTEGER_STEP_FACTORS[index % INTEGER_STEP_FACTORS.length],
+                REAL_STEP_FACTORS[index % REAL_STEP_FACTORS.length],
+                cancelled);
+    }
+
+    /**
+     * Factor by which integer increments grow while the distance improves
+     *
+     * @return
+     */
+    long getIntegerStepFactor() {
+        return integerStepFactor;
+    }
+
+    /**
+     * Factor by which real increments grow while the distance improves
+     *
+     * @return
+     */
+    double getRealStepFactor() {
+        return realStepFactor;
+    }
+
+    boolean isCancelled() {
+        return cancelled.get();
+    }
+
+    /**
+     * Returns the variables in the order in which they should be optimised
+     *
+     * @param variables
+     * @return
+     */
+    List<Variable<?>> orderVariables(Collection<Variable<?>> variables) {
+        List<Variable<?>> ordered = new ArrayList<>(variables);
+        if (shuffleVariables) {
+            Collections.shuffle(ordered, random);
+        }
+        return ordered;
+    }
+
+    double nextDouble() {
+        return random == null ? Randomness.nextDouble() : random.nextDouble();
+    }
+
+    int nextInt(int max) {
+        return random == null ? Randomness.nextInt(max) : random.nextInt(max);
+    }
+
+    char nextChar() {
+        return random == null ? Randomness.nextChar() : (char) (random.nextInt(128 - 32) + 32);
+    }
+
+    String nextString(int length) {
+        if (random == null) {
+            return Randomness.nextString(length);
+        }
+        char[] characters = new char[length];
+        for (int i = 0; i < length; i++) {
+            characters[i] = nextChar();
+        }
+        return new String(characters);
+    }
+
+    <T> T choice(Collection<T> values) {
+        if (random == null) {
+            return Randomness.choice(values);
+        }
+        if (values.isEmpty()) {
+            return null;
+        }
+        List<T> list = new ArrayList<>(values);
+        return list.get(random.nextInt(list.size()));
+    }
+}
@@ -30,10 +30,22 @@ import org.evosuite.utils.Randomness;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Solves a collection of constraints using the Alternating Variable method.
@@ -62,12 +74,54 @@ public final class EvoSuiteSolver extends Solver {
             return satResult;
         }
 
+        if (Properties.DSE_AVM_PORTFOLIO_SIZE > 1) {
+            byte[] serializedConstraints = serialize(constraints);
+            if (serializedConstraints != null) {
+                return executePortfolio(serializedConstraints, startTimeMillis, timeout);
+            }
+            log.debug("Constraints could not be copied, running a single AVM search");
+        }
+
+        boolean solved = search(constraints, variables, distance, AvmConfiguration.DEFAULT, startTimeMillis, timeout);
+
+        if (solved) {
+            log.debug("Distance is 0, found solution");
+            Map<String, Object> new_model = getConcreteValues(variables);
+            setConcreteValues(variables, initialValues);
+            SolverResult satResult = SolverResult.newSAT(new_model);
+            return satResult;
+        } else {
+            setConcreteValues(variables, initialValues);
+            log.debug("Returning unknown, search was not successful");
+            SolverResult unknownResult = SolverResult.newUnknown();
+            return unknownResult;
+        }
+
+    }
+
+    /**
+     * Applies AVM to each variable in turn, randomizing the variables after
+     * each unsuccessful round.
+     *
+     * @param constraints
+     * @param variables
+     * @param distance        the current distance of the constraint system
+     * @param configuration
+     * @param startTimeMillis
+     * @param timeout
+     * @return true iff the distance reached 0
+     * @throws SolverTimeoutException if the timeout expired or the search was cancelled
+     */
+    private static boolean search(Collection<Constraint<?>> constraints, Set<Variable<?>> variables, double distance,
+                                  AvmConfiguration configuration, long startTimeMillis, long timeout)
+            throws SolverTimeoutException {
+
         for (int attempt = 0; attempt <= Properties.DSE_VARIABLE_RESETS; attempt++) {
-            for (Variable<?> v : variables) {
+            for (Variable<?> v : configuration.orderVariables(variables)) {
                 long currentTimeMillis = System.currentTimeMillis();
 
                 long elapsed_solving_time = currentTimeMillis - startTimeMillis;
-                if (elapsed_solving_time > timeout) {
+                if (elapsed_solving_time > timeout || configuration.isCancelled()) {
                     throw new SolverTimeoutException();
                 }
 
@@ -75,15 +129,15 @@ public final class EvoSuiteSolver extends Solver {
 
                 if (v instanceof IntegerVariable) {
                     IntegerVariable integerVariable = (IntegerVariable) v;
-                    IntegerAVM avm = new IntegerAVM(integerVariable, constraints, startTimeMillis, timeout);
+                    IntegerAVM avm = new IntegerAVM(integerVariable, constraints, startTimeMillis, timeout, configuration);
                     avm.applyAVM();
                 } else if (v instanceof RealVariable) {
                     RealVariable realVariable = (RealVariable) v;
-                    RealAVM avm = new RealAVM(realVariable, constraints, startTimeMillis, timeout);
+                    RealAVM avm = new RealAVM(realVariable, constraints, startTimeMillis, timeout, configuration);
                     avm.applyAVM();
                 } else if (v instanceof StringVariable) {
                     StringVariable strVariable = (StringVariable) v;
-                    StringAVM avm = new StringAVM(strVariable, constraints, startTimeMillis, timeout);
+                    StringAVM avm = new StringAVM(strVariable, constraints, startTimeMillis, timeout, configuration);
                     avm.applyAVM();
                 } else {
                     throw new RuntimeException("Unknown variable type " + v.getClass().getName());
@@ -99,27 +153,125 @@ public final class EvoSuiteSolver extends Solver {
                 break;
             } else {
                 log.info("Randomizing variables");
-                randomizeValues(variables, getConstants(constraints));
+                randomizeValues(variables, getConstants(constraints), configuration);
             }
         }
 
-        // distance = DistanceEstimator.getDistance(constraints);
-        if (distance <= 0) {
-            log.debug("Distance is " + distance + ", found solution");
-            Map<String, Object> new_model = getConcreteValues(variables);
-            setConcreteValues(variables, initialValues);
-            SolverResult satResult = SolverResult.newSAT(new_model);
-            return satResult;
-        } else {
-            setConcreteValues(variables, initialValues);
-            log.debug("Returning unknown, search was not successful");
-            SolverResult unknownResult = SolverResult.newUnknown();
-            return unknownResult;
+        return distance <= 0;
+    }
+
+    /**
+     * Runs several AVM searches in parallel, each one over its own copy of
+     * the constraints, and returns the first solution found. The other
+     * members are then cancelled.
+     * <p>
+     * Which member finds a solution first depends on thread scheduling, so
+     * the outcome is not reproducible for a given seed.
+     *
+     * @param serializedConstraints
+     * @param startTimeMillis
+     * @param timeout
+     * @return
+     * @throws SolverTimeoutException if no member found a solution and at least one timed out
+     */
+    private static SolverResult executePortfolio(byte[] serializedConstraints, long startTimeMillis, long timeout)
+            throws SolverTimeoutException {
+
+        final int portfolioSize = Properties.DSE_AVM_PORTFOLIO_SIZE;
+        final long seed = Randomness.nextLong();
+
+        AtomicBoolean cancelled = new AtomicBoolean(false);
+        ExecutorService pool = Executors.newFixedThreadPool(portfolioSize, r -> {
+            Thread t = new Thread(r, "EvoSuiteSolver-portfolio");
+            t.setDaemon(true);
+            return t;
+        });
+        CompletionService<SolverResult> members = new ExecutorCompletionService<>(pool);
+
+        boolean timedOut = false;
+        try {
+            for (int i = 0; i < portfolioSize; i++) {
+                final int index = i;
+                members.submit(() -> {
+                    AvmConfiguration configuration = AvmConfiguration.forPortfolioMember(index, seed, cancelled);
+                    return searchCopy(serializedConstraints, index, configuration, startTimeMillis, timeout);
+                });
+            }
+
+            for (int i = 0; i < portfolioSize; i++) {
+                try {
+                    SolverResult result = members.take().get();
+                    if (result.isSAT()) {
+                        log.debug("A portfolio member found a solution");
+                        return result;
+                    }
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof SolverTimeoutException) {
+                        timedOut = true;
+                    } else {
+                        log.debug("Portfolio member failed: " + e.getCause());
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SolverTimeoutException();
+        } finally {
+            cancelled.set(true);
+            pool.shutdownNow();
+        }
+
+        if (timedOut) {
+            throw new SolverTimeoutException();
+        }
+
+        log.debug("Returning unknown, no portfolio member was successful");
+        return SolverResult.newUnknown();
+    }
+
+    private static SolverResult searchCopy(byte[] serializedConstraints, int index, AvmConfiguration configuration,
+                                           long startTimeMillis, long timeout) throws SolverTimeoutException {
+        Collection<Constraint<?>> constraints = deserialize(serializedConstraints);
+        Set<Variable<?>> variables = getVariables(constraints);
+
+        // the first member starts from the concrete values, the others from a random point
+        if (index > 0) {
+            randomizeValues(variables, getConstants(constraints), configuration);
         }
 
+        double distance = DistanceEstimator.getDistance(constraints);
+        if (distance <= 0 || search(constraints, variables, distance, configuration, startTimeMillis, timeout)) {
+            return SolverResult.newSAT(getConcreteValues(variables));
+        }
+        return SolverResult.newUnknown();
+    }
+
+    /**
+     * @param constraints
+     * @return the serialized constraints, or null if some expression cannot be serialized
+     */
+    private static byte[] serialize(Collection<Constraint<?>> constraints) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(new ArrayList<>(constraints));
+        } catch (IOException e) {
+            log.debug("Could not serialize constraints: " + e.getMessage());
+            return null;
+        }
+        return bytes.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Collection<Constraint<?>> deserialize(byte[] serializedConstraints) {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(serializedConstraints))) {
+            return (Collection<Constraint<?>>) in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("Could not copy constraints", e);
+        }
     }
 
-    private static void randomizeValues(Set<Variable<?>> variables, Set<Object> constants) {
+    private static void randomizeValues(Set<Variable<?>> variables, Set<Object> constants,
+                                        AvmConfiguration configuration) {
         Set<String> stringConstants = new HashSet<>();
         Set<Long> longConstants = new HashSet<>();
         Set<Double> realConstants = new HashSet<>();
@@ -137,24 +289,24 @@ public final class EvoSuiteSolver extends Solver {
         for (Variable<?> v : variables) {
             if (v instanceof StringVariable) {
                 StringVariable sv = (StringVariable) v;
-                if (!stringConstants.isEmpty() && Randomness.nextDouble() < Properties.DSE_CONSTANT_PROBABILITY) {
-                    sv.setConcreteValue(Randomness.choice(stringConstants));
+                if (!stringConstants.isEmpty() && configuration.nextDouble() < Properties.DSE_CONSTANT_PROBABILITY) {
+                    sv.setConcreteValue(configuration.choice(stringConstants));
                 } else {
-                    sv.setConcreteValue(Randomness.nextString(Properties.STRING_LENGTH));
+                    sv.setConcreteValue(configuration.nextString(Properties.STRING_LENGTH));
                 }
             } else if (v instanceof IntegerVariable) {
                 IntegerVariable iv = (IntegerVariable) v;
-                if (!longConstants.isEmpty() && Randomness.nextDouble() < Properties.DSE_CONSTANT_PROBABILITY) {
-                    iv.setConcreteValue(Randomness.choice(longConstants));
+                if (!longConstants.isEmpty() && configuration.nextDouble() < Properties.DSE_CONSTANT_PROBABILITY) {
+                    iv.setConcreteValue(configuration.choice(longConstants));
                 } else {
-                    iv.setConcreteValue((long) Randomness.nextInt(Properties.MAX_INT * 2) - Properties.MAX_INT);
+                    iv.setConcreteValue((long) configuration.nextInt(Properties.MAX_INT * 2) - Properties.MAX_INT);
                 }
             } else if (v instanceof RealVariable) {
                 RealVariable rv = (RealVariable) v;
-                if (!realConstants.isEmpty() && Randomness.nextDouble() < Properties.DSE_CONSTANT_PROBABILITY) {
-                    rv.setConcreteValue(Randomness.choice(realConstants));
+                if (!realConstants.isEmpty() && configuration.nextDouble() < Properties.DSE_CONSTANT_PROBABILITY) {
+                    rv.setConcreteValue(configuration.choice(realConstants));
                 } else {
-                    rv.setConcreteValue((long) Randomness.nextInt(Properties.MAX_INT * 2) - Properties.MAX_INT);
+                    rv.setConcreteValue((long) configuration.nextInt(Properties.MAX_INT * 2) - Properties.MAX_INT);
                 }
             }
         }
@@ -36,6 +36,12 @@ final class IntegerAVM extends VariableAVM {
         this.intVar = intVar;
     }
 
+    public IntegerAVM(IntegerVariable intVar, Collection<Constraint<?>> cnstr, long startTimeMillis, long timeout,
+                      AvmConfiguration configuration) {
+        super(cnstr, startTimeMillis, timeout, configuration);
+        this.intVar = intVar;
+    }
+
     static Logger log = LoggerFactory.getLogger(IntegerAVM.class);
 
     private long checkpointedConcreteValue;
@@ -132,7 +138,7 @@ final class IntegerAVM extends VariableAVM {
                     // solution found
                     break;
                 }
-                iterateVar(2);
+                iterateVar(configuration.getIntegerStepFactor());
             } else {
                 // restore
                 restoreVar();
@@ -149,7 +155,7 @@ final class IntegerAVM extends VariableAVM {
                         // solution found
                         break;
                     }
-                    iterateVar(-2);
+                    iterateVar(-configuration.getIntegerStepFactor());
                 } else {
                     restoreVar();
                     break;
@@ -195,7 +201,7 @@ final class IntegerAVM extends VariableAVM {
                 return;
             }
 
-            delta = 2 * delta;
+            delta = configuration.getIntegerStepFactor() * delta;
             log.debug("Trying increment " + delta + " of " + intVar);
             incrementVar(delta);
             newDist = DistanceEstimator.getDistance(cnstr);
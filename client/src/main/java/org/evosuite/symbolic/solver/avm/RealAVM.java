@@ -37,6 +37,12 @@ final class RealAVM extends VariableAVM {
         this.realVar = realVar;
     }
 
+    public RealAVM(RealVariable realVar, Collection<Constraint<?>> cnstr, long start_time, long timeout,
+                   AvmConfiguration configuration) {
+        super(cnstr, start_time, timeout, configuration);
+        this.realVar = realVar;
+    }
+
     static Logger log = LoggerFactory.getLogger(RealAVM.class);
 
     private double checkpointedConcreteValue;
@@ -48,7 +54,7 @@ final class RealAVM extends VariableAVM {
     public boolean applyAVM() throws SolverTimeoutException {
         boolean improvement = false;
 
-        improvement = doRealSearch(1.0, 2.0);
+        improvement = doRealSearch(1.0, configuration.getRealStepFactor());
 
         if (checkpointedDistance > 0) {
             if (afterCommaSearch(realVar, cnstr))
@@ -185,7 +191,7 @@ final class RealAVM extends VariableAVM {
             chopOffPrecision(precision, maxPrecision == 7);
             log.debug("Current precision: " + precision);
             final double delta = Math.pow(10.0, -precision);
-            final double factor = 2;
+            final double factor = configuration.getRealStepFactor();
             if (doRealSearch(delta, factor))
                 improvement = true;
             if (this.checkpointedDistance <= 0) {
@@ -27,7 +27,6 @@ import org.evosuite.symbolic.expr.str.StringVariable;
 import org.evosuite.symbolic.expr.token.HasMoreTokensExpr;
 import org.evosuite.symbolic.solver.DistanceEstimator;
 import org.evosuite.symbolic.solver.SolverTimeoutException;
-import org.evosuite.utils.Randomness;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -42,6 +41,12 @@ final class StringAVM extends VariableAVM {
         this.strVar = strVar;
     }
 
+    public StringAVM(StringVariable strVar, Collection<Constraint<?>> cnstr, long start_time, long timeout,
+                     AvmConfiguration configuration) {
+        super(cnstr, start_time, timeout, configuration);
+        this.strVar = strVar;
+    }
+
     static Logger log = LoggerFactory.getLogger(StringAVM.class);
 
     private double checkpointDistance = Double.MAX_VALUE;
@@ -124,7 +129,7 @@ final class StringAVM extends VariableAVM {
             }
 
             improved = false;
-            char charToInsert = Randomness.nextChar();
+            char charToInsert = configuration.nextChar();
             String newStr = oldString + charToInsert;
             strVar.setConcreteValue(newStr);
             double newDist = DistanceEstimator.getDistance(cnstr);
@@ -162,7 +167,7 @@ final class StringAVM extends VariableAVM {
                 }
 
                 improved = false;
-                char charToInsert = Randomness.nextChar();
+                char charToInsert = configuration.nextChar();
                 String newStr = oldString + delimiterStr + charToInsert;
                 strVar.setConcreteValue(newStr);
                 double newDist = DistanceEstimator.getDistance(cnstr);
@@ -29,14 +29,30 @@ abstract class VariableAVM {
     protected final Collection<Constraint<?>> cnstr;
     private final long start_time;
     private final long timeout;
+    protected final AvmConfiguration configuration;
 
     public VariableAVM(Collection<Constraint<?>> cnstr, long startTimeMillis, long timeout) {
+        this(cnstr, startTimeMillis, timeout, AvmConfiguration.DEFAULT);
+    }
+
+    public VariableAVM(Collection<Constraint<?>> cnstr, long startTimeMillis, long timeout,
+                       AvmConfiguration configuration) {
         this.cnstr = cnstr;
         this.start_time = startTimeMillis;
         this.timeout = timeout;
+        this.configuration = configuration;
     }
 
+    /**
+     * The search is finished when the timeout expired or when it was cancelled
+     * (e.g. another member of a portfolio already found a solution)
+     *
+     * @return
+     */
     protected boolean isFinished() {
+        if (configuration.isCancelled()) {
+            return true;
+        }
         long current_time = System.currentTimeMillis();
         return (current_time - start_time) > timeout;
     }
@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver.smt;
+
+import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.solver.SolverEmptyQueryException;
+import org.evosuite.symbolic.solver.SolverResult;
+import org.evosuite.symbolic.solver.SolverTimeoutException;
+import org.evosuite.symbolic.solver.avm.EvoSuiteSolver;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * In-process solver session over the Alternating Variable Method. The AVM is
+ * not incremental, so every check solves the whole conjunction of the asserted
+ * constraints and the assumptions. It mainly serves to exercise session
+ * clients without an external solver.
+ */
+public final class AvmSolverSession implements SmtSolverSession {
+
+    private final EvoSuiteSolver solver = new EvoSuiteSolver();
+
+    /**
+     * Constraints asserted in each scope. The bottom of the stack corresponds
+     * to the base scope.
+     */
+    private final Deque<List<Constraint<?>>> scopes = new ArrayDeque<>();
+
+    private boolean alive = true;
+
+    public AvmSolverSession() {
+        scopes.push(new ArrayList<>());
+    }
+
+    @Override
+    public void push() {
+        scopes.push(new ArrayList<>());
+    }
+
+    @Override
+    public void pop() {
+        if (getLevel() == 0) {
+            throw new IllegalStateException("No scope to pop");
+        }
+        scopes.pop();
+    }
+
+    @Override
+    public int getLevel() {
+        return scopes.size() - 1;
+    }
+
+    @Override
+    public void assertConstraint(Constraint<?> constraint) {
+        scopes.peek().add(constraint);
+    }
+
+    @Override
+    public SolverResult checkSatAssuming(Collection<Constraint<?>> assumptions) throws SolverTimeoutException {
+        List<Constraint<?>> constraints = getAssertedConstraints();
+        constraints.addAll(assumptions);
+        try {
+            return solver.executeSolver(constraints);
+        } catch (SolverEmptyQueryException e) {
+            // nothing to solve, hence trivially satisfiable
+            return SolverResult.newSAT(new HashMap<>());
+        }
+    }
+
+    /**
+     * @return the asserted constraints, from the outermost to the innermost scope
+     */
+    public List<Constraint<?>> getAssertedConstraints() {
+        List<Constraint<?>> constraints = new ArrayList<>();
+        scopes.descendingIterator().forEachRemaining(constraints::addAll);
+        return constraints;
+    }
+
+    @Override
+    public boolean isAlive() {
+        return alive;
+    }
+
+    @Override
+    public void close() {
+        alive = false;
+        scopes.clear();
+    }
+}
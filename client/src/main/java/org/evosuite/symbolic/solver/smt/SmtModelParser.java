@@ -40,6 +40,9 @@ public final class SmtModelParser extends ResultParser {
     public static final String STORE_TOKEN = SmtOperation.Operator.STORE.toString();
     public static final String ARRAY_TOKEN = SmtSort.ARRAY.getName();
     public static final String STRING_TOKEN = SmtSort.STRING.getName();
+    public static final String BOOL_TOKEN = "Bool";
+    public static final String TRUE_TOKEN = "true";
+    public static final String FALSE_TOKEN = "false";
     public static final String NEW_LINE_TOKEN = "\n";
     public static final String DEFINE_FUN_TOKEN = "define-fun";
     public static final String BLANK_SPACE_TOKEN = " ";
@@ -120,7 +123,18 @@ public final class SmtModelParser extends ResultParser {
                 token = consumeTokens(tokenizer, NEW_LINE_TOKEN, BLANK_SPACE_TOKEN);
 
                 Object value;
-                if (token.equals(INT_TOKEN)) {
+                if (token.equals(BOOL_TOKEN)) {
+                    // boolean constants are only used as assumption literals,
+                    // they are not part of the solution
+                    token = consumeTokens(tokenizer, NEW_LINE_TOKEN, BLANK_SPACE_TOKEN);
+                    if (!token.equals(TRUE_TOKEN) && !token.equals(FALSE_TOKEN)) {
+                        throw new IllegalArgumentException("Unexpected boolean value " + token);
+                    }
+                    token = consumeTokens(tokenizer, NEW_LINE_TOKEN, BLANK_SPACE_TOKEN);
+                    checkExpectedToken(RIGHT_PARENTHESIS_TOKEN, token);
+                    token = consumeTokens(tokenizer, NEW_LINE_TOKEN, BLANK_SPACE_TOKEN);
+                    continue;
+                } else if (token.equals(INT_TOKEN)) {
                     value = parseIntegerValue(tokenizer);
 
                 } else if (token.equals(REAL_TOKEN)) {
@@ -0,0 +1,341 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver.smt;
+
+import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.solver.SmtExprBuilder;
+import org.evosuite.symbolic.solver.SolverErrorException;
+import org.evosuite.symbolic.solver.SolverParseException;
+import org.evosuite.symbolic.solver.SolverResult;
+import org.evosuite.symbolic.solver.SolverTimeoutException;
+import org.evosuite.symbolic.solver.smt.SmtOperation.Operator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Solver session backed by an external SMT-LIB solver process that is kept
+ * alive between queries. Commands are written to the solver standard input in
+ * interactive mode, and only the answers to <code>check-sat-assuming</code>
+ * and <code>get-model</code> are read back.
+ * <p>
+ * Subclasses provide the solver specific translation of constraints.
+ */
+public abstract class SmtProcessSession implements SmtSolverSession {
+
+    static Logger logger = LoggerFactory.getLogger(SmtProcessSession.class);
+
+    private static final String ASSUMPTION_LITERAL_PREFIX = "assumption!";
+
+    private final Process process;
+
+    private final BufferedWriter solverInput;
+
+    private final BufferedReader solverOutput;
+
+    private final ExecutorService outputReader;
+
+    private final long hardTimeoutMillis;
+
+    private final SmtQueryPrinter printer = new SmtQueryPrinter();
+
+    /**
+     * Symbols (constants and defined functions) declared in each scope. The
+     * bottom of the stack corresponds to the base scope.
+     */
+    private final Deque<Set<String>> declaredSymbols = new ArrayDeque<>();
+
+    private boolean alive = true;
+
+    /**
+     * @param solverCmd         command line that starts the solver in interactive mode
+     * @param hardTimeoutMillis maximum time to wait for an answer before killing the solver
+     * @throws IOException if the solver process could not be started
+     */
+    protected SmtProcessSession(String solverCmd, long hardTimeoutMillis) throws IOException {
+        this.hardTimeoutMillis = hardTimeoutMillis;
+
+        logger.debug("Starting solver session with command " + solverCmd);
+        ProcessBuilder builder = new ProcessBuilder(solverCmd.trim().split("\\s+"));
+        builder.redirectErrorStream(true);
+        this.process = builder.start();
+        this.solverInput = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+        this.solverOutput = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        this.outputReader = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "SmtProcessSession-reader");
+            t.setDaemon(true);
+            return t;
+        });
+        this.declaredSymbols.push(new HashSet<>());
+    }
+
+    /**
+     * Translates a constraint into the SMT expression understood by the solver.
+     *
+     * @param constraint
+     * @return the translated expression or null if the constraint is not supported
+     */
+    protected abstract SmtExpr translate(Constraint<?> constraint);
+
+    /**
+     * Returns the body of the <code>define-fun</code> command needed for
+     * the given operator.
+     *
+     * @param operator
+     * @return the function definition or null if the operator needs no definition
+     */
+    protected abstract String buildFunctionDefinition(Operator operator);
+
+    /**
+     * Writes a raw command to the solver. Answers to the command are not read.
+     *
+     * @param command
+     * @throws IOException
+     */
+    protected void sendCommand(String command) throws IOException {
+        if (!alive) {
+            throw new IOException("Solver session is no longer alive");
+        }
+        try {
+            solverInput.write(command);
+            solverInput.newLine();
+        } catch (IOException e) {
+            alive = false;
+            throw e;
+        }
+    }
+
+    @Override
+    public void push() throws IOException {
+        sendCommand("(push 1)");
+        declaredSymbols.push(new HashSet<>());
+    }
+
+    @Override
+    public void pop() throws IOException {
+        if (getLevel() == 0) {
+            throw new IllegalStateException("No scope to pop");
+        }
+        sendCommand("(pop 1)");
+        declaredSymbols.pop();
+    }
+
+    @Override
+    public int getLevel() {
+        return declaredSymbols.size() - 1;
+    }
+
+    @Override
+    public void assertConstraint(Constraint<?> constraint) throws IOException {
+        SmtExpr smtExpr = translate(constraint);
+        if (smtExpr == null) {
+            logger.debug("Skipping constraint that could not be translated: " + constraint);
+            return;
+        }
+        declareSymbols(smtExpr);
+        sendCommand(printer.print(new SmtAssertion(smtExpr)));
+    }
+
+    @Override
+    public SolverResult checkSatAssuming(Collection<Constraint<?>> assumptions)
+            throws SolverTimeoutException, SolverParseException, SolverErrorException, IOException {
+
+        // the assumptions, their literals and the symbols only they use are
+        // declared in a scope of their own, so that they do not pile up
+        push();
+
+        List<String> literals = new ArrayList<>();
+        SmtExprPrinter exprPrinter = new SmtExprPrinter();
+        for (Constraint<?> assumption : assumptions) {
+            SmtExpr smtExpr = translate(assumption);
+            if (smtExpr == null) {
+                logger.debug("Skipping assumption that could not be translated: " + assumption);
+                continue;
+            }
+            declareSymbols(smtExpr);
+
+            // check-sat-assuming only accepts literals, hence each assumption
+            // is bound to a fresh boolean constant
+            String literal = ASSUMPTION_LITERAL_PREFIX + literals.size();
+            sendCommand(String.format("(declare-const %s Bool)", literal));
+            sendCommand(String.format("(assert (= %s %s))", literal, smtExpr.accept(exprPrinter, null)));
+            declaredSymbols.peek().add(literal);
+            literals.add(literal);
+        }
+
+        sendCommand("(check-sat-assuming (" + String.join(" ", literals) + "))");
+        String output = readResponse();
+
+        if (output.startsWith(SmtModelParser.SAT_TOKEN)) {
+            sendCommand("(get-model)");
+            output = output + SmtModelParser.NEW_LINE_TOKEN + readResponse();
+        } else if (output.startsWith("(error")) {
+            // the answers of the session are no longer in sync with the commands
+            logger.debug("Solver session reported an error: " + output);
+            close();
+        }
+
+        if (alive) {
+            pop();
+        }
+
+        // the model also defines the boolean assumption literals, which the
+        // parser skips
+        SmtModelParser parser = new SmtModelParser();
+        return parser.parse(output);
+    }
+
+    @Override
+    public boolean isAlive() {
+        return alive && process.isAlive();
+    }
+
+    @Override
+    public void close() {
+        if (alive && process.isAlive()) {
+            try {
+                sendCommand("(exit)");
+                solverInput.flush();
+            } catch (IOException e) {
+                logger.debug("Could not exit solver session cleanly: " + e.getMessage());
+            }
+        }
+        alive = false;
+        process.destroy();
+        outputReader.shutdownNow();
+    }
+
+    private boolean isDeclared(String symbol) {
+        for (Set<String> scope : declaredSymbols) {
+            if (scope.contains(symbol)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void declareSymbols(SmtExpr smtExpr) throws IOException {
+        SmtVariableCollector varCollector = new SmtVariableCollector();
+        SmtOperatorCollector opCollector = new SmtOperatorCollector();
+        smtExpr.accept(varCollector, null);
+        smtExpr.accept(opCollector, null);
+
+        for (Operator operator : opCollector.getOperators()) {
+            String functionName = operator.toString();
+            if (isDeclared(functionName)) {
+                continue;
+            }
+            String functionDefinition = buildFunctionDefinition(operator);
+            if (functionDefinition != null) {
+                sendCommand(printer.print(new SmtFunctionDefinition(functionDefinition)));
+                declaredSymbols.peek().add(functionName);
+            }
+        }
+
+        for (SmtVariable variable : varCollector.getSmtVariables()) {
+            if (isDeclared(variable.getName())) {
+                continue;
+            }
+            sendCommand(printer.print(SmtExprBuilder.mkConstantDeclaration(variable)));
+            declaredSymbols.peek().add(variable.getName());
+        }
+    }
+
+    /**
+     * Reads the next answer of the solver. Answers spanning several lines
+     * (e.g. models) are read until parentheses are balanced.
+     *
+     * @return
+     * @throws IOException
+     * @throws SolverTimeoutException if no answer arrived in time. The solver is killed.
+     */
+    private String readResponse() throws IOException, SolverTimeoutException {
+        try {
+            solverInput.flush();
+        } catch (IOException e) {
+            alive = false;
+            throw e;
+        }
+
+        Future<String> response = outputReader.submit(this::readBalancedResponse);
+        try {
+            return response.get(hardTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            logger.debug("Solver session stopped due to solver timeout");
+            response.cancel(true);
+            close();
+            throw new SolverTimeoutException();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new IOException("Interrupted while waiting for the solver", e);
+        } catch (ExecutionException e) {
+            alive = false;
+            throw new IOException("Could not read solver answer", e.getCause());
+        }
+    }
+
+    private String readBalancedResponse() throws IOException {
+        StringBuilder buff = new StringBuilder();
+        int openParentheses = 0;
+        boolean insideString = false;
+        String line;
+        while ((line = solverOutput.readLine()) != null) {
+            if (buff.length() == 0 && line.trim().isEmpty()) {
+                continue;
+            }
+            for (char c : line.toCharArray()) {
+                if (c == '"') {
+                    // quotes are escaped by doubling them, so toggling is enough
+                    insideString = !insideString;
+                } else if (!insideString && c == '(') {
+                    openParentheses++;
+                } else if (!insideString && c == ')') {
+                    openParentheses--;
+                }
+            }
+            buff.append(line);
+            if (openParentheses <= 0 && !insideString) {
+                return buff.toString();
+            }
+            buff.append(SmtModelParser.NEW_LINE_TOKEN);
+        }
+        throw new IOException("Solver process finished unexpectedly");
+    }
+}
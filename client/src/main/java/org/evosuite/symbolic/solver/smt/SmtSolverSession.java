@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver.smt;
+
+import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.solver.SolverErrorException;
+import org.evosuite.symbolic.solver.SolverParseException;
+import org.evosuite.symbolic.solver.SolverResult;
+import org.evosuite.symbolic.solver.SolverTimeoutException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * A long-lived solver session that keeps asserted constraints between queries.
+ * Constraints are asserted on a stack of scopes, so queries sharing a common
+ * prefix only need to assert (and later pop) the part that differs.
+ */
+public interface SmtSolverSession extends Closeable {
+
+    /**
+     * Opens a new assertion scope.
+     *
+     * @throws IOException if the solver could not be reached
+     */
+    void push() throws IOException;
+
+    /**
+     * Discards the innermost assertion scope together with all the constraints
+     * asserted in it.
+     *
+     * @throws IOException if the solver could not be reached
+     */
+    void pop() throws IOException;
+
+    /**
+     * @return the number of scopes currently open
+     */
+    int getLevel();
+
+    /**
+     * Asserts the constraint in the innermost scope.
+     *
+     * @param constraint
+     * @throws IOException if the solver could not be reached
+     */
+    void assertConstraint(Constraint<?> constraint) throws IOException;
+
+    /**
+     * Checks the satisfiability of the asserted constraints conjoined with the
+     * given assumptions. Assumptions are not kept after the check.
+     *
+     * @param assumptions
+     * @return a non-null result that is SAT or UNSAT
+     * @throws SolverTimeoutException a timeout occurred while executing the solver
+     * @throws SolverParseException   the solver's result could not be parsed
+     * @throws SolverErrorException   the solver reported an error
+     * @throws IOException            the solver could not be reached
+     */
+    SolverResult checkSatAssuming(Collection<Constraint<?>> assumptions)
+            throws SolverTimeoutException, SolverParseException, SolverErrorException, IOException;
+
+    /**
+     * @return false if the session can no longer be used (e.g. the solver
+     * process was killed after a timeout)
+     */
+    boolean isAlive();
+
+}
@@ -138,7 +138,7 @@ public class Z3Solver extends SmtSolver {
         return ret_val;
     }
 
-    private static String buildIntToCharFunction() {
+    static String buildIntToCharFunction() {
         StringBuffer buff = new StringBuffer();
         buff.append(SmtOperation.Operator.INT_TO_CHAR + "((x!1 Int)) String");
         buff.append("\n");
@@ -161,7 +161,7 @@ public class Z3Solver extends SmtSolver {
         return buff.toString();
     }
 
-    private static String buildCharToIntFunction() {
+    static String buildCharToIntFunction() {
         StringBuffer buff = new StringBuffer();
         buff.append(SmtOperation.Operator.CHAR_TO_INT + "((x!1 String)) Int");
         buff.append("\n");
@@ -211,34 +211,8 @@ public class Z3Solver extends SmtSolver {
         Set<SmtVariable> smtVariablesToDeclare = new HashSet<>(smtVariables);
 
         for (SmtVariable v1 : smtVariablesToDeclare) {
-            String varName = v1.getName();
-            if (v1 instanceof SmtIntVariable) {
-                SmtConstantDeclaration constantDecl = SmtExprBuilder.mkIntConstantDeclaration(varName);
-                query.addConstantDeclaration(constantDecl);
-
-            } else if (v1 instanceof SmtRealVariable) {
-                SmtConstantDeclaration constantDecl = SmtExprBuilder.mkRealConstantDeclaration(varName);
-                query.addConstantDeclaration(constantDecl);
-
-            } else if (v1 instanceof SmtStringVariable) {
-                SmtConstantDeclaration constantDecl = SmtExprBuilder.mkStringConstantDeclaration(varName);
-                query.addConstantDeclaration(constantDecl);
-
-            } else if (v1 instanceof SmtArrayVariable.SmtRealArrayVariable) {
-                SmtConstantDeclaration arrayVar = SmtExprBuilder.mkRealArrayConstantDeclaration(varName);
-                query.addConstantDeclaration(arrayVar);
-
-            } else if (v1 instanceof SmtArrayVariable.SmtIntegerArrayVariable) {
-                SmtConstantDeclaration arrayVar = SmtExprBuilder.mkIntegerArrayConstantDeclaration(varName);
-                query.addConstantDeclaration(arrayVar);
-
-            } else if (v1 instanceof SmtArrayVariable.SmtStringArrayVariable) {
-                SmtConstantDeclaration arrayVar = SmtExprBuilder.mkStringArrayConstantDeclaration(varName);
-                query.addConstantDeclaration(arrayVar);
-
-            } else {
-                throw new RuntimeException("Unknown variable type " + v1.getClass().getCanonicalName());
-            }
+            SmtConstantDeclaration constantDecl = SmtExprBuilder.mkConstantDeclaration(v1);
+            query.addConstantDeclaration(constantDecl);
         }
 
         if (smtOperators.contains(SmtOperation.Operator.CHAR_TO_INT)) {
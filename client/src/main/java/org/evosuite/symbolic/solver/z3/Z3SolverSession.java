@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver.z3;
+
+import org.evosuite.Properties;
+import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.solver.smt.SmtExpr;
+import org.evosuite.symbolic.solver.smt.SmtOperation.Operator;
+import org.evosuite.symbolic.solver.smt.SmtProcessSession;
+
+import java.io.IOException;
+
+/**
+ * Incremental session over a single Z3 process running in interactive mode.
+ */
+public final class Z3SolverSession extends SmtProcessSession {
+
+    private final ConstraintToZ3Visitor visitor = new ConstraintToZ3Visitor();
+
+    /**
+     * @param timeoutMillis the timeout for each check-sat command
+     * @throws IOException if Z3 could not be started
+     */
+    public Z3SolverSession(long timeoutMillis) throws IOException {
+        super(buildZ3Cmd(), 2 * timeoutMillis);
+        sendCommand(String.format("(set-option :timeout %s)", timeoutMillis));
+    }
+
+    private static String buildZ3Cmd() {
+        if (Properties.Z3_PATH == null) {
+            String errMsg = "Property Z3_PATH should be setted in order to use the Z3 Solver!";
+            throw new IllegalStateException(errMsg);
+        }
+        return Properties.Z3_PATH + " -smt2 -in";
+    }
+
+    @Override
+    protected SmtExpr translate(Constraint<?> constraint) {
+        return constraint.accept(visitor, null);
+    }
+
+    @Override
+    protected String buildFunctionDefinition(Operator operator) {
+        switch (operator) {
+            case CHAR_TO_INT:
+                return Z3Solver.buildCharToIntFunction();
+            case INT_TO_CHAR:
+                return Z3Solver.buildIntToCharFunction();
+            default:
+                return null;
+        }
+    }
+}
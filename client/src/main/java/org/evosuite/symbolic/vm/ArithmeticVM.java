@@ -286,6 +286,13 @@ public final class ArithmeticVM extends AbstractVM {
         int left_concrete_value = left.getConcreteValue().intValue();
         int right_concrete_value = right.getConcreteValue().intValue();
 
+        int con = left_concrete_value + right_concrete_value;
+
+        if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+            env.topFrame().operandStack.pushBv32(ExpressionFactory.buildNewIntegerConstant(con));
+            return;
+        }
+
         if (!left.containsSymbolicVariable()) {
             left = ExpressionFactory
                     .buildNewIntegerConstant(left_concrete_value);
@@ -295,8 +302,6 @@ public final class ArithmeticVM extends AbstractVM {
                     .buildNewIntegerConstant(right_concrete_value);
         }
 
-        int con = left_concrete_value + right_concrete_value;
-
         IntegerValue intExpr = ExpressionFactory.add(left, right, con);
 
         env.topFrame().operandStack.pushBv32(intExpr);
@@ -315,6 +320,13 @@ public final class ArithmeticVM extends AbstractVM {
         long left_concrete_value = left.getConcreteValue();
         long right_concrete_value = right.getConcreteValue();
 
+        long con = left_concrete_value + right_concrete_value;
+
+        if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+            env.topFrame().operandStack.pushBv64(ExpressionFactory.buildNewIntegerConstant(con));
+            return;
+        }
+
         if (!left.containsSymbolicVariable()) {
             left = ExpressionFactory
                     .buildNewIntegerConstant(left_concrete_value);
@@ -324,8 +336,6 @@ public final class ArithmeticVM extends AbstractVM {
                     .buildNewIntegerConstant(right_concrete_value);
         }
 
-        long con = left_concrete_value + right_concrete_value;
-
         IntegerValue intExpr = ExpressionFactory.add(left, right, con);
 
         env.topFrame().operandStack.pushBv64(intExpr);
@@ -345,6 +355,13 @@ public final class ArithmeticVM extends AbstractVM {
         float right_concrete_value = right.getConcreteValue()
                 .floatValue();
 
+        float con = left_concrete_value + right_concrete_value;
+
+        if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+            env.topFrame().operandStack.pushFp32(ExpressionFactory.buildNewRealConstant(con));
+            return;
+        }
+
         if (!left.containsSymbolicVariable()) {
             left = ExpressionFactory.buildNewRealConstant(left_concrete_value);
         }
@@ -353,8 +370,6 @@ public final class ArithmeticVM extends AbstractVM {
                     .buildNewRealConstant(right_concrete_value);
         }
 
-        float con = left_concrete_value + right_concrete_value;
-
         RealValue realExpr = ExpressionFactory.add(left, right, con);
 
         env.topFrame().operandStack.pushFp32(realExpr);
@@ -369,6 +384,13 @@ public final class ArithmeticVM extends AbstractVM {
         double left_concrete_value = left.getConcreteValue();
         double right_concrete_value = right.getConcreteValue();
 
+        double con = left_concrete_value + right_concrete_value;
+
+        if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+            env.topFrame().operandStack.pushFp64(ExpressionFactory.buildNewRealConstant(con));
+            return;
+        }
+
         if (!left.containsSymbolicVariable()) {
             left = ExpressionFactory.buildNewRealConstant(left_concrete_value);
         }
@@ -377,8 +399,6 @@ public final class ArithmeticVM extends AbstractVM {
                     .buildNewRealConstant(right_concrete_value);
         }
 
-        double con = left_concrete_value + right_concrete_value;
-
         RealValue realExpr = ExpressionFactory.add(left, right, con);
 
         env.topFrame().operandStack.pushFp64(realExpr);
@@ -397,6 +417,13 @@ public final class ArithmeticVM extends AbstractVM {
         int left_concrete_value = left.getConcreteValue().intValue();
         int right_concrete_value = right.getConcreteValue().intValue();
 
+        int con = left_concrete_value - right_concrete_value;
+
+        if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+            env.topFrame().operandStack.pushBv32(ExpressionFactory.buildNewIntegerConstant(con));
+            return;
+        }
+
         if (!left.containsSymbolicVariable()) {
             left = ExpressionFactory
                     .buildNewIntegerConstant(left_concrete_value);
@@ -406,8 +433,6 @@ public final class ArithmeticVM extends AbstractVM {
                     .buildNewIntegerConstant(right_concrete_value);
         }
 
-        int con = left_concrete_value - right_concrete_value;
-
         IntegerValue intExpr = new IntegerBinaryExpression(left,
                 Operator.MINUS, right, (long) con);
 
@@ -428,6 +453,13 @@ public final class ArithmeticVM extends AbstractVM {
         long left_concrete_value = left.getConcreteValue();
         long right_concrete_value = right.getConcreteValue();
 
+        long con = left_concrete_value - right_concrete_value;
+
+        if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+            env.topFrame().operandStack.pushBv64(ExpressionFactory.buildNewIntegerConstant(con));
+            return;
+        }
+
         if (!left.containsSymbolicVariable()) {
             left = ExpressionFactory
                     .buildNewIntegerConstant(left_concrete_value);
@@ -437,8 +469,6 @@ public final class ArithmeticVM extends AbstractVM {
                     .buildNewIntegerConstant(right_concrete_value);
         }
 
-        long con = left_concrete_value - right_concrete_value;
-
         IntegerValue intExpr = new IntegerBinaryExpression(left,
                 Operator.MINUS, right, con);
 
@@ -458,6 +488,13 @@ public final class ArithmeticVM extends AbstractVM {
         float right_concrete_value = right.getConcreteValue()
                 .floatValue();
 
+        float con = left_concrete_value - right_concrete_value;
+
+        if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+            env.topFrame().operandStack.pushFp32(ExpressionFactory.buildNewRealConstant(con));
+            return;
+        }
+
         if (!left.containsSymbolicVariable()) {
             left = ExpressionFactory.buildNewRealConstant(left_concrete_value);
         }
@@ -466,8 +503,6 @@ public final class ArithmeticVM extends AbstractVM {
                     .buildNewRealConstant(right_concrete_value);
         }
 
-        float con = left_concrete_value - right_concrete_value;
-
         RealValue realExpr = new RealBinaryExpression(left, Operator.MINUS,
                 right, (double) con);
 
@@ -482,6 +517,13 @@ public final class ArithmeticVM extends AbstractVM {
         double left_concrete_value = left.getConcreteValue();
         double right_concrete_value = right.getConcreteValue();
 
+        double con = left_concrete_value - right_concrete_value;
+
+        if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+            env.topFrame().operandStack.pushFp64(ExpressionFactory.buildNewRealConstant(con));
+            return;
+        }
+
         if (!left.containsSymbolicVariable()) {
             left = ExpressionFactory.buildNewRealConstant(left_concrete_value);
         }
@@ -490,8 +532,6 @@ public final class ArithmeticVM extends AbstractVM {
                     .buildNewRealConstant(right_concrete_value);
         }
 
-        double con = left_concrete_value - right_concrete_value;
-
         RealValue realExpr = new RealBinaryExpression(left, Operator.MINUS,
                 right, con);
 
@@ -511,6 +551,13 @@ public final class ArithmeticVM extends AbstractVM {
         int left_concrete_value = left.getConcreteValue().intValue();
         int right_concrete_value = right.getConcreteValue().intValue();
 
+        int con = left_concrete_value * right_concrete_value;
+
+        if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+            env.topFrame().operandStack.pushBv32(ExpressionFactory.buildNewIntegerConstant(con));
+            return;
+        }
+
         if (!left.containsSymbolicVariable()) {
             left = ExpressionFactory
                     .buildNewIntegerConstant(left_concrete_value);
@@ -520,8 +567,6 @@ public final class ArithmeticVM extends AbstractVM {
                     .buildNewIntegerConstant(right_concrete_value);
         }
 
-        int con = left_concrete_value * right_concrete_value;
-
         IntegerValue intExpr = ExpressionFactory.mul(left, right, con);
 
         env.topFrame().operandStack.pushBv32(intExpr);
@@ -541,6 +586,13 @@ public final class ArithmeticVM extends AbstractVM {
         long left_concrete_value = left.getConcreteValue();
         long right_concrete_value = right.getConcreteValue();
 
+        long con = left_concrete_value * right_concrete_value;
+
+        if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+            env.topFrame().operandStack.pushBv64(ExpressionFactory.buildNewIntegerConstant(con));
+            return;
+        }
+
         if (!left.containsSymbolicVariable()) {
             left = ExpressionFactory
                     .buildNewIntegerConstant(left_concrete_value);
@@ -550,8 +602,6 @@ public final class ArithmeticVM extends AbstractVM {
                     .buildNewIntegerConstant(right_concrete_value);
         }
 
-        long con = left_concrete_value * right_concrete_value;
-
         IntegerValue intExpr = ExpressionFactory.mul(left, right, con);
 
         env.topFrame().operandStack.pushBv64(intExpr);
@@ -567,6 +617,13 @@ public final class ArithmeticVM extends AbstractVM {
         float right_concrete_value = right.getConcreteValue()
                 .floatValue();
 
+        float con = left_concrete_value * right_concrete_value;
+
+        if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+            env.topFrame().operandStack.pushFp32(ExpressionFactory.buildNewRealConstant(con));
+            return;
+        }
+
         if (!left.containsSymbolicVariable()) {
             left = ExpressionFactory.buildNewRealConstant(left_concrete_value);
         }
@@ -575,8 +632,6 @@ public final class ArithmeticVM extends AbstractVM {
                     .buildNewRealConstant(right_concrete_value);
         }
 
-        float con = left_concrete_value * right_concrete_value;
-
         RealValue realExpr = ExpressionFactory.mul(left, right, con);
 
         env.topFrame().operandStack.pushFp32(realExpr);
@@ -590,6 +645,13 @@ public final class ArithmeticVM extends AbstractVM {
         double left_concrete_value = left.getConcreteValue();
         double right_concrete_value = right.getConcreteValue();
 
+        double con = left_concrete_value * right_concrete_value;
+
+        if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+            env.topFrame().operandStack.pushFp64(ExpressionFactory.buildNewRealConstant(con));
+            return;
+        }
+
         if (!left.containsSymbolicVariable()) {
             left = ExpressionFactory.buildNewRealConstant(left_concrete_value);
         }
@@ -598,8 +660,6 @@ public final class ArithmeticVM extends AbstractVM {
                     .buildNewRealConstant(right_concrete_value);
         }
 
-        double con = left_concrete_value * right_concrete_value;
-
         RealValue realExpr = ExpressionFactory.mul(left, right, con);
 
         env.topFrame().operandStack.pushFp64(realExpr);
@@ -627,6 +687,13 @@ public final class ArithmeticVM extends AbstractVM {
         int left_concrete_value = left.getConcreteValue().intValue();
         int right_concrete_value = right.getConcreteValue().intValue();
 
+        int con = left_concrete_value / right_concrete_value;
+
+        if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+            env.topFrame().operandStack.pushBv32(ExpressionFactory.buildNewIntegerConstant(con));
+            return;
+        }
+
         if (!left.containsSymbolicVariable()) {
             left = ExpressionFactory
                     .buildNewIntegerConstant(left_concrete_value);
@@ -636,8 +703,6 @@ public final class ArithmeticVM extends AbstractVM {
                     .buildNewIntegerConstant(right_concrete_value);
         }
 
-        int con = left_concrete_value / right_concrete_value;
-
         IntegerValue intExpr = ExpressionFactory.div(left, right, con);
 
         env.topFrame().operandStack.pushBv32(intExpr);
@@ -660,6 +725,13 @@ public final class ArithmeticVM extends AbstractVM {
         long left_concrete_value = left.getConcreteValue();
         long right_concrete_value = right.getConcreteValue();
 
+        long con = left_concrete_value / right_concrete_value;
+
+        if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+            env.topFrame().operandStack.pushBv64(ExpressionFactory.buildNewIntegerConstant(con));
+            return;
+        }
+
         if (!left.containsSymbolicVariable()) {
             left = ExpressionFactory
                     .buildNewIntegerConstant(left_concrete_value);
@@ -669,8 +741,6 @@ public final class ArithmeticVM extends AbstractVM {
                     .buildNewIntegerConstant(right_concrete_value);
         }
 
-        long con = left_concrete_value / right_concrete_value;
-
         IntegerValue intExpr = ExpressionFactory.div(left, right, con);
 
         env.topFrame().operandStack.pushBv64(intExpr);
@@ -686,6 +756,13 @@ public final class ArithmeticVM extends AbstractVM {
         float right_concrete_value = right.getConcreteValue()
                 .floatValue();
 
+        float con = left_concrete_value / right_concrete_value;
+
+        if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+            env.topFrame().operandStack.pushFp32(ExpressionFactory.buildNewRealConstant(con));
+            return;
+        }
+
         if (!left.containsSymbolicVariable()) {
             left = ExpressionFactory.buildNewRealConstant(left_concrete_value);
         }
@@ -694,8 +771,6 @@ public final class ArithmeticVM extends AbstractVM {
                     .buildNewRealConstant(right_concrete_value);
         }
 
-        float con = left_concrete_value / right_concrete_value;
-
         RealValue realExpr = ExpressionFactory.div(left, right, con);
 
         env.topFrame().operandStack.pushFp32(realExpr);
@@ -709,6 +784,13 @@ public final class ArithmeticVM extends AbstractVM {
         double left_concrete_value = left.getConcreteValue();
         double right_concrete_value = right.getConcreteValue();
 
+        double con = left_concrete_value / right_concrete_value;
+
+        if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+            env.topFrame().operandStack.pushFp64(ExpressionFactory.buildNewRealConstant(con));
+            return;
+        }
+
         if (!left.containsSymbolicVariable()) {
             left = ExpressionFactory.buildNewRealConstant(left_concrete_value);
         }
@@ -717,8 +799,6 @@ public final class ArithmeticVM extends AbstractVM {
                     .buildNewRealConstant(right_concrete_value);
         }
 
-        double con = left_concrete_value / right_concrete_value;
-
         RealValue realExpr = ExpressionFactory.div(left, right, con);
 
         env.topFrame().operandStack.pushFp64(realExpr);
@@ -741,6 +821,13 @@ public final class ArithmeticVM extends AbstractVM {
         int left_concrete_value = left.getConcreteValue().intValue();
         int right_concrete_value = right.getConcreteValue().intValue();
 
+        int con = left_concrete_value % right_concrete_value;
+
+        if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+            env.topFrame().operandStack.pushBv32(ExpressionFactory.buildNewIntegerConstant(con));
+            return;
+        }
+
         if (!left.containsSymbolicVariable()) {
             left = ExpressionFactory
                     .buildNewIntegerConstant(left_concrete_value);
@@ -750,8 +837,6 @@ public final class ArithmeticVM extends AbstractVM {
                     .buildNewIntegerConstant(right_concrete_value);
         }
 
-        int con = left_concrete_value % right_concrete_value;
-
         IntegerValue intExpr = ExpressionFactory.rem(left, right, con);
 
         env.topFrame().operandStack.pushBv32(intExpr);
@@ -768,6 +853,13 @@ public final class ArithmeticVM extends AbstractVM {
         float right_concrete_value = right.getConcreteValue()
                 .floatValue();
 
+        float con = left_concrete_value % right_concrete_value;
+
+        if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+            env.topFrame().operandStack.pushFp32(ExpressionFactory.buildNewRealConstant(con));
+            return;
+        }
+
         if (!left.containsSymbolicVariable()) {
             left = ExpressionFactory.buildNewRealConstant(left_concrete_value);
         }
@@ -776,8 +868,6 @@ public final class ArithmeticVM extends AbstractVM {
                     .buildNewRealConstant(right_concrete_value);
         }
 
-        float con = left_concrete_value % right_concrete_value;
-
         RealValue realExpr = ExpressionFactory.rem(left, right, con);
 
         env.topFrame().operandStack.pushFp32(realExpr);
@@ -791,6 +881,13 @@ public final class ArithmeticVM extends AbstractVM {
         double left_concrete_value = left.getConcreteValue();
         double right_concrete_value = right.getConcreteValue();
 
+        double con = left_concrete_value % right_concrete_value;
+
+        if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+            env.topFrame().operandStack.pushFp64(ExpressionFactory.buildNewRealConstant(con));
+            return;
+        }
+
         if (!left.containsSymbolicVariable()) {
             left = ExpressionFactory.buildNewRealConstant(left_concrete_value);
         }
@@ -799,8 +896,6 @@ public final class ArithmeticVM extends AbstractVM {
                     .buildNewRealConstant(right_concrete_value);
         }
 
-        double con = left_concrete_value % right_concrete_value;
-
         RealValue realExpr = ExpressionFactory.rem(left, right, con);
 
         env.topFrame().operandStack.pushFp64(realExpr);
@@ -1066,6 +1161,13 @@ public final class ArithmeticVM extends AbstractVM {
         int left_concrete_value = left.getConcreteValue().intValue();
         int right_concrete_value = right.getConcreteValue().intValue();
 
+        int con = left_concrete_value & right_concrete_value;
+
+        if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+            env.topFrame().operandStack.pushBv32(ExpressionFactory.buildNewIntegerConstant(con));
+            return;
+        }
+
         if (!left.containsSymbolicVariable()) {
             left = ExpressionFactory
                     .buildNewIntegerConstant(left_concrete_value);
@@ -1075,8 +1177,6 @@ public final class ArithmeticVM extends AbstractVM {
                     .buildNewIntegerConstant(right_concrete_value);
         }
 
-        int con = left_concrete_value & right_concrete_value;
-
         IntegerValue intExpr = new IntegerBinaryExpression(left, Operator.IAND,
                 right, (long) con);
 
@@ -1098,6 +1198,13 @@ public final class ArithmeticVM extends AbstractVM {
         int left_concrete_value = left.getConcreteValue().intValue();
         int right_concrete_value = right.getConcreteValue().intValue();
 
+        int con = left_concrete_value | right_concrete_value;
+
+        if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+            env.topFrame().operandStack.pushBv32(ExpressionFactory.buildNewIntegerConstant(con));
+            return;
+        }
+
         if (!left.containsSymbolicVariable()) {
             left = ExpressionFactory
                     .buildNewIntegerConstant(left_concrete_value);
@@ -1107,8 +1214,6 @@ public final class ArithmeticVM extends AbstractVM {
                     .buildNewIntegerConstant(right_concrete_value);
         }
 
-        int con = left_concrete_value | right_concrete_value;
-
         IntegerValue intExpr = new IntegerBinaryExpression(left, Operator.IOR,
                 right, (long) con);
 
@@ -1130,6 +1235,13 @@ public final class ArithmeticVM extends AbstractVM {
         int left_concrete_value = left.getConcreteValue().intValue();
         int right_concrete_value = right.getConcreteValue().intValue();
 
+        int con = left_concrete_value ^ right_concrete_value;
+
+        if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+            env.topFrame().operandStack.pushBv32(ExpressionFactory.buildNewIntegerConstant(con));
+            return;
+        }
+
         if (!left.containsSymbolicVariable()) {
             left = ExpressionFactory
                     .buildNewIntegerConstant(left_concrete_value);
@@ -1139,8 +1251,6 @@ public final class ArithmeticVM extends AbstractVM {
                     .buildNewIntegerConstant(right_concrete_value);
         }
 
-        int con = left_concrete_value ^ right_concrete_value;
-
         IntegerValue intExpr = new IntegerBinaryExpression(left, Operator.IXOR,
                 right, (long) con);
 
@@ -1161,6 +1271,13 @@ public final class ArithmeticVM extends AbstractVM {
         long left_concrete_value = left.getConcreteValue();
         long right_concrete_value = right.getConcreteValue();
 
+        long con = left_concrete_value & right_concrete_value;
+
+        if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+            env.topFrame().operandStack.pushBv64(ExpressionFactory.buildNewIntegerConstant(con));
+            return;
+        }
+
         if (!left.containsSymbolicVariable()) {
             left = ExpressionFactory
                     .buildNewIntegerConstant(left_concrete_value);
@@ -1170,8 +1287,6 @@ public final class ArithmeticVM extends AbstractVM {
                     .buildNewIntegerConstant(right_concrete_value);
         }
 
-        long con = left_concrete_value & right_concrete_value;
-
         IntegerValue intExpr = new IntegerBinaryExpression(left, Operator.IAND,
                 right, con);
 
@@ -1191,6 +1306,13 @@ public final class ArithmeticVM extends AbstractVM {
         long left_concrete_value = left.getConcreteValue();
         long right_concrete_value = right.getConcreteValue();
 
+        long con = left_concrete_value | right_concrete_value;
+
+        if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+            env.topFrame().operandStack.pushBv64(ExpressionFactory.buildNewIntegerConstant(con));
+            return;
+        }
+
         if (!left.containsSymbolicVariable()) {
             left = ExpressionFactory
                     .buildNewIntegerConstant(left_concrete_value);
@@ -1200,8 +1322,6 @@ public final class ArithmeticVM extends AbstractVM {
                     .buildNewIntegerConstant(right_concrete_value);
         }
 
-        long con = left_concrete_value | right_concrete_value;
-
         IntegerValue intExpr = new IntegerBinaryExpression(left, Operator.IOR,
                 right, con);
 
@@ -1221,6 +1341,13 @@ public final class ArithmeticVM extends AbstractVM {
         long left_concrete_value = left.getConcreteValue();
         long right_concrete_value = right.getConcreteValue();
 
+        long con = left_concrete_value ^ right_concrete_value;
+
+        if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+            env.topFrame().operandStack.pushBv64(ExpressionFactory.buildNewIntegerConstant(con));
+            return;
+        }
+
         if (!left.containsSymbolicVariable()) {
             left = ExpressionFactory
                     .buildNewIntegerConstant(left_concrete_value);
@@ -1230,8 +1357,6 @@ public final class ArithmeticVM extends AbstractVM {
                     .buildNewIntegerConstant(right_concrete_value);
         }
 
-        long con = left_concrete_value ^ right_concrete_value;
-
         IntegerValue intExpr = new IntegerBinaryExpression(left, Operator.IXOR,
                 right, con);
 
@@ -1588,6 +1713,13 @@ public final class ArithmeticVM extends AbstractVM {
         long left_concrete_value = left.getConcreteValue();
         long right_concrete_value = right.getConcreteValue();
 
+        long con = left_concrete_value % right_concrete_value;
+
+        if (!left.containsSymbolicVariable() && !right.containsSymbolicVariable()) {
+            env.topFrame().operandStack.pushBv64(ExpressionFactory.buildNewIntegerConstant(con));
+            return;
+        }
+
         if (!left.containsSymbolicVariable()) {
             left = ExpressionFactory
                     .buildNewIntegerConstant(left_concrete_value);
@@ -1597,8 +1729,6 @@ public final class ArithmeticVM extends AbstractVM {
                     .buildNewIntegerConstant(right_concrete_value);
         }
 
-        long con = left_concrete_value % right_concrete_value;
-
         IntegerValue intExpr = ExpressionFactory.rem(left, right, con);
 
         env.topFrame().operandStack.pushBv64(intExpr);
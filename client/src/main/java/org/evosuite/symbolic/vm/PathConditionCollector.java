@@ -21,12 +21,15 @@ package org.evosuite.symbolic.vm;
 
 import org.evosuite.symbolic.ArrayAccessBranchCondition;
 import org.evosuite.symbolic.BranchCondition;
+import org.evosuite.symbolic.ConstraintLog;
 import org.evosuite.symbolic.IfBranchCondition;
 import org.evosuite.symbolic.SwitchBranchCondition;
 import org.evosuite.symbolic.expr.Constraint;
 import org.evosuite.symbolic.expr.constraint.IntegerConstraint;
 import org.evosuite.symbolic.expr.constraint.ReferenceConstraint;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -37,10 +40,17 @@ import java.util.List;
  */
 public final class PathConditionCollector {
 
-    private final List<BranchCondition> branchConditions = new LinkedList<>();
+    private final ConstraintLog constraintLog = new ConstraintLog();
 
     private final LinkedList<Constraint<?>> currentSupportingConstraints = new LinkedList<>();
 
+    private List<Constraint<?>> copySupportingConstraints() {
+        if (currentSupportingConstraints.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(currentSupportingConstraints);
+    }
+
     private static Constraint<?> normalizeConstraint(IntegerConstraint c) {
         return ConstraintNormalizer.normalize(c);
     }
@@ -84,7 +94,7 @@ public final class PathConditionCollector {
                 normalizedConstraint,
                 isErrorBranch);
 
-        branchConditions.add(branchCondition);
+        constraintLog.append(branchCondition);
     }
 
     /**
@@ -100,13 +110,12 @@ public final class PathConditionCollector {
 
         Constraint<?> normalizedConstraint = normalizeConstraint(c);
 
-        LinkedList<Constraint<?>> branch_supporting_constraints = new LinkedList<>(
-                currentSupportingConstraints);
+        List<Constraint<?>> branch_supporting_constraints = copySupportingConstraints();
 
         IfBranchCondition new_branch = new IfBranchCondition(className, methName, branchIndex, normalizedConstraint,
                 branch_supporting_constraints, isTrueBranch);
 
-        branchConditions.add(new_branch);
+        constraintLog.append(new_branch);
 
         currentSupportingConstraints.clear();
     }
@@ -126,13 +135,12 @@ public final class PathConditionCollector {
 	public void appendIfBranchCondition(String className, String methName, int branchIndex, boolean isTrueBranch,
 			ReferenceConstraint c) {
 
-		LinkedList<Constraint<?>> branch_supporting_constraints = new LinkedList<>(
-				currentSupportingConstraints);
+		List<Constraint<?>> branch_supporting_constraints = copySupportingConstraints();
 
 		IfBranchCondition new_branch = new IfBranchCondition(className, methName, branchIndex, c,
 				branch_supporting_constraints, isTrueBranch);
 
-		branchConditions.add(new_branch);
+		constraintLog.append(new_branch);
 
 		currentSupportingConstraints.clear();
 	}
@@ -152,13 +160,12 @@ public final class PathConditionCollector {
 
         Constraint<?> normalizedConstraint = normalizeConstraint(c);
 
-        LinkedList<Constraint<?>> branch_supporting_constraints = new LinkedList<>(
-                currentSupportingConstraints);
+        List<Constraint<?>> branch_supporting_constraints = copySupportingConstraints();
 
         SwitchBranchCondition new_branch = new SwitchBranchCondition(className, methodName, instructionIndex,
                 normalizedConstraint, branch_supporting_constraints, goal);
 
-        branchConditions.add(new_branch);
+        constraintLog.append(new_branch);
 
         currentSupportingConstraints.clear();
 
@@ -170,7 +177,21 @@ public final class PathConditionCollector {
      * @return
      */
     public List<BranchCondition> getPathCondition() {
-        return new LinkedList<>(branchConditions);
+        List<BranchCondition> branchConditions = new LinkedList<>();
+        for (int i = 0; i < constraintLog.size(); i++) {
+            branchConditions.add(constraintLog.get(i));
+        }
+        return branchConditions;
+    }
+
+    /**
+     * Returns the append-only log where branch conditions are collected. It is
+     * not copied, hence path conditions built over it share its contents.
+     *
+     * @return
+     */
+    public ConstraintLog getConstraintLog() {
+        return constraintLog;
     }
 
     /**
@@ -187,13 +208,12 @@ public final class PathConditionCollector {
 
         Constraint<?> normalizedConstraint = normalizeConstraint(c);
 
-        LinkedList<Constraint<?>> branch_supporting_constraints = new LinkedList<>(
-                currentSupportingConstraints);
+        List<Constraint<?>> branch_supporting_constraints = copySupportingConstraints();
 
         SwitchBranchCondition new_branch = new SwitchBranchCondition(className, methodName, instructionIndex,
                 normalizedConstraint, branch_supporting_constraints);
 
-        branchConditions.add(new_branch);
+        constraintLog.append(new_branch);
 
         currentSupportingConstraints.clear();
 
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase;
+
+/**
+ * Constants of the binary test case format written by {@link BinaryTestCaseWriter}
+ * and read by {@link BinaryTestCaseReader}.
+ * <p>
+ * A stream starts with {@link #MAGIC} and {@link #VERSION}, followed by a
+ * sequence of records, each introduced by one of the <code>RECORD_</code>
+ * tags and terminated by {@link #RECORD_END}. Members are identified by their
+ * declaring class, name and descriptor, so a test remains readable as long as
+ * the members it uses still exist.
+ */
+final class BinaryTestCaseFormat {
+
+    /**
+     * "EVTC"
+     */
+    static final int MAGIC = 0x45565443;
+
+    static final short VERSION = 1;
+
+    // records
+    static final byte RECORD_END = 0;
+    static final byte RECORD_TEST = 1;
+    static final byte RECORD_SERIALIZED_TEST = 2;
+    static final byte RECORD_CLASS = 3;
+
+    // statements
+    static final byte STATEMENT_NULL = 0;
+    static final byte STATEMENT_BOOLEAN = 1;
+    static final byte STATEMENT_BYTE = 2;
+    static final byte STATEMENT_CHAR = 3;
+    static final byte STATEMENT_SHORT = 4;
+    static final byte STATEMENT_INT = 5;
+    static final byte STATEMENT_LONG = 6;
+    static final byte STATEMENT_FLOAT = 7;
+    static final byte STATEMENT_DOUBLE = 8;
+    static final byte STATEMENT_STRING = 9;
+    static final byte STATEMENT_ENUM = 10;
+    static final byte STATEMENT_CLASS = 11;
+    static final byte STATEMENT_CONSTRUCTOR = 12;
+    static final byte STATEMENT_METHOD = 13;
+    static final byte STATEMENT_FIELD = 14;
+    static final byte STATEMENT_ASSIGNMENT = 15;
+    static final byte STATEMENT_ARRAY = 16;
+
+    // variable references
+    static final byte REFERENCE_NONE = 0;
+    static final byte REFERENCE_VARIABLE = 1;
+    static final byte REFERENCE_ARRAY_INDEX = 2;
+    static final byte REFERENCE_FIELD = 3;
+    static final byte REFERENCE_CONSTANT = 4;
+    static final byte REFERENCE_NULL = 5;
+
+    // types
+    static final byte TYPE_NONE = 0;
+    static final byte TYPE_CLASS = 1;
+    static final byte TYPE_PARAMETERIZED = 2;
+    static final byte TYPE_WILDCARD = 3;
+    static final byte TYPE_ARRAY = 4;
+    static final byte TYPE_VARIABLE = 5;
+
+    // constant values
+    static final byte VALUE_NULL = 0;
+    static final byte VALUE_BOOLEAN = 1;
+    static final byte VALUE_BYTE = 2;
+    static final byte VALUE_CHAR = 3;
+    static final byte VALUE_SHORT = 4;
+    static final byte VALUE_INT = 5;
+    static final byte VALUE_LONG = 6;
+    static final byte VALUE_FLOAT = 7;
+    static final byte VALUE_DOUBLE = 8;
+    static final byte VALUE_STRING = 9;
+
+    private BinaryTestCaseFormat() {
+    }
+}
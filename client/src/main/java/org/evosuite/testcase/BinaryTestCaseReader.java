@@ -0,0 +1,486 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase;
+
+import com.googlecode.gentyref.GenericTypeReflector;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.testcase.statements.ArrayStatement;
+import org.evosuite.testcase.statements.AssignmentStatement;
+import org.evosuite.testcase.statements.ClassPrimitiveStatement;
+import org.evosuite.testcase.statements.ConstructorStatement;
+import org.evosuite.testcase.statements.EnumPrimitiveStatement;
+import org.evosuite.testcase.statements.FieldStatement;
+import org.evosuite.testcase.statements.MethodStatement;
+import org.evosuite.testcase.statements.NullStatement;
+import org.evosuite.testcase.statements.Statement;
+import org.evosuite.testcase.statements.StringPrimitiveStatement;
+import org.evosuite.testcase.statements.numeric.BooleanPrimitiveStatement;
+import org.evosuite.testcase.statements.numeric.BytePrimitiveStatement;
+import org.evosuite.testcase.statements.numeric.CharPrimitiveStatement;
+import org.evosuite.testcase.statements.numeric.DoublePrimitiveStatement;
+import org.evosuite.testcase.statements.numeric.FloatPrimitiveStatement;
+import org.evosuite.testcase.statements.numeric.IntPrimitiveStatement;
+import org.evosuite.testcase.statements.numeric.LongPrimitiveStatement;
+import org.evosuite.testcase.statements.numeric.ShortPrimitiveStatement;
+import org.evosuite.testcase.variable.ArrayIndex;
+import org.evosuite.testcase.variable.ArrayReference;
+import org.evosuite.testcase.variable.ConstantValue;
+import org.evosuite.testcase.variable.FieldReference;
+import org.evosuite.testcase.variable.NullReference;
+import org.evosuite.testcase.variable.VariableReference;
+import org.evosuite.utils.ParameterizedTypeImpl;
+import org.evosuite.utils.generic.GenericArrayTypeImpl;
+import org.evosuite.utils.generic.GenericClass;
+import org.evosuite.utils.generic.GenericClassFactory;
+import org.evosuite.utils.generic.GenericConstructor;
+import org.evosuite.utils.generic.GenericField;
+import org.evosuite.utils.generic.GenericMethod;
+import org.evosuite.utils.generic.WildcardTypeImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.evosuite.testcase.BinaryTestCaseFormat.*;
+
+/**
+ * Reads test cases written by {@link BinaryTestCaseWriter}, one at a time.
+ * <p>
+ * Classes and members are resolved with the given class loader. Tests that
+ * refer to classes or members that no longer exist, e.g. because the project
+ * changed since the tests were written, are skipped.
+ */
+public class BinaryTestCaseReader implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(BinaryTestCaseReader.class);
+
+    private final DataInputStream in;
+
+    private final ClassLoader loader;
+
+    private GenericClass<?> currentClass = null;
+
+    private boolean finished = false;
+
+    public BinaryTestCaseReader(InputStream in) throws IOException {
+        this(in, TestGenerationContext.getInstance().getClassLoaderForSUT());
+    }
+
+    public BinaryTestCaseReader(InputStream in, ClassLoader loader) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(in));
+        this.loader = loader;
+        if (this.in.readInt() != MAGIC) {
+            throw new IOException("Not a binary test case stream");
+        }
+        short version = this.in.readShort();
+        if (version > VERSION) {
+            throw new IOException("Unsupported binary test case version " + version);
+        }
+    }
+
+    /**
+     * Checks whether the stream starts with a binary test case header, without
+     * consuming it.
+     *
+     * @param in a stream supporting mark/reset
+     * @return
+     * @throws IOException
+     */
+    public static boolean isBinaryFormat(InputStream in) throws IOException {
+        if (!in.markSupported()) {
+            throw new IllegalArgumentException("Stream does not support mark/reset");
+        }
+        in.mark(4);
+        try {
+            int magic = 0;
+            for (int i = 0; i < 4; i++) {
+                int b = in.read();
+                if (b < 0) {
+                    return false;
+                }
+                magic = (magic << 8) | b;
+            }
+            return magic == MAGIC;
+        } finally {
+            in.reset();
+        }
+    }
+
+    /**
+     * @return the next test case, or null if there are no more tests
+     * @throws IOException
+     */
+    public TestCase readTestCase() throws IOException {
+        while (!finished) {
+            byte record;
+            try {
+                record = in.readByte();
+            } catch (EOFException e) {
+                // writer did not close the stream
+                finished = true;
+                break;
+            }
+            byte[] payload = new byte[in.readInt()];
+            in.readFully(payload);
+
+            TestCase test = null;
+            if (record == RECORD_END) {
+                finished = true;
+            } else if (record == RECORD_CLASS) {
+                currentClass = readClass(payload);
+            } else if (record == RECORD_TEST) {
+                test = readTest(payload);
+            } else if (record == RECORD_SERIALIZED_TEST) {
+                test = readSerializedTest(payload);
+            } else {
+                logger.debug("Skipping unknown record " + record);
+            }
+
+            if (test != null) {
+                return test;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the class of the last class record, or null if there was none
+     * or it could not be resolved
+     */
+    public GenericClass<?> getCurrentClass() {
+        return currentClass;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private GenericClass<?> readClass(byte[] payload) throws IOException {
+        try {
+            return GenericClassFactory.get(readType(new DataInputStream(new ByteArrayInputStream(payload))));
+        } catch (ReflectiveOperationException e) {
+            logger.warn("Cannot resolve class of the following tests: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private TestCase readTest(byte[] payload) throws IOException {
+        DataInputStream data = new DataInputStream(new ByteArrayInputStream(payload));
+        TestCase test = new DefaultTestCase();
+        int size = data.readInt();
+        try {
+            for (int i = 0; i < size; i++) {
+                test.addStatement(readStatement(data, test));
+            }
+        } catch (ReflectiveOperationException | IllegalArgumentException e) {
+            logger.warn("Skipping test that does not match the current classes: " + e.getMessage());
+            return null;
+        }
+        return test;
+    }
+
+    private TestCase readSerializedTest(byte[] payload) throws IOException {
+        try (ObjectInputStream objectIn = new ObjectInputStream(new ByteArrayInputStream(payload))) {
+            TestCase test = (TestCase) objectIn.readObject();
+            for (Statement statement : test) {
+                statement.changeClassLoader(loader);
+            }
+            return test;
+        } catch (ClassNotFoundException | ClassCastException e) {
+            logger.warn("Skipping serialized test that cannot be read: " + e.getMessage());
+            return null;
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Statement readStatement(DataInputStream data, TestCase test) throws IOException,
+            ReflectiveOperationException {
+        byte kind = data.readByte();
+        switch (kind) {
+            case STATEMENT_NULL:
+                return new NullStatement(test, readType(data));
+            case STATEMENT_BOOLEAN:
+                return new BooleanPrimitiveStatement(test, data.readBoolean());
+            case STATEMENT_BYTE:
+                return new BytePrimitiveStatement(test, data.readByte());
+            case STATEMENT_CHAR:
+                return new CharPrimitiveStatement(test, data.readChar());
+            case STATEMENT_SHORT:
+                return new ShortPrimitiveStatement(test, data.readShort());
+            case STATEMENT_INT:
+                return new IntPrimitiveStatement(test, data.readInt());
+            case STATEMENT_LONG:
+                return new LongPrimitiveStatement(test, data.readLong());
+            case STATEMENT_FLOAT:
+                return new FloatPrimitiveStatement(test, data.readFloat());
+            case STATEMENT_DOUBLE:
+                return new DoublePrimitiveStatement(test, data.readDouble());
+            case STATEMENT_STRING:
+                return new StringPrimitiveStatement(test, readString(data));
+            case STATEMENT_ENUM: {
+                Class<?> enumClass = loadClass(readString(data));
+                String name = readString(data);
+                if (enumClass.isEnum()) {
+                    for (Object constant : enumClass.getEnumConstants()) {
+                        if (((Enum<?>) constant).name().equals(name)) {
+                            return new EnumPrimitiveStatement(test, (Enum) constant);
+                        }
+                    }
+                }
+                throw new NoSuchFieldException("Unknown enum constant " + enumClass.getName() + "." + name);
+            }
+            case STATEMENT_CLASS:
+                return new ClassPrimitiveStatement(test, GenericTypeReflector.erase(readType(data)));
+            case STATEMENT_CONSTRUCTOR: {
+                GenericConstructor constructor = readConstructor(data);
+                return new ConstructorStatement(test, constructor, readReferences(data, test));
+            }
+            case STATEMENT_METHOD: {
+                GenericMethod method = readMethod(data);
+                Type returnType = readType(data);
+                VariableReference callee = readReference(data, test);
+                MethodStatement statement = new MethodStatement(test, method, callee, readReferences(data, test));
+                // actual type may have changed, e.g. subtype
+                statement.getReturnValue().setType(returnType);
+                return statement;
+            }
+            case STATEMENT_FIELD: {
+                GenericField field = readField(data);
+                Type returnType = readType(data);
+                FieldStatement statement = new FieldStatement(test, field, readReference(data, test));
+                statement.getReturnValue().setType(returnType);
+                return statement;
+            }
+            case STATEMENT_ASSIGNMENT: {
+                VariableReference variable = readReference(data, test);
+                return new AssignmentStatement(test, variable, readReference(data, test));
+            }
+            case STATEMENT_ARRAY: {
+                Type type = readType(data);
+                int[] lengths = new int[data.readInt()];
+                for (int i = 0; i < lengths.length; i++) {
+                    lengths[i] = data.readInt();
+                }
+                return new ArrayStatement(test, type, lengths);
+            }
+            default:
+                throw new IOException("Unknown statement kind " + kind);
+        }
+    }
+
+    private GenericConstructor readConstructor(DataInputStream data) throws IOException,
+            ReflectiveOperationException {
+        Type owner = readType(data);
+        Class<?> declaringClass = loadClass(readString(data));
+        String descriptor = readString(data);
+        for (Constructor<?> constructor : declaringClass.getDeclaredConstructors()) {
+            if (org.objectweb.asm.Type.getConstructorDescriptor(constructor).equals(descriptor)) {
+                return new GenericConstructor(constructor, owner);
+            }
+        }
+        throw new NoSuchMethodException("Unknown constructor " + declaringClass.getName() + descriptor);
+    }
+
+    private GenericMethod readMethod(DataInputStream data) throws IOException, ReflectiveOperationException {
+        Type owner = readType(data);
+        Class<?> declaringClass = loadClass(readString(data));
+        String name = readString(data);
+        String descriptor = readString(data);
+        for (Method method : declaringClass.getDeclaredMethods()) {
+            if (method.getName().equals(name)
+                    && org.objectweb.asm.Type.getMethodDescriptor(method).equals(descriptor)) {
+                return new GenericMethod(method, owner);
+            }
+        }
+        throw new NoSuchMethodException("Unknown method " + declaringClass.getName() + "." + name + descriptor);
+    }
+
+    private GenericField readField(DataInputStream data) throws IOException, ReflectiveOperationException {
+        Type owner = readType(data);
+        Class<?> declaringClass = loadClass(readString(data));
+        return new GenericField(declaringClass.getDeclaredField(readString(data)), owner);
+    }
+
+    private List<VariableReference> readReferences(DataInputStream data, TestCase test) throws IOException,
+            ReflectiveOperationException {
+        int size = data.readInt();
+        List<VariableReference> references = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            references.add(readReference(data, test));
+        }
+        return references;
+    }
+
+    private VariableReference readReference(DataInputStream data, TestCase test) throws IOException,
+            ReflectiveOperationException {
+        byte kind = data.readByte();
+        switch (kind) {
+            case REFERENCE_NONE:
+                return null;
+            case REFERENCE_VARIABLE: {
+                int position = data.readInt();
+                if (position < 0 || position >= test.size()) {
+                    throw new IOException("Reference to statement " + position + " in a test of size " + test.size());
+                }
+                return test.getStatement(position).getReturnValue();
+            }
+            case REFERENCE_ARRAY_INDEX: {
+                VariableReference array = readReference(data, test);
+                if (!(array instanceof ArrayReference)) {
+                    throw new IOException("Array index on " + array + ", which is not an array");
+                }
+                int size = data.readInt();
+                List<Integer> indices = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    indices.add(data.readInt());
+                }
+                return new ArrayIndex(test, (ArrayReference) array, indices);
+            }
+            case REFERENCE_FIELD: {
+                GenericField field = readField(data);
+                VariableReference source = readReference(data, test);
+                return source == null ? new FieldReference(test, field) : new FieldReference(test, field, source);
+            }
+            case REFERENCE_CONSTANT: {
+                Type type = readType(data);
+                return new ConstantValue(test, GenericClassFactory.get(type), readValue(data));
+            }
+            case REFERENCE_NULL:
+                return new NullReference(test, readType(data));
+            default:
+                throw new IOException("Unknown reference kind " + kind);
+        }
+    }
+
+    private static Object readValue(DataInputStream data) throws IOException {
+        byte kind = data.readByte();
+        switch (kind) {
+            case VALUE_NULL:
+                return null;
+            case VALUE_BOOLEAN:
+                return data.readBoolean();
+            case VALUE_BYTE:
+                return data.readByte();
+            case VALUE_CHAR:
+                return data.readChar();
+            case VALUE_SHORT:
+                return data.readShort();
+            case VALUE_INT:
+                return data.readInt();
+            case VALUE_LONG:
+                return data.readLong();
+            case VALUE_FLOAT:
+                return data.readFloat();
+            case VALUE_DOUBLE:
+                return data.readDouble();
+            case VALUE_STRING:
+                return readString(data);
+            default:
+                throw new IOException("Unknown value kind " + kind);
+        }
+    }
+
+    private Type readType(DataInputStream data) throws IOException, ReflectiveOperationException {
+        byte kind = data.readByte();
+        switch (kind) {
+            case TYPE_NONE:
+                return null;
+            case TYPE_CLASS:
+                return loadClass(readString(data));
+            case TYPE_PARAMETERIZED: {
+                Class<?> rawType = loadClass(readString(data));
+                Type owner = readType(data);
+                return new ParameterizedTypeImpl(rawType, readTypes(data), owner);
+            }
+            case TYPE_WILDCARD: {
+                Type[] upperBounds = readTypes(data);
+                return new WildcardTypeImpl(upperBounds, readTypes(data));
+            }
+            case TYPE_ARRAY:
+                return GenericArrayTypeImpl.createArrayType(readType(data));
+            case TYPE_VARIABLE: {
+                Class<?> declaringClass = loadClass(readString(data));
+                String name = readString(data);
+                for (TypeVariable<?> typeVariable : declaringClass.getTypeParameters()) {
+                    if (typeVariable.getName().equals(name)) {
+                        return typeVariable;
+                    }
+                }
+                throw new ClassNotFoundException("Unknown type variable " + name + " of " + declaringClass.getName());
+            }
+            default:
+                throw new IOException("Unknown type kind " + kind);
+        }
+    }
+
+    private Type[] readTypes(DataInputStream data) throws IOException, ReflectiveOperationException {
+        Type[] types = new Type[data.readInt()];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = readType(data);
+        }
+        return types;
+    }
+
+    private Class<?> loadClass(String name) throws ClassNotFoundException {
+        switch (name) {
+            case "boolean":
+                return boolean.class;
+            case "byte":
+                return byte.class;
+            case "char":
+                return char.class;
+            case "short":
+                return short.class;
+            case "int":
+                return int.class;
+            case "long":
+                return long.class;
+            case "float":
+                return float.class;
+            case "double":
+                return double.class;
+            case "void":
+                return void.class;
+            default:
+                return Class.forName(name, false, loader);
+        }
+    }
+
+    private static String readString(DataInputStream data) throws IOException {
+        byte[] bytes = new byte[data.readInt()];
+        data.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,418 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase;
+
+import com.googlecode.gentyref.GenericTypeReflector;
+import org.evosuite.testcase.statements.ArrayStatement;
+import org.evosuite.testcase.statements.AssignmentStatement;
+import org.evosuite.testcase.statements.ClassPrimitiveStatement;
+import org.evosuite.testcase.statements.ConstructorStatement;
+import org.evosuite.testcase.statements.EnumPrimitiveStatement;
+import org.evosuite.testcase.statements.FieldStatement;
+import org.evosuite.testcase.statements.MethodStatement;
+import org.evosuite.testcase.statements.NullStatement;
+import org.evosuite.testcase.statements.PrimitiveStatement;
+import org.evosuite.testcase.statements.Statement;
+import org.evosuite.testcase.statements.StringPrimitiveStatement;
+import org.evosuite.testcase.statements.numeric.BooleanPrimitiveStatement;
+import org.evosuite.testcase.statements.numeric.BytePrimitiveStatement;
+import org.evosuite.testcase.statements.numeric.CharPrimitiveStatement;
+import org.evosuite.testcase.statements.numeric.DoublePrimitiveStatement;
+import org.evosuite.testcase.statements.numeric.FloatPrimitiveStatement;
+import org.evosuite.testcase.statements.numeric.IntPrimitiveStatement;
+import org.evosuite.testcase.statements.numeric.LongPrimitiveStatement;
+import org.evosuite.testcase.statements.numeric.ShortPrimitiveStatement;
+import org.evosuite.testcase.variable.ArrayIndex;
+import org.evosuite.testcase.variable.ArrayReference;
+import org.evosuite.testcase.variable.ConstantValue;
+import org.evosuite.testcase.variable.FieldReference;
+import org.evosuite.testcase.variable.NullReference;
+import org.evosuite.testcase.variable.VariableReference;
+import org.evosuite.testcase.variable.VariableReferenceImpl;
+import org.evosuite.utils.generic.GenericClass;
+import org.evosuite.utils.generic.GenericConstructor;
+import org.evosuite.utils.generic.GenericField;
+import org.evosuite.utils.generic.GenericMethod;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.evosuite.testcase.BinaryTestCaseFormat.*;
+
+/**
+ * Streams test cases in the compact binary format described in
+ * {@link BinaryTestCaseFormat}.
+ * <p>
+ * Statements are encoded by kind, members by signature and primitive values
+ * directly. Tests containing statements or references the format does not
+ * know (e.g. functional mocks or environment data) are written as a Java
+ * serialized record instead, so that every test can be stored. Assertions are
+ * not written.
+ */
+public class BinaryTestCaseWriter implements Closeable, Flushable {
+
+    private static final Logger logger = LoggerFactory.getLogger(BinaryTestCaseWriter.class);
+
+    private final DataOutputStream out;
+
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+    private boolean closed = false;
+
+    public BinaryTestCaseWriter(OutputStream out) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+        this.out.writeInt(MAGIC);
+        this.out.writeShort(VERSION);
+    }
+
+    /**
+     * Writes the class the following tests belong to, e.g. the class a test
+     * of an object pool generates.
+     *
+     * @param clazz
+     * @throws IOException
+     */
+    public void writeClass(GenericClass<?> clazz) throws IOException {
+        buffer.reset();
+        try {
+            writeType(new DataOutputStream(buffer), clazz.getType());
+        } catch (UnsupportedElementException e) {
+            throw new IOException("Cannot encode class " + clazz + ": " + e.getMessage());
+        }
+        writeRecord(RECORD_CLASS);
+    }
+
+    public void writeTestCase(TestCase test) throws IOException {
+        buffer.reset();
+        byte record = RECORD_TEST;
+        try {
+            writeTest(new DataOutputStream(buffer), test);
+        } catch (UnsupportedElementException e) {
+            logger.debug("Using Java serialization for test: " + e.getMessage());
+            buffer.reset();
+            try (ObjectOutputStream objectOut = new ObjectOutputStream(buffer)) {
+                objectOut.writeObject(test);
+            }
+            record = RECORD_SERIALIZED_TEST;
+        }
+        writeRecord(record);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            out.writeByte(RECORD_END);
+            out.writeInt(0);
+        } finally {
+            out.close();
+        }
+    }
+
+    private void writeRecord(byte record) throws IOException {
+        out.writeByte(record);
+        out.writeInt(buffer.size());
+        buffer.writeTo(out);
+    }
+
+    private static void writeTest(DataOutputStream data, TestCase test) throws IOException,
+            UnsupportedElementException {
+        if (test.getClass() != DefaultTestCase.class) {
+            throw new UnsupportedElementException(test.getClass().getName());
+        }
+        data.writeInt(test.size());
+        for (Statement statement : test) {
+            writeStatement(data, statement);
+        }
+    }
+
+    private static void writeStatement(DataOutputStream data, Statement statement) throws IOException,
+            UnsupportedElementException {
+        Class<?> kind = statement.getClass();
+        if (statement instanceof PrimitiveStatement && kind != NullStatement.class
+                && ((PrimitiveStatement<?>) statement).getValue() == null) {
+            throw new UnsupportedElementException("null value in " + kind.getName());
+        }
+
+        if (kind == NullStatement.class) {
+            data.writeByte(STATEMENT_NULL);
+            writeType(data, statement.getReturnType());
+        } else if (kind == BooleanPrimitiveStatement.class) {
+            data.writeByte(STATEMENT_BOOLEAN);
+            data.writeBoolean(((BooleanPrimitiveStatement) statement).getValue());
+        } else if (kind == BytePrimitiveStatement.class) {
+            data.writeByte(STATEMENT_BYTE);
+            data.writeByte(((BytePrimitiveStatement) statement).getValue());
+        } else if (kind == CharPrimitiveStatement.class) {
+            data.writeByte(STATEMENT_CHAR);
+            data.writeChar(((CharPrimitiveStatement) statement).getValue());
+        } else if (kind == ShortPrimitiveStatement.class) {
+            data.writeByte(STATEMENT_SHORT);
+            data.writeShort(((ShortPrimitiveStatement) statement).getValue());
+        } else if (kind == IntPrimitiveStatement.class) {
+            data.writeByte(STATEMENT_INT);
+            data.writeInt(((IntPrimitiveStatement) statement).getValue());
+        } else if (kind == LongPrimitiveStatement.class) {
+            data.writeByte(STATEMENT_LONG);
+            data.writeLong(((LongPrimitiveStatement) statement).getValue());
+        } else if (kind == FloatPrimitiveStatement.class) {
+            data.writeByte(STATEMENT_FLOAT);
+            data.writeFloat(((FloatPrimitiveStatement) statement).getValue());
+        } else if (kind == DoublePrimitiveStatement.class) {
+            data.writeByte(STATEMENT_DOUBLE);
+            data.writeDouble(((DoublePrimitiveStatement) statement).getValue());
+        } else if (kind == StringPrimitiveStatement.class) {
+            data.writeByte(STATEMENT_STRING);
+            writeString(data, ((StringPrimitiveStatement) statement).getValue());
+        } else if (kind == EnumPrimitiveStatement.class) {
+            EnumPrimitiveStatement<?> enumStatement = (EnumPrimitiveStatement<?>) statement;
+            data.writeByte(STATEMENT_ENUM);
+            writeString(data, enumStatement.getEnumClass().getName());
+            writeString(data, enumStatement.getValue().name());
+        } else if (kind == ClassPrimitiveStatement.class) {
+            data.writeByte(STATEMENT_CLASS);
+            writeType(data, ((ClassPrimitiveStatement) statement).getValue());
+        } else if (kind == ConstructorStatement.class) {
+            ConstructorStatement constructorStatement = (ConstructorStatement) statement;
+            data.writeByte(STATEMENT_CONSTRUCTOR);
+            writeConstructor(data, constructorStatement.getConstructor());
+            writeReferences(data, constructorStatement.getParameterReferences());
+        } else if (kind == MethodStatement.class) {
+            MethodStatement methodStatement = (MethodStatement) statement;
+            data.writeByte(STATEMENT_METHOD);
+            writeMethod(data, methodStatement.getMethod());
+            writeType(data, methodStatement.getReturnType());
+            writeReference(data, methodStatement.getCallee());
+            writeReferences(data, methodStatement.getParameterReferences());
+        } else if (kind == FieldStatement.class) {
+            FieldStatement fieldStatement = (FieldStatement) statement;
+            data.writeByte(STATEMENT_FIELD);
+            writeField(data, fieldStatement.getField());
+            writeType(data, fieldStatement.getReturnType());
+            writeReference(data, fieldStatement.getSource());
+        } else if (kind == AssignmentStatement.class) {
+            AssignmentStatement assignment = (AssignmentStatement) statement;
+            data.writeByte(STATEMENT_ASSIGNMENT);
+            writeReference(data, assignment.getReturnValue());
+            writeReference(data, assignment.getValue());
+        } else if (kind == ArrayStatement.class) {
+            ArrayStatement arrayStatement = (ArrayStatement) statement;
+            data.writeByte(STATEMENT_ARRAY);
+            writeType(data, arrayStatement.getReturnType());
+            List<Integer> lengths = arrayStatement.getLengths();
+            data.writeInt(lengths.size());
+            for (int length : lengths) {
+                data.writeInt(length);
+            }
+        } else {
+            throw new UnsupportedElementException(kind.getName());
+        }
+    }
+
+    private static void writeConstructor(DataOutputStream data, GenericConstructor constructor) throws IOException,
+            UnsupportedElementException {
+        writeType(data, constructor.getOwnerType());
+        writeString(data, constructor.getDeclaringClass().getName());
+        writeString(data, org.objectweb.asm.Type.getConstructorDescriptor(constructor.getConstructor()));
+    }
+
+    private static void writeMethod(DataOutputStream data, GenericMethod method) throws IOException,
+            UnsupportedElementException {
+        writeType(data, method.getOwnerType());
+        writeString(data, method.getDeclaringClass().getName());
+        writeString(data, method.getName());
+        writeString(data, method.getDescriptor());
+    }
+
+    private static void writeField(DataOutputStream data, GenericField field) throws IOException,
+            UnsupportedElementException {
+        writeType(data, field.getOwnerType());
+        writeString(data, field.getDeclaringClass().getName());
+        writeString(data, field.getName());
+    }
+
+    private static void writeReferences(DataOutputStream data, List<VariableReference> references)
+            throws IOException, UnsupportedElementException {
+        data.writeInt(references.size());
+        for (VariableReference reference : references) {
+            writeReference(data, reference);
+        }
+    }
+
+    private static void writeReference(DataOutputStream data, VariableReference reference) throws IOException,
+            UnsupportedElementException {
+        if (reference == null) {
+            data.writeByte(REFERENCE_NONE);
+            return;
+        }
+
+        Class<?> kind = reference.getClass();
+        if (kind == VariableReferenceImpl.class || kind == ArrayReference.class) {
+            data.writeByte(REFERENCE_VARIABLE);
+            data.writeInt(reference.getStPosition());
+        } else if (kind == ArrayIndex.class) {
+            ArrayIndex index = (ArrayIndex) reference;
+            data.writeByte(REFERENCE_ARRAY_INDEX);
+            writeReference(data, index.getArray());
+            List<Integer> indices = index.getArrayIndices();
+            data.writeInt(indices.size());
+            for (int i : indices) {
+                data.writeInt(i);
+            }
+        } else if (kind == FieldReference.class) {
+            FieldReference fieldReference = (FieldReference) reference;
+            data.writeByte(REFERENCE_FIELD);
+            writeField(data, fieldReference.getField());
+            writeReference(data, fieldReference.getSource());
+        } else if (kind == ConstantValue.class) {
+            data.writeByte(REFERENCE_CONSTANT);
+            writeType(data, reference.getType());
+            writeValue(data, ((ConstantValue) reference).getValue());
+        } else if (kind == NullReference.class) {
+            data.writeByte(REFERENCE_NULL);
+            writeType(data, reference.getType());
+        } else {
+            throw new UnsupportedElementException(kind.getName());
+        }
+    }
+
+    private static void writeValue(DataOutputStream data, Object value) throws IOException,
+            UnsupportedElementException {
+        if (value == null) {
+            data.writeByte(VALUE_NULL);
+        } else if (value instanceof Boolean) {
+            data.writeByte(VALUE_BOOLEAN);
+            data.writeBoolean((Boolean) value);
+        } else if (value instanceof Byte) {
+            data.writeByte(VALUE_BYTE);
+            data.writeByte((Byte) value);
+        } else if (value instanceof Character) {
+            data.writeByte(VALUE_CHAR);
+            data.writeChar((Character) value);
+        } else if (value instanceof Short) {
+            data.writeByte(VALUE_SHORT);
+            data.writeShort((Short) value);
+        } else if (value instanceof Integer) {
+            data.writeByte(VALUE_INT);
+            data.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            data.writeByte(VALUE_LONG);
+            data.writeLong((Long) value);
+        } else if (value instanceof Float) {
+            data.writeByte(VALUE_FLOAT);
+            data.writeFloat((Float) value);
+        } else if (value instanceof Double) {
+            data.writeByte(VALUE_DOUBLE);
+            data.writeDouble((Double) value);
+        } else if (value instanceof String) {
+            data.writeByte(VALUE_STRING);
+            writeString(data, (String) value);
+        } else {
+            throw new UnsupportedElementException("constant of " + value.getClass().getName());
+        }
+    }
+
+    private static void writeType(DataOutputStream data, Type type) throws IOException,
+            UnsupportedElementException {
+        if (type == null) {
+            data.writeByte(TYPE_NONE);
+        } else if (type instanceof Class) {
+            data.writeByte(TYPE_CLASS);
+            writeString(data, ((Class<?>) type).getName());
+        } else if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            data.writeByte(TYPE_PARAMETERIZED);
+            writeString(data, GenericTypeReflector.erase(parameterizedType.getRawType()).getName());
+            writeType(data, parameterizedType.getOwnerType());
+            writeTypes(data, parameterizedType.getActualTypeArguments());
+        } else if (type instanceof WildcardType) {
+            WildcardType wildcardType = (WildcardType) type;
+            data.writeByte(TYPE_WILDCARD);
+            writeTypes(data, wildcardType.getUpperBounds());
+            writeTypes(data, wildcardType.getLowerBounds());
+        } else if (type instanceof GenericArrayType) {
+            data.writeByte(TYPE_ARRAY);
+            writeType(data, ((GenericArrayType) type).getGenericComponentType());
+        } else if (type instanceof TypeVariable) {
+            TypeVariable<?> typeVariable = (TypeVariable<?>) type;
+            if (typeVariable.getGenericDeclaration() instanceof Class) {
+                data.writeByte(TYPE_VARIABLE);
+                writeString(data, ((Class<?>) typeVariable.getGenericDeclaration()).getName());
+                writeString(data, typeVariable.getName());
+            } else {
+                // variables of methods and constructors cannot be looked up, hence keep the bound
+                data.writeByte(TYPE_CLASS);
+                writeString(data, GenericTypeReflector.erase(typeVariable).getName());
+            }
+        } else {
+            throw new UnsupportedElementException("type " + type.getClass().getName());
+        }
+    }
+
+    private static void writeTypes(DataOutputStream data, Type[] types) throws IOException,
+            UnsupportedElementException {
+        data.writeInt(types.length);
+        for (Type type : types) {
+            writeType(data, type);
+        }
+    }
+
+    private static void writeString(DataOutputStream data, String value) throws IOException {
+        // writeUTF is limited to 64K, which long string primitives can exceed
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        data.writeInt(bytes.length);
+        data.write(bytes);
+    }
+
+    /**
+     * Thrown for elements that the binary format cannot represent
+     */
+    private static class UnsupportedElementException extends Exception {
+
+        private static final long serialVersionUID = -2398761251297454587L;
+
+        UnsupportedElementException(String element) {
+            super("unsupported element " + element);
+        }
+    }
+}
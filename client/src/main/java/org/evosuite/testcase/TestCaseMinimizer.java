@@ -30,6 +30,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
@@ -42,7 +44,7 @@ public class TestCaseMinimizer {
 
     private static final Logger logger = LoggerFactory.getLogger(TestCaseMinimizer.class);
 
-    private final TestFitnessFunction fitnessFunction;
+    private final List<TestFitnessFunction> fitnessFunctions;
 
     /**
      * Constructor
@@ -51,7 +53,18 @@ public class TestCaseMinimizer {
      *                        necessary
      */
     public TestCaseMinimizer(TestFitnessFunction fitnessFunction) {
-        this.fitnessFunction = fitnessFunction;
+        this.fitnessFunctions = Collections.singletonList(fitnessFunction);
+    }
+
+    /**
+     * Constructor for minimizing a test with respect to several goals at
+     * once. Each deletion is executed once and checked against all goals.
+     *
+     * @param fitnessFunctions Fitness functions none of which may get worse when
+     *                         a statement is deleted
+     */
+    public TestCaseMinimizer(Collection<TestFitnessFunction> fitnessFunctions) {
+        this.fitnessFunctions = new ArrayList<>(fitnessFunctions);
     }
 
     /**
@@ -81,14 +94,16 @@ public class TestCaseMinimizer {
         return has_deleted;
     }
 
-    private static boolean isWorse(FitnessFunction<TestChromosome> fitness,
+    private static boolean isWorse(List<TestFitnessFunction> fitnessFunctions,
                                    TestChromosome oldChromosome, TestChromosome newChromosome) {
-        if (fitness.isMaximizationFunction()) {
-            if (oldChromosome.getFitness(fitness) > fitness.getFitness(newChromosome))
-                return true;
-        } else {
-            if (fitness.getFitness(newChromosome) > oldChromosome.getFitness(fitness))
-                return true;
+        for (FitnessFunction<TestChromosome> fitness : fitnessFunctions) {
+            if (fitness.isMaximizationFunction()) {
+                if (oldChromosome.getFitness(fitness) > fitness.getFitness(newChromosome))
+                    return true;
+            } else {
+                if (fitness.getFitness(newChromosome) > oldChromosome.getFitness(fitness))
+                    return true;
+            }
         }
 
         for (SecondaryObjective<TestChromosome> objective : TestChromosome.getSecondaryObjectives()) {
@@ -104,8 +119,9 @@ public class TestCaseMinimizer {
     }
 
     /**
-     * Central minimization function. Loop and try to remove until all
-     * statements have been checked.
+     * Central minimization function. Chunks of statements are removed first,
+     * then single statements are removed, possibly replacing their uses by
+     * other variables, until all statements have been checked.
      *
      * @param c a {@link org.evosuite.testcase.TestChromosome} object.
      */
@@ -116,15 +132,20 @@ public class TestCaseMinimizer {
         logger.info("Minimizing test case");
 
 
-        double fitness = fitnessFunction.getFitness(c);
+        double[] fitness = new double[fitnessFunctions.size()];
+        for (int i = 0; i < fitness.length; i++) {
+            fitness[i] = fitnessFunctions.get(i).getFitness(c);
+        }
+        logger.debug("Start fitness values: {}", Arrays.toString(fitness));
+
         if (isTimeoutReached()) {
+            logger.debug("Timeout reached after verifying test");
             return;
         }
 
-        logger.debug("Start fitness values: {}", fitness);
-
+        boolean singleStatementsChecked = removeChunks(c);
         if (isTimeoutReached()) {
-            logger.debug("Timeout reached after verifying test");
+            logger.debug("Timeout reached while removing chunks of statements");
             return;
         }
 
@@ -139,6 +160,12 @@ public class TestCaseMinimizer {
                     return;
                 }
 
+                // removing a statement nothing depends on is the same as
+                // in the last round of removeChunks, which did not succeed
+                if (singleStatementsChecked && !c.test.hasReferences(c.test.getReturnValue(i))) {
+                    continue;
+                }
+
                 logger.debug("Deleting statement {}", c.test.getStatement(i).getCode());
                 TestChromosome copy = c.clone();
                 boolean modified;
@@ -163,9 +190,10 @@ public class TestCaseMinimizer {
                     return;
                 }
 
-                if (!isWorse(fitnessFunction, copy, c)) {
+                if (!isWorse(fitnessFunctions, copy, c)) {
                     logger.debug("Keeping shorter version");
                     changed = true;
+                    singleStatementsChecked = false;
                     break;
                 } else {
                     logger.debug("Keeping original version");
@@ -176,17 +204,20 @@ public class TestCaseMinimizer {
         }
 
         //TODO: add back this check
-        assert (fitnessFunction.isMaximizationFunction() ?
-                fitnessFunction.getFitness(c) >= fitness : fitnessFunction.getFitness(c) <= fitness)
-                :
-                "Minimization worsened " + fitnessFunction.getClass().getName() + " fitness from " + fitness +
-                        " to " + fitnessFunction.getFitness(c) + " on test " + c.getTestCase().toCode();
+        for (int i = 0; i < fitness.length; i++) {
+            TestFitnessFunction fitnessFunction = fitnessFunctions.get(i);
+            assert (fitnessFunction.isMaximizationFunction() ?
+                    fitnessFunction.getFitness(c) >= fitness[i] : fitnessFunction.getFitness(c) <= fitness[i])
+                    :
+                    "Minimization worsened " + fitnessFunction.getClass().getName() + " fitness from " + fitness[i] +
+                            " to " + fitnessFunction.getFitness(c) + " on test " + c.getTestCase().toCode();
+        }
 
 
         if (Properties.MINIMIZE_VALUES) {
             logger.info("Minimizing values of test case");
             ValueMinimizer minimizer = new ValueMinimizer();
-            minimizer.minimize(c, fitnessFunction);
+            minimizer.minimize(c, fitnessFunctions);
         }
 
         if (logger.isDebugEnabled()) {
@@ -196,6 +227,63 @@ public class TestCaseMinimizer {
 
     }
 
+    /**
+     * Removes chunks of statements at once, in the style of delta debugging.
+     * Each chunk is removed together with all statements depending on it, so
+     * the test remains valid and is executed once per attempt. Whenever no
+     * chunk can be removed the chunks are halved, down to single statements.
+     *
+     * @param c the test to minimize
+     * @return true if removing each single statement of the resulting test
+     * was tried without success
+     */
+    boolean removeChunks(TestChromosome c) {
+        int numChunks = 2;
+        while (numChunks >= 2 && numChunks <= c.test.size()) {
+            boolean removed = false;
+            int chunkSize = (c.test.size() + numChunks - 1) / numChunks;
+
+            // chunks at the end of the test have fewer dependent statements, try them first
+            for (int end = c.test.size(); end > 0 && !removed; end -= chunkSize) {
+                if (isTimeoutReached()) {
+                    return false;
+                }
+
+                List<Integer> chunk = new ArrayList<>();
+                for (int i = Math.max(0, end - chunkSize); i < end; i++) {
+                    chunk.add(i);
+                }
+
+                TestChromosome copy = c.clone();
+                int deleted = TestFactory.getInstance().deleteStatements(c.test, chunk);
+                logger.debug("Deleting {} statements for chunk {}", deleted, chunk);
+                c.setChanged(true);
+
+                if (isTimeoutReached()) {
+                    logger.debug("Keeping original version due to timeout");
+                    restoreTestCase(c, copy);
+                    return false;
+                }
+
+                if (!isWorse(fitnessFunctions, copy, c)) {
+                    logger.debug("Keeping shorter version");
+                    removed = true;
+                } else {
+                    restoreTestCase(c, copy);
+                }
+            }
+
+            if (removed) {
+                numChunks = Math.min(Math.max(numChunks - 1, 2), c.test.size());
+            } else if (chunkSize == 1) {
+                return true;
+            } else {
+                numChunks = Math.min(numChunks * 2, c.test.size());
+            }
+        }
+        return false;
+    }
+
     private static void restoreTestCase(TestChromosome c, TestChromosome copy) {
         c.test = copy.test;
         c.copyCachedResults(copy);
@@ -85,6 +85,27 @@ public class TestCodeVisitor extends TestVisitor {
 
     private Map<String, Map<VariableReference, String>> information = new HashMap<>();
 
+    /**
+     * <p>
+     * Constructor for TestCodeVisitor.
+     * </p>
+     */
+    public TestCodeVisitor() {
+    }
+
+    /**
+     * Creates a visitor that names classes and variables in the same way as
+     * the given visitor did so far, such that code generated by both visitors
+     * can be part of the same test class.
+     *
+     * @param other the visitor to copy the naming information from
+     */
+    public TestCodeVisitor(TestCodeVisitor other) {
+        classNames.putAll(other.classNames);
+        methodNames.putAll(other.methodNames);
+        argumentNames.putAll(other.argumentNames);
+    }
+
     /**
      * <p>
      * getCode
@@ -1654,8 +1654,25 @@ public class TestFactory {
 
         logger.debug("Deleting target statement - {}", position);
 
+        deleteStatements(test, Collections.singleton(position));
+
+        return true;
+    }
+
+    /**
+     * Deletes the statements at the given positions together with all the
+     * statements that depend on them
+     *
+     * @param test      the test case
+     * @param positions the positions of the statements to delete
+     * @return the number of deleted statements
+     */
+    public int deleteStatements(TestCase test, Collection<Integer> positions) {
+
         Set<Integer> toDelete = new LinkedHashSet<>();
-        recursiveDeleteInclusion(test, toDelete, position);
+        for (int position : positions) {
+            recursiveDeleteInclusion(test, toDelete, position);
+        }
 
         List<Integer> pos = new ArrayList<>(toDelete);
         pos.sort(Collections.reverseOrder());
@@ -1665,7 +1682,7 @@ public class TestFactory {
             test.remove(i);
         }
 
-        return true;
+        return pos.size();
     }
 
     private void recursiveDeleteInclusion(TestCase test, Set<Integer> toDelete, int position) {
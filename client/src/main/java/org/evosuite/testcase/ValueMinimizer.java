@@ -31,6 +31,9 @@ import org.evosuite.testsuite.TestSuiteFitnessFunction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * <p>
  * ValueMinimizer class.
@@ -48,16 +51,19 @@ public class ValueMinimizer extends TestVisitor {
 
     private static class TestMinimization implements Minimization {
 
-        private final TestFitnessFunction fitness;
+        private final List<TestFitnessFunction> fitnesses;
 
         private final TestChromosome individual;
 
-        private double lastFitness;
+        private final double[] lastFitness;
 
-        public TestMinimization(TestFitnessFunction fitness, TestChromosome test) {
-            this.fitness = fitness;
+        public TestMinimization(List<TestFitnessFunction> fitnesses, TestChromosome test) {
+            this.fitnesses = fitnesses;
             this.individual = test;
-            this.lastFitness = test.getFitness(fitness);
+            this.lastFitness = new double[fitnesses.size()];
+            for (int i = 0; i < fitnesses.size(); i++) {
+                lastFitness[i] = test.getFitness(fitnesses.get(i));
+            }
         }
 
         /* (non-Javadoc)
@@ -68,22 +74,32 @@ public class ValueMinimizer extends TestVisitor {
             ExecutionResult lastResult = individual.getLastExecutionResult();
             individual.setChanged(true);
             individual.getTestCase().clearCoveredGoals();
-            double newFitness = fitness.getFitness(individual);
+            // the test is only executed for the first objective, the others
+            // reuse its execution result
+            double[] newFitness = new double[fitnesses.size()];
             boolean worse = false;
-            if (fitness.isMaximizationFunction()) {
-                if (newFitness < lastFitness)
-                    worse = true;
-            } else {
-                if (newFitness > lastFitness)
-                    worse = true;
+            for (int i = 0; i < fitnesses.size() && !worse; i++) {
+                TestFitnessFunction fitness = fitnesses.get(i);
+                newFitness[i] = fitness.getFitness(individual);
+                if (fitness.isMaximizationFunction()) {
+                    if (newFitness[i] < lastFitness[i])
+                        worse = true;
+                } else {
+                    if (newFitness[i] > lastFitness[i])
+                        worse = true;
+                }
             }
 
             if (!worse) {
-                lastFitness = newFitness;
-                individual.setFitness(fitness, lastFitness);
+                for (int i = 0; i < fitnesses.size(); i++) {
+                    lastFitness[i] = newFitness[i];
+                    individual.setFitness(fitnesses.get(i), lastFitness[i]);
+                }
                 return true;
             } else {
-                individual.setFitness(fitness, lastFitness);
+                for (int i = 0; i < fitnesses.size(); i++) {
+                    individual.setFitness(fitnesses.get(i), lastFitness[i]);
+                }
                 individual.setLastExecutionResult(lastResult);
                 return false;
             }
@@ -158,7 +174,18 @@ public class ValueMinimizer extends TestVisitor {
      * @param objective a {@link org.evosuite.testcase.TestFitnessFunction} object.
      */
     public void minimize(TestChromosome test, TestFitnessFunction objective) {
-        this.objective = new TestMinimization(objective, test);
+        minimize(test, Collections.singletonList(objective));
+    }
+
+    /**
+     * Minimizes the values of the test without making it worse for any of
+     * the given objectives
+     *
+     * @param test       a {@link org.evosuite.testcase.TestChromosome} object.
+     * @param objectives the objectives that must not get worse
+     */
+    public void minimize(TestChromosome test, List<TestFitnessFunction> objectives) {
+        this.objective = new TestMinimization(objectives, test);
         test.test.accept(this);
     }
 
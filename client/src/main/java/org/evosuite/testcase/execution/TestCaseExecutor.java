@@ -30,6 +30,7 @@ import org.evosuite.runtime.sandbox.Sandbox;
 import org.evosuite.runtime.util.JOptionPaneInputs;
 import org.evosuite.runtime.util.SystemInUtil;
 import org.evosuite.setup.TestCluster;
+import org.evosuite.statistics.Telemetry;
 import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.execution.reset.ClassReInitializer;
 import org.slf4j.Logger;
@@ -343,6 +344,8 @@ public class TestCaseExecutor implements ThreadFactory {
             long endTime = System.currentTimeMillis();
             timeExecuted += endTime - startTime;
             testsExecuted++;
+            Telemetry.getInstance().increment(Telemetry.TESTS_EXECUTED);
+            Telemetry.getInstance().add(Telemetry.TESTS_EXECUTION_TIME, endTime - startTime);
             return result;
         } catch (ThreadDeath t) {
             logger.warn("Caught ThreadDeath during test execution");
@@ -389,6 +392,7 @@ public class TestCaseExecutor implements ThreadFactory {
                 logger.warn("Timeout occurred for " + Properties.TARGET_CLASS);
             }
             logger.info("TimeoutException, need to stop runner", e1);
+            Telemetry.getInstance().increment(Telemetry.TESTS_TIMEOUTS);
             ExecutionTracer.setKillSwitch(true);
             try {
                 handler.getLastTask().get(Properties.SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS);
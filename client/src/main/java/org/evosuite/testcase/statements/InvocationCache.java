@@ -0,0 +1,251 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.statements;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Invokes methods, constructors and field getters of the SUT through method
+ * handles that are resolved once per member, with the same exceptions as
+ * {@link Method#invoke}, {@link Constructor#newInstance} and
+ * {@link Field#get}: exceptions thrown by the SUT are wrapped in an
+ * {@link InvocationTargetException}, and arguments that do not fit the
+ * member lead to an {@link IllegalArgumentException}.
+ * <p>
+ * The first call of each member is done through reflection, such that
+ * failures of the class initialisation surface exactly as they did before.
+ * If no handle can be created for a member, reflection is used throughout.
+ */
+public class InvocationCache {
+
+    private static final Object[] NO_ARGUMENTS = new Object[0];
+
+    /**
+     * Marks members for which no handle could be created
+     */
+    private static final MethodHandle UNAVAILABLE = MethodHandles.constant(Object.class, null);
+
+    private static final MethodHandle WRAP_EXCEPTION;
+
+    static {
+        try {
+            WRAP_EXCEPTION = MethodHandles.lookup().findStatic(InvocationCache.class, "wrapException",
+                    MethodType.methodType(Object.class, Throwable.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Handles by member. Members are held by the generic accessible objects
+     * of the test cases, so entries of unused classes can be collected.
+     */
+    private static final Map<Member, MethodHandle> handles = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private InvocationCache() {
+    }
+
+    /**
+     * Invokes a method like {@link Method#invoke}
+     *
+     * @param method the method to invoke
+     * @param callee the receiver, ignored for static methods
+     * @param inputs the arguments
+     * @return the return value, null for void methods
+     */
+    public static Object invoke(Method method, Object callee, Object... inputs) throws IllegalAccessException,
+            IllegalArgumentException, InvocationTargetException {
+        MethodHandle handle = handles.get(method);
+        if (handle == null || handle == UNAVAILABLE) {
+            try {
+                Object ret = method.invoke(callee, inputs);
+                resolve(method, handle);
+                return ret;
+            } catch (InvocationTargetException e) {
+                resolve(method, handle);
+                throw e;
+            }
+        }
+
+        if (callee == null && !Modifier.isStatic(method.getModifiers()))
+            throw new NullPointerException();
+        Object[] arguments = inputs == null ? NO_ARGUMENTS : inputs;
+        try {
+            return (Object) handle.invokeExact(callee, arguments);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * Creates a new instance like {@link Constructor#newInstance}
+     *
+     * @param constructor the constructor to invoke
+     * @param inputs      the arguments
+     * @return the new instance
+     */
+    public static Object newInstance(Constructor<?> constructor, Object... inputs) throws InstantiationException,
+            IllegalAccessException, IllegalArgumentException, InvocationTargetException {
+        MethodHandle handle = handles.get(constructor);
+        if (handle == null || handle == UNAVAILABLE) {
+            try {
+                Object ret = constructor.newInstance(inputs);
+                resolve(constructor, handle);
+                return ret;
+            } catch (InvocationTargetException e) {
+                resolve(constructor, handle);
+                throw e;
+            }
+        }
+
+        Object[] arguments = inputs == null ? NO_ARGUMENTS : inputs;
+        try {
+            return (Object) handle.invokeExact(arguments);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * Reads a field like {@link Field#get}
+     *
+     * @param field  the field to read
+     * @param source the object to read the field from, ignored for static fields
+     * @return the value of the field, boxed if primitive
+     */
+    public static Object get(Field field, Object source) throws IllegalArgumentException, IllegalAccessException {
+        MethodHandle handle = handles.get(field);
+        if (handle == null || handle == UNAVAILABLE) {
+            Object ret = field.get(source);
+            resolve(field, handle);
+            return ret;
+        }
+
+        if (source == null && !Modifier.isStatic(field.getModifiers()))
+            throw new NullPointerException();
+        try {
+            return (Object) handle.invokeExact(source);
+        } catch (Throwable t) {
+            if (t instanceof ClassCastException)
+                throw new IllegalArgumentException(t);
+            if (t instanceof RuntimeException)
+                throw (RuntimeException) t;
+            if (t instanceof Error)
+                throw (Error) t;
+            throw new IllegalArgumentException(t);
+        }
+    }
+
+    /**
+     * Creates the handle after the first successful call of the member
+     *
+     * @param member
+     * @param current the handle currently cached for the member
+     */
+    private static void resolve(Member member, MethodHandle current) {
+        if (current != null)
+            return;
+
+        MethodHandle handle;
+        try {
+            if (member instanceof Method)
+                handle = createHandle((Method) member);
+            else if (member instanceof Constructor<?>)
+                handle = createHandle((Constructor<?>) member);
+            else
+                handle = createHandle((Field) member);
+        } catch (IllegalAccessException | RuntimeException e) {
+            handle = UNAVAILABLE;
+        }
+        handles.put(member, handle);
+    }
+
+    /**
+     * @return a handle of type (Object, Object[])Object
+     */
+    private static MethodHandle createHandle(Method method) throws IllegalAccessException {
+        MethodHandle handle = wrapExceptions(MethodHandles.lookup().unreflect(method).asFixedArity());
+        if (Modifier.isStatic(method.getModifiers()))
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        int numParameters = method.getParameterCount();
+        return handle.asType(MethodType.genericMethodType(numParameters + 1))
+                .asSpreader(Object[].class, numParameters);
+    }
+
+    /**
+     * @return a handle of type (Object[])Object
+     */
+    private static MethodHandle createHandle(Constructor<?> constructor) throws IllegalAccessException {
+        MethodHandle handle = wrapExceptions(MethodHandles.lookup().unreflectConstructor(constructor).asFixedArity());
+        int numParameters = constructor.getParameterCount();
+        return handle.asType(MethodType.genericMethodType(numParameters))
+                .asSpreader(Object[].class, numParameters);
+    }
+
+    /**
+     * @return a handle of type (Object)Object
+     */
+    private static MethodHandle createHandle(Field field) throws IllegalAccessException {
+        MethodHandle handle = MethodHandles.lookup().unreflectGetter(field);
+        if (Modifier.isStatic(field.getModifiers()))
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        return handle.asType(MethodType.methodType(Object.class, Object.class));
+    }
+
+    /**
+     * Wraps everything thrown by the target in an InvocationTargetException,
+     * such that exceptions of the conversions done around the target can be
+     * told apart from exceptions of the SUT
+     */
+    private static MethodHandle wrapExceptions(MethodHandle target) {
+        MethodHandle handler = WRAP_EXCEPTION.asType(
+                MethodType.methodType(target.type().returnType(), Throwable.class));
+        handler = MethodHandles.dropArguments(handler, 1, target.type().parameterList());
+        return MethodHandles.catchException(target, Throwable.class, handler);
+    }
+
+    private static Object wrapException(Throwable t) throws InvocationTargetException {
+        throw new InvocationTargetException(t);
+    }
+
+    private static InvocationTargetException rethrow(Throwable t) {
+        if (t instanceof InvocationTargetException)
+            return (InvocationTargetException) t;
+        // Arguments that could not be converted to the parameter types
+        if (t instanceof ClassCastException || t instanceof NullPointerException)
+            throw new IllegalArgumentException(t);
+        if (t instanceof RuntimeException)
+            throw (RuntimeException) t;
+        if (t instanceof Error)
+            throw (Error) t;
+        return new InvocationTargetException(t);
+    }
+}
@@ -25,6 +25,7 @@ import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.execution.CodeUnderTestException;
 import org.evosuite.testcase.execution.EvosuiteError;
 import org.evosuite.testcase.execution.Scope;
+import org.evosuite.testcase.statements.InvocationCache;
 import org.evosuite.utils.generic.GenericField;
 import org.objectweb.asm.commons.GeneratorAdapter;
 import org.slf4j.Logger;
@@ -157,7 +158,7 @@ public class FieldReference extends VariableReferenceImpl {
         }
 
         try {
-            return field.getField().get(s);
+            return InvocationCache.get(field.getField(), s);
         } catch (IllegalArgumentException e) {
             logger.debug("Error accessing field " + field + " of object " + source + ": "
                     + e, e);
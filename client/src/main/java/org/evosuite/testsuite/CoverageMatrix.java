@@ -0,0 +1,269 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testsuite;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Coverage of a set of goals by a set of tests, with one bitset of covered
+ * goals per test. Tests and goals are identified by their index.
+ * <p>
+ * A small cover is computed by applying the exact set cover reductions
+ * (essential tests, dominated tests and dominated goals) as long as they
+ * apply, and by choosing the test covering the most remaining goals when they
+ * do not.
+ */
+public class CoverageMatrix {
+
+    private final List<BitSet> rows = new ArrayList<>();
+
+    private final List<Integer> costs = new ArrayList<>();
+
+    /**
+     * Adds a test to the matrix
+     *
+     * @param coveredGoals the indices of the goals covered by the test
+     * @param cost         the cost of keeping the test (e.g. its length), used to
+     *                     break ties
+     * @return the index of the test
+     */
+    public int addTest(BitSet coveredGoals, int cost) {
+        rows.add((BitSet) coveredGoals.clone());
+        costs.add(cost);
+        return rows.size() - 1;
+    }
+
+    public int getNumTests() {
+        return rows.size();
+    }
+
+    /**
+     * @param test the index of a test
+     * @return the goals covered by the test
+     */
+    public BitSet getCoveredGoals(int test) {
+        return (BitSet) rows.get(test).clone();
+    }
+
+    /**
+     * @return the goals covered by at least one test
+     */
+    public BitSet getCoveredGoals() {
+        BitSet covered = new BitSet();
+        for (BitSet row : rows) {
+            covered.or(row);
+        }
+        return covered;
+    }
+
+    /**
+     * Computes a subset of the tests that covers all goals covered by the
+     * matrix.
+     *
+     * @return the indices of the selected tests, in the order in which they
+     * were selected
+     */
+    public List<Integer> getCover() {
+        BitSet required = getCoveredGoals();
+        BitSet candidates = new BitSet();
+        for (int test = 0; test < rows.size(); test++) {
+            if (!rows.get(test).isEmpty()) {
+                candidates.set(test);
+            }
+        }
+
+        List<Integer> cover = new ArrayList<>();
+        while (!required.isEmpty()) {
+            if (selectEssentialTests(required, candidates, cover)
+                    || removeDominatedTests(required, candidates)
+                    || removeDominatedGoals(required, candidates)) {
+                continue;
+            }
+
+            int best = getGreedyChoice(required, candidates);
+            if (best < 0) {
+                break;
+            }
+            select(best, required, candidates, cover);
+        }
+
+        removeRedundantTests(cover);
+        return cover;
+    }
+
+    private void select(int test, BitSet required, BitSet candidates, List<Integer> cover) {
+        cover.add(test);
+        required.andNot(rows.get(test));
+        candidates.clear(test);
+    }
+
+    /**
+     * Selects the tests that are the only candidate covering a required goal
+     */
+    private boolean selectEssentialTests(BitSet required, BitSet candidates, List<Integer> cover) {
+        boolean selected = false;
+        for (int goal = required.nextSetBit(0); goal >= 0; goal = required.nextSetBit(goal + 1)) {
+            int coveringTest = -1;
+            boolean unique = true;
+            for (int test = candidates.nextSetBit(0); test >= 0; test = candidates.nextSetBit(test + 1)) {
+                if (rows.get(test).get(goal)) {
+                    if (coveringTest >= 0) {
+                        unique = false;
+                        break;
+                    }
+                    coveringTest = test;
+                }
+            }
+            if (unique && coveringTest >= 0) {
+                select(coveringTest, required, candidates, cover);
+                selected = true;
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Removes the candidates whose required goals are all covered by another
+     * candidate that is not more expensive
+     */
+    private boolean removeDominatedTests(BitSet required, BitSet candidates) {
+        List<Integer> tests = new ArrayList<>();
+        List<long[]> goals = new ArrayList<>();
+        for (int test = candidates.nextSetBit(0); test >= 0; test = candidates.nextSetBit(test + 1)) {
+            tests.add(test);
+            goals.add(getRequiredGoals(test, required).toLongArray());
+        }
+
+        boolean removed = false;
+        for (int i = 0; i < tests.size(); i++) {
+            int test = tests.get(i);
+            if (goals.get(i).length == 0) {
+                candidates.clear(test);
+                removed = true;
+                continue;
+            }
+            for (int j = 0; j < tests.size(); j++) {
+                int other = tests.get(j);
+                if (i == j || !candidates.get(other) || !isSubset(goals.get(i), goals.get(j))) {
+                    continue;
+                }
+                // of two tests covering the same goals, the cheaper (or first) one is kept
+                if (!Arrays.equals(goals.get(i), goals.get(j)) || costs.get(other) < costs.get(test)
+                        || (costs.get(other).equals(costs.get(test)) && other < test)) {
+                    candidates.clear(test);
+                    removed = true;
+                    break;
+                }
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Removes the required goals that are covered by every candidate covering
+     * some other required goal, as covering the other goal also covers them
+     */
+    private boolean removeDominatedGoals(BitSet required, BitSet candidates) {
+        List<Integer> goals = new ArrayList<>();
+        List<long[]> columns = new ArrayList<>();
+        for (int goal = required.nextSetBit(0); goal >= 0; goal = required.nextSetBit(goal + 1)) {
+            BitSet column = new BitSet();
+            for (int test = candidates.nextSetBit(0); test >= 0; test = candidates.nextSetBit(test + 1)) {
+                if (rows.get(test).get(goal)) {
+                    column.set(test);
+                }
+            }
+            goals.add(goal);
+            columns.add(column.toLongArray());
+        }
+
+        boolean removed = false;
+        for (int i = 0; i < goals.size(); i++) {
+            for (int j = 0; j < goals.size(); j++) {
+                if (i == j || !required.get(goals.get(j)) || !isSubset(columns.get(j), columns.get(i))) {
+                    continue;
+                }
+                // goal i is dominated if goal j needs one of the tests covering goal i;
+                // of two goals covered by the same tests the first one is kept
+                if (!Arrays.equals(columns.get(i), columns.get(j)) || j < i) {
+                    required.clear(goals.get(i));
+                    removed = true;
+                    break;
+                }
+            }
+        }
+        return removed;
+    }
+
+    private int getGreedyChoice(BitSet required, BitSet candidates) {
+        int best = -1;
+        int bestCount = 0;
+        for (int test = candidates.nextSetBit(0); test >= 0; test = candidates.nextSetBit(test + 1)) {
+            int count = getRequiredGoals(test, required).cardinality();
+            if (count > bestCount || (count == bestCount && count > 0 && costs.get(test) < costs.get(best))) {
+                best = test;
+                bestCount = count;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Removes the selected tests whose goals are all covered by the other
+     * selected tests, starting from the last selected one
+     */
+    private void removeRedundantTests(List<Integer> cover) {
+        BitSet goals = getCoveredGoals();
+        for (int i = cover.size() - 1; i >= 0; i--) {
+            BitSet others = new BitSet();
+            for (int j = 0; j < cover.size(); j++) {
+                if (j != i) {
+                    others.or(rows.get(cover.get(j)));
+                }
+            }
+            if (isSubset(goals, others)) {
+                cover.remove(i);
+            }
+        }
+    }
+
+    private BitSet getRequiredGoals(int test, BitSet required) {
+        BitSet goals = (BitSet) rows.get(test).clone();
+        goals.and(required);
+        return goals;
+    }
+
+    private static boolean isSubset(BitSet subset, BitSet superset) {
+        return isSubset(subset.toLongArray(), superset.toLongArray());
+    }
+
+    private static boolean isSubset(long[] subset, long[] superset) {
+        for (int i = 0; i < subset.length; i++) {
+            long word = i < superset.length ? superset[i] : 0L;
+            if ((subset[i] & ~word) != 0L) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -142,6 +142,13 @@ public class TestSuiteMinimizer {
     /**
      * Minimize test suite with respect to the isCovered Method of the goals
      * defined by the supplied TestFitnessFactory
+     * <p>
+     * Each test is executed once to build the matrix of the goals it covers.
+     * The tests needed to cover all goals are chosen on the matrix, and each
+     * of them is then minimized with respect to all the goals it is
+     * responsible for at once, i.e., those not yet covered by the tests
+     * minimized before (or not yet assigned to them, if coincidental
+     * coverage is not skipped).
      *
      * @param suite a {@link org.evosuite.testsuite.TestSuiteChromosome} object.
      */
@@ -161,19 +168,46 @@ public class TestSuiteMinimizer {
         }
         filterJUnitCoveredGoals(goals);
 
-        int currentGoal = 0;
-        int numGoals = goals.size();
-
         if (Properties.MINIMIZE_SORT)
             Collections.sort(goals);
 
-        Set<TestFitnessFunction> covered = new LinkedHashSet<>();
-        List<TestChromosome> minimizedTests = new ArrayList<>();
+        List<TestChromosome> tests = suite.getTestChromosomes();
+        CoverageMatrix matrix = new CoverageMatrix();
+        for (TestChromosome test : tests) {
+            updateClientStatus(50 * matrix.getNumTests() / tests.size());
+            if (isTimeoutReached()) {
+                logger.warn("Minimization timeout. Roll back to original test suite");
+                return;
+            }
+            matrix.addTest(getCoveredGoals(test, goals), test.size());
+        }
+
+        List<Integer> cover = matrix.getCover();
+        logger.info("Selected " + cover.size() + "/" + tests.size() + " tests covering "
+                + matrix.getCoveredGoals().cardinality() + "/" + goals.size() + " goals");
+
+        BitSet covered = new BitSet();
+        BitSet assigned = new BitSet();
         TestSuiteWriter minimizedSuite = new TestSuiteWriter();
+        int currentTest = 0;
+
+        for (int index : cover) {
+            updateClientStatus(50 + 50 * currentTest / cover.size());
+            currentTest++;
 
-        for (TestFitnessFunction goal : goals) {
-            updateClientStatus(numGoals > 0 ? 100 * currentGoal / numGoals : 100);
-            currentGoal++;
+            BitSet testGoals = matrix.getCoveredGoals(index);
+            BitSet responsibleGoals = (BitSet) testGoals.clone();
+            responsibleGoals.andNot(Properties.MINIMIZE_SKIP_COINCIDENTAL ? covered : assigned);
+            if (responsibleGoals.isEmpty()) {
+                logger.info("Goals of test " + index + " are already covered by minimized tests");
+                continue;
+            }
+            assigned.or(responsibleGoals);
+
+            TestChromosome copy = tests.get(index).clone();
+            org.evosuite.testcase.TestCaseMinimizer minimizer = new org.evosuite.testcase.TestCaseMinimizer(
+                    getGoals(goals, responsibleGoals));
+            minimizer.minimize(copy);
             if (isTimeoutReached()) {
                 /*
                  * FIXME: if timeout, this algorithm should be changed in a way that the modifications
@@ -182,69 +216,21 @@ public class TestSuiteMinimizer {
                 logger.warn("Minimization timeout. Roll back to original test suite");
                 return;
             }
-            logger.info("Considering goal: " + goal);
-            if (Properties.MINIMIZE_SKIP_COINCIDENTAL) {
-                for (TestChromosome test : minimizedTests) {
-                    if (isTimeoutReached()) {
-                        logger.warn("Minimization timeout. Roll back to original test suite");
-                        return;
-                    }
-                    if (goal.isCovered(test)) {
-                        logger.info("Covered by minimized test: " + goal);
-                        covered.add(goal);
-                        //test.getTestCase().addCoveredGoal(goal); // FIXME why? goal.isCovered(test) is already adding the goal
-                        break;
-                    }
-                }
-            }
-            if (covered.contains(goal)) {
-                logger.info("Already covered: " + goal);
-                logger.info("Now the suite covers " + covered.size() + "/"
-                        + goals.size() + " goals");
-                continue;
-            }
-
-            List<TestChromosome> coveringTests = new ArrayList<>();
-            for (TestChromosome test : suite.getTestChromosomes()) {
-                if (goal.isCovered(test)) {
-                    coveringTests.add(test);
-                }
-            }
-            Collections.sort(coveringTests);
-            if (!coveringTests.isEmpty()) {
-                TestChromosome test = coveringTests.get(0);
-                org.evosuite.testcase.TestCaseMinimizer minimizer = new org.evosuite.testcase.TestCaseMinimizer(
-                        goal);
-                TestChromosome copy = test.clone();
-                minimizer.minimize(copy);
-                if (isTimeoutReached()) {
-                    logger.warn("Minimization timeout. Roll back to original test suite");
-                    return;
-                }
 
-                // TODO: Need proper list of covered goals
-                copy.getTestCase().clearCoveredGoals();
-
-                // Add ALL goals covered by the minimized test
-                for (TestFitnessFunction g : goals) {
-                    if (g.isCovered(copy)) { // isCovered(copy) adds the goal
-                        covered.add(g);
-                        logger.info("Goal covered by minimized test: " + g);
-                    }
-                }
+            // TODO: Need proper list of covered goals
+            copy.getTestCase().clearCoveredGoals();
 
-                minimizedTests.add(copy);
-                minimizedSuite.insertTest(copy.getTestCase());
+            // Add the goals still covered by the minimized test, reusing the
+            // result of its last execution during minimization
+            covered.or(getCoveredGoals(copy, getGoals(goals, testGoals), testGoals));
 
-                logger.info("After new test the suite covers " + covered.size() + "/"
-                        + goals.size() + " goals");
+            minimizedSuite.insertTest(copy.getTestCase());
 
-            } else {
-                logger.info("Goal is not covered: " + goal);
-            }
+            logger.info("After new test the suite covers " + covered.cardinality() + "/"
+                    + goals.size() + " goals");
         }
 
-        logger.info("Minimized suite covers " + covered.size() + "/" + goals.size()
+        logger.info("Minimized suite covers " + covered.cardinality() + "/" + goals.size()
                 + " goals");
         suite.tests.clear();
         for (TestCase test : minimizedSuite.getTestCases()) {
@@ -264,11 +250,54 @@ public class TestSuiteMinimizer {
         information.setCoverage((int) (Math.round(suiteCoverage * 100)));
         ClientServices.getInstance().getClientNode().changeState(state, information);
 
-        for (TestFitnessFunction goal : goals) {
-            if (!covered.contains(goal))
-                logger.info("Failed to cover: " + goal);
+        for (int i = 0; i < goals.size(); i++) {
+            if (!covered.get(i))
+                logger.info("Failed to cover: " + goals.get(i));
+        }
+    }
+
+    /**
+     * Determines which of the goals are covered by the test. The test is
+     * executed at most once.
+     *
+     * @return the indices of the covered goals
+     */
+    private static BitSet getCoveredGoals(TestChromosome test, List<TestFitnessFunction> goals) {
+        BitSet coveredGoals = new BitSet(goals.size());
+        for (int i = 0; i < goals.size(); i++) {
+            if (goals.get(i).isCovered(test)) { // isCovered(test) adds the goal
+                coveredGoals.set(i);
+            }
+        }
+        return coveredGoals;
+    }
+
+    /**
+     * Determines which of the selected goals are covered by the test
+     *
+     * @param selectedGoals the goals to check, in the order of their indices
+     * @param indices       the indices of the selected goals
+     * @return the indices of the covered goals
+     */
+    private static BitSet getCoveredGoals(TestChromosome test, List<TestFitnessFunction> selectedGoals,
+                                          BitSet indices) {
+        BitSet selectedCovered = getCoveredGoals(test, selectedGoals);
+        BitSet coveredGoals = new BitSet();
+        int position = 0;
+        for (int i = indices.nextSetBit(0); i >= 0; i = indices.nextSetBit(i + 1)) {
+            if (selectedCovered.get(position++)) {
+                coveredGoals.set(i);
+            }
+        }
+        return coveredGoals;
+    }
+
+    private static List<TestFitnessFunction> getGoals(List<TestFitnessFunction> goals, BitSet indices) {
+        List<TestFitnessFunction> selectedGoals = new ArrayList<>();
+        for (int i = indices.nextSetBit(0); i >= 0; i = indices.nextSetBit(i + 1)) {
+            selectedGoals.add(goals.get(i));
         }
-        // suite.tests = minimizedTests;
+        return selectedGoals;
     }
 
     private boolean isTimeoutReached() {
@@ -21,9 +21,11 @@ package org.evosuite.testsuite;
 
 import org.evosuite.TestGenerationContext;
 import org.evosuite.runtime.util.Inputs;
+import org.evosuite.testcase.BinaryTestCaseReader;
+import org.evosuite.testcase.BinaryTestCaseWriter;
+import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.TestChromosome;
 import org.evosuite.testcase.statements.Statement;
-import org.evosuite.utils.DebuggingObjectOutputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -47,15 +49,12 @@ public class TestSuiteSerialization {
             parent.mkdirs();
         }
 
-        try (ObjectOutputStream out = new DebuggingObjectOutputStream(new FileOutputStream(target))) {
+        try (BinaryTestCaseWriter out = new BinaryTestCaseWriter(new FileOutputStream(target))) {
             for (TestSuiteChromosome ts : list) {
                 for (TestChromosome tc : ts.getTestChromosomes()) {
-                    out.writeObject(tc);
+                    out.writeTestCase(tc.getTestCase());
                 }
             }
-
-            out.flush();
-            out.close();
         } catch (IOException e) {
             logger.error("Failed to open/handle " + target.getAbsolutePath() + " for writing: " + e.getMessage());
             return false;
@@ -70,13 +69,10 @@ public class TestSuiteSerialization {
             parent.mkdirs();
         }
 
-        try (ObjectOutputStream out = new DebuggingObjectOutputStream(new FileOutputStream(target))) {
+        try (BinaryTestCaseWriter out = new BinaryTestCaseWriter(new FileOutputStream(target))) {
             for (TestChromosome tc : ts.getTestChromosomes()) {
-                out.writeObject(tc);
+                out.writeTestCase(tc.getTestCase());
             }
-
-            out.flush();
-            out.close();
         } catch (IOException e) {
             logger.error("Failed to open/handle " + target.getAbsolutePath() + " for writing: " + e.getMessage());
             return false;
@@ -112,7 +108,38 @@ public class TestSuiteSerialization {
 
         List<TestChromosome> list = new ArrayList<>();
 
-        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(target))) {
+        try (InputStream in = new BufferedInputStream(new FileInputStream(target))) {
+            if (BinaryTestCaseReader.isBinaryFormat(in)) {
+                loadBinaryTests(in, list);
+            } else {
+                loadSerializedTests(in, list, target);
+            }
+        } catch (FileNotFoundException e) {
+            logger.warn("Cannot load tests because file does not exist: " + target.getAbsolutePath());
+        } catch (IOException e) {
+            logger.error("Failed to open/handle " + target.getAbsolutePath() + " for reading: " + e.getMessage());
+        }
+
+        return list;
+    }
+
+    private static void loadBinaryTests(InputStream in, List<TestChromosome> list) throws IOException {
+        BinaryTestCaseReader reader = new BinaryTestCaseReader(in);
+        TestCase test = reader.readTestCase();
+        while (test != null) {
+            TestChromosome tc = new TestChromosome();
+            tc.setTestCase(test);
+            list.add(tc);
+            test = reader.readTestCase();
+        }
+    }
+
+    /**
+     * Tests written with Java serialization, before the binary format was introduced
+     */
+    private static void loadSerializedTests(InputStream stream, List<TestChromosome> list, File target)
+            throws IOException {
+        try (ObjectInputStream in = new ObjectInputStream(stream)) {
 
             try {
                 Object obj = in.readObject();
@@ -133,14 +160,6 @@ public class TestSuiteSerialization {
             } catch (Exception e) {
                 logger.warn("Problems when reading a serialized test from " + target.getAbsolutePath() + " : " + e.getMessage());
             }
-
-            in.close();
-        } catch (FileNotFoundException e) {
-            logger.warn("Cannot load tests because file does not exist: " + target.getAbsolutePath());
-        } catch (IOException e) {
-            logger.error("Failed to open/handle " + target.getAbsolutePath() + " for reading: " + e.getMessage());
         }
-
-        return list;
     }
 }
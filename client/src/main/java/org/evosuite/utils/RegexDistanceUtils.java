@@ -30,6 +30,7 @@ import org.jgrapht.graph.DefaultEdge;
 import org.jgrapht.traverse.TopologicalOrderIterator;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 /**
@@ -41,8 +42,8 @@ public class RegexDistanceUtils {
      * Automatons for regex can be expensive to build. So we cache them,
      * as we might need to access to them several times during the search
      */
-    private static final Map<String, List<State>> regexStateCache = new HashMap<>();
-    private static final Map<String, Automaton> regexAutomatonCache = new HashMap<>();
+    private static final Map<String, List<State>> regexStateCache = new ConcurrentHashMap<>();
+    private static final Map<String, Automaton> regexAutomatonCache = new ConcurrentHashMap<>();
 
     public static Automaton getRegexAutomaton(String regex) {
         if (!regexAutomatonCache.containsKey(regex)) {
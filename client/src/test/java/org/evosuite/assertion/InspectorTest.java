@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.assertion;
+
+import org.junit.Test;
+
+import java.lang.reflect.InvocationTargetException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class InspectorTest {
+
+    public static class Foo {
+
+        private final int value;
+
+        public Foo(int value) {
+            this.value = value;
+        }
+
+        public int getValue() {
+            return value;
+        }
+
+        public boolean isBroken() {
+            throw new IllegalStateException("broken");
+        }
+    }
+
+    @Test
+    public void testGetValue() throws Exception {
+        Inspector inspector = new Inspector(Foo.class, Foo.class.getMethod("getValue"));
+        assertEquals(42, inspector.getValue(new Foo(42)));
+        assertEquals(17, inspector.getValue(new Foo(17)));
+    }
+
+    @Test
+    public void testExceptionIsWrapped() throws Exception {
+        Inspector inspector = new Inspector(Foo.class, Foo.class.getMethod("isBroken"));
+        try {
+            inspector.getValue(new Foo(0));
+            fail();
+        } catch (InvocationTargetException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrongReceiver() throws Exception {
+        Inspector inspector = new Inspector(Foo.class, Foo.class.getMethod("getValue"));
+        inspector.getValue("foo");
+    }
+}
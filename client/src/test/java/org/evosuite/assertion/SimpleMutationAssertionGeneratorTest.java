@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.assertion;
+
+import org.evosuite.Properties;
+import org.evosuite.coverage.mutation.Mutation;
+import org.evosuite.graphs.cfg.BytecodeInstruction;
+import org.evosuite.symbolic.TestCaseBuilder;
+import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testcase.execution.ExecutionTrace;
+import org.evosuite.testcase.execution.ExecutionTraceImpl;
+import org.junit.After;
+import org.junit.Test;
+import org.objectweb.asm.tree.InsnList;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+
+public class SimpleMutationAssertionGeneratorTest {
+
+    private static final int DEFAULT_MAX_MUTANTS_PER_TEST = Properties.MAX_MUTANTS_PER_TEST;
+
+    /**
+     * Replays the given distances for the run on the original unit, and
+     * records the mutants on which the test is run
+     */
+    private static class RecordingGenerator extends SimpleMutationAssertionGenerator {
+
+        private final Map<Integer, Double> distances;
+
+        private final Set<Integer> runMutants = new HashSet<>();
+
+        RecordingGenerator(Map<Integer, Double> distances) {
+            this.distances = distances;
+        }
+
+        @Override
+        protected ExecutionResult runTest(TestCase test, Mutation mutant) {
+            ExecutionResult result = new ExecutionResult(test);
+            ExecutionTrace trace = new ExecutionTraceImpl();
+            if (mutant == null) {
+                distances.forEach(trace::mutationPassed);
+            } else {
+                runMutants.add(mutant.getId());
+            }
+            result.setTrace(trace);
+            return result;
+        }
+    }
+
+    @After
+    public void reset() {
+        Properties.MAX_MUTANTS_PER_TEST = DEFAULT_MAX_MUTANTS_PER_TEST;
+    }
+
+    private static Mutation createMutation(int id) {
+        return new Mutation("Foo", "bar()V", "Mutant" + id, id,
+                mock(BytecodeInstruction.class), new InsnList(), new InsnList());
+    }
+
+    @Test
+    public void testNotInfectedMutantsDoNotCount() {
+        Properties.MAX_MUTANTS_PER_TEST = 2;
+
+        Map<Integer, Double> distances = new HashMap<>();
+        Map<Integer, Mutation> mutants = new HashMap<>();
+        for (int id = 0; id < 6; id++) {
+            // only the last two mutants are infected
+            distances.put(id, id < 4 ? 1.0 : 0.0);
+            mutants.put(id, createMutation(id));
+        }
+
+        TestCaseBuilder builder = new TestCaseBuilder();
+        builder.appendIntPrimitive(0);
+        TestCase test = builder.getDefaultTestCase();
+
+        RecordingGenerator generator = new RecordingGenerator(distances);
+        generator.addAssertions(test, new HashSet<>(), mutants);
+
+        Set<Integer> expected = new HashSet<>();
+        expected.add(4);
+        expected.add(5);
+        assertEquals(expected, generator.runMutants);
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.dse;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class DispatchTableTest {
+
+    private static class NewListener extends AbstractVM {
+        @Override
+        public void NEW(String typeName) {
+        }
+    }
+
+    private static class ParamListener extends AbstractVM {
+        @Override
+        public void CALLER_STACK_PARAM(int nr, int calleeLocalsIndex, int value) {
+        }
+    }
+
+    @Test
+    public void testOnlyImplementingListenersAreRegistered() {
+        IVM newListener = new NewListener();
+        IVM paramListener = new ParamListener();
+
+        IVM[][] table = DispatchTable.build(new IVM[]{newListener, paramListener});
+
+        assertArrayEquals(new IVM[]{newListener}, table[DispatchTable.NEW]);
+        assertArrayEquals(new IVM[]{paramListener}, table[DispatchTable.CALLER_STACK_PARAM]);
+        assertEquals(0, table[DispatchTable.IADD].length);
+    }
+
+    @Test
+    public void testListenerOrderIsKept() {
+        IVM first = new NewListener();
+        IVM second = new NewListener();
+
+        IVM[][] table = DispatchTable.build(new IVM[]{first, second});
+
+        assertArrayEquals(new IVM[]{first, second}, table[DispatchTable.NEW]);
+    }
+}
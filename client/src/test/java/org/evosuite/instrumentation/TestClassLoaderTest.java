@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.instrumentation;
+
+import com.examples.with.different.packagename.SimpleInteger;
+import org.evosuite.classpath.ClassPathHandler;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestClassLoaderTest {
+
+    @Before
+    public void init() {
+        ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
+    }
+
+    @Test
+    public void testSharedSUTClasses() throws ClassNotFoundException {
+        NonInstrumentingClassLoader sutLoader = new NonInstrumentingClassLoader();
+        TestClassLoader first = new TestClassLoader(sutLoader);
+        TestClassLoader second = new TestClassLoader(sutLoader);
+
+        String name = SimpleInteger.class.getName();
+        Class<?> firstClass = first.loadClass(name);
+        Class<?> secondClass = second.loadClass(name);
+
+        Assert.assertSame(firstClass, secondClass);
+        Assert.assertSame(sutLoader, firstClass.getClassLoader());
+        Assert.assertNotSame(SimpleInteger.class, firstClass);
+        Assert.assertTrue(sutLoader.getLoadedClasses().contains(name));
+        Assert.assertFalse(first.getLoadedClasses().contains(name));
+    }
+
+    @Test
+    public void testSUTClassesAreReloadedWithoutSharing() throws ClassNotFoundException {
+        String name = SimpleInteger.class.getName();
+        Class<?> firstClass = new TestClassLoader(new NonInstrumentingClassLoader()).loadClass(name);
+        Class<?> secondClass = new TestClassLoader(new NonInstrumentingClassLoader()).loadClass(name);
+        Assert.assertNotSame(firstClass, secondClass);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.instrumentation.mutation;
+
+import org.junit.Test;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.InsnNode;
+import org.objectweb.asm.tree.IntInsnNode;
+import org.objectweb.asm.tree.LdcInsnNode;
+import org.objectweb.asm.tree.VarInsnNode;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TestMutantPruning {
+
+    @Test
+    public void testIdentityOperators() {
+        String identity = MutantPruning.getEffect(Opcodes.IADD, 0L);
+        assertEquals(identity, MutantPruning.getEffect(Opcodes.ISUB, 0L));
+        assertEquals(identity, MutantPruning.getEffect(Opcodes.IOR, 0L));
+        assertEquals(identity, MutantPruning.getEffect(Opcodes.IXOR, 0L));
+        assertEquals(identity, MutantPruning.getEffect(Opcodes.ISHL, 0L));
+        assertEquals(identity, MutantPruning.getEffect(Opcodes.IMUL, 1L));
+        assertEquals(identity, MutantPruning.getEffect(Opcodes.IDIV, 1L));
+        assertEquals(identity, MutantPruning.getEffect(Opcodes.IAND, -1L));
+        assertFalse(identity.equals(MutantPruning.getEffect(Opcodes.IREM, 1L)));
+    }
+
+    @Test
+    public void testSameEffect() {
+        assertEquals(MutantPruning.getEffect(Opcodes.IMUL, -1L), MutantPruning.getEffect(Opcodes.IDIV, -1L));
+        assertEquals(MutantPruning.getEffect(Opcodes.IMUL, 0L), MutantPruning.getEffect(Opcodes.IAND, 0L));
+        assertEquals(MutantPruning.getEffect(Opcodes.IREM, 2L), MutantPruning.getEffect(Opcodes.IREM, -2L));
+        assertEquals(MutantPruning.getEffect(Opcodes.ISUB, 3L), MutantPruning.getEffect(Opcodes.IADD, -3L));
+        assertFalse(MutantPruning.getEffect(Opcodes.IADD, 3L).equals(MutantPruning.getEffect(Opcodes.IMUL, 3L)));
+    }
+
+    @Test
+    public void testShiftDistance() {
+        assertEquals(MutantPruning.getEffect(Opcodes.ISHL, 0L), MutantPruning.getEffect(Opcodes.ISHL, 32L));
+        assertFalse(MutantPruning.getEffect(Opcodes.LSHL, 0L).equals(MutantPruning.getEffect(Opcodes.LSHL, 32L)));
+        assertEquals(MutantPruning.getEffect(Opcodes.LSHL, 0L), MutantPruning.getEffect(Opcodes.LSHL, 64L));
+    }
+
+    @Test
+    public void testIntOverflow() {
+        assertEquals(MutantPruning.getEffect(Opcodes.ISUB, (long) Integer.MIN_VALUE),
+                MutantPruning.getEffect(Opcodes.IADD, (long) Integer.MIN_VALUE));
+        assertFalse(MutantPruning.getEffect(Opcodes.LSUB, (long) Integer.MIN_VALUE)
+                .equals(MutantPruning.getEffect(Opcodes.LADD, (long) Integer.MIN_VALUE)));
+    }
+
+    @Test
+    public void testUnknownOperand() {
+        assertFalse(MutantPruning.getEffect(Opcodes.IADD, null).equals(MutantPruning.getEffect(Opcodes.ISUB, null)));
+        assertFalse(MutantPruning.getEffect(Opcodes.DADD, 0L).equals(MutantPruning.getEffect(Opcodes.DSUB, 0L)));
+    }
+
+    @Test
+    public void testIntegralValue() {
+        assertEquals(Long.valueOf(-1L), MutantPruning.getIntegralValue(new InsnNode(Opcodes.ICONST_M1)));
+        assertEquals(Long.valueOf(1L), MutantPruning.getIntegralValue(new InsnNode(Opcodes.LCONST_1)));
+        assertEquals(Long.valueOf(100L), MutantPruning.getIntegralValue(new IntInsnNode(Opcodes.BIPUSH, 100)));
+        assertEquals(Long.valueOf(1L << 40), MutantPruning.getIntegralValue(new LdcInsnNode(1L << 40)));
+        assertNull(MutantPruning.getIntegralValue(new LdcInsnNode(1.0)));
+        assertNull(MutantPruning.getIntegralValue(new VarInsnNode(Opcodes.ILOAD, 1)));
+    }
+
+    @Test
+    public void testEquivalentConstant() {
+        assertTrue(MutantPruning.isEquivalentConstant(1e20, 1e20 + 1.0));
+        assertFalse(MutantPruning.isEquivalentConstant(1.0, 2.0));
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.junit;
+
+import org.evosuite.classpath.ClassPathHandler;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class InMemoryJavaCompilerTest {
+
+    @Before
+    public void init() {
+        ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
+    }
+
+    @Test
+    public void testCompileAllClassesInMemory() throws IOException {
+        Map<String, String> sources = new LinkedHashMap<>();
+        sources.put("foo.Bar", "package foo; public class Bar { Object o = new Object(){}; }");
+        sources.put("foo.Baz", "package foo; public class Baz { Bar bar = new Bar(); }");
+
+        InMemoryJavaCompiler.CompilationResult result = InMemoryJavaCompiler.getInstance().compile(sources);
+
+        Assert.assertTrue(result.isSuccessful());
+        Assert.assertTrue(result.getClassesWithErrors().isEmpty());
+        Assert.assertEquals(new HashSet<>(Arrays.asList("foo.Bar", "foo.Bar$1", "foo.Baz")),
+                result.getClassFiles().keySet());
+    }
+
+    @Test
+    public void testErrorsAreMappedToEachFailingClass() throws IOException {
+        Map<String, String> sources = new LinkedHashMap<>();
+        sources.put("foo.First", "package foo; public class First { int x = \"not an int\"; }");
+        sources.put("foo.Second", "package foo; public class Second { }");
+        sources.put("foo.Third", "package foo; public class Third { void m() { undefined(); } }");
+
+        InMemoryJavaCompiler.CompilationResult result = InMemoryJavaCompiler.getInstance().compile(sources);
+
+        Assert.assertFalse(result.isSuccessful());
+        Assert.assertFalse(result.hasUnattributedErrors());
+        Assert.assertEquals(new HashSet<>(Arrays.asList("foo.First", "foo.Third")), result.getClassesWithErrors());
+    }
+}
@@ -19,21 +19,27 @@
  */
 package org.evosuite.junit;
 
+import com.examples.with.different.packagename.junit.StaticCounter;
 import com.examples.with.different.packagename.sandbox.OpenStream;
-import org.apache.commons.io.FileUtils;
 import org.evosuite.Properties;
+import org.evosuite.assertion.PrimitiveAssertion;
 import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.instrumentation.NonInstrumentingClassLoader;
+import org.evosuite.runtime.classhandling.ClassResetter;
 import org.evosuite.runtime.sandbox.Sandbox;
+import org.evosuite.symbolic.TestCaseBuilder;
+import org.evosuite.testcase.DefaultTestCase;
 import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.TestChromosome;
 import org.evosuite.testcase.factories.JUnitTestCarvedChromosomeFactory;
+import org.evosuite.testcase.variable.VariableReference;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.io.File;
-import java.io.IOException;
+import java.lang.reflect.Field;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
@@ -50,6 +56,8 @@ public class JUnitAnalyzerTest {
     private static final boolean DEFAULT_SANDBOX = Properties.SANDBOX;
     private static final boolean DEFAULT_ASSERTS_FOR_EVO = Properties.ENABLE_ASSERTS_FOR_EVOSUITE;
     private static final boolean DEFAULT_SCAFFOLDING = Properties.TEST_SCAFFOLDING;
+    private static final boolean DEFAULT_SHARED_SUT_LOADER = Properties.JUNIT_CHECK_SHARED_SUT_LOADER;
+    private static final boolean DEFAULT_RESET_STATIC_FIELDS = Properties.RESET_STATIC_FIELDS;
 
     private File file = new File(OpenStream.FILE_NAME);
 
@@ -75,6 +83,8 @@ public class JUnitAnalyzerTest {
         Properties.SANDBOX = DEFAULT_SANDBOX;
         Properties.ENABLE_ASSERTS_FOR_EVOSUITE = DEFAULT_ASSERTS_FOR_EVO;
         Properties.TEST_SCAFFOLDING = DEFAULT_SCAFFOLDING;
+        Properties.JUNIT_CHECK_SHARED_SUT_LOADER = DEFAULT_SHARED_SUT_LOADER;
+        Properties.RESET_STATIC_FIELDS = DEFAULT_RESET_STATIC_FIELDS;
     }
 
     @Test
@@ -144,6 +154,21 @@ public class JUnitAnalyzerTest {
         Assert.assertEquals(1, list.size());
         Assert.assertFalse(file.exists());
 
+        System.out.println("\n PER TEST STABILITY CHECK \n");
+        //each test on its own, with a single compilation
+        Assert.assertEquals(0, JUnitAnalyzer.handleEachTestThatIsUnstable(list));
+        Assert.assertEquals(1, list.size());
+        Assert.assertFalse(file.exists());
+
+        //several tests, each one loaded and run on its own
+        List<TestCase> copies = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            copies.add(test.clone());
+        }
+        Assert.assertEquals(0, JUnitAnalyzer.handleEachTestThatIsUnstable(copies));
+        Assert.assertEquals(5, copies.size());
+        Assert.assertFalse(file.exists());
+
         System.out.println("\n FINAL VERIFICATION \n");
         JUnitAnalyzer.verifyCompilationAndExecution(list);
         Assert.assertEquals(1, list.size());
@@ -151,14 +176,89 @@ public class JUnitAnalyzerTest {
     }
 
     @Test
-    public void testCreationOfTmpDir() throws IOException {
+    public void testSharedSUTLoader() throws Exception {
+
+        Properties.SELECTED_JUNIT = com.examples.with.different.packagename.sandbox.OpenStreamInATryCatch_FakeTestToCarve.class.getCanonicalName();
+        Properties.TARGET_CLASS = com.examples.with.different.packagename.sandbox.OpenStreamInATryCatch.class.getCanonicalName();
+
+        Properties.CRITERION = new Properties.Criterion[]{Properties.Criterion.BRANCH};
+        Properties.SEED_MUTATIONS = 0;
+        Properties.SEED_CLONE = 1;
+        Properties.VIRTUAL_FS = false;
+        Properties.SANDBOX = true;
+        Properties.ENABLE_ASSERTS_FOR_EVOSUITE = true;
+        Properties.TEST_SCAFFOLDING = false;
+        Properties.JUNIT_CHECK_SHARED_SUT_LOADER = true;
+        Properties.RESET_STATIC_FIELDS = true;
+
+        Sandbox.initializeSecurityManagerForSUT();
+
+        JUnitTestCarvedChromosomeFactory factory = new JUnitTestCarvedChromosomeFactory(null);
+        TestChromosome carved = factory.getChromosome();
+        Files.deleteIfExists(file.toPath());
+        Assert.assertNotNull(carved);
+
+        List<TestCase> list = new ArrayList<>();
+        list.add(carved.getTestCase());
+        list.add(carved.getTestCase().clone());
+
+        ClassLoader resetterLoader = new NonInstrumentingClassLoader();
+        ClassResetter.getInstance().setClassLoader(resetterLoader);
+
+        //the SUT classes loaded by the first test are reset before the second one,
+        //with the sandbox still in place for the test generation
+        Assert.assertEquals(0, JUnitAnalyzer.handleEachTestThatIsUnstable(list));
+        Assert.assertEquals(2, list.size());
+        Assert.assertEquals(0, JUnitAnalyzer.handleEachTestThatIsUnstable(list));
+        Assert.assertEquals(2, list.size());
+        Assert.assertFalse(file.exists());
+
+        Assert.assertTrue(Sandbox.isSecurityManagerInitialized());
+        Assert.assertSame(resetterLoader, ClassResetter.getInstance().getClassLoader());
+
+        Sandbox.resetDefaultSecurityManager();
+    }
+
+    @Test
+    public void testSharedSUTLoaderResetsStaticState() throws Exception {
+
+        Properties.TARGET_CLASS = StaticCounter.class.getCanonicalName();
+        Properties.CRITERION = new Properties.Criterion[]{Properties.Criterion.BRANCH};
+        Properties.VIRTUAL_FS = false;
+        Properties.SANDBOX = false;
+        Properties.ENABLE_ASSERTS_FOR_EVOSUITE = true;
+        Properties.TEST_SCAFFOLDING = false;
+        Properties.JUNIT_CHECK_SHARED_SUT_LOADER = true;
+        Properties.RESET_STATIC_FIELDS = true;
+
+        //each test checks that it is the first one to increment the counter
+        TestCaseBuilder builder = new TestCaseBuilder();
+        VariableReference int0 = builder.appendMethod(null, StaticCounter.class.getMethod("increment"));
+        PrimitiveAssertion assertion = new PrimitiveAssertion();
+        assertion.setSource(int0);
+        assertion.setValue(1);
+        DefaultTestCase test = builder.getDefaultTestCase();
+        test.getStatement(int0.getStPosition()).addAssertion(assertion);
+
+        List<TestCase> list = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            list.add(test.clone());
+        }
+
+        ClassLoader resetterLoader = new NonInstrumentingClassLoader();
+        ClassResetter.getInstance().setClassLoader(resetterLoader);
 
-        File dir = JUnitAnalyzer.createNewTmpDir();
-        Assert.assertNotNull(dir);
-        Assert.assertTrue(dir.exists());
+        Assert.assertEquals(0, JUnitAnalyzer.handleEachTestThatIsUnstable(list));
+        Assert.assertEquals(3, list.size());
+        Assert.assertEquals(0, JUnitAnalyzer.handleEachTestThatIsUnstable(list));
+        Assert.assertEquals(3, list.size());
 
-        FileUtils.deleteDirectory(dir);
-        Assert.assertFalse(dir.exists());
+        //the counter was reset before each of the six runs
+        Class<?> counterClass = JUnitAnalyzer.getSharedSUTLoader().loadClass(StaticCounter.class.getName());
+        Assert.assertNotSame(StaticCounter.class, counterClass);
+        Field counter = counterClass.getDeclaredField("counter");
+        counter.setAccessible(true);
+        Assert.assertEquals(1, counter.getInt(null));
     }
 
 
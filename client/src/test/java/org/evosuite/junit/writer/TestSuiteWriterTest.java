@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.junit.writer;
+
+import com.examples.with.different.packagename.junit.Foo;
+import org.evosuite.Properties;
+import org.evosuite.Properties.OutputGranularity;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.symbolic.TestCaseBuilder;
+import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.variable.VariableReference;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class TestSuiteWriterTest {
+
+    private static final String NAME = "Foo_ESTest";
+
+    /**
+     * More tests than fit in one window of the writer, so that the code is generated in several windows
+     */
+    private static final int NUMBER_OF_TESTS = 40;
+
+    private static final Pattern TEST_METHOD = Pattern.compile("public void (test\\w+)\\(");
+
+    private static final String DEFAULT_TARGET_CLASS = Properties.TARGET_CLASS;
+    private static final int DEFAULT_WRITER_THREADS = Properties.JUNIT_WRITER_THREADS;
+    private static final OutputGranularity DEFAULT_GRANULARITY = Properties.OUTPUT_GRANULARITY;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Before
+    public void init() {
+        ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
+        Properties.TARGET_CLASS = Foo.class.getCanonicalName();
+    }
+
+    @After
+    public void reset() {
+        Properties.TARGET_CLASS = DEFAULT_TARGET_CLASS;
+        Properties.JUNIT_WRITER_THREADS = DEFAULT_WRITER_THREADS;
+        Properties.OUTPUT_GRANULARITY = DEFAULT_GRANULARITY;
+    }
+
+    private static List<TestCase> createTests() throws NoSuchMethodException {
+        List<TestCase> tests = new ArrayList<>();
+        for (int i = 0; i < NUMBER_OF_TESTS; i++) {
+            TestCaseBuilder builder = new TestCaseBuilder();
+            VariableReference foo = builder.appendConstructor(Foo.class.getConstructor());
+            VariableReference x = builder.appendIntPrimitive(i);
+            VariableReference y = builder.appendIntPrimitive(NUMBER_OF_TESTS - i);
+            builder.appendMethod(foo, Foo.class.getMethod("add", int.class, int.class), x, y);
+            tests.add(builder.getDefaultTestCase());
+        }
+        return tests;
+    }
+
+    private static List<Map.Entry<String, String>> getSources(int threads) throws NoSuchMethodException {
+        Properties.JUNIT_WRITER_THREADS = threads;
+        TestSuiteWriter writer = new TestSuiteWriter();
+        writer.insertTests(createTests());
+        return new ArrayList<>(writer.getTestSuiteSources(NAME, Collections.emptyList()).entrySet());
+    }
+
+    private static List<String> getTestMethods(List<Map.Entry<String, String>> sources) {
+        List<String> methods = new ArrayList<>();
+        for (Map.Entry<String, String> entry : sources) {
+            Matcher matcher = TEST_METHOD.matcher(entry.getValue());
+            while (matcher.find()) {
+                methods.add(entry.getKey() + "." + matcher.group(1));
+            }
+        }
+        return methods;
+    }
+
+    private void checkSameOutputWithSeveralThreads() throws NoSuchMethodException {
+        List<Map.Entry<String, String>> sequential = getSources(1);
+        List<Map.Entry<String, String>> parallel = getSources(4);
+
+        List<String> methods = getTestMethods(sequential);
+        Assert.assertEquals(NUMBER_OF_TESTS, methods.size());
+        Assert.assertEquals(methods, getTestMethods(parallel));
+        Assert.assertEquals(sequential, parallel);
+    }
+
+    @Test
+    public void testParallelOutputInSameFile() throws Exception {
+        Properties.OUTPUT_GRANULARITY = OutputGranularity.MERGED;
+        checkSameOutputWithSeveralThreads();
+    }
+
+    @Test
+    public void testParallelOutputOneFilePerTest() throws Exception {
+        Properties.OUTPUT_GRANULARITY = OutputGranularity.TESTCASE;
+        checkSameOutputWithSeveralThreads();
+    }
+
+    @Test
+    public void testWrittenFilesMatchSources() throws Exception {
+        Properties.OUTPUT_GRANULARITY = OutputGranularity.MERGED;
+        List<Map.Entry<String, String>> sources = getSources(4);
+
+        TestSuiteWriter writer = new TestSuiteWriter();
+        writer.insertTests(createTests());
+        List<File> files = writer.writeTestSuite(NAME, folder.getRoot().getAbsolutePath(), Collections.emptyList());
+
+        Assert.assertEquals(sources.size(), files.size());
+        for (int i = 0; i < files.size(); i++) {
+            Assert.assertEquals(sources.get(i).getKey() + ".java", files.get(i).getName());
+            String written = new String(Files.readAllBytes(files.get(i).toPath()), Charset.defaultCharset());
+            Assert.assertEquals(sources.get(i).getValue(), written);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.rmi.service;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class MasterOutboxTest {
+
+    private final List<String> sent = Collections.synchronizedList(new ArrayList<>());
+
+    private MasterOutbox.Update send(String value) {
+        return () -> sent.add(value);
+    }
+
+    @Test
+    public void testCoalescing() throws InterruptedException {
+        MasterOutbox outbox = new MasterOutbox(10);
+        outbox.offer("a", false, send("a1"));
+        outbox.offer("b", false, send("b1"));
+        outbox.offer("a", false, send("a2"));
+        outbox.offer("state", true, send("state"));
+        outbox.offer("a", false, send("a3"));
+        Assert.assertEquals(4, outbox.size());
+        Assert.assertEquals(1, outbox.getNumberOfCoalescedUpdates());
+
+        outbox.start();
+        Assert.assertTrue(outbox.flush(5000));
+        Assert.assertEquals(Arrays.asList("a2", "b1", "state", "a3"), sent);
+
+        // already sent, so it is not replaced
+        outbox.offer("a", false, send("a4"));
+        outbox.close(5000);
+        Assert.assertEquals(Arrays.asList("a2", "b1", "state", "a3", "a4"), sent);
+
+        outbox.offer("a", false, send("a5"));
+        Assert.assertEquals(5, sent.size());
+    }
+
+    @Test
+    public void testFailedUpdate() throws InterruptedException {
+        MasterOutbox outbox = new MasterOutbox(10);
+        outbox.start();
+        outbox.offer(null, true, () -> {
+            throw new IllegalStateException("master is gone");
+        });
+        outbox.offer(null, true, send("next"));
+        outbox.close(5000);
+        Assert.assertEquals(Collections.singletonList("next"), sent);
+    }
+
+    @Test
+    public void testBackpressure() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        MasterOutbox outbox = new MasterOutbox(1);
+        outbox.offer(null, true, release::await);
+        outbox.start();
+        Assert.assertTrue(waitForSize(outbox, 0));
+
+        outbox.offer(null, true, send("first"));
+
+        CountDownLatch offered = new CountDownLatch(1);
+        Thread producer = new Thread(() -> {
+            outbox.offer(null, true, send("second"));
+            offered.countDown();
+        });
+        producer.start();
+
+        // queue is full, as the sender is stuck on the first update
+        Assert.assertFalse(offered.await(200, TimeUnit.MILLISECONDS));
+
+        release.countDown();
+        Assert.assertTrue(offered.await(5000, TimeUnit.MILLISECONDS));
+        outbox.close(5000);
+        Assert.assertEquals(Arrays.asList("first", "second"), sent);
+    }
+
+    private static boolean waitForSize(MasterOutbox outbox, int size) throws InterruptedException {
+        long end = System.currentTimeMillis() + 5000;
+        while (outbox.size() != size) {
+            if (System.currentTimeMillis() > end) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+}
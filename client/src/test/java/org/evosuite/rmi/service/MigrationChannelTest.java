@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.rmi.service;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+public class MigrationChannelTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static final int SIZE = MigrationChannel.HEADER_SIZE + 32;
+
+    @Test
+    public void testNotCreated() throws IOException {
+        Assert.assertNull(MigrationChannel.connect(new File(folder.getRoot(), "missing.channel")));
+    }
+
+    @Test
+    public void testClosedChannel() throws IOException {
+        File file = new File(folder.getRoot(), "closed.channel");
+        try (MigrationChannel inbox = MigrationChannel.create(file, SIZE);
+             MigrationChannel outbox = MigrationChannel.connect(file)) {
+            Assert.assertFalse(outbox.offer(new byte[]{1}));
+            inbox.setOpen(true);
+            Assert.assertTrue(outbox.offer(new byte[]{1}));
+            inbox.setOpen(false);
+            Assert.assertFalse(outbox.offer(new byte[]{2}));
+            Assert.assertEquals(1, inbox.drain().size());
+        }
+    }
+
+    @Test
+    public void testWrapAround() throws IOException {
+        File file = new File(folder.getRoot(), "ring.channel");
+        try (MigrationChannel inbox = MigrationChannel.create(file, SIZE);
+             MigrationChannel outbox = MigrationChannel.connect(file)) {
+            inbox.setOpen(true);
+
+            // each record takes 4 bytes for its length, so the ring is full after 2 of them
+            Assert.assertTrue(outbox.offer(new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12}));
+            Assert.assertTrue(outbox.offer(new byte[]{13, 14, 15, 16, 17, 18, 19, 20, 21, 22, 23, 24}));
+            Assert.assertFalse(outbox.offer(new byte[]{25}));
+            Assert.assertEquals(2, inbox.drain().size());
+
+            for (byte i = 0; i < 10; i++) {
+                byte[] record = new byte[]{i, (byte) (i + 1), (byte) (i + 2), (byte) (i + 3), (byte) (i + 4)};
+                Assert.assertTrue(outbox.offer(record));
+                List<byte[]> received = inbox.drain();
+                Assert.assertEquals(1, received.size());
+                Assert.assertArrayEquals(record, received.get(0));
+            }
+            Assert.assertTrue(inbox.drain().isEmpty());
+        }
+    }
+
+    @Test
+    public void testTooLargeRecord() throws IOException {
+        File file = new File(folder.getRoot(), "large.channel");
+        try (MigrationChannel inbox = MigrationChannel.create(file, SIZE);
+             MigrationChannel outbox = MigrationChannel.connect(file)) {
+            inbox.setOpen(true);
+            Assert.assertFalse(outbox.offer(new byte[SIZE]));
+            Assert.assertTrue(inbox.drain().isEmpty());
+        }
+    }
+}
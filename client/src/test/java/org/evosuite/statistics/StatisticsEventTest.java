@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.statistics;
+
+import org.evosuite.coverage.branch.BranchCoverageSuiteFitness;
+import org.evosuite.testsuite.TestSuiteChromosome;
+import org.evosuite.testsuite.TestSuiteFitnessFunction;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import static org.junit.Assert.assertEquals;
+
+public class StatisticsEventTest {
+
+    private static class FirstFitness extends TestSuiteFitnessFunction {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public double getFitness(TestSuiteChromosome individual) {
+            return 0;
+        }
+    }
+
+    private static class SecondFitness extends TestSuiteFitnessFunction {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public double getFitness(TestSuiteChromosome individual) {
+            return 0;
+        }
+    }
+
+    private static TestSuiteChromosome getSuite() {
+        TestSuiteChromosome suite = new TestSuiteChromosome();
+        FirstFitness first = new FirstFitness();
+        SecondFitness second = new SecondFitness();
+        suite.setFitness(first, 2.0);
+        suite.setFitness(second, 3.0);
+        suite.setCoverage(first, 0.5);
+        suite.setCoverage(second, 1.0);
+        return suite;
+    }
+
+    @Test
+    public void testSnapshotOfSuite() {
+        TestSuiteChromosome suite = getSuite();
+        StatisticsEvent event = new StatisticsEvent(suite);
+
+        assertEquals(suite.getFitness(), event.getFitness(), 0.0);
+        assertEquals(suite.getCoverage(), event.getCoverage(), 0.0);
+        assertEquals(0, event.size());
+        assertEquals(0, event.totalLengthOfTestCases());
+
+        assertEquals(2.0, event.getFitnessInstanceOf(FirstFitness.class), 0.0);
+        assertEquals(1.0, event.getCoverageInstanceOf(SecondFitness.class), 0.0);
+        assertEquals(0.0, event.getCoverageInstanceOf(BranchCoverageSuiteFitness.class), 0.0);
+    }
+
+    @Test
+    public void testSuperTypeOfFitnessFunction() {
+        TestSuiteChromosome suite = getSuite();
+        StatisticsEvent event = new StatisticsEvent(suite);
+
+        assertEquals(suite.getFitnessInstanceOf(TestSuiteFitnessFunction.class),
+                event.getFitnessInstanceOf(TestSuiteFitnessFunction.class), 0.0);
+        assertEquals(suite.getCoverageInstanceOf(TestSuiteFitnessFunction.class),
+                event.getCoverageInstanceOf(TestSuiteFitnessFunction.class), 0.0);
+    }
+
+    @Test
+    public void testSerialization() throws Exception {
+        StatisticsEvent event = new StatisticsEvent(getSuite());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(event);
+        }
+        StatisticsEvent copy;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            copy = (StatisticsEvent) in.readObject();
+        }
+
+        assertEquals(event.getTimestamp(), copy.getTimestamp());
+        assertEquals(event.getCoverage(), copy.getCoverage(), 0.0);
+        assertEquals(2.0, copy.getFitnessInstanceOf(FirstFitness.class), 0.0);
+        assertEquals(0.5, copy.getCoverageInstanceOf(FirstFitness.class), 0.0);
+    }
+}
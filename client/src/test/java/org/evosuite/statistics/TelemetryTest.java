@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.statistics;
+
+import org.evosuite.Properties;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+
+public class TelemetryTest {
+
+    @Before
+    public void init() {
+        Properties.getInstance().resetToDefaults();
+        Telemetry.getInstance().reset();
+    }
+
+    @After
+    public void reset() {
+        Properties.getInstance().resetToDefaults();
+        Telemetry.getInstance().reset();
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        Telemetry.getInstance().increment(Telemetry.TESTS_EXECUTED);
+        Assert.assertFalse(Telemetry.getInstance().getMetrics().containsKey(Telemetry.TESTS_EXECUTED));
+    }
+
+    @Test
+    public void testCounters() {
+        Properties.TELEMETRY = true;
+        Telemetry telemetry = Telemetry.getInstance();
+        telemetry.increment(Telemetry.TESTS_EXECUTED);
+        telemetry.increment(Telemetry.TESTS_EXECUTED);
+        telemetry.add(Telemetry.TESTS_EXECUTION_TIME, 10);
+        telemetry.addPhaseTime("SEARCH", 5);
+
+        Map<String, Long> metrics = telemetry.getMetrics();
+        Assert.assertEquals(2L, (long) metrics.get(Telemetry.TESTS_EXECUTED));
+        Assert.assertEquals(5L, (long) metrics.get("tests.mean_execution_time_ms"));
+        Assert.assertEquals(5L, (long) metrics.get("phase.search.time_ms"));
+        Assert.assertTrue(metrics.containsKey("jvm.gc.count"));
+        Assert.assertTrue(metrics.containsKey("uptime_ms"));
+    }
+
+    @Test
+    public void testConcurrentUpdates() throws InterruptedException {
+        Properties.TELEMETRY = true;
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    Telemetry.getInstance().increment(Telemetry.TESTS_TIMEOUTS);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertEquals(4000L, (long) Telemetry.getInstance().getMetrics().get(Telemetry.TESTS_TIMEOUTS));
+    }
+}
@@ -0,0 +1,98 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ * <p>
+ * This file is part of EvoSuite.
+ * <p>
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic;
+
+import org.evosuite.symbolic.expr.Comparator;
+import org.evosuite.symbolic.expr.bv.IntegerConstant;
+import org.evosuite.symbolic.expr.bv.IntegerVariable;
+import org.evosuite.symbolic.expr.constraint.IntegerConstraint;
+import org.evosuite.symbolic.vm.PathConditionCollector;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class PathConditionTest {
+
+    private static PathConditionCollector collectBranches(int numberOfBranches) {
+        PathConditionCollector pcc = new PathConditionCollector();
+        IntegerVariable x = new IntegerVariable("x", 0, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        for (int i = 0; i < numberOfBranches; i++) {
+            pcc.appendSupportingConstraint(new IntegerConstraint(x, Comparator.NE, new IntegerConstant(-i)));
+            pcc.appendIfBranchCondition("test", "test", i, true,
+                    new IntegerConstraint(x, Comparator.LT, new IntegerConstant(i + 1)));
+        }
+        return pcc;
+    }
+
+    @Test
+    public void testLogBackedPathConditionMatchesCopiedOne() {
+        PathConditionCollector pcc = collectBranches(5);
+        PathCondition copied = new PathCondition(pcc.getPathCondition());
+        PathCondition logged = new PathCondition(pcc.getConstraintLog());
+
+        assertEquals(copied.getBranchConditions(), logged.getBranchConditions());
+        assertEquals(copied.getConstraints(), logged.getConstraints());
+        assertEquals(10, logged.getConstraintCount());
+
+        for (int i = 0; i < copied.size(); i++) {
+            PathCondition copiedChild = copied.negateAt(i);
+            PathCondition loggedChild = logged.negateAt(i);
+            assertEquals(i + 1, loggedChild.size());
+            assertEquals(copiedChild.getConstraints(), loggedChild.getConstraints());
+        }
+    }
+
+    @Test
+    public void testNegatedPrefixSharesLog() {
+        PathConditionCollector pcc = collectBranches(4);
+        PathCondition logged = new PathCondition(pcc.getConstraintLog());
+
+        PathCondition child = logged.negateAt(2);
+        assertSame(logged.get(0), child.get(0));
+        assertSame(logged.get(1), child.get(1));
+        assertEquals(logged.get(2).getConstraint().negate(), child.get(2).getConstraint());
+        assertSame(child.get(2), child.get(2));
+
+        assertEquals(0, logged.getRetainedConstraintCount());
+        assertEquals(1, child.getRetainedConstraintCount());
+    }
+
+    @Test
+    public void testNegatingTheNegatedBranchRestoresIt() {
+        PathConditionCollector pcc = collectBranches(3);
+        PathCondition logged = new PathCondition(pcc.getConstraintLog());
+
+        PathCondition twiceNegated = logged.negateAt(1).negateAt(1);
+        assertEquals(logged.get(1).getConstraint(), twiceNegated.get(1).getConstraint());
+    }
+
+    @Test
+    public void testLaterAppendsAreNotVisible() {
+        PathConditionCollector pcc = collectBranches(2);
+        PathCondition logged = new PathCondition(pcc.getConstraintLog());
+
+        pcc.appendIfBranchCondition("test", "test", 2, true,
+                new IntegerConstraint(new IntegerConstant(0), Comparator.EQ, new IntegerConstant(0)));
+
+        assertEquals(2, logged.size());
+        assertEquals(3, pcc.getConstraintLog().size());
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver;
+
+import org.evosuite.RandomizedTC;
+import org.evosuite.symbolic.expr.Comparator;
+import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.expr.bv.IntegerConstant;
+import org.evosuite.symbolic.expr.bv.IntegerVariable;
+import org.evosuite.symbolic.expr.constraint.IntegerConstraint;
+import org.evosuite.symbolic.solver.smt.AvmSolverSession;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TestIncrementalSolver extends RandomizedTC {
+
+    private static IntegerConstraint gt(IntegerVariable v, long value) {
+        return new IntegerConstraint(v, Comparator.GT, new IntegerConstant(value));
+    }
+
+    private static IntegerConstraint lt(IntegerVariable v, long value) {
+        return new IntegerConstraint(v, Comparator.LT, new IntegerConstant(value));
+    }
+
+    @Test
+    public void testSessionPushPop() {
+        IntegerVariable x = new IntegerVariable("x", 0, -1000, 1000);
+
+        AvmSolverSession session = new AvmSolverSession();
+        assertEquals(0, session.getLevel());
+
+        session.assertConstraint(gt(x, 10));
+        session.push();
+        session.assertConstraint(lt(x, 20));
+        assertEquals(1, session.getLevel());
+        assertEquals(2, session.getAssertedConstraints().size());
+
+        session.pop();
+        assertEquals(0, session.getLevel());
+        assertEquals(1, session.getAssertedConstraints().size());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testSessionPopBaseScope() {
+        new AvmSolverSession().pop();
+    }
+
+    @Test
+    public void testSharedPrefixIsAsserted() throws SolverTimeoutException, SolverParseException,
+            SolverEmptyQueryException, SolverErrorException, IOException {
+        IntegerVariable x = new IntegerVariable("x", 0, -1000, 1000);
+        IntegerVariable y = new IntegerVariable("y", 0, -1000, 1000);
+
+        IncrementalSolver solver = new IncrementalSolver(AvmSolverSession::new);
+
+        List<Constraint<?>> firstQuery = Arrays.asList(gt(x, 10), lt(x, 20), gt(y, 5));
+        SolverResult firstResult = solver.executeSolver(firstQuery);
+        assertTrue(firstResult.isSAT());
+        assertEquals(0, solver.getAssertedConstraintsCount());
+
+        List<Constraint<?>> secondQuery = Arrays.asList(gt(x, 10), lt(x, 20), lt(y, -5));
+        SolverResult secondResult = solver.executeSolver(secondQuery);
+        assertTrue(secondResult.isSAT());
+        assertEquals(2, solver.getAssertedConstraintsCount());
+        long yValue = ((Number) secondResult.getValue("y")).longValue();
+        assertTrue(yValue < -5);
+
+        List<Constraint<?>> thirdQuery = Arrays.asList(gt(x, 10), gt(y, 5));
+        SolverResult thirdResult = solver.executeSolver(thirdQuery);
+        assertTrue(thirdResult.isSAT());
+        assertEquals(1, solver.getAssertedConstraintsCount());
+
+        solver.close();
+        assertEquals(0, solver.getAssertedConstraintsCount());
+    }
+
+    @Test(expected = SolverEmptyQueryException.class)
+    public void testEmptyQuery() throws SolverTimeoutException, SolverParseException,
+            SolverEmptyQueryException, SolverErrorException, IOException {
+        IncrementalSolver solver = new IncrementalSolver(AvmSolverSession::new);
+        solver.executeSolver(Collections.emptyList());
+    }
+}
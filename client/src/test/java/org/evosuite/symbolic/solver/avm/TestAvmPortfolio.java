@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver.avm;
+
+import org.evosuite.Properties;
+import org.evosuite.RandomizedTC;
+import org.evosuite.symbolic.expr.Comparator;
+import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.expr.Operator;
+import org.evosuite.symbolic.expr.bv.IntegerBinaryExpression;
+import org.evosuite.symbolic.expr.bv.IntegerConstant;
+import org.evosuite.symbolic.expr.bv.IntegerVariable;
+import org.evosuite.symbolic.expr.constraint.IntegerConstraint;
+import org.evosuite.symbolic.solver.SolverEmptyQueryException;
+import org.evosuite.symbolic.solver.SolverResult;
+import org.evosuite.symbolic.solver.SolverTimeoutException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TestAvmPortfolio extends RandomizedTC {
+
+    private int defaultPortfolioSize;
+
+    @Before
+    public void setPortfolioSize() {
+        defaultPortfolioSize = Properties.DSE_AVM_PORTFOLIO_SIZE;
+        Properties.DSE_AVM_PORTFOLIO_SIZE = 4;
+    }
+
+    @After
+    public void restorePortfolioSize() {
+        Properties.DSE_AVM_PORTFOLIO_SIZE = defaultPortfolioSize;
+    }
+
+    private static List<Constraint<?>> buildConstraints(IntegerVariable x, IntegerVariable y) {
+        List<Constraint<?>> constraints = new ArrayList<>();
+        IntegerBinaryExpression sum = new IntegerBinaryExpression(x, Operator.PLUS, y, 0L);
+        constraints.add(new IntegerConstraint(sum, Comparator.EQ, new IntegerConstant(150)));
+        constraints.add(new IntegerConstraint(x, Comparator.GT, new IntegerConstant(100)));
+        return constraints;
+    }
+
+    @Test
+    public void testPortfolioFindsSolution() throws SolverTimeoutException, SolverEmptyQueryException {
+        IntegerVariable x = new IntegerVariable("x", 0, -1000, 1000);
+        IntegerVariable y = new IntegerVariable("y", 0, -1000, 1000);
+
+        SolverResult result = new EvoSuiteSolver().executeSolver(buildConstraints(x, y));
+        assertTrue(result.isSAT());
+
+        long xValue = ((Number) result.getValue("x")).longValue();
+        long yValue = ((Number) result.getValue("y")).longValue();
+        assertEquals(150, xValue + yValue);
+        assertTrue(xValue > 100);
+
+        // each member works on its own copy of the constraints
+        assertEquals(0L, (long) x.getConcreteValue());
+        assertEquals(0L, (long) y.getConcreteValue());
+    }
+
+    @Test
+    public void testPortfolioThreadsAreStopped() throws SolverTimeoutException, SolverEmptyQueryException, InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            SolverResult result = new EvoSuiteSolver().executeSolver(buildConstraints(
+                    new IntegerVariable("x", 0, -1000, 1000), new IntegerVariable("y", 0, -1000, 1000)));
+            assertTrue(result.isSAT());
+        }
+
+        // the members still running are cancelled once a solution is found
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (countPortfolioThreads() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(0, countPortfolioThreads());
+    }
+
+    private static long countPortfolioThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(t -> t.getName().equals("EvoSuiteSolver-portfolio"))
+                .count();
+    }
+}
@@ -213,4 +213,22 @@ public class TestModelParser {
         assertEquals(expectedChar, actualChar);
     }
 
+    @Test
+    public void parseAssumptionLiterals() throws SolverParseException, SolverErrorException, SolverTimeoutException {
+        StringBuilder buff = new StringBuilder();
+        buff.append("sat\n");
+        buff.append("(model\n");
+        buff.append("  (define-fun assumption!0 () Bool\n");
+        buff.append("    true)\n");
+        buff.append("  (define-fun var0 () Int 5)\n");
+        buff.append("  (define-fun assumption!1 () Bool false)\n");
+        buff.append(")\n");
+        String result_str = buff.toString();
+        SmtModelParser parser = new SmtModelParser();
+        SolverResult solution = parser.parse(result_str);
+        assertTrue(solution.isSAT());
+        assertEquals(1, solution.getModel().size());
+        assertEquals(5L, solution.getValue("var0"));
+    }
+
 }
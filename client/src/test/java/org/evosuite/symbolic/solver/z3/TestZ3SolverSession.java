@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver.z3;
+
+import org.evosuite.Properties;
+import org.evosuite.symbolic.expr.Comparator;
+import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.expr.bv.IntegerConstant;
+import org.evosuite.symbolic.expr.bv.IntegerVariable;
+import org.evosuite.symbolic.expr.constraint.IntegerConstraint;
+import org.evosuite.symbolic.solver.IncrementalSolver;
+import org.evosuite.symbolic.solver.SolverResult;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TestZ3SolverSession extends TestZ3 {
+
+    private static IntegerConstraint gt(IntegerVariable v, long value) {
+        return new IntegerConstraint(v, Comparator.GT, new IntegerConstant(value));
+    }
+
+    private static IntegerConstraint lt(IntegerVariable v, long value) {
+        return new IntegerConstraint(v, Comparator.LT, new IntegerConstant(value));
+    }
+
+    @Test
+    public void testCheckSatAssuming() throws Exception {
+        IntegerVariable x = new IntegerVariable("x", 0, -1000, 1000);
+        IntegerVariable y = new IntegerVariable("y", 0, -1000, 1000);
+
+        try (Z3SolverSession session = new Z3SolverSession(Properties.DSE_CONSTRAINT_SOLVER_TIMEOUT_MILLIS)) {
+            session.assertConstraint(gt(x, 10));
+
+            for (int i = 0; i < 3; i++) {
+                SolverResult result = session.checkSatAssuming(Arrays.asList(lt(x, 20), gt(y, 5 + i)));
+                assertTrue(result.isSAT());
+                long xValue = ((Number) result.getValue("x")).longValue();
+                long yValue = ((Number) result.getValue("y")).longValue();
+                assertTrue(xValue > 10 && xValue < 20);
+                assertTrue(yValue > 5 + i);
+                assertFalse(result.getModel().keySet().stream().anyMatch(name -> name.startsWith("assumption!")));
+
+                // assumptions are not kept in the session
+                assertEquals(0, session.getLevel());
+            }
+
+            assertTrue(session.checkSatAssuming(Collections.singletonList(lt(x, 5))).isUNSAT());
+            assertTrue(session.checkSatAssuming(Collections.singletonList(lt(x, 15))).isSAT());
+            assertTrue(session.isAlive());
+        }
+    }
+
+    @Test
+    public void testIncrementalSolver() throws Exception {
+        IntegerVariable x = new IntegerVariable("x", 0, -1000, 1000);
+        IntegerVariable y = new IntegerVariable("y", 0, -1000, 1000);
+
+        IncrementalSolver solver = new IncrementalSolver(
+                () -> new Z3SolverSession(Properties.DSE_CONSTRAINT_SOLVER_TIMEOUT_MILLIS));
+
+        List<Constraint<?>> firstQuery = Arrays.asList(gt(x, 10), lt(x, 20), gt(y, 5));
+        assertTrue(solver.executeSolver(firstQuery).isSAT());
+
+        List<Constraint<?>> secondQuery = Arrays.asList(gt(x, 10), lt(x, 20), lt(y, -5));
+        SolverResult secondResult = solver.executeSolver(secondQuery);
+        assertTrue(secondResult.isSAT());
+        assertEquals(2, solver.getAssertedConstraintsCount());
+        assertTrue(((Number) secondResult.getValue("y")).longValue() < -5);
+
+        List<Constraint<?>> thirdQuery = Arrays.asList(gt(x, 10), lt(x, 5));
+        assertTrue(solver.executeSolver(thirdQuery).isUNSAT());
+
+        solver.close();
+    }
+}
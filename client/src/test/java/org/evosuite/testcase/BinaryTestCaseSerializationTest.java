@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase;
+
+import org.evosuite.testcase.statements.ArrayStatement;
+import org.evosuite.testcase.statements.AssignmentStatement;
+import org.evosuite.testcase.statements.ConstructorStatement;
+import org.evosuite.testcase.statements.FieldStatement;
+import org.evosuite.testcase.statements.ImmutableStringPrimitiveStatement;
+import org.evosuite.testcase.statements.MethodStatement;
+import org.evosuite.testcase.statements.NullStatement;
+import org.evosuite.testcase.statements.StringPrimitiveStatement;
+import org.evosuite.testcase.statements.numeric.IntPrimitiveStatement;
+import org.evosuite.testcase.variable.ArrayIndex;
+import org.evosuite.testcase.variable.ArrayReference;
+import org.evosuite.testcase.variable.VariableReference;
+import org.evosuite.utils.generic.GenericConstructor;
+import org.evosuite.utils.generic.GenericField;
+import org.evosuite.utils.generic.GenericMethod;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+
+public class BinaryTestCaseSerializationTest {
+
+    private static byte[] write(TestCase... tests) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (BinaryTestCaseWriter writer = new BinaryTestCaseWriter(bytes)) {
+            for (TestCase test : tests) {
+                writer.writeTestCase(test);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static TestCase readSingle(byte[] bytes) throws IOException {
+        try (BinaryTestCaseReader reader = new BinaryTestCaseReader(new ByteArrayInputStream(bytes),
+                BinaryTestCaseSerializationTest.class.getClassLoader())) {
+            TestCase test = reader.readTestCase();
+            Assert.assertNotNull(test);
+            Assert.assertNull(reader.readTestCase());
+            return test;
+        }
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        TestCase test = new DefaultTestCase();
+        VariableReference capacity = test.addStatement(new IntPrimitiveStatement(test, 42));
+        GenericConstructor constructor = new GenericConstructor(ArrayList.class.getConstructor(int.class),
+                ArrayList.class);
+        VariableReference list = test.addStatement(new ConstructorStatement(test, constructor,
+                Collections.singletonList(capacity)));
+        VariableReference element = test.addStatement(new StringPrimitiveStatement(test, "foo"));
+        GenericMethod add = new GenericMethod(ArrayList.class.getMethod("add", Object.class), ArrayList.class);
+        test.addStatement(new MethodStatement(test, add, list, Collections.singletonList(element)));
+        ArrayReference array = (ArrayReference) test.addStatement(new ArrayStatement(test, int[].class, new int[]{3}));
+        test.addStatement(new AssignmentStatement(test, new ArrayIndex(test, array, 1), capacity));
+        GenericField maxValue = new GenericField(Integer.class.getField("MAX_VALUE"), Integer.class);
+        test.addStatement(new FieldStatement(test, maxValue, null));
+        test.addStatement(new NullStatement(test, Object.class));
+
+        TestCase copy = readSingle(write(test));
+
+        Assert.assertEquals(test.size(), copy.size());
+        Assert.assertEquals(test.toCode(), copy.toCode());
+    }
+
+    @Test
+    public void testUnsupportedStatementIsSerialized() throws Exception {
+        TestCase test = new DefaultTestCase();
+        test.addStatement(new ImmutableStringPrimitiveStatement(test, "bar"));
+
+        TestCase copy = readSingle(write(test));
+
+        Assert.assertTrue(copy.getStatement(0) instanceof ImmutableStringPrimitiveStatement);
+        Assert.assertEquals(test.toCode(), copy.toCode());
+    }
+
+    @Test
+    public void testFormatDetection() throws IOException {
+        InputStream binary = new ByteArrayInputStream(write());
+        Assert.assertTrue(BinaryTestCaseReader.isBinaryFormat(binary));
+        // detection must not consume the header
+        Assert.assertNull(new BinaryTestCaseReader(binary, getClass().getClassLoader()).readTestCase());
+
+        Assert.assertFalse(BinaryTestCaseReader.isBinaryFormat(new ByteArrayInputStream(new byte[]{1, 2})));
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase;
+
+import com.examples.with.different.packagename.junit.Foo;
+import org.evosuite.Properties;
+import org.evosuite.symbolic.TestCaseBuilder;
+import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testcase.statements.MethodStatement;
+import org.evosuite.testcase.statements.Statement;
+import org.evosuite.testcase.statements.numeric.IntPrimitiveStatement;
+import org.evosuite.testcase.variable.VariableReference;
+import org.junit.After;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestCaseMinimizerTest {
+
+    private static final boolean DEFAULT_MINIMIZE_VALUES = Properties.MINIMIZE_VALUES;
+
+    /**
+     * Goal covered by tests calling Foo.add with 42 as first argument. The
+     * fitness is computed from the statements, and the evaluations of
+     * changed tests are counted in place of executions.
+     */
+    private static class AddFortyTwoGoal extends TestFitnessFunction {
+
+        private static final long serialVersionUID = 1L;
+
+        private int executions = 0;
+
+        @Override
+        public double getFitness(TestChromosome individual) {
+            if (individual.isChanged()) {
+                executions++;
+                individual.setChanged(false);
+            }
+            double fitness = callsAddWithFortyTwo(individual.getTestCase()) ? 0.0 : 1.0;
+            updateIndividual(individual, fitness);
+            return fitness;
+        }
+
+        @Override
+        public double getFitness(TestChromosome individual, ExecutionResult result) {
+            return getFitness(individual);
+        }
+
+        @Override
+        public int compareTo(TestFitnessFunction other) {
+            return compareClassName(other);
+        }
+
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other == this;
+        }
+
+        @Override
+        public String getTargetClass() {
+            return Foo.class.getName();
+        }
+
+        @Override
+        public String getTargetMethod() {
+            return "add(II)I";
+        }
+    }
+
+    private static boolean callsAddWithFortyTwo(TestCase test) {
+        for (Statement statement : test) {
+            if (!(statement instanceof MethodStatement)) {
+                continue;
+            }
+            MethodStatement call = (MethodStatement) statement;
+            if (!call.getMethodName().equals("add")) {
+                continue;
+            }
+            Statement argument = test.getStatement(call.getParameterReferences().get(0).getStPosition());
+            if (argument instanceof IntPrimitiveStatement && ((IntPrimitiveStatement) argument).getValue() == 42) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Six unused ints, the four statements covering the goal, a second Foo
+     * with a call that does not cover it, and four more unused ints
+     */
+    private static TestChromosome getLongTest() throws NoSuchMethodException {
+        Method add = Foo.class.getMethod("add", int.class, int.class);
+        TestCaseBuilder builder = new TestCaseBuilder();
+        VariableReference[] ints = new VariableReference[6];
+        for (int i = 0; i < ints.length; i++) {
+            ints[i] = builder.appendIntPrimitive(i);
+        }
+        VariableReference foo0 = builder.appendConstructor(Foo.class.getConstructor());
+        VariableReference fortyTwo = builder.appendIntPrimitive(42);
+        VariableReference seven = builder.appendIntPrimitive(7);
+        builder.appendMethod(foo0, add, fortyTwo, seven);
+        VariableReference foo1 = builder.appendConstructor(Foo.class.getConstructor());
+        builder.appendMethod(foo1, add, ints[0], ints[1]);
+        for (int i = 10; i < 14; i++) {
+            builder.appendIntPrimitive(i);
+        }
+
+        TestChromosome chromosome = new TestChromosome();
+        chromosome.setTestCase(builder.getDefaultTestCase());
+        return chromosome;
+    }
+
+    @After
+    public void reset() {
+        Properties.MINIMIZE_VALUES = DEFAULT_MINIMIZE_VALUES;
+    }
+
+    @Test
+    public void testDeleteStatementsReturnsNumberOfDeletedStatements() throws NoSuchMethodException {
+        TestCase test = getLongTest().getTestCase();
+        assertEquals(16, test.size());
+
+        // the second Foo goes together with its call
+        int deleted = TestFactory.getInstance().deleteStatements(test, Collections.singleton(10));
+        assertEquals(2, deleted);
+        assertEquals(14, test.size());
+
+        // the ints that call used are not used anymore, so they go alone
+        deleted = TestFactory.getInstance().deleteStatements(test, Arrays.asList(0, 1));
+        assertEquals(2, deleted);
+        assertEquals(12, test.size());
+
+        // the 42 and the 7 share the call using them
+        deleted = TestFactory.getInstance().deleteStatements(test, Arrays.asList(5, 6));
+        assertEquals(3, deleted);
+        assertEquals(9, test.size());
+        assertFalse(callsAddWithFortyTwo(test));
+    }
+
+    @Test
+    public void testRemoveChunks() throws NoSuchMethodException {
+        AddFortyTwoGoal goal = new AddFortyTwoGoal();
+        TestChromosome chromosome = getLongTest();
+        assertEquals(0.0, goal.getFitness(chromosome), 0.0);
+
+        TestCaseMinimizer minimizer = new TestCaseMinimizer(goal);
+        assertTrue(minimizer.removeChunks(chromosome));
+
+        // only the statements covering the goal are left
+        assertEquals(4, chromosome.size());
+        assertTrue(callsAddWithFortyTwo(chromosome.getTestCase()));
+        assertEquals(0.0, goal.getFitness(chromosome), 0.0);
+    }
+
+    @Test
+    public void testRemoveChunksFromMinimalTest() throws NoSuchMethodException {
+        AddFortyTwoGoal goal = new AddFortyTwoGoal();
+        TestChromosome chromosome = getLongTest();
+        TestCaseMinimizer minimizer = new TestCaseMinimizer(goal);
+        minimizer.removeChunks(chromosome);
+        assertEquals(4, chromosome.size());
+
+        // both halves are tried, then every single statement, and none can go
+        int executions = goal.executions;
+        assertTrue(minimizer.removeChunks(chromosome));
+        assertEquals(4, chromosome.size());
+        assertEquals(executions + 2 + 4, goal.executions);
+    }
+
+    @Test
+    public void testMinimize() throws NoSuchMethodException {
+        Properties.MINIMIZE_VALUES = false;
+
+        AddFortyTwoGoal goal = new AddFortyTwoGoal();
+        TestChromosome chromosome = getLongTest();
+        assertEquals(0.0, goal.getFitness(chromosome), 0.0);
+
+        new TestCaseMinimizer(goal).minimize(chromosome);
+
+        // the 7 may be replaced by the 42
+        assertTrue(chromosome.size() <= 4);
+        assertTrue(callsAddWithFortyTwo(chromosome.getTestCase()));
+        assertEquals(0.0, goal.getFitness(chromosome), 0.0);
+    }
+}
@@ -416,4 +416,26 @@ public class TestCodeVisitorTest {
         assertFalse(code.contains("boolean adult = person.isAdult()"));
         assertTrue(code.contains("boolean boolean0 = person0.isAdult()"));
     }
+
+    @Test
+    public void testCopiedClassNames() throws NoSuchMethodException, ConstructionFailedException {
+        TestCase tc = new DefaultTestCase();
+        TestFactory.getInstance().addConstructor(tc,
+                new GenericConstructor(com.examples.with.different.packagename.otherpackage.ExampleWithInnerClass.class.getDeclaredConstructor(), com.examples.with.different.packagename.otherpackage.ExampleWithInnerClass.class), 0, 0);
+        TestFactory.getInstance().addConstructor(tc,
+                new GenericConstructor(com.examples.with.different.packagename.subpackage.ExampleWithInnerClass.class.getDeclaredConstructor(), com.examples.with.different.packagename.subpackage.ExampleWithInnerClass.class), 1, 0);
+        TestCodeVisitor visitor = new TestCodeVisitor();
+        tc.accept(visitor);
+
+        // Only uses the class that got the fully qualified name
+        TestCase other = new DefaultTestCase();
+        TestFactory.getInstance().addConstructor(other,
+                new GenericConstructor(com.examples.with.different.packagename.subpackage.ExampleWithInnerClass.class.getDeclaredConstructor(), com.examples.with.different.packagename.subpackage.ExampleWithInnerClass.class), 0, 0);
+        TestCodeVisitor copy = new TestCodeVisitor(visitor);
+        other.accept(copy);
+
+        assertEquals(visitor.getImports(), copy.getImports());
+        assertEquals("com.examples.with.different.packagename.subpackage.ExampleWithInnerClass", copy.getClassName(com.examples.with.different.packagename.subpackage.ExampleWithInnerClass.class));
+        assertTrue(copy.getCode().contains("com.examples.with.different.packagename.subpackage.ExampleWithInnerClass"));
+    }
 }
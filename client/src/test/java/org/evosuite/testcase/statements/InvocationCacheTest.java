@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.statements;
+
+import org.junit.Test;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class InvocationCacheTest {
+
+    public static class Foo {
+
+        public static int counter = 0;
+
+        public int value;
+
+        public Foo(int value) {
+            if (value < 0)
+                throw new IllegalArgumentException("negative");
+            this.value = value;
+        }
+
+        public long add(long x) {
+            return value + x;
+        }
+
+        public static void increment() {
+            counter++;
+        }
+
+        public String concat(String... strings) {
+            return String.join("", strings);
+        }
+    }
+
+    @Test
+    public void testInvoke() throws Exception {
+        Method method = Foo.class.getMethod("add", long.class);
+        Foo foo = new Foo(2);
+        // The first call is reflective, the following use the handle
+        for (int i = 0; i < 3; i++) {
+            assertEquals(5L, InvocationCache.invoke(method, foo, 3L));
+            assertEquals(5L, InvocationCache.invoke(method, foo, 3));
+        }
+    }
+
+    @Test
+    public void testInvokeStatic() throws Exception {
+        Method method = Foo.class.getMethod("increment");
+        int counter = Foo.counter;
+        for (int i = 0; i < 3; i++) {
+            assertNull(InvocationCache.invoke(method, null));
+        }
+        assertEquals(counter + 3, Foo.counter);
+    }
+
+    @Test
+    public void testInvokeVarargs() throws Exception {
+        Method method = Foo.class.getMethod("concat", String[].class);
+        for (int i = 0; i < 3; i++) {
+            assertEquals("ab", InvocationCache.invoke(method, new Foo(0), (Object) new String[]{"a", "b"}));
+        }
+    }
+
+    @Test
+    public void testInvalidArguments() throws Exception {
+        Method method = Foo.class.getMethod("add", long.class);
+        for (int i = 0; i < 3; i++) {
+            try {
+                InvocationCache.invoke(method, "foo", 3L);
+                fail();
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+            try {
+                InvocationCache.invoke(method, new Foo(0), "foo");
+                fail();
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+            try {
+                InvocationCache.invoke(method, null, 3L);
+                fail();
+            } catch (NullPointerException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testNewInstance() throws Exception {
+        Constructor<Foo> constructor = Foo.class.getConstructor(int.class);
+        for (int i = 0; i < 3; i++) {
+            Object foo = InvocationCache.newInstance(constructor, i);
+            assertEquals(i, ((Foo) foo).value);
+            try {
+                InvocationCache.newInstance(constructor, -1);
+                fail();
+            } catch (InvocationTargetException e) {
+                assertTrue(e.getCause() instanceof IllegalArgumentException);
+            }
+        }
+    }
+
+    @Test
+    public void testGetField() throws Exception {
+        Field field = Foo.class.getField("value");
+        Field staticField = Foo.class.getField("counter");
+        for (int i = 0; i < 3; i++) {
+            assertEquals(i, InvocationCache.get(field, new Foo(i)));
+            assertEquals(Foo.counter, InvocationCache.get(staticField, null));
+            try {
+                InvocationCache.get(field, "foo");
+                fail();
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testsuite;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CoverageMatrixTest {
+
+    private static BitSet goals(int... indices) {
+        BitSet goals = new BitSet();
+        for (int index : indices) {
+            goals.set(index);
+        }
+        return goals;
+    }
+
+    private static BitSet coverageOf(CoverageMatrix matrix, List<Integer> cover) {
+        BitSet covered = new BitSet();
+        for (int test : cover) {
+            covered.or(matrix.getCoveredGoals(test));
+        }
+        return covered;
+    }
+
+    @Test
+    public void testEmptyMatrix() {
+        CoverageMatrix matrix = new CoverageMatrix();
+        matrix.addTest(new BitSet(), 3);
+        assertTrue(matrix.getCover().isEmpty());
+    }
+
+    @Test
+    public void testEssentialTests() {
+        CoverageMatrix matrix = new CoverageMatrix();
+        matrix.addTest(goals(0, 1), 1);
+        matrix.addTest(goals(1, 2), 1);
+        matrix.addTest(goals(2, 3), 1);
+
+        List<Integer> cover = matrix.getCover();
+        Collections.sort(cover);
+        assertEquals(Arrays.asList(0, 2), cover);
+    }
+
+    @Test
+    public void testDominatedTestsAreNotSelected() {
+        CoverageMatrix matrix = new CoverageMatrix();
+        matrix.addTest(goals(0), 1);
+        matrix.addTest(goals(0, 1, 2), 5);
+        matrix.addTest(goals(1), 1);
+
+        assertEquals(Collections.singletonList(1), matrix.getCover());
+    }
+
+    @Test
+    public void testCheaperTestIsPreferred() {
+        CoverageMatrix matrix = new CoverageMatrix();
+        matrix.addTest(goals(0, 1), 10);
+        matrix.addTest(goals(0, 1), 2);
+
+        assertEquals(Collections.singletonList(1), matrix.getCover());
+    }
+
+    @Test
+    public void testGreedyWithoutReductions() {
+        // every goal is covered by exactly two tests and no test dominates another
+        CoverageMatrix matrix = new CoverageMatrix();
+        matrix.addTest(goals(0, 1), 1);
+        matrix.addTest(goals(1, 2), 1);
+        matrix.addTest(goals(2, 3), 1);
+        matrix.addTest(goals(3, 0), 1);
+
+        List<Integer> cover = matrix.getCover();
+        assertEquals(2, cover.size());
+        assertEquals(matrix.getCoveredGoals(), coverageOf(matrix, cover));
+    }
+
+    @Test
+    public void testAllGoalsAreCovered() {
+        CoverageMatrix matrix = new CoverageMatrix();
+        for (int test = 0; test < 20; test++) {
+            BitSet row = new BitSet();
+            for (int goal = 0; goal < 50; goal++) {
+                if ((goal * 7 + test * 13) % 5 == 0) {
+                    row.set(goal);
+                }
+            }
+            matrix.addTest(row, test % 3);
+        }
+
+        List<Integer> cover = matrix.getCover();
+        assertEquals(matrix.getCoveredGoals(), coverageOf(matrix, cover));
+        for (int i = 0; i < cover.size(); i++) {
+            BitSet others = new BitSet();
+            for (int j = 0; j < cover.size(); j++) {
+                if (i != j) {
+                    others.or(matrix.getCoveredGoals(cover.get(j)));
+                }
+            }
+            // no selected test is redundant
+            assertTrue(!others.equals(matrix.getCoveredGoals()));
+        }
+    }
+}
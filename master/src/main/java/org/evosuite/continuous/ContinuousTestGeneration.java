@@ -24,17 +24,22 @@ import org.evosuite.continuous.job.JobDefinition;
 import org.evosuite.continuous.job.JobExecutor;
 import org.evosuite.continuous.job.JobScheduler;
 import org.evosuite.continuous.persistency.StorageManager;
+import org.evosuite.continuous.project.ChangeIndex;
 import org.evosuite.continuous.project.ProjectAnalyzer;
 import org.evosuite.continuous.project.ProjectStaticData;
+import org.evosuite.continuous.project.ProjectStaticData.ClassInfo;
 import org.evosuite.utils.FileIOUtils;
 import org.evosuite.xsd.Project;
 import org.evosuite.xsd.ProjectUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
+import java.util.Set;
 
 
 /**
@@ -90,6 +95,7 @@ import java.util.List;
  */
 public class ContinuousTestGeneration {
 
+    private static final Logger logger = LoggerFactory.getLogger(ContinuousTestGeneration.class);
 
     /**
      * Target folder/jar defining the SUT
@@ -181,6 +187,23 @@ public class ContinuousTestGeneration {
 
         String description = storage.mergeAndCommitChanges(data, cuts);
 
+        ChangeIndex changeIndex = data.getChangeIndex();
+        if (changeIndex != null) {
+            Set<String> generated = storage.getCUTsWithGeneratedTests();
+            for (ClassInfo ci : data.getClassInfos()) {
+                if (ci.hasChanged() && !generated.contains(ci.getClassName())) {
+                    // no tests for it in this run (not scheduled, or failed), so it still
+                    // needs to be considered as modified in the next one
+                    changeIndex.removeClass(ci.getClassName());
+                }
+            }
+            try {
+                changeIndex.store(ChangeIndex.getIndexFile());
+            } catch (IOException e) {
+                logger.error("Failed to store change index: " + e.getMessage());
+            }
+        }
+
         if (exportFolder != null) {
             try {
                 exportToFolder(".", exportFolder);
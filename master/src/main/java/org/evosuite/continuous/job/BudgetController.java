@@ -0,0 +1,196 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.continuous.job;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the coverage of the running jobs, as reported by
+ * {@link CoverageProgressReporter}, and asks a job to stop once its coverage
+ * has plateaued, ie, it increased by less than a threshold over a window of
+ * search time.
+ * <p>
+ * A job stopped early finishes before its expected time, and the
+ * {@link JobExecutor} then shares the seconds it did not use among the jobs
+ * still to execute.
+ */
+public class BudgetController {
+
+    private static final Logger logger = LoggerFactory.getLogger(BudgetController.class);
+
+    private static final long CHECK_INTERVAL_MS = 5000;
+
+    /**
+     * Coverage increase, in percentage points per minute, below which coverage has plateaued
+     */
+    private final double plateauThreshold;
+
+    private final long plateauWindowInMs;
+
+    /**
+     * Progress file of each running job, indexed by job id
+     */
+    private final Map<Integer, File> runningJobs = new ConcurrentHashMap<>();
+
+    /**
+     * Ids of the running jobs that were asked to stop
+     */
+    private final Set<Integer> stoppedJobs = ConcurrentHashMap.newKeySet();
+
+    private ScheduledExecutorService checker;
+
+    public BudgetController(double plateauThreshold, int plateauWindowInSeconds) {
+        if (plateauWindowInSeconds <= 0) {
+            throw new IllegalArgumentException("Plateau window should be positive: " + plateauWindowInSeconds);
+        }
+        this.plateauThreshold = plateauThreshold;
+        this.plateauWindowInMs = plateauWindowInSeconds * 1000L;
+    }
+
+    public synchronized void start() {
+        if (checker != null) {
+            return;
+        }
+        checker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "CTG budget controller");
+            t.setDaemon(true);
+            return t;
+        });
+        checker.scheduleWithFixedDelay(this::checkRunningJobs, CHECK_INTERVAL_MS, CHECK_INTERVAL_MS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (checker != null) {
+            checker.shutdownNow();
+            checker = null;
+        }
+    }
+
+    /**
+     * @param job
+     * @param progressFile where the job reports its coverage
+     */
+    public void jobStarted(JobDefinition job, File progressFile) {
+        // there should be none, but files of a crashed run would stop the job right away
+        progressFile.delete();
+        CoverageProgressReporter.getStopRequestFile(progressFile).delete();
+        runningJobs.put(job.jobID, progressFile);
+    }
+
+    /**
+     * @param job
+     * @return whether the job was asked to stop before the end of its budget
+     */
+    public boolean jobFinished(JobDefinition job) {
+        runningJobs.remove(job.jobID);
+        return stoppedJobs.remove(job.jobID);
+    }
+
+    protected void checkRunningJobs() {
+        try {
+            for (Map.Entry<Integer, File> entry : runningJobs.entrySet()) {
+                if (stoppedJobs.contains(entry.getKey())) {
+                    continue;
+                }
+                File progressFile = entry.getValue();
+                List<double[]> progress = CoverageProgressReporter.readProgress(progressFile);
+                if (hasPlateaued(progress, plateauWindowInMs, plateauThreshold)) {
+                    requestStop(entry.getKey(), progressFile);
+                }
+            }
+        } catch (Exception e) {
+            // an exception would cancel all the following checks
+            logger.error("Failed to check the progress of the running jobs: " + e.getMessage(), e);
+        }
+    }
+
+    private void requestStop(int jobID, File progressFile) {
+        File stopRequest = CoverageProgressReporter.getStopRequestFile(progressFile);
+        try {
+            stopRequest.createNewFile();
+            logger.info("Coverage of job " + jobID + " has plateaued, asking it to stop");
+            stoppedJobs.add(jobID);
+        } catch (IOException e) {
+            logger.warn("Cannot create stop request " + stopRequest + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Check whether the coverage increased by less than the threshold during
+     * the last window of search time. Coverage is never considered to have
+     * plateaued before a whole window was observed, unless it is complete.
+     *
+     * @param progress  pairs of elapsed milliseconds and coverage percentage, ordered by time
+     * @param windowInMs
+     * @param threshold coverage increase, in percentage points per minute
+     * @return
+     */
+    public static boolean hasPlateaued(List<double[]> progress, long windowInMs, double threshold) {
+        if (progress.isEmpty()) {
+            return false;
+        }
+
+        double[] last = progress.get(progress.size() - 1);
+        if (last[1] >= 100) {
+            return true;
+        }
+
+        // latest report at least a window before the last one
+        double[] start = null;
+        for (double[] report : progress) {
+            if (report[0] > last[0] - windowInMs) {
+                break;
+            }
+            start = report;
+        }
+        if (start == null || start[0] == last[0]) {
+            return false;
+        }
+
+        /*
+         * with several clients the reports interleave, so use the best
+         * coverage reached up to each point in time
+         */
+        double startCoverage = 0;
+        double lastCoverage = 0;
+        for (double[] report : progress) {
+            if (report[0] <= start[0]) {
+                startCoverage = Math.max(startCoverage, report[1]);
+            }
+            lastCoverage = Math.max(lastCoverage, report[1]);
+        }
+
+        double minutes = (last[0] - start[0]) / 60000d;
+        double slope = (lastCoverage - startCoverage) / minutes;
+        return slope < threshold;
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.continuous.job;
+
+import org.evosuite.Properties;
+import org.evosuite.rmi.MasterServices;
+import org.evosuite.rmi.service.ClientState;
+import org.evosuite.rmi.service.ClientStateInformation;
+import org.evosuite.utils.Listener;
+import org.evosuite.utils.LoggingUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs in the process of a CTG job, and appends the coverage reported by the
+ * clients to the progress file of the job, as lines of
+ * "elapsed milliseconds" and "coverage percentage".
+ * <p>
+ * This is the only channel between a job and the {@link BudgetController} of
+ * the CTG process: when the controller finds that the coverage has plateaued,
+ * it creates the stop request file next to the progress file, and the search
+ * is then stopped as if its budget was over.
+ */
+public class CoverageProgressReporter implements Listener<ClientStateInformation> {
+
+    private static final long serialVersionUID = -4217335081739862160L;
+
+    private static final Logger logger = LoggerFactory.getLogger(CoverageProgressReporter.class);
+
+    private static final long REPORTING_INTERVAL_MS = 1000;
+
+    private final File progressFile;
+
+    private final long startTime;
+
+    private long lastReport = 0;
+
+    private boolean stopped = false;
+
+    public CoverageProgressReporter(File progressFile) {
+        this.progressFile = progressFile;
+        this.startTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Start reporting the coverage of the clients, if the job was given a progress file
+     */
+    public static void startReporting() {
+        if (Properties.CTG_PROGRESS_FILE == null) {
+            return;
+        }
+        MasterServices.getInstance().getMasterNode().addListener(
+                new CoverageProgressReporter(new File(Properties.CTG_PROGRESS_FILE)));
+    }
+
+    public static File getStopRequestFile(File progressFile) {
+        return new File(progressFile.getAbsolutePath() + ".stop");
+    }
+
+    /**
+     * @param progressFile
+     * @return pairs of elapsed milliseconds and coverage, in the order they were reported
+     */
+    public static List<double[]> readProgress(File progressFile) {
+        List<double[]> progress = new ArrayList<>();
+        if (!progressFile.exists()) {
+            return progress;
+        }
+        String content;
+        try {
+            content = new String(Files.readAllBytes(progressFile.toPath()), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            logger.warn("Cannot read progress file " + progressFile + ": " + e.getMessage());
+            return progress;
+        }
+
+        // the last line is ignored if not terminated, as the job might be writing it right now
+        String[] lines = content.split("\n", -1);
+        for (int i = 0; i < lines.length - 1; i++) {
+            String[] tokens = lines[i].trim().split("\\s+");
+            try {
+                progress.add(new double[]{Long.parseLong(tokens[0]), Double.parseDouble(tokens[1])});
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                logger.debug("Invalid line in " + progressFile + ": " + lines[i]);
+            }
+        }
+        return progress;
+    }
+
+    @Override
+    public synchronized void receiveEvent(ClientStateInformation event) {
+        if (event.getState() != ClientState.SEARCH) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (now - lastReport < REPORTING_INTERVAL_MS) {
+            return;
+        }
+        lastReport = now;
+
+        try (PrintWriter out = new PrintWriter(new FileWriter(progressFile, true))) {
+            out.print((now - startTime) + " " + event.getExactCoverage() + "\n");
+        } catch (IOException e) {
+            logger.warn("Cannot write progress file " + progressFile + ": " + e.getMessage());
+        }
+
+        /*
+         * only clients in the search can be stopped: the others would be
+         * killed. Clients that start their search later are stopped on
+         * their next report
+         */
+        if (stopped || getStopRequestFile(progressFile).exists()) {
+            if (!stopped) {
+                stopped = true;
+                LoggingUtils.getEvoLogger().info("* Coverage has plateaued, stopping the search");
+            }
+            MasterServices.getInstance().getMasterNode().cancelClientsInSearch();
+        }
+    }
+}
@@ -195,6 +195,24 @@ public class JobDefinition {
     }
 
 
+    /**
+     * Create a copy of this job by adding extra memory
+     *
+     * @param moreMemoryInMB
+     * @return
+     */
+    public JobDefinition getByAddingMemory(int moreMemoryInMB)
+            throws IllegalArgumentException {
+
+        if (moreMemoryInMB <= 0) {
+            throw new IllegalArgumentException("Invalid extra memory: " + moreMemoryInMB);
+        }
+
+        return new JobDefinition(seconds, memoryInMB + moreMemoryInMB, cut,
+                configurationId, inputClasses, parentClasses);
+    }
+
+
     /**
      * Does the execution of this job depend on the other?
      *
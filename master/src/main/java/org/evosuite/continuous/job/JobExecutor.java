@@ -26,10 +26,12 @@ import org.evosuite.utils.LoggingUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Job executor will run EvoSuite on separate processes.
@@ -71,12 +73,44 @@ public class JobExecutor {
     private BlockingQueue<JobDefinition> jobQueue;
 
     /**
-     * keep track of all the jobs that have been executed so far.
-     * Each job definition (value) is indexed by the CUT name (key).
+     * For each CUT, how many jobs in the schedule depend on it.
+     * Jobs that are needed by many others (eg, for seeding) are
+     * executed first when there is a choice
+     */
+    private Map<String, Integer> numberOfDependents;
+
+    /**
+     * CUTs of the jobs that finished, and that the dispatching of
+     * the remaining jobs has not taken into account yet.
      * This assumes in a schedule that the CUT names are unique, ie,
      * no more than one job should exist for the same CUT
      */
-    private Map<String, JobDefinition> finishedJobs;
+    private Queue<String> finishedCuts;
+
+    /**
+     * When each job (key is the job id) was taken by a handler
+     */
+    private Map<Integer, Long> startedJobs;
+
+    /**
+     * Seconds of budget left unused by jobs that finished earlier than
+     * expected, to share among the jobs that are still to be executed
+     */
+    private AtomicInteger unusedSeconds;
+
+    /**
+     * Memory, and number, of the jobs that were given to the handlers
+     * and have not finished yet
+     */
+    private AtomicInteger dispatchedMemoryInMB;
+    private AtomicInteger dispatchedJobs;
+
+    private int cores;
+
+    /**
+     * Stops the jobs whose coverage has plateaued, if adaptive budget is on
+     */
+    private BudgetController budgetController;
 
     protected final CtgConfiguration configuration;
 
@@ -121,7 +155,7 @@ public class JobExecutor {
 
         logger.info("Going to execute " + jobs.size() + " jobs");
 
-        initExecution(jobs);
+        initExecution(jobs, cores);
 
         Thread mainThread = new Thread() {
             @Override
@@ -168,6 +202,10 @@ public class JobExecutor {
                         handler.stopExecution();
                     }
 
+                    if (budgetController != null) {
+                        budgetController.stop();
+                    }
+
                     executing = false;
                 }
             } //end of "run"
@@ -176,6 +214,10 @@ public class JobExecutor {
     }
 
     protected void initExecution(final List<JobDefinition> jobs) {
+        initExecution(jobs, configuration.getNumberOfUsableCores());
+    }
+
+    protected void initExecution(final List<JobDefinition> jobs, final int cores) {
         executing = true;
         startTimeInMs = System.currentTimeMillis();
         latch = new CountDownLatch(jobs.size());
@@ -188,20 +230,79 @@ public class JobExecutor {
          * of what job to schedule next
          */
         jobQueue = new ArrayBlockingQueue<>(1);
-        finishedJobs = new ConcurrentHashMap<>();
+        finishedCuts = new ConcurrentLinkedQueue<>();
+
+        numberOfDependents = new HashMap<>();
+        for (JobDefinition job : jobs) {
+            if (job.dependentOnClasses == null) {
+                continue;
+            }
+            for (String cut : job.dependentOnClasses) {
+                numberOfDependents.merge(cut, 1, Integer::sum);
+            }
+        }
+
+        startedJobs = new ConcurrentHashMap<>();
+        unusedSeconds = new AtomicInteger(0);
+        dispatchedMemoryInMB = new AtomicInteger(0);
+        dispatchedJobs = new AtomicInteger(0);
+        this.cores = cores;
+
+        if (Properties.CTG_ADAPTIVE_BUDGET) {
+            budgetController = new BudgetController(Properties.CTG_PLATEAU_THRESHOLD, Properties.CTG_PLATEAU_WINDOW);
+            budgetController.start();
+        } else {
+            budgetController = null;
+        }
     }
 
     protected long execute(List<JobDefinition> jobs) {
 
         long longestJob = -1L;
 
-        //TODO handle memory
-        Queue<JobDefinition> toExecute = new LinkedList<>(jobs);
+        /*
+         * Jobs are sorted once: the ones most other jobs depend on go first,
+         * and then the oldest. Positions in this order identify the jobs below
+         */
+        List<JobDefinition> order = new ArrayList<>(jobs);
+        order.sort(Comparator.comparingInt((JobDefinition job) -> numberOfDependents.getOrDefault(job.cut, 0)).reversed());
+
+        Set<String> inTheSchedule = new HashSet<>();
+        for (JobDefinition job : order) {
+            inTheSchedule.add(job.cut);
+        }
 
-        List<JobDefinition> postponed = new LinkedList<>();
+        /*
+         * For each job, how many of the jobs it depends on have not finished yet.
+         * It could happen that a schedule is not complete, ie, there is no job for
+         * some of the dependencies, and those are ignored
+         */
+        int[] missingDependencies = new int[order.size()];
+        Map<String, List<Integer>> waitingOn = new HashMap<>();
+
+        //TODO handle memory
+        TreeSet<Integer> ready = new TreeSet<>();
+        TreeSet<Integer> waiting = new TreeSet<>();
+
+        for (int i = 0; i < order.size(); i++) {
+            Set<String> dependencies = order.get(i).dependentOnClasses;
+            if (dependencies != null) {
+                for (String cut : dependencies) {
+                    if (inTheSchedule.contains(cut)) {
+                        missingDependencies[i]++;
+                        waitingOn.computeIfAbsent(cut, k -> new ArrayList<>()).add(i);
+                    }
+                }
+            }
+            if (missingDependencies[i] == 0) {
+                ready.add(i);
+            } else {
+                waiting.add(i);
+            }
+        }
 
         mainLoop:
-        while (!toExecute.isEmpty() || !postponed.isEmpty()) {
+        while (!ready.isEmpty() || !waiting.isEmpty()) {
 
             long remaining = getRemainingTimeInMs();
             if (remaining <= 0) {
@@ -209,85 +310,125 @@ public class JobExecutor {
                 break mainLoop;
             }
 
-            JobDefinition chosenJob = null;
-
-            //postponed jobs have the priority
-            if (!postponed.isEmpty()) {
-                Iterator<JobDefinition> iterator = postponed.iterator();
-                postponedLoop:
-                while (iterator.hasNext()) {
-                    JobDefinition job = iterator.next();
-                    if (job.areDependenciesSatisfied(jobs, finishedJobs.keySet())) {
-                        chosenJob = job;
-                        iterator.remove();
-                        break postponedLoop;
+            String finished;
+            while ((finished = finishedCuts.poll()) != null) {
+                for (int i : waitingOn.getOrDefault(finished, Collections.emptyList())) {
+                    missingDependencies[i]--;
+                    if (missingDependencies[i] == 0 && waiting.remove(i)) {
+                        ready.add(i);
                     }
                 }
             }
 
-            if (chosenJob == null && toExecute.isEmpty()) {
-                assert !postponed.isEmpty();
+            Integer chosen = ready.pollFirst();
+            if (chosen == null) {
                 /*
-                 * tricky case: the are no more jobs in the queue, and there are
-                 * jobs that have been postponed. But, at the moment, we shouldn't
-                 * execute them due to missing dependencies.
+                 * tricky case: none of the jobs left can be executed at the moment,
+                 * as they depend on jobs that are still running.
                  *
                  * As the dependencies are just "optimizations" (eg, seeding), it is not
-                 * wrong to execute any of those postponed jobs.
-                 * There might be useful heuristics to pick up one in a smart way but,
-                 * for now, we just choose the first (and so oldest)
+                 * wrong to execute any of those jobs, and so the first one is chosen
                  */
-                chosenJob = postponed.remove(0); //it is important to get the oldest jobs
+                chosen = waiting.pollFirst();
             }
 
-            if (chosenJob == null) {
-                assert !toExecute.isEmpty();
-
-                toExecuteLoop:
-                while (!toExecute.isEmpty()) {
-                    JobDefinition job = toExecute.poll();
-                    if (job.areDependenciesSatisfied(jobs, finishedJobs.keySet())) {
-                        chosenJob = job;
-                        break toExecuteLoop;
-                    } else {
-                        postponed.add(job);
-                    }
-                }
-
-                if (chosenJob == null) {
-                    /*
-                     * yet another tricky situation: we started with a list of jobs to execute,
-                     * and none in the postponed list; but we cannot execute any of those
-                     * jobs (this could happen if they all depend on jobs that are currently running).
-                     * We should hence just choose one of them. Easiest thing, and most clean,
-                     * to do is just to go back to beginning of the loop
-                     */
-                    assert !postponed.isEmpty() && toExecute.isEmpty();
-                    continue mainLoop;
-                }
-            }
-
-            assert chosenJob != null;
-            longestJob = Math.max(longestJob, chosenJob.seconds * 1000);
+            JobDefinition original = order.get(chosen);
+            JobDefinition chosenJob = rebalance(original, ready.size() + waiting.size());
 
+            dispatchedMemoryInMB.addAndGet(chosenJob.memoryInMB);
+            dispatchedJobs.incrementAndGet();
+            boolean dispatched = false;
             try {
-                jobQueue.offer(chosenJob, remaining, TimeUnit.MILLISECONDS);
+                dispatched = jobQueue.offer(chosenJob, remaining, TimeUnit.MILLISECONDS);
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt(); //important for check later
+            }
+
+            if (!dispatched) {
+                //no handler took the job in time, so it is not going to run
+                dispatchedMemoryInMB.addAndGet(-chosenJob.memoryInMB);
+                dispatchedJobs.decrementAndGet();
+                unusedSeconds.addAndGet(chosenJob.seconds - original.seconds);
                 break mainLoop;
             }
+            longestJob = Math.max(longestJob, chosenJob.seconds * 1000);
         }
 
         return longestJob;
     }
 
+    /**
+     * Give to the job its share of the budget left unused by the jobs that
+     * finished early, and of the memory that no other job is going to use
+     *
+     * @param job
+     * @param stillToExecute number of jobs that are going to be executed after this one
+     * @return the job to execute
+     */
+    private JobDefinition rebalance(JobDefinition job, int stillToExecute) {
+        int extraSeconds = unusedSeconds.get() / (stillToExecute + 1);
+        if (extraSeconds > 0) {
+            unusedSeconds.addAndGet(-extraSeconds);
+            logger.debug("Adding " + extraSeconds + " seconds to the budget of " + job);
+            job = job.getByAddingBudget(extraSeconds);
+        }
+
+        /*
+         * only when there are fewer jobs to execute than free cores, there
+         * is memory that no job would use
+         */
+        int freeCores = cores - dispatchedJobs.get();
+        int freeMemory = configuration.totalMemoryInMB - dispatchedMemoryInMB.get();
+        int sharing = Math.max(1, Math.min(stillToExecute + 1, freeCores));
+        int extraMemory = freeMemory / sharing - job.memoryInMB;
+        if (extraMemory > 0) {
+            logger.debug("Adding " + extraMemory + "MB to the memory of " + job);
+            job = job.getByAddingMemory(extraMemory);
+        }
+
+        return job;
+    }
+
 
     public JobDefinition pollJob() throws InterruptedException {
-        return jobQueue.take();
+        JobDefinition job = jobQueue.take();
+        startedJobs.put(job.jobID, System.currentTimeMillis());
+        if (budgetController != null) {
+            budgetController.jobStarted(job, getProgressFile(job));
+        }
+        return job;
+    }
+
+    /**
+     * @param job
+     * @return the file where the job reports its coverage, or null if the
+     * coverage of jobs is not watched
+     */
+    public File getProgressFile(JobDefinition job) {
+        if (budgetController == null) {
+            return null;
+        }
+        return new File(storage.getTmpReports(), job.cut + File.separator + "coverage_progress.txt");
     }
 
     public void doneWithJob(JobDefinition job) {
-        finishedJobs.put(job.cut, job);
+        boolean stoppedEarly = budgetController != null && budgetController.jobFinished(job);
+        Long started = startedJobs.remove(job.jobID);
+        if (started != null) {
+            int elapsedSeconds = (int) ((System.currentTimeMillis() - started) / 1000);
+            if (elapsedSeconds < job.seconds) {
+                // this is also where the time saved by jobs whose coverage plateaued goes back to the pool
+                unusedSeconds.addAndGet(job.seconds - elapsedSeconds);
+                if (stoppedEarly) {
+                    logger.info("Job for " + job.cut + " stopped on coverage plateau, "
+                            + (job.seconds - elapsedSeconds) + " seconds given to the remaining jobs");
+                }
+            }
+        }
+        dispatchedMemoryInMB.addAndGet(-job.memoryInMB);
+        dispatchedJobs.decrementAndGet();
+
+        finishedCuts.add(job.cut);
         latch.countDown();
         LoggingUtils.getEvoLogger().info("Completed job. Left: " + latch.getCount());
     }
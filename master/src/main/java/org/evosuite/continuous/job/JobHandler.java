@@ -322,6 +322,12 @@ public class JobHandler extends Thread {
         commands.add("-Dreport_dir=" + reports.getAbsolutePath() + File.separator + job.cut);
         commands.add("-Dtest_dir=" + tests.getAbsolutePath());
 
+        File progress = executor.getProgressFile(job);
+        if (progress != null) {
+            progress.getParentFile().mkdirs();
+            commands.add("-Dctg_progress_file=" + progress.getAbsolutePath());
+        }
+
         if (Properties.CTG_SCHEDULE == Properties.AvailableSchedule.SEEDING
                 || Properties.CTG_SCHEDULE == Properties.AvailableSchedule.BUDGET_AND_SEEDING
                 || Properties.CTG_SCHEDULE == Properties.AvailableSchedule.HISTORY) {
@@ -25,7 +25,6 @@ import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.time.DateFormatUtils;
 import org.evosuite.Properties;
 import org.evosuite.continuous.project.ProjectStaticData;
-import org.evosuite.utils.ArrayUtil;
 import org.evosuite.utils.FileIOUtils;
 import org.evosuite.utils.LoggingUtils;
 import org.evosuite.xsd.*;
@@ -34,6 +33,7 @@ import org.slf4j.LoggerFactory;
 
 import javax.xml.XMLConstants;
 import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
 import javax.xml.bind.Unmarshaller;
 import javax.xml.transform.stream.StreamSource;
@@ -41,6 +41,8 @@ import javax.xml.validation.Schema;
 import javax.xml.validation.SchemaFactory;
 import java.io.*;
 import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import java.util.*;
@@ -66,6 +68,28 @@ public class StorageManager {
 
     private DecimalFormat df = null;
 
+    /**
+     * Creating a JAXB context is expensive, so it is done only once
+     */
+    private static JAXBContext jaxbContext = null;
+
+    /**
+     * Header of the statistics.csv file with the coverage of the existing test suites
+     */
+    private String[] existingStatisticsHeader = null;
+
+    /**
+     * Key -> name of CUT,
+     * Value -> row in the statistics.csv file with the coverage of the existing test suites.
+     * Loaded at most once per merge
+     */
+    private Map<String, String[]> existingStatistics = null;
+
+    /**
+     * Names of the CUTs for which a test suite was generated in the last merged CTG run
+     */
+    private Set<String> cutsWithGeneratedTests = new LinkedHashSet<>();
+
     public StorageManager() {
         this.isStorageOk = this.openForWriting();
         this.df = (DecimalFormat) NumberFormat.getNumberInstance(Locale.ENGLISH);
@@ -268,6 +292,22 @@ public class StorageManager {
         List<TestsOnDisk> suites = gatherGeneratedTestsOnDisk();
         info += "\nNew test suites: " + suites.size();
 
+        /*
+         * Key -> name of CUT
+         * Value -> its generated test suite / its data in the database
+         *
+         * to avoid scanning all suites and all CUTs in the database for each CUT
+         */
+        Map<String, TestsOnDisk> suitesByCUT = new LinkedHashMap<>();
+        for (TestsOnDisk suite : suites) {
+            suitesByCUT.putIfAbsent(suite.cut, suite);
+        }
+        cutsWithGeneratedTests = new LinkedHashSet<>(suitesByCUT.keySet());
+        Map<String, CUT> cutsInDb = new HashMap<>();
+        for (CUT cut : db.getCut()) {
+            cutsInDb.putIfAbsent(cut.getFullNameOfTargetClass(), cut);
+        }
+
         // identify for which CUTs we failed to generate tests
         Set<String> missingCUTs = new LinkedHashSet<>();
 
@@ -279,14 +319,16 @@ public class StorageManager {
                 continue;
             }
 
-            TestsOnDisk suite = suites.parallelStream().filter(s -> s.cut.equals(cut)).findFirst().orElse(null);
+            TestsOnDisk suite = suitesByCUT.get(cut);
             if (suite == null && current.getClassInfo(cut).isToTest()) {
                 missingCUTs.add(cut);
             }
 
             LoggingUtils.getEvoLogger().info("* Updating database to " + cut);
-            updateDatabase(cut, suite, db, current);
+            updateDatabase(cut, suite, db, cutsInDb, current);
         }
+        existingStatisticsHeader = null;
+        existingStatistics = null;
 
         /*
          * Print out what class(es) EvoSuite failed to generate
@@ -310,6 +352,14 @@ public class StorageManager {
         return info;
     }
 
+    /**
+     * @return the names of the CUTs for which a test suite was generated
+     * in the last CTG run merged with {@link #mergeAndCommitChanges}
+     */
+    public Set<String> getCUTsWithGeneratedTests() {
+        return cutsWithGeneratedTests;
+    }
+
     /**
      * Not only we need the generated JUnit files, but also the statistics
      * on their execution.
@@ -364,7 +414,7 @@ public class StorageManager {
             String testName = extractClassName(tmpTests, test);
 
             String cut = "";
-            for (String className : reports.keySet()) {
+            for (int length = testName.length(); length > 0; length--) {
                 /*
                  * This is tricky. We cannot be 100% what is going to be appended to the
                  * class name to form the test name, although the class name should still
@@ -372,9 +422,14 @@ public class StorageManager {
                  *
                  * org.Foo
                  * org.Foo2
+                 *
+                 * Looking up the prefixes of the test name, rather than checking all reports,
+                 * avoids a O(n^2) complexity
                  */
-                if (testName.startsWith(className) && className.length() > cut.length()) {
-                    cut = className;
+                String prefix = testName.substring(0, length);
+                if (reports.containsKey(prefix)) {
+                    cut = prefix;
+                    break;
                 }
             }
             //String cut = testName.substring(0, testName.indexOf(junitSuffix)); //This does not work, eg cases like _N_suffix
@@ -430,30 +485,36 @@ public class StorageManager {
 
     private void commitDatabase(Project db) {
 
-        StringWriter writer = null;
-        try {
-            writer = new StringWriter();
-            JAXBContext context = JAXBContext.newInstance(Project.class);
-            Marshaller m = context.createMarshaller();
+        /*
+         * the XML is streamed to a tmp file, which then replaces the original,
+         * so the database is never left half written
+         */
+        File current = getProjectInfoFile();
+        File tmp = new File(current.getAbsolutePath() + ".tmp");
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(tmp))) {
+            Marshaller m = getJAXBContext().createMarshaller();
             m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true); // TODO remove me!
-            m.marshal(db, writer);
+            m.marshal(db, out);
         } catch (Exception e) {
             logger.error("Failed to create XML representation: " + e.getMessage(), e);
+            tmp.delete();
+            return;
         }
 
-        /*
-         * TODO: to be safe, we should first write to tmp file, delete original, and then
-         * rename the tmp
-         */
-        File current = getProjectInfoFile();
-        current.delete();
         try {
-            FileUtils.write(current, writer.toString());
+            Files.move(tmp.toPath(), current.toPath(), StandardCopyOption.REPLACE_EXISTING);
         } catch (IOException e) {
             logger.error("Failed to write to database: " + e.getMessage(), e);
         }
     }
 
+    private static synchronized JAXBContext getJAXBContext() throws JAXBException {
+        if (jaxbContext == null) {
+            jaxbContext = JAXBContext.newInstance(Project.class);
+        }
+        return jaxbContext;
+    }
+
     private static File getProjectInfoFile() {
         return new File(Properties.CTG_DIR + File.separator + Properties.CTG_PROJECT_INFO);
     }
@@ -464,14 +525,16 @@ public class StorageManager {
      *
      * @param ondisk
      * @param db
+     * @param cutsInDb the CUTs in <code>db</code>, indexed by class name
      */
-    private void updateDatabase(String targetClass, TestsOnDisk ondisk, Project db, ProjectStaticData current) {
+    private void updateDatabase(String targetClass, TestsOnDisk ondisk, Project db, Map<String, CUT> cutsInDb,
+                                ProjectStaticData current) {
 
         String testName = targetClass + Properties.JUNIT_SUFFIX; //extractClassName(tmpTests, ondisk.testSuite);
 
         // CUT data
 
-        CUT cut = ProjectUtil.getCUT(db, targetClass);
+        CUT cut = cutsInDb.get(targetClass);
         if (cut == null) {
             // first generation
             cut = new CUT();
@@ -479,6 +542,7 @@ public class StorageManager {
             cut.setFullNameOfTestSuite(testName);
 
             db.getCut().add(cut);
+            cutsInDb.put(targetClass, cut);
         }
 
         // Generation data
@@ -538,7 +602,7 @@ public class StorageManager {
         assert ondisk.isValid();
         CsvJUnitData csv = ondisk.csvData;
 
-        if (!isBetterThanAnyExistingTestSuite(db, current, ondisk)) {
+        if (!isBetterThanAnyExistingTestSuite(cut, current, ondisk)) {
             // if the new test suite is not better than any other
             // test suite (manually written or generated), we don't
             // accept the new test suite and we just keep information
@@ -645,13 +709,13 @@ public class StorageManager {
      * it returns true (and the generated test suite is accepted),
      * false otherwise.
      *
-     * @param db
+     * @param cut the data of the CUT in the database
      * @param current
      * @param suite
      * @return true is the generated test suite is better (in terms of
      * coverage) than any existing test suite, false otherwise
      */
-    private boolean isBetterThanAnyExistingTestSuite(Project db, ProjectStaticData current, TestsOnDisk suite) {
+    private boolean isBetterThanAnyExistingTestSuite(CUT cut, ProjectStaticData current, TestsOnDisk suite) {
 
         if (suite.csvData == null) {
             // no data available
@@ -676,27 +740,19 @@ public class StorageManager {
             // or if is a project without test cases. before giving
             // up, let's check if it's better than any previous generated
             // test suite
-            return isBetterThanPreviousGeneration(db, current, suite);
+            return isBetterThanPreviousGeneration(cut, current, suite);
         }
 
-        List<String[]> rows = null;
-        try {
-            CSVReader reader = new CSVReader(new FileReader(statistics_file));
-            rows = reader.readAll();
-            reader.close();
-        } catch (IOException | CsvException e) {
-            logger.error(e.getMessage());
+        if (existingStatistics == null && !loadExistingStatistics(statistics_file)) {
             return true;
         }
 
         // select the row of the Class Under Test
         List<String[]> rowCUT = new ArrayList<>();
-        rowCUT.add(rows.get(0)); // add header (i.e., column names)
-        for (String[] row : rows) {
-            if (ArrayUtil.contains(row, suite.cut)) {
-                rowCUT.add(row);
-                break;
-            }
+        rowCUT.add(existingStatisticsHeader); // add header (i.e., column names)
+        String[] row = getExistingStatistics(suite.cut);
+        if (row != null) {
+            rowCUT.add(row);
         }
 
         if (rowCUT.size() == 1) {
@@ -704,7 +760,7 @@ public class StorageManager {
             // Test was manually removed, or if during the execution
             // of measureCoverage option something wrong happened.
             // if so, try to compare with a previous generated one
-            return isBetterThanPreviousGeneration(db, current, suite);
+            return isBetterThanPreviousGeneration(cut, current, suite);
         }
 
         // is the OverallCoverage higher?
@@ -756,6 +812,65 @@ public class StorageManager {
         return false;
     }
 
+    /**
+     * Read the statistics.csv file with the coverage of the existing test
+     * suites one row at a time, and index the rows by CUT.
+     * If the file has no TARGET_CLASS column, a row is matched by any of its
+     * values, and the first matching row is used
+     *
+     * @param statistics_file
+     * @return false if the file could not be read
+     */
+    boolean loadExistingStatistics(File statistics_file) {
+        Map<String, String[]> rows = new HashMap<>();
+        String[] header;
+        try (CSVReader reader = new CSVReader(new FileReader(statistics_file))) {
+            header = reader.readNext();
+            if (header == null) {
+                logger.error("Empty file " + statistics_file.getAbsolutePath());
+                return false;
+            }
+            int targetClassColumn = -1;
+            for (int i = 0; i < header.length; i++) {
+                if (header[i].trim().equalsIgnoreCase("TARGET_CLASS")) {
+                    targetClassColumn = i;
+                    break;
+                }
+            }
+
+            if (targetClassColumn < 0) {
+                logger.warn("No TARGET_CLASS column in " + statistics_file.getAbsolutePath()
+                        + ", matching the CUTs against all the values of each row");
+            }
+
+            String[] row;
+            while ((row = reader.readNext()) != null) {
+                if (targetClassColumn < 0) {
+                    for (String value : row) {
+                        rows.putIfAbsent(value, row);
+                    }
+                } else if (targetClassColumn < row.length) {
+                    rows.putIfAbsent(row[targetClassColumn].trim(), row);
+                }
+            }
+        } catch (IOException | CsvException e) {
+            logger.error(e.getMessage());
+            return false;
+        }
+
+        existingStatisticsHeader = header;
+        existingStatistics = rows;
+        return true;
+    }
+
+    /**
+     * @param cut
+     * @return the row of the given CUT in the loaded statistics.csv file, or null if there is none
+     */
+    String[] getExistingStatistics(String cut) {
+        return existingStatistics.get(cut);
+    }
+
     /**
      * Before accepting the new test suite this function verifies
      * whether it is better (in terms of coverage) than a previous
@@ -767,13 +882,13 @@ public class StorageManager {
      * class has not been changed it then checks if the new test
      * suite improves the coverage of the previous one.
      *
-     * @param db
+     * @param cut the data of the CUT in the database
      * @param current
      * @param suite
      * @return true if the generated test suite is better (in terms of
      * coverage) than a previous generated test suite, false otherwise
      */
-    private boolean isBetterThanPreviousGeneration(Project db, ProjectStaticData current, TestsOnDisk suite) {
+    private boolean isBetterThanPreviousGeneration(CUT cut, ProjectStaticData current, TestsOnDisk suite) {
 
         if (suite.csvData == null) {
             // no data available
@@ -789,7 +904,6 @@ public class StorageManager {
             return true;
         }
 
-        CUT cut = ProjectUtil.getCUT(db, suite.cut);
         Generation latestSuccessfulGeneration = CUTUtil.getLatestSuccessfulGeneration(cut);
         if (latestSuccessfulGeneration == null) {
             return true;
@@ -923,24 +1037,28 @@ public class StorageManager {
     public static Project getDatabaseProject() {
 
         File current = getProjectInfoFile();
-        InputStream stream = null;
         if (!current.exists()) {
-            stream = getDefaultXmlStream();
-            return getProject(current, stream);
+            return getDefaultProject(current);
         } else {
-            try {
-                stream = getCurrentXmlStream(current);
+            try (InputStream stream = new BufferedInputStream(getCurrentXmlStream(current))) {
                 return getProject(current, stream);
             } catch (Exception e) {
                 //this could happen if it was an old file, and EvoSuite did not have a proper backward compatibility
-                stream = getDefaultXmlStream();
-                return getProject(current, stream);
+                return getDefaultProject(current);
             }
         }
 
 
     }
 
+    private static Project getDefaultProject(File current) {
+        try (InputStream stream = getDefaultXmlStream()) {
+            return getProject(current, stream);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to close default project info: " + e.getMessage());
+        }
+    }
+
     private static InputStream getCurrentXmlStream(File current) {
         InputStream stream;
         try {
@@ -967,10 +1085,9 @@ public class StorageManager {
 
     private static Project getProject(File current, InputStream stream) {
         try {
-            JAXBContext jaxbContext = JAXBContext.newInstance(Project.class);
             SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
             Schema schema = factory.newSchema(new StreamSource(StorageManager.class.getResourceAsStream("/xsd/ctg_project_report.xsd")));
-            Unmarshaller jaxbUnmarshaller = jaxbContext.createUnmarshaller();
+            Unmarshaller jaxbUnmarshaller = getJAXBContext().createUnmarshaller();
             jaxbUnmarshaller.setSchema(schema);
             return (Project) jaxbUnmarshaller.unmarshal(stream);
         } catch (Exception e) {
@@ -0,0 +1,296 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.continuous.project;
+
+import org.evosuite.Properties;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.classpath.ResourceList;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.FieldNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.util.Textifier;
+import org.objectweb.asm.util.TraceMethodVisitor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * <p>
+ * Index of the structure of the bytecode of the classes in the project, used
+ * to find out which classes were modified since the previous CTG run.
+ * </p>
+ *
+ * <p>
+ * For each class, it keeps a hash of each of its methods and a hash of the
+ * whole class. Debug information (eg, line numbers) is not part of the hashes,
+ * so classes that are only moved around in their source file are not
+ * considered as modified. Furthermore, for each class it keeps the CUTs that
+ * depend on it (as input or as subclass), as a class also needs new tests when
+ * one of its dependencies is modified.
+ * </p>
+ */
+public class ChangeIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeIndex.class);
+
+    public static final String CHANGE_INDEX_FILE_NAME = "change_index.txt";
+
+    private static final String CLASS_ENTRY = "C";
+    private static final String METHOD_ENTRY = "M";
+    private static final String DEPENDENT_ENTRY = "D";
+
+    /**
+     * Key -> full class name, Value -> hash of the class
+     */
+    private final Map<String, String> classHashes = new TreeMap<>();
+
+    /**
+     * Key -> full class name, Value -> hash of each method (name and descriptor)
+     */
+    private final Map<String, Map<String, String>> methodHashes = new TreeMap<>();
+
+    /**
+     * Key -> full class name, Value -> CUTs depending on it
+     */
+    private final Map<String, Set<String>> dependents = new TreeMap<>();
+
+    public static File getIndexFile() {
+        return new File(Properties.CTG_DIR + File.separator + CHANGE_INDEX_FILE_NAME);
+    }
+
+    /**
+     * Load the index stored by a previous CTG run. If there is none,
+     * an empty index is returned
+     *
+     * @param file
+     * @return
+     */
+    public static ChangeIndex load(File file) {
+        ChangeIndex index = new ChangeIndex();
+        if (!file.exists()) {
+            logger.info("No change index from previous CTG runs in " + file.getAbsolutePath());
+            return index;
+        }
+
+        try (BufferedReader in = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] split = line.split("\t");
+                if (split[0].equals(CLASS_ENTRY) && split.length == 3) {
+                    index.classHashes.put(split[1], split[2]);
+                } else if (split[0].equals(METHOD_ENTRY) && split.length == 4) {
+                    index.methodHashes.computeIfAbsent(split[1], c -> new TreeMap<>()).put(split[2], split[3]);
+                } else if (split[0].equals(DEPENDENT_ENTRY) && split.length == 3) {
+                    index.dependents.computeIfAbsent(split[1], c -> new TreeSet<>()).add(split[2]);
+                } else {
+                    logger.warn("Invalid entry in " + file.getName() + ": " + line);
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Failed to read change index, all classes are considered as modified: " + e.getMessage());
+            return new ChangeIndex();
+        }
+        return index;
+    }
+
+    public void store(File file) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8))) {
+            for (Map.Entry<String, String> entry : classHashes.entrySet()) {
+                out.println(CLASS_ENTRY + "\t" + entry.getKey() + "\t" + entry.getValue());
+            }
+            for (Map.Entry<String, Map<String, String>> entry : methodHashes.entrySet()) {
+                for (Map.Entry<String, String> method : entry.getValue().entrySet()) {
+                    out.println(METHOD_ENTRY + "\t" + entry.getKey() + "\t" + method.getKey() + "\t" + method.getValue());
+                }
+            }
+            for (Map.Entry<String, Set<String>> entry : dependents.entrySet()) {
+                for (String dependent : entry.getValue()) {
+                    out.println(DEPENDENT_ENTRY + "\t" + entry.getKey() + "\t" + dependent);
+                }
+            }
+        }
+    }
+
+    /**
+     * Compute the hashes of the given class, reading its bytecode from the SUT classpath
+     *
+     * @param className
+     * @return false if the bytecode of the class could not be read
+     */
+    public boolean addClass(String className) {
+        InputStream stream = ResourceList.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT())
+                .getClassAsStream(className);
+        if (stream == null) {
+            logger.warn("Could not find class file of " + className);
+            return false;
+        }
+        try (InputStream bytecode = stream) {
+            addClass(className, bytecode);
+            return true;
+        } catch (IOException e) {
+            logger.warn("Could not read class file of " + className + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    protected void addClass(String className, InputStream bytecode) throws IOException {
+        ClassNode cn = new ClassNode();
+        new ClassReader(bytecode).accept(cn, ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+
+        Map<String, String> methods = new TreeMap<>();
+        for (MethodNode mn : cn.methods) {
+            Textifier textifier = new Textifier();
+            mn.accept(new TraceMethodVisitor(textifier));
+            StringWriter text = new StringWriter();
+            textifier.print(new PrintWriter(text));
+            methods.put(mn.name + mn.desc, hash(mn.access + " " + mn.signature + " " + mn.exceptions + "\n" + text));
+        }
+
+        StringBuilder structure = new StringBuilder();
+        structure.append(cn.access).append(' ').append(cn.name).append(' ').append(cn.signature)
+                .append(' ').append(cn.superName).append(' ').append(new TreeSet<>(cn.interfaces)).append('\n');
+        Set<String> fields = new TreeSet<>();
+        for (FieldNode fn : cn.fields) {
+            fields.add(fn.access + " " + fn.name + " " + fn.desc + " " + fn.signature + " " + fn.value);
+        }
+        structure.append(fields).append('\n');
+        structure.append(methods).append('\n');
+
+        classHashes.put(className, hash(structure.toString()));
+        methodHashes.put(className, methods);
+    }
+
+    /**
+     * Build the reverse dependencies of the given CUTs, ie, for each class, which CUTs
+     * use it as input or extend it
+     *
+     * @param graph
+     * @param cuts
+     */
+    public void computeDependents(ProjectGraph graph, Collection<String> cuts) {
+        for (String cut : cuts) {
+            Set<String> dependencies = new LinkedHashSet<>();
+            try {
+                dependencies.addAll(graph.getCUTsDirectlyUsedAsInput(cut, true));
+                dependencies.addAll(graph.getAllCUTsParents(cut));
+            } catch (IllegalArgumentException e) {
+                // not a CUT
+                continue;
+            }
+            for (String dependency : dependencies) {
+                dependents.computeIfAbsent(dependency, c -> new TreeSet<>()).add(cut);
+            }
+        }
+    }
+
+    public String getClassHash(String className) {
+        return classHashes.get(className);
+    }
+
+    /**
+     * @param className
+     * @return the CUTs depending on the given class
+     */
+    public Set<String> getDependents(String className) {
+        return dependents.getOrDefault(className, Collections.emptySet());
+    }
+
+    /**
+     * @param className
+     * @param previous
+     * @return the methods of the class that are new or were modified since the <code>previous</code> index
+     */
+    public Set<String> getModifiedMethods(String className, ChangeIndex previous) {
+        Map<String, String> current = methodHashes.getOrDefault(className, Collections.emptyMap());
+        Map<String, String> old = previous.methodHashes.getOrDefault(className, Collections.emptyMap());
+        Set<String> modified = new TreeSet<>();
+        for (Map.Entry<String, String> entry : current.entrySet()) {
+            if (!entry.getValue().equals(old.get(entry.getKey()))) {
+                modified.add(entry.getKey());
+            }
+        }
+        return modified;
+    }
+
+    /**
+     * Find the classes in this index that need new tests compared to the <code>previous</code> index,
+     * ie, the ones that are new or were modified, plus the ones depending on a class that
+     * was modified or removed
+     *
+     * @param previous
+     * @return
+     */
+    public Set<String> getChangedClasses(ChangeIndex previous) {
+        Set<String> modified = new LinkedHashSet<>();
+        for (Map.Entry<String, String> entry : classHashes.entrySet()) {
+            if (!entry.getValue().equals(previous.getClassHash(entry.getKey()))) {
+                modified.add(entry.getKey());
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Modified class " + entry.getKey() + ", methods: "
+                            + getModifiedMethods(entry.getKey(), previous));
+                }
+            }
+        }
+
+        Set<String> changed = new LinkedHashSet<>(modified);
+        for (String className : modified) {
+            changed.addAll(getDependents(className));
+        }
+        for (String className : previous.classHashes.keySet()) {
+            if (!classHashes.containsKey(className)) {
+                // removed class
+                changed.addAll(previous.getDependents(className));
+            }
+        }
+        changed.retainAll(classHashes.keySet());
+        return changed;
+    }
+
+    /**
+     * Forget the given class, so that it will be considered as modified in the next CTG run
+     *
+     * @param className
+     */
+    public void removeClass(String className) {
+        classHashes.remove(className);
+        methodHashes.remove(className);
+    }
+
+    private static String hash(String text) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest(text.getBytes(StandardCharsets.UTF_8))) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+}
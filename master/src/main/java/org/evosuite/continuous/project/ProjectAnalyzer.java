@@ -239,12 +239,41 @@ public class ProjectAnalyzer {
             data.addNewClass(ci);
 
             if (Properties.CTG_SCHEDULE == AvailableSchedule.HISTORY) {
-                ci.setChanged(data.hasChanged(theClass.getCanonicalName() + ".java"));
+                if (!Properties.CTG_CHANGE_INDEX) {
+                    ci.setChanged(data.hasChanged(theClass.getCanonicalName() + ".java"));
+                }
                 ci.isToTest(data.isToTest(theClass.getCanonicalName(), HistorySchedule.COMMIT_IMPROVEMENT));
             }
         }
 
+        if (Properties.CTG_SCHEDULE == AvailableSchedule.HISTORY && Properties.CTG_CHANGE_INDEX) {
+            updateChangeIndex(data);
+        }
+
         return data;
     }
+
+    /**
+     * Mark as changed the CUTs whose bytecode, or the bytecode of
+     * the CUTs they depend on, is different from the previous CTG run
+     *
+     * @param data
+     */
+    private void updateChangeIndex(ProjectStaticData data) {
+        ChangeIndex previous = ChangeIndex.load(ChangeIndex.getIndexFile());
+        ChangeIndex current = new ChangeIndex();
+        for (String className : data.getClassNames()) {
+            current.addClass(className);
+        }
+        current.computeDependents(data.getProjectGraph(), data.getClassNames());
+
+        Set<String> changed = current.getChangedClasses(previous);
+        logger.info("Number of modified classes since previous CTG run: " + changed.size());
+
+        for (ClassInfo ci : data.getClassInfos()) {
+            ci.setChanged(changed.contains(ci.getClassName()));
+        }
+        data.setChangeIndex(current);
+    }
 }
 
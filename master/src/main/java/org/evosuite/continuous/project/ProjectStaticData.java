@@ -75,6 +75,9 @@ public class ProjectStaticData {
     private ProjectGraph graph = null;
 
 
+    private ChangeIndex changeIndex = null;
+
+
     public ProjectStaticData() {
         classes = new ConcurrentHashMap<>();
         this.modifiedFiles = new LinkedHashSet<>();
@@ -84,6 +87,9 @@ public class ProjectStaticData {
     public void initializeLocalHistory() {
         if (Properties.CTG_HISTORY_FILE == null) {
             logger.info("ctg history file is not set");
+            if (Properties.CTG_CHANGE_INDEX) {
+                this.project = StorageManager.getDatabaseProject();
+            }
             return;
         }
 
@@ -299,6 +305,18 @@ public class ProjectStaticData {
         this.project = project;
     }
 
+    /**
+     * @return the index of the bytecode of the CUTs, or null if
+     * the change detection is not based on bytecode
+     */
+    public ChangeIndex getChangeIndex() {
+        return changeIndex;
+    }
+
+    protected void setChangeIndex(ChangeIndex changeIndex) {
+        this.changeIndex = changeIndex;
+    }
+
     /**
      * It checks whether EvoSuite was able to improve coverage,
      * test suite size, etc for 'className' in the last N
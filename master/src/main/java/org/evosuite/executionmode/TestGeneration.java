@@ -29,6 +29,7 @@ import org.evosuite.Properties.Strategy;
 import org.evosuite.classpath.ClassPathHacker;
 import org.evosuite.classpath.ClassPathHandler;
 import org.evosuite.classpath.ResourceList;
+import org.evosuite.continuous.job.CoverageProgressReporter;
 import org.evosuite.instrumentation.BytecodeInstrumentation;
 import org.evosuite.result.TestGenerationResult;
 import org.evosuite.result.TestGenerationResultBuilder;
@@ -512,6 +513,7 @@ public class TestGeneration {
                  * The clients have started, and connected back to Master.
                  * So now we just need to tell them to start a search
                  */
+                CoverageProgressReporter.startReporting();
                 for (ClientNodeRemote client : clients) {
                     try {
                         client.startNewSearch();
@@ -26,6 +26,7 @@ import org.evosuite.ga.Chromosome;
 import org.evosuite.result.TestGenerationResult;
 import org.evosuite.statistics.RuntimeVariable;
 import org.evosuite.statistics.SearchStatistics;
+import org.evosuite.statistics.StatisticsEvent;
 import org.evosuite.utils.Listener;
 import org.evosuite.utils.LoggingUtils;
 import org.slf4j.Logger;
@@ -158,6 +159,20 @@ public class MasterNodeImpl implements MasterNodeRemote, MasterNodeLocal {
         }
     }
 
+    @Override
+    public void cancelClientsInSearch() {
+        for (Map.Entry<String, ClientNodeRemote> entry : clients.entrySet()) {
+            if (clientStates.get(entry.getKey()) != ClientState.SEARCH) {
+                continue;
+            }
+            try {
+                entry.getValue().cancelCurrentSearch();
+            } catch (RemoteException e) {
+                logger.warn("Error while trying to stop the search of client " + entry.getKey() + ": " + e);
+            }
+        }
+    }
+
     @Override
     public void evosuite_collectStatistics(String clientRmiIdentifier, Chromosome<?> individual) {
         SearchStatistics.getInstance(clientRmiIdentifier).currentIndividual(individual);
@@ -169,6 +184,15 @@ public class MasterNodeImpl implements MasterNodeRemote, MasterNodeLocal {
         SearchStatistics.getInstance(clientRmiIdentifier).setOutputVariable(variable, value);
     }
 
+    @Override
+    public void evosuite_collectStatisticsEvents(String clientRmiIdentifier, List<StatisticsEvent> events)
+            throws RemoteException {
+        SearchStatistics statistics = SearchStatistics.getInstance(clientRmiIdentifier);
+        for (StatisticsEvent event : events) {
+            statistics.currentStatistics(event);
+        }
+    }
+
     @Override
     public void evosuite_collectTestGenerationResult(
             String clientRmiIdentifier, List<TestGenerationResult> results)
@@ -42,4 +42,10 @@ public interface MasterNodeLocal extends Listenable<ClientStateInformation> {
     Map<String, ClientNodeRemote> getClientsOnceAllConnected(long timeoutInMs) throws InterruptedException;
 
     void cancelAllClients();
+
+    /**
+     * Stop the search of the clients currently in {@link ClientState#SEARCH},
+     * leaving the other clients alone
+     */
+    void cancelClientsInSearch();
 }
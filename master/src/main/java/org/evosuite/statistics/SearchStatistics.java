@@ -75,6 +75,12 @@ public class SearchStatistics implements Listener<ClientStateInformation> {
      */
     private TestSuiteChromosome bestIndividual = null;
 
+    /**
+     * Statistics of the best individual received so far. During the search
+     * only these are sent, not the individual itself
+     */
+    private StatisticsEvent bestStatistics = null;
+
     /**
      * Backend used to output the data
      */
@@ -197,11 +203,30 @@ public class SearchStatistics implements Listener<ClientStateInformation> {
 
         logger.debug("Received individual");
         bestIndividual = (TestSuiteChromosome) individual;
+        updateVariables(new StatisticsEvent(bestIndividual));
+    }
+
+    /**
+     * This method is called when the statistics of an individual are sent from a client
+     * during the search, i.e., without the individual itself.
+     *
+     * @param event statistics of the best individual at the time of the event
+     */
+    public void currentStatistics(StatisticsEvent event) {
+        if (backend == null)
+            return;
+
+        logger.debug("Received statistics of individual");
+        updateVariables(event);
+    }
+
+    private void updateVariables(StatisticsEvent event) {
+        bestStatistics = event;
         for (ChromosomeOutputVariableFactory<?> v : variableFactories.values()) {
-            setOutputVariable(v.getVariable((TestSuiteChromosome) individual));
+            setOutputVariable(v.getVariable(event));
         }
         for (SequenceOutputVariableFactory<?> v : sequenceOutputVariableFactories.values()) {
-            v.update((TestSuiteChromosome) individual);
+            v.update(event);
         }
     }
 
@@ -292,19 +317,19 @@ public class SearchStatistics implements Listener<ClientStateInformation> {
     /**
      * Shorthand for getOutputVariables(individual, false)
      */
-    private Map<String, OutputVariable<?>> getOutputVariables(TestSuiteChromosome individual) {
+    private Map<String, OutputVariable<?>> getOutputVariables(StatisticsEvent individual) {
         return getOutputVariables(individual, false);
     }
 
     /**
-     * Extract output variables from input <code>individual</code>.
+     * Extract output variables from the statistics of input <code>individual</code>.
      * Add also all the other needed search-level variables.
      *
      * @param individual
      * @param skip_missing whether or not to skip missing output variables
      * @return <code>null</code> if some data is missing
      */
-    private Map<String, OutputVariable<?>> getOutputVariables(TestSuiteChromosome individual, boolean skip_missing) {
+    private Map<String, OutputVariable<?>> getOutputVariables(StatisticsEvent individual, boolean skip_missing) {
         Map<String, OutputVariable<?>> variables = new LinkedHashMap<>();
 
         for (String variableName : getOutputVariableNames()) {
@@ -349,14 +374,20 @@ public class SearchStatistics implements Listener<ClientStateInformation> {
 
         outputVariables.put(RuntimeVariable.Total_Time.name(), new OutputVariable<Object>(RuntimeVariable.Total_Time.name(), System.currentTimeMillis() - startTime));
 
-        if (bestIndividual == null) {
+        if (bestStatistics == null) {
             logger.error("No statistics has been saved because EvoSuite failed to generate any test case");
             return false;
         }
 
         TestSuiteChromosome individual = bestIndividual;
+        if (individual == null) {
+            // eg, the client stopped before the end of the search
+            logger.warn("Writing the last statistics received during the search, as the final test suite is missing");
+            individual = new TestSuiteChromosome();
+        }
+        StatisticsEvent statistics = bestStatistics;
 
-        Map<String, OutputVariable<?>> map = getOutputVariables(individual);
+        Map<String, OutputVariable<?>> map = getOutputVariables(statistics);
         if (map == null) {
 
             try {
@@ -380,13 +411,13 @@ public class SearchStatistics implements Listener<ClientStateInformation> {
                     }
 
                     //retry
-                    map = getOutputVariables(individual);
+                    map = getOutputVariables(statistics);
                     counter++;
                 }
             }
 
             if (map == null && Properties.IGNORE_MISSING_STATISTICS) {
-                map = getOutputVariables(individual, true);
+                map = getOutputVariables(statistics, true);
             }
 
             if (map == null) {
@@ -420,7 +451,7 @@ public class SearchStatistics implements Listener<ClientStateInformation> {
         outputVariables.put(RuntimeVariable.Total_Time.name(), new OutputVariable<Object>(RuntimeVariable.Total_Time.name(), System.currentTimeMillis() - startTime));
 
         TestSuiteChromosome individual = new TestSuiteChromosome();
-        Map<String, OutputVariable<?>> map = getOutputVariables(individual);
+        Map<String, OutputVariable<?>> map = getOutputVariables(new StatisticsEvent(individual));
         if (map == null) {
             logger.error("Not going to write down statistics data, as some are missing");
             return false;
@@ -476,7 +507,7 @@ public class SearchStatistics implements Listener<ClientStateInformation> {
         }
 
         @Override
-        protected Integer getData(TestSuiteChromosome individual) {
+        protected Integer getData(StatisticsEvent individual) {
             return individual.totalLengthOfTestCases();
         }
     }
@@ -490,7 +521,7 @@ public class SearchStatistics implements Listener<ClientStateInformation> {
         }
 
         @Override
-        protected Integer getData(TestSuiteChromosome individual) {
+        protected Integer getData(StatisticsEvent individual) {
             return individual.size();
         }
     }
@@ -504,7 +535,7 @@ public class SearchStatistics implements Listener<ClientStateInformation> {
         }
 
         @Override
-        protected Double getData(TestSuiteChromosome individual) {
+        protected Double getData(StatisticsEvent individual) {
             return individual.getFitness();
         }
     }
@@ -518,7 +549,7 @@ public class SearchStatistics implements Listener<ClientStateInformation> {
         }
 
         @Override
-        protected Double getData(TestSuiteChromosome individual) {
+        protected Double getData(StatisticsEvent individual) {
             return individual.getCoverage();
         }
     }
@@ -533,7 +564,7 @@ public class SearchStatistics implements Listener<ClientStateInformation> {
         }
 
         @Override
-        protected Double getValue(TestSuiteChromosome individual) {
+        protected Double getValue(StatisticsEvent individual) {
             return individual.getFitness();
         }
     }
@@ -548,7 +579,7 @@ public class SearchStatistics implements Listener<ClientStateInformation> {
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsEvent individual) {
             return individual.getCoverage();
         }
     }
@@ -563,7 +594,7 @@ public class SearchStatistics implements Listener<ClientStateInformation> {
         }
 
         @Override
-        public Integer getValue(TestSuiteChromosome individual) {
+        public Integer getValue(StatisticsEvent individual) {
             return individual.size();
         }
     }
@@ -578,7 +609,7 @@ public class SearchStatistics implements Listener<ClientStateInformation> {
         }
 
         @Override
-        public Integer getValue(TestSuiteChromosome individual) {
+        public Integer getValue(StatisticsEvent individual) {
             return individual.totalLengthOfTestCases();
         }
     }
@@ -593,7 +624,7 @@ public class SearchStatistics implements Listener<ClientStateInformation> {
         }
 
         @Override
-        public Integer getValue(TestSuiteChromosome individual) {
+        public Integer getValue(StatisticsEvent individual) {
             return individual.getNumOfNotCoveredGoals();
         }
     }
@@ -605,7 +636,7 @@ public class SearchStatistics implements Listener<ClientStateInformation> {
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsEvent individual) {
             return individual.getCoverageInstanceOf(BranchCoverageSuiteFitness.class);
         }
     }
@@ -617,7 +648,7 @@ public class SearchStatistics implements Listener<ClientStateInformation> {
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsEvent individual) {
             return individual.getFitnessInstanceOf(OnlyBranchCoverageSuiteFitness.class);
         }
     }
@@ -629,7 +660,7 @@ public class SearchStatistics implements Listener<ClientStateInformation> {
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsEvent individual) {
             return individual.getCoverageInstanceOf(OnlyBranchCoverageSuiteFitness.class);
         }
     }
@@ -641,7 +672,7 @@ public class SearchStatistics implements Listener<ClientStateInformation> {
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsEvent individual) {
             return individual.getFitnessInstanceOf(CBranchSuiteFitness.class);
         }
     }
@@ -653,7 +684,7 @@ public class SearchStatistics implements Listener<ClientStateInformation> {
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsEvent individual) {
             return individual.getCoverageInstanceOf(CBranchSuiteFitness.class);
         }
     }
@@ -665,7 +696,7 @@ public class SearchStatistics implements Listener<ClientStateInformation> {
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsEvent individual) {
             return individual.getFitnessInstanceOf(MethodTraceCoverageSuiteFitness.class);
         }
     }
@@ -677,7 +708,7 @@ public class SearchStatistics implements Listener<ClientStateInformation> {
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsEvent individual) {
             return individual.getCoverageInstanceOf(MethodTraceCoverageSuiteFitness.class);
         }
     }
@@ -689,7 +720,7 @@ public class SearchStatistics implements Listener<ClientStateInformation> {
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsEvent individual) {
             return individual.getFitnessInstanceOf(MethodCoverageSuiteFitness.class);
         }
     }
@@ -701,7 +732,7 @@ public class SearchStatistics implements Listener<ClientStateInformation> {
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsEvent individual) {
             return individual.getCoverageInstanceOf(MethodCoverageSuiteFitness.class);
         }
     }
@@ -713,7 +744,7 @@ public class SearchStatistics implements Listener<ClientStateInformation> {
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsEvent individual) {
             return individual.getFitnessInstanceOf(MethodNoExceptionCoverageSuiteFitness.class);
         }
     }
@@ -725,7 +756,7 @@ public class SearchStatistics implements Listener<ClientStateInformation> {
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsEvent individual) {
             return individual.getCoverageInstanceOf(MethodNoExceptionCoverageSuiteFitness.class);
         }
     }
@@ -737,7 +768,7 @@ public class SearchStatistics implements Listener<ClientStateInformation> {
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsEvent individual) {
             Double d = individual.getFitnessInstanceOf(RhoCoverageSuiteFitness.class);
             return d > 1.0 ? 0.0 : d;
         }
@@ -750,7 +781,7 @@ public class SearchStatistics implements Listener<ClientStateInformation> {
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsEvent individual) {
             return individual.getFitnessInstanceOf(AmbiguityCoverageSuiteFitness.class);
         }
     }
@@ -762,7 +793,7 @@ public class SearchStatistics implements Listener<ClientStateInformation> {
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsEvent individual) {
             return individual.getFitnessInstanceOf(LineCoverageSuiteFitness.class);
         }
     }
@@ -774,7 +805,7 @@ public class SearchStatistics implements Listener<ClientStateInformation> {
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsEvent individual) {
             return individual.getCoverageInstanceOf(LineCoverageSuiteFitness.class);
         }
     }
@@ -786,7 +817,7 @@ public class SearchStatistics implements Listener<ClientStateInformation> {
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsEvent individual) {
             return individual.getFitnessInstanceOf(OutputCoverageSuiteFitness.class);
         }
     }
@@ -798,7 +829,7 @@ public class SearchStatistics implements Listener<ClientStateInformation> {
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsEvent individual) {
             return individual.getCoverageInstanceOf(OutputCoverageSuiteFitness.class);
         }
     }
@@ -810,7 +841,7 @@ public class SearchStatistics implements Listener<ClientStateInformation> {
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsEvent individual) {
             return individual.getFitnessInstanceOf(InputCoverageSuiteFitness.class);
         }
     }
@@ -822,7 +853,7 @@ public class SearchStatistics implements Listener<ClientStateInformation> {
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsEvent individual) {
             return individual.getCoverageInstanceOf(InputCoverageSuiteFitness.class);
         }
     }
@@ -834,7 +865,7 @@ public class SearchStatistics implements Listener<ClientStateInformation> {
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsEvent individual) {
             return individual.getFitnessInstanceOf(ExceptionCoverageSuiteFitness.class);
         }
     }
@@ -846,7 +877,7 @@ public class SearchStatistics implements Listener<ClientStateInformation> {
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsEvent individual) {
             return individual.getCoverageInstanceOf(ExceptionCoverageSuiteFitness.class);
         }
     }
@@ -858,7 +889,7 @@ public class SearchStatistics implements Listener<ClientStateInformation> {
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsEvent individual) {
             return individual.getCoverageInstanceOf(WeakMutationSuiteFitness.class);
         }
     }
@@ -870,7 +901,7 @@ public class SearchStatistics implements Listener<ClientStateInformation> {
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsEvent individual) {
             return individual.getFitnessInstanceOf(OnlyMutationSuiteFitness.class);
         }
     }
@@ -882,7 +913,7 @@ public class SearchStatistics implements Listener<ClientStateInformation> {
         }
 
         @Override
-        public Double getValue(TestSuiteChromosome individual) {
+        public Double getValue(StatisticsEvent individual) {
             return individual.getCoverageInstanceOf(OnlyMutationSuiteFitness.class);
         }
     }
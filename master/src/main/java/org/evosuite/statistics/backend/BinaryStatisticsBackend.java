@@ -0,0 +1,287 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.statistics.backend;
+
+import org.evosuite.ga.Chromosome;
+import org.evosuite.statistics.OutputVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * This statistics backend writes all (selected) output variables to a binary file.
+ * Compared to the CSV backend, the names of the variables are not repeated
+ * in each row, but stored once per set of variables (ie, schema) in a separate
+ * schema file, and numbers are stored in binary form.
+ * This makes a difference when there are many rows with many timeline variables.
+ * </p>
+ *
+ * <p>
+ * Several processes can append to the same files, as each row is written
+ * while holding an exclusive lock on the schema file.
+ * Each row ends with a commit marker, so that the partial row left by a process
+ * killed while writing can be detected and removed by the next writer.
+ * The files can be read back with {@link BinaryStatisticsReader}.
+ * </p>
+ */
+public class BinaryStatisticsBackend implements StatisticsBackend {
+
+    private static final Logger logger = LoggerFactory.getLogger(BinaryStatisticsBackend.class);
+
+    public static final String DATA_FILE_NAME = "statistics.bin";
+
+    public static final String SCHEMA_FILE_NAME = "statistics_schema.bin";
+
+    protected static final int MAGIC = 0x45564f53; // "EVOS"
+
+    /**
+     * Written after each complete row
+     */
+    protected static final int ROW_END = 0x524f5745; // "ROWE"
+
+    protected static final byte TYPE_NULL = 0;
+    protected static final byte TYPE_LONG = 1;
+    protected static final byte TYPE_DOUBLE = 2;
+    protected static final byte TYPE_BOOLEAN = 3;
+    protected static final byte TYPE_STRING = 4;
+
+    /**
+     * File locks are held by the whole JVM, so threads of the same
+     * process need to be synchronized as well
+     */
+    static final Object LOCK = new Object();
+
+    @Override
+    public void writeData(Chromosome<?> result, Map<String, OutputVariable<?>> data) {
+        File outputDir = CSVStatisticsBackend.getReportDir();
+        File schemaFile = new File(outputDir, SCHEMA_FILE_NAME);
+        File dataFile = new File(outputDir, DATA_FILE_NAME);
+
+        List<String> names = new ArrayList<>(data.keySet());
+
+        synchronized (LOCK) {
+            try (RandomAccessFile schemaRaf = new RandomAccessFile(schemaFile, "rw");
+                 FileChannel schemaChannel = schemaRaf.getChannel();
+                 FileLock lock = schemaChannel.lock();
+                 RandomAccessFile dataRaf = new RandomAccessFile(dataFile, "rw");
+                 FileChannel dataChannel = dataRaf.getChannel()) {
+
+                int schemaId = getOrAddSchema(schemaRaf, names);
+
+                if (dataChannel.size() < 4L) {
+                    dataChannel.truncate(0L);
+                    writeFully(dataChannel, (ByteBuffer) ByteBuffer.allocate(4).putInt(MAGIC).flip(), 0L);
+                }
+                long size = dataChannel.size();
+                long end = getCommittedLength(dataChannel, size);
+                if (end < size) {
+                    logger.warn("Removing the partial row at the end of " + dataFile.getAbsolutePath());
+                    dataChannel.truncate(end);
+                }
+                writeFully(dataChannel, encodeRow(schemaId, data), end);
+
+            } catch (IOException e) {
+                logger.warn("Error while writing statistics: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Find the id of the schema with the given variable names, adding it
+     * to the schema file if it is not there yet
+     *
+     * @param schemaRaf
+     * @param names
+     * @return
+     * @throws IOException
+     */
+    private static int getOrAddSchema(RandomAccessFile schemaRaf, List<String> names) throws IOException {
+        if (schemaRaf.length() == 0L) {
+            schemaRaf.writeInt(MAGIC);
+        }
+
+        List<List<String>> schemas = BinaryStatisticsReader.readSchemas(schemaRaf);
+        long length = 4L;
+        for (List<String> schema : schemas) {
+            length += encodeSchema(schema).length;
+        }
+        if (schemaRaf.length() > length) {
+            // partial schema of a process killed while writing
+            schemaRaf.setLength(length);
+        }
+
+        int id = schemas.indexOf(names);
+        if (id >= 0) {
+            return id;
+        }
+
+        schemaRaf.seek(length);
+        schemaRaf.write(encodeSchema(names));
+        return schemas.size();
+    }
+
+    private static byte[] encodeSchema(List<String> names) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(names.size());
+        for (String name : names) {
+            writeString(out, name);
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Find the end of the last complete row. Only the last row is checked,
+     * unless it is partial, in which case the rows are scanned from the start
+     *
+     * @param channel
+     * @param size
+     * @return
+     * @throws IOException
+     */
+    private static long getCommittedLength(FileChannel channel, long size) throws IOException {
+        if (isRowEnd(channel, size)) {
+            return size;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(4);
+        long position = 4L;
+        while (position + 4 <= size) {
+            header.clear();
+            readFully(channel, header, position);
+            int length = header.getInt(0);
+            long end = position + 4 + length + 8;
+            if (length < 4 || end > size || !isRowEnd(channel, end)) {
+                break;
+            }
+            position = end;
+        }
+        return position;
+    }
+
+    /**
+     * Check whether a complete row ends at the given position, ie whether it is
+     * preceded by a commit marker and by the length of a row starting with the same length
+     */
+    private static boolean isRowEnd(FileChannel channel, long end) throws IOException {
+        if (end == 4L) {
+            return true; // no row yet
+        }
+        if (end < 20L) {
+            return false;
+        }
+
+        ByteBuffer trailer = ByteBuffer.allocate(8);
+        readFully(channel, trailer, end - 8);
+        int length = trailer.getInt(0);
+        if (trailer.getInt(4) != ROW_END || length < 4 || end - 12 - length < 4) {
+            return false;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(4);
+        readFully(channel, header, end - 12 - length);
+        return header.getInt(0) == length;
+    }
+
+    /**
+     * A row is made of its length in bytes (without the length itself), the id of
+     * its schema, one tagged value per variable of the schema, and a trailer
+     * repeating the length followed by the commit marker
+     *
+     * @param schemaId
+     * @param data
+     * @return
+     * @throws IOException
+     */
+    private static ByteBuffer encodeRow(int schemaId, Map<String, OutputVariable<?>> data) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0); // placeholder for the length
+        out.writeInt(schemaId);
+
+        for (OutputVariable<?> variable : data.values()) {
+            Object value = variable.getValue();
+            if (value == null) {
+                out.writeByte(TYPE_NULL);
+            } else if (value instanceof Double || value instanceof Float) {
+                out.writeByte(TYPE_DOUBLE);
+                out.writeDouble(((Number) value).doubleValue());
+            } else if (value instanceof Long || value instanceof Integer
+                    || value instanceof Short || value instanceof Byte) {
+                out.writeByte(TYPE_LONG);
+                out.writeLong(((Number) value).longValue());
+            } else if (value instanceof Boolean) {
+                out.writeByte(TYPE_BOOLEAN);
+                out.writeBoolean((Boolean) value);
+            } else {
+                out.writeByte(TYPE_STRING);
+                writeString(out, value.toString());
+            }
+        }
+        int length = out.size() - 4;
+        out.writeInt(length);
+        out.writeInt(ROW_END);
+        out.flush();
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        buffer.putInt(0, length);
+        return buffer;
+    }
+
+    /**
+     * Not using writeUTF, as strings like coverage bit strings can be longer than 64K
+     */
+    private static void writeString(DataOutputStream out, String string) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException();
+            }
+            position += read;
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+}
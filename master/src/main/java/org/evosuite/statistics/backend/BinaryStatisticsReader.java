@@ -0,0 +1,226 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.statistics.backend;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Read the statistics written by {@link BinaryStatisticsBackend}.
+ * The files are read while holding a shared lock on the schema file,
+ * so that the rows being written by other processes are not seen
+ */
+public class BinaryStatisticsReader {
+
+    private static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    private List<List<String>> schemas;
+
+    private final File schemaFile;
+
+    private final File dataFile;
+
+    /**
+     * Bytes of the data file mapped at a time. Mappings are limited to 2GB,
+     * and the data file can be larger than that
+     */
+    private final int windowSize;
+
+    /**
+     * @param reportDir the folder containing the statistics files
+     * @throws IOException if the schema file cannot be read
+     */
+    public BinaryStatisticsReader(File reportDir) throws IOException {
+        this(reportDir, DEFAULT_WINDOW_SIZE);
+    }
+
+    BinaryStatisticsReader(File reportDir, int windowSize) throws IOException {
+        this.windowSize = windowSize;
+        this.schemaFile = new File(reportDir, BinaryStatisticsBackend.SCHEMA_FILE_NAME);
+        this.dataFile = new File(reportDir, BinaryStatisticsBackend.DATA_FILE_NAME);
+        synchronized (BinaryStatisticsBackend.LOCK) {
+            try (RandomAccessFile raf = new RandomAccessFile(schemaFile, "r");
+                 FileChannel channel = raf.getChannel();
+                 FileLock lock = channel.lock(0L, Long.MAX_VALUE, true)) {
+                this.schemas = readSchemas(raf);
+            }
+        }
+    }
+
+    /**
+     * @return the different sets of variable names used in the rows
+     */
+    public List<List<String>> getSchemas() {
+        return schemas;
+    }
+
+    /**
+     * Read the rows one at a time, each one as a map from variable name to value.
+     * The data file is memory mapped in windows, so that files with millions of
+     * rows can be read without holding them in memory.
+     * The schemas are read again, as other processes might have added some.
+     * Other processes cannot write rows until all the rows are consumed
+     *
+     * @param consumer called on each row, in the order they were written
+     * @throws IOException if the data file cannot be read or is corrupted
+     */
+    public void forEachRow(Consumer<Map<String, Object>> consumer) throws IOException {
+        synchronized (BinaryStatisticsBackend.LOCK) {
+            try (RandomAccessFile schemaRaf = new RandomAccessFile(schemaFile, "r");
+                 FileChannel schemaChannel = schemaRaf.getChannel();
+                 FileLock lock = schemaChannel.lock(0L, Long.MAX_VALUE, true)) {
+                schemas = readSchemas(schemaRaf);
+                readRowsWhileLocked(consumer);
+            }
+        }
+    }
+
+    private void readRowsWhileLocked(Consumer<Map<String, Object>> consumer) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(dataFile, "r");
+             FileChannel channel = raf.getChannel()) {
+            long size = channel.size();
+            if (size < 4 || channel.map(FileChannel.MapMode.READ_ONLY, 0, 4).getInt() != BinaryStatisticsBackend.MAGIC) {
+                throw new IOException("Not a statistics file: " + dataFile.getAbsolutePath());
+            }
+
+            long position = 4L;
+            long windowStart = position;
+            MappedByteBuffer window = null;
+
+            while (position + 4 <= size) {
+                if (window == null || position + 4 > windowStart + window.capacity()) {
+                    windowStart = position;
+                    window = map(channel, windowStart, Math.min(windowSize, size - windowStart));
+                }
+
+                int length = window.getInt((int) (position - windowStart));
+                long rowSize = 4L + length + 8L;
+                if (length < 4 || rowSize > Integer.MAX_VALUE || position + rowSize > size) {
+                    // partial last row, eg of a process killed while writing
+                    break;
+                }
+                if (position + rowSize > windowStart + window.capacity()) {
+                    // the row crosses the end of the window
+                    windowStart = position;
+                    window = map(channel, windowStart, Math.max(rowSize, Math.min(windowSize, size - windowStart)));
+                }
+
+                int start = (int) (position - windowStart);
+                window.position(start + 4);
+                Map<String, Object> row = readRow(window);
+                window.position(start + 4 + length);
+                if (window.getInt() != length || window.getInt() != BinaryStatisticsBackend.ROW_END) {
+                    throw new IOException("Corrupted row at " + position + " in " + dataFile.getAbsolutePath());
+                }
+                consumer.accept(row);
+                position += rowSize;
+            }
+        }
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long position, long size) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+    }
+
+    private Map<String, Object> readRow(ByteBuffer buffer) throws IOException {
+        int schemaId = buffer.getInt();
+        if (schemaId < 0 || schemaId >= schemas.size()) {
+            throw new IOException("Unknown schema " + schemaId + " in " + dataFile.getAbsolutePath());
+        }
+
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (String name : schemas.get(schemaId)) {
+            byte type = buffer.get();
+            switch (type) {
+                case BinaryStatisticsBackend.TYPE_NULL:
+                    row.put(name, null);
+                    break;
+                case BinaryStatisticsBackend.TYPE_LONG:
+                    row.put(name, buffer.getLong());
+                    break;
+                case BinaryStatisticsBackend.TYPE_DOUBLE:
+                    row.put(name, buffer.getDouble());
+                    break;
+                case BinaryStatisticsBackend.TYPE_BOOLEAN:
+                    row.put(name, buffer.get() != 0);
+                    break;
+                case BinaryStatisticsBackend.TYPE_STRING:
+                    byte[] bytes = new byte[buffer.getInt()];
+                    buffer.get(bytes);
+                    row.put(name, new String(bytes, StandardCharsets.UTF_8));
+                    break;
+                default:
+                    throw new IOException("Unknown type " + type + " in " + dataFile.getAbsolutePath());
+            }
+        }
+        return row;
+    }
+
+    /**
+     * Read all the schemas in the given schema file
+     *
+     * @param raf
+     * @return
+     * @throws IOException
+     */
+    protected static List<List<String>> readSchemas(RandomAccessFile raf) throws IOException {
+        List<List<String>> schemas = new ArrayList<>();
+        if (raf.length() == 0L) {
+            return schemas;
+        }
+
+        // the schema file is small, so it is read in one go
+        byte[] content = new byte[(int) raf.length()];
+        raf.seek(0);
+        raf.readFully(content);
+        ByteBuffer buffer = ByteBuffer.wrap(content);
+
+        if (buffer.getInt() != BinaryStatisticsBackend.MAGIC) {
+            throw new IOException("Not a statistics schema file");
+        }
+        try {
+            while (buffer.hasRemaining()) {
+                int size = buffer.getInt();
+                List<String> names = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    byte[] bytes = new byte[buffer.getInt()];
+                    buffer.get(bytes);
+                    names.add(new String(bytes, StandardCharsets.UTF_8));
+                }
+                schemas.add(names);
+            }
+        } catch (BufferUnderflowException e) {
+            // partial last schema, eg of a process killed while writing
+        }
+        return schemas;
+    }
+}
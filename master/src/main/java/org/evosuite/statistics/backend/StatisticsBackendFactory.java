@@ -44,6 +44,8 @@ public class StatisticsBackendFactory {
                 return new HTMLStatisticsBackend();
             case DEBUG:
                 return new DebugStatisticsBackend();
+            case BINARY:
+                return new BinaryStatisticsBackend();
             case NONE:
             default:
                 // If no backend is specified, there is no output
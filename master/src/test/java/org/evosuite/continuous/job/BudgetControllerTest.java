@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.continuous.job;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class BudgetControllerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static List<double[]> progress(double... values) {
+        List<double[]> progress = new ArrayList<>();
+        for (int i = 0; i < values.length; i += 2) {
+            progress.add(new double[]{values[i], values[i + 1]});
+        }
+        return progress;
+    }
+
+    @Test
+    public void testNoPlateauBeforeWindow() {
+        Assert.assertFalse(BudgetController.hasPlateaued(Collections.emptyList(), 60_000, 1.0));
+        Assert.assertFalse(BudgetController.hasPlateaued(progress(0, 10, 30_000, 10), 60_000, 1.0));
+    }
+
+    @Test
+    public void testPlateau() {
+        Assert.assertTrue(BudgetController.hasPlateaued(progress(0, 10, 30_000, 40, 90_000, 40), 60_000, 1.0));
+        Assert.assertFalse(BudgetController.hasPlateaued(progress(0, 10, 30_000, 40, 90_000, 42), 60_000, 1.0));
+    }
+
+    @Test
+    public void testPlateauWithFractionalCoverage() {
+        // 0.5 points per minute, which whole percentage points would round to nothing
+        Assert.assertTrue(BudgetController.hasPlateaued(progress(0, 40.2, 60_000, 40.7), 60_000, 1.0));
+        // 1.5 points per minute, which whole percentage points would round to one
+        Assert.assertFalse(BudgetController.hasPlateaued(progress(0, 40.9, 60_000, 42.4), 60_000, 1.0));
+    }
+
+    @Test
+    public void testReadFractionalCoverage() throws Exception {
+        File progressFile = folder.newFile("fractional.txt");
+        Files.write(progressFile.toPath(), Arrays.asList("0 12.5", "1000 37.25"), StandardCharsets.UTF_8);
+
+        List<double[]> read = CoverageProgressReporter.readProgress(progressFile);
+        Assert.assertEquals(2, read.size());
+        Assert.assertEquals(1000, read.get(1)[0], 0.0);
+        Assert.assertEquals(37.25, read.get(1)[1], 0.0);
+    }
+
+    @Test
+    public void testFullCoverage() {
+        Assert.assertTrue(BudgetController.hasPlateaued(progress(1_000, 100), 60_000, 1.0));
+    }
+
+    @Test
+    public void testInterleavedClients() {
+        // a second client with lower coverage should not hide the progress of the first
+        Assert.assertFalse(BudgetController.hasPlateaued(
+                progress(0, 10, 1_000, 5, 60_000, 30, 61_000, 5), 60_000, 1.0));
+    }
+
+    @Test
+    public void testStopRequest() throws Exception {
+        File progressFile = folder.newFile("progress.txt");
+        Files.write(progressFile.toPath(), Arrays.asList("0 20", "70000 20"), StandardCharsets.UTF_8);
+        // last line is not terminated, as it is still being written
+        Files.write(progressFile.toPath(), "7100".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        List<double[]> read = CoverageProgressReporter.readProgress(progressFile);
+        Assert.assertEquals(2, read.size());
+
+        JobDefinition job = new JobDefinition(60, 100, "foo.Bar", 0, null, null);
+        BudgetController controller = new BudgetController(1.0, 60);
+        controller.jobStarted(job, progressFile);
+        Assert.assertFalse(progressFile.exists());
+
+        Files.write(progressFile.toPath(), Arrays.asList("0 20", "70000 20"), StandardCharsets.UTF_8);
+        controller.checkRunningJobs();
+
+        Assert.assertTrue(CoverageProgressReporter.getStopRequestFile(progressFile).exists());
+        Assert.assertTrue(controller.jobFinished(job));
+        Assert.assertFalse(controller.jobFinished(job));
+    }
+}
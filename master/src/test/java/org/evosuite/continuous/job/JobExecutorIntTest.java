@@ -207,4 +207,128 @@ public class JobExecutorIntTest {
 
         storage.clean();
     }
+
+    @Test
+    public void testJobsNeededByOthersGoFirst() throws InterruptedException {
+
+        int cores = 1;
+        int memory = 1000;
+        int minutes = 10000;
+
+        CtgConfiguration conf = new CtgConfiguration(memory, cores, minutes, 1, false, AvailableSchedule.SIMPLE);
+        final JobExecutor exe = new JobExecutor(storage, System.getProperty("java.class.path"), conf);
+
+        JobDefinition simple = new JobDefinition(30, memory, Simple.class.getName(), 0, null, null);
+        JobDefinition trivial = new JobDefinition(30, memory, Trivial.class.getName(), 0, null, null);
+        JobDefinition ust = new JobDefinition(30, memory, UsingSimpleAndTrivial.class.getName(), 0,
+                new HashSet<>(Arrays.asList(Simple.class.getName(), Trivial.class.getName())), null);
+        JobDefinition other = new JobDefinition(30, memory, "Other", 0,
+                new HashSet<>(Arrays.asList(Trivial.class.getName())), null);
+
+        // trivial is needed by two jobs, and so it should go before simple
+        final List<JobDefinition> jobs = Arrays.asList(simple, ust, other, trivial);
+
+        exe.initExecution(jobs);
+
+        Thread t = new Thread() {
+            @Override
+            public void run() {
+                exe.execute(jobs);
+            }
+        };
+        try {
+            t.start();
+
+            JobDefinition first = exe.pollJob();
+            Assert.assertEquals(trivial.cut, first.cut);
+            exe.doneWithJob(first);
+        } finally {
+            t.interrupt();
+        }
+
+        storage.clean();
+    }
+
+    @Test
+    public void testFreeMemoryGoesToLastJob() throws InterruptedException {
+
+        int cores = 2;
+        int memory = 1000;
+        int minutes = 10000;
+
+        CtgConfiguration conf = new CtgConfiguration(memory, cores, minutes, 1, false, AvailableSchedule.SIMPLE);
+        final JobExecutor exe = new JobExecutor(storage, System.getProperty("java.class.path"), conf);
+
+        JobDefinition simple = new JobDefinition(30, conf.getConstantMemoryPerJob(), Simple.class.getName(), 0, null, null);
+
+        final List<JobDefinition> jobs = Arrays.asList(simple);
+
+        exe.initExecution(jobs, cores);
+
+        Thread t = new Thread() {
+            @Override
+            public void run() {
+                exe.execute(jobs);
+            }
+        };
+        try {
+            t.start();
+
+            JobDefinition job = exe.pollJob();
+            Assert.assertEquals(simple.cut, job.cut);
+            Assert.assertEquals(memory, job.memoryInMB);
+            exe.doneWithJob(job);
+        } finally {
+            t.interrupt();
+        }
+
+        storage.clean();
+    }
+
+    @Test
+    public void testJobNotTakenInTimeIsNotCounted() throws InterruptedException {
+
+        int cores = 2;
+        int memory = 1000;
+        int minutes = 10000;
+
+        CtgConfiguration conf = new CtgConfiguration(memory, cores, minutes, 1, false, AvailableSchedule.SIMPLE);
+        final long[] remaining = {200L};
+        final JobExecutor exe = new JobExecutor(storage, System.getProperty("java.class.path"), conf) {
+            @Override
+            protected long getRemainingTimeInMs() {
+                return remaining[0];
+            }
+        };
+
+        JobDefinition simple = new JobDefinition(30, conf.getConstantMemoryPerJob(), Simple.class.getName(), 0, null, null);
+
+        final List<JobDefinition> jobs = Arrays.asList(simple);
+
+        exe.initExecution(jobs, cores);
+
+        //no handler takes the job before the time is over
+        Assert.assertEquals(-1L, exe.execute(jobs));
+
+        remaining[0] = 60_000L;
+        Thread t = new Thread() {
+            @Override
+            public void run() {
+                exe.execute(jobs);
+            }
+        };
+        try {
+            t.start();
+
+            //the memory of the job that was not taken is free again
+            JobDefinition job = exe.pollJob();
+            Assert.assertEquals(simple.cut, job.cut);
+            Assert.assertEquals(memory, job.memoryInMB);
+            exe.doneWithJob(job);
+        } finally {
+            t.interrupt();
+        }
+
+        storage.clean();
+    }
 }
@@ -20,14 +20,57 @@
 package org.evosuite.continuous.persistency;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
+import org.evosuite.Properties;
+import org.evosuite.continuous.persistency.StorageManager.TestsOnDisk;
+import org.evosuite.continuous.project.ProjectStaticData;
+import org.evosuite.xsd.CUT;
 import org.evosuite.xsd.Project;
+import org.junit.After;
 import org.junit.Assert;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.examples.with.different.packagename.continuous.Simple;
 
 public class StorageManagerTest {
 
+    private static final String DEFAULT_CTG_DIR = Properties.CTG_DIR;
+
+    private static final String REPORT_HEADER = "TARGET_CLASS,Length,Total_Time,Size,BranchCoverage\n";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @After
+    public void resetCtgDir() {
+        Properties.CTG_DIR = DEFAULT_CTG_DIR;
+    }
+
+    private static void write(File file, String content) throws IOException {
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Write a generated test suite, with its report, as a CTG job would do
+     */
+    private static void writeGeneratedSuite(StorageManager storage, String cut, String testName) throws IOException {
+        write(new File(storage.getTmpTests(), testName.replace(".", File.separator) + ".java"),
+                "public class " + testName.substring(testName.lastIndexOf('.') + 1) + " {}");
+        write(new File(storage.getTmpReports(), cut + File.separator + "statistics.csv"),
+                REPORT_HEADER + cut + ",10,5000,2,0.5\n");
+    }
+
     @Test
     public void testDefaultProjectInfo() {
 
@@ -56,4 +99,99 @@ public class StorageManagerTest {
 
         Assert.assertEquals(packageName + "." + className, result);
     }
+
+    @Test
+    public void testReportsAreMatchedByLongestPrefix() throws IOException {
+        Properties.CTG_DIR = folder.newFolder("ctg").getAbsolutePath();
+        StorageManager storage = new StorageManager();
+        Assert.assertTrue(storage.createNewTmpFolders());
+
+        writeGeneratedSuite(storage, "org.Foo", "org.Foo_ESTest");
+        writeGeneratedSuite(storage, "org.Foo2", "org.Foo2_ESTest");
+        write(new File(storage.getTmpTests(), "org" + File.separator + "Foo_ESTest_scaffolding.java"), "");
+
+        List<TestsOnDisk> suites = storage.gatherGeneratedTestsOnDisk();
+        Assert.assertEquals(2, suites.size());
+
+        Map<String, String> cutOfTest = new HashMap<>();
+        for (TestsOnDisk suite : suites) {
+            cutOfTest.put(suite.testSuite.getName(), suite.cut);
+        }
+        Assert.assertEquals("org.Foo", cutOfTest.get("Foo_ESTest.java"));
+        Assert.assertEquals("org.Foo2", cutOfTest.get("Foo2_ESTest.java"));
+    }
+
+    @Test
+    public void testMergeAndCommitChanges() throws IOException {
+        Properties.CTG_DIR = folder.newFolder("ctg").getAbsolutePath();
+        StorageManager storage = new StorageManager();
+        String cut = Simple.class.getName();
+
+        ProjectStaticData data = new ProjectStaticData() {
+            {
+                addNewClass(new ClassInfo(Simple.class, 1, true));
+            }
+        };
+
+        Assert.assertTrue(storage.createNewTmpFolders());
+        for (int i = 1; i <= 2; i++) {
+            writeGeneratedSuite(storage, cut, cut + Properties.JUNIT_SUFFIX);
+            for (String log : new String[]{"std_err_CLIENT.log", "std_out_CLIENT.log", "std_err_MASTER.log", "std_out_MASTER.log"}) {
+                write(new File(storage.getTmpLogs(), cut + File.separator + log), "");
+            }
+
+            storage.mergeAndCommitChanges(data, new String[]{cut});
+            Assert.assertEquals(Collections.singleton(cut), storage.getCUTsWithGeneratedTests());
+
+            // the database is replaced as a whole, through a tmp file
+            File projectInfo = new File(Properties.CTG_DIR, Properties.CTG_PROJECT_INFO);
+            Assert.assertTrue(projectInfo.exists());
+            Assert.assertFalse(new File(projectInfo.getAbsolutePath() + ".tmp").exists());
+
+            // the CUT already in the database gets a new generation
+            Project project = StorageManager.getDatabaseProject();
+            Assert.assertEquals(1, project.getCut().size());
+            CUT cutData = project.getCut().get(0);
+            Assert.assertEquals(cut, cutData.getFullNameOfTargetClass());
+            Assert.assertEquals(i, cutData.getGeneration().size());
+            Assert.assertNotNull(cutData.getGeneration().get(i - 1).getSuite());
+        }
+
+        File best = new File(StorageManager.getBestTestFolder(),
+                (cut + Properties.JUNIT_SUFFIX).replace(".", File.separator) + ".java");
+        Assert.assertTrue(best.exists());
+    }
+
+    @Test
+    public void testExistingStatisticsByTargetClass() throws IOException {
+        Properties.CTG_DIR = folder.newFolder("ctg").getAbsolutePath();
+        File statistics = folder.newFile("statistics.csv");
+        write(statistics, "Size,TARGET_CLASS,BranchCoverage\n"
+                + "1,org.Foo2,0.1\n"
+                + "2, org.Foo ,0.2\n"
+                + "3,org.Foo,0.3\n");
+
+        StorageManager storage = new StorageManager();
+        Assert.assertTrue(storage.loadExistingStatistics(statistics));
+        Assert.assertEquals("0.2", storage.getExistingStatistics("org.Foo")[2]);
+        Assert.assertEquals("0.1", storage.getExistingStatistics("org.Foo2")[2]);
+        Assert.assertNull(storage.getExistingStatistics("org.Bar"));
+    }
+
+    @Test
+    public void testExistingStatisticsWithoutTargetClass() throws IOException {
+        Properties.CTG_DIR = folder.newFolder("ctg").getAbsolutePath();
+        File statistics = folder.newFile("statistics.csv");
+        write(statistics, "Size,class,BranchCoverage\n"
+                + "1,org.Foo2,0.1\n"
+                + "2,org.Foo,0.2\n"
+                + "3,org.Foo,0.3\n");
+
+        // rows are matched by any of their values, as before the column was used
+        StorageManager storage = new StorageManager();
+        Assert.assertTrue(storage.loadExistingStatistics(statistics));
+        Assert.assertEquals("0.2", storage.getExistingStatistics("org.Foo")[2]);
+        Assert.assertEquals("0.1", storage.getExistingStatistics("org.Foo2")[2]);
+        Assert.assertNull(storage.getExistingStatistics("org.Bar"));
+    }
 }
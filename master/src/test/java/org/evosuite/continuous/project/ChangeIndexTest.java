@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.continuous.project;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+
+public class ChangeIndexTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static InputStream getBytecode(Class<?> klass) {
+        return klass.getResourceAsStream("/" + klass.getName().replace('.', '/') + ".class");
+    }
+
+    private static ChangeIndex createIndex(String className, Class<?> bytecode) throws IOException {
+        ChangeIndex index = new ChangeIndex();
+        try (InputStream in = getBytecode(bytecode)) {
+            index.addClass(className, in);
+        }
+        return index;
+    }
+
+    @Test
+    public void testNoPreviousIndex() throws IOException {
+        ChangeIndex previous = ChangeIndex.load(new File(folder.getRoot(), "missing.txt"));
+        ChangeIndex current = createIndex("foo.Bar", ChangeIndexTest.class);
+
+        Assert.assertTrue(current.getChangedClasses(previous).contains("foo.Bar"));
+    }
+
+    @Test
+    public void testSameBytecode() throws IOException {
+        ChangeIndex previous = createIndex("foo.Bar", ChangeIndexTest.class);
+        ChangeIndex current = createIndex("foo.Bar", ChangeIndexTest.class);
+
+        Assert.assertEquals(previous.getClassHash("foo.Bar"), current.getClassHash("foo.Bar"));
+        Assert.assertTrue(current.getChangedClasses(previous).isEmpty());
+    }
+
+    @Test
+    public void testModifiedBytecode() throws IOException {
+        ChangeIndex previous = createIndex("foo.Bar", ChangeIndexTest.class);
+        ChangeIndex current = createIndex("foo.Bar", ProjectStaticDataTest.class);
+
+        Set<String> changed = current.getChangedClasses(previous);
+        Assert.assertEquals(1, changed.size());
+        Assert.assertTrue(changed.contains("foo.Bar"));
+        Assert.assertTrue(current.getModifiedMethods("foo.Bar", previous).contains("testIsToTest_NoData()V"));
+    }
+
+    @Test
+    public void testStoreAndLoad() throws IOException {
+        ChangeIndex index = createIndex("foo.Bar", ChangeIndexTest.class);
+        File file = folder.newFile("index.txt");
+        index.store(file);
+
+        ChangeIndex loaded = ChangeIndex.load(file);
+        Assert.assertEquals(index.getClassHash("foo.Bar"), loaded.getClassHash("foo.Bar"));
+        Assert.assertTrue(index.getChangedClasses(loaded).isEmpty());
+        Assert.assertTrue(index.getModifiedMethods("foo.Bar", loaded).isEmpty());
+    }
+
+    @Test
+    public void testRemovedClassIsChangedAgain() throws IOException {
+        ChangeIndex previous = createIndex("foo.Bar", ChangeIndexTest.class);
+        previous.removeClass("foo.Bar");
+        ChangeIndex current = createIndex("foo.Bar", ChangeIndexTest.class);
+
+        Assert.assertTrue(current.getChangedClasses(previous).contains("foo.Bar"));
+    }
+}
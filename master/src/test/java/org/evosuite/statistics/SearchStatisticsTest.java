@@ -19,13 +19,62 @@
  */
 package org.evosuite.statistics;
 
+import org.evosuite.Properties;
+import org.evosuite.statistics.backend.DebugStatisticsBackend;
+import org.evosuite.testsuite.TestSuiteChromosome;
+import org.evosuite.testsuite.TestSuiteFitnessFunction;
+import org.junit.After;
+import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Map;
+
 public class SearchStatisticsTest {
 
+    private static final String CLIENT_ID = "SearchStatisticsTest";
+
+    private static final Properties.StatisticsBackend DEFAULT_BACKEND = Properties.STATISTICS_BACKEND;
+    private static final String DEFAULT_OUTPUT_VARIABLES = Properties.OUTPUT_VARIABLES;
+
+    private static class DummyFitness extends TestSuiteFitnessFunction {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public double getFitness(TestSuiteChromosome individual) {
+            return 0;
+        }
+    }
+
+    @After
+    public void reset() {
+        Properties.STATISTICS_BACKEND = DEFAULT_BACKEND;
+        Properties.OUTPUT_VARIABLES = DEFAULT_OUTPUT_VARIABLES;
+        SearchStatistics.clearInstance(CLIENT_ID);
+    }
+
     @Test
     public void test_setOutputVariable() {
         SearchStatistics statistics = SearchStatistics.getInstance();
         statistics.setOutputVariable(RuntimeVariable.DiversityTimeline, 0.42);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testWriteStatisticsWithoutFinalIndividual() {
+        Properties.STATISTICS_BACKEND = Properties.StatisticsBackend.DEBUG;
+        Properties.OUTPUT_VARIABLES = RuntimeVariable.Coverage + "," + RuntimeVariable.Size;
+
+        SearchStatistics statistics = SearchStatistics.getInstance(CLIENT_ID);
+        // nothing received yet
+        Assert.assertFalse(statistics.writeStatistics());
+
+        // eg, the client was stopped during the search, so only events were received
+        TestSuiteChromosome suite = new TestSuiteChromosome();
+        suite.setCoverage(new DummyFitness(), 0.75);
+        statistics.currentStatistics(new StatisticsEvent(suite));
+
+        Assert.assertTrue(statistics.writeStatistics());
+        Map<String, OutputVariable<?>> written = DebugStatisticsBackend.getLatestWritten();
+        Assert.assertEquals(0.75, (Double) written.get(RuntimeVariable.Coverage.name()).getValue(), 0.0);
+        Assert.assertEquals(0, written.get(RuntimeVariable.Size.name()).getValue());
+    }
+}
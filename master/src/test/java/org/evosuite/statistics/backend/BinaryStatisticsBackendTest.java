@@ -0,0 +1,183 @@
+/**
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ * <p>
+ * This file is part of EvoSuite.
+ * <p>
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.statistics.backend;
+
+import org.evosuite.Properties;
+import org.evosuite.statistics.OutputVariable;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class BinaryStatisticsBackendTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private String reportDir;
+
+    @Before
+    public void setReportDir() {
+        reportDir = Properties.REPORT_DIR;
+        Properties.REPORT_DIR = folder.getRoot().getAbsolutePath();
+    }
+
+    @After
+    public void resetReportDir() {
+        Properties.REPORT_DIR = reportDir;
+    }
+
+    private static Map<String, OutputVariable<?>> row(Object... namesAndValues) {
+        Map<String, OutputVariable<?>> data = new LinkedHashMap<>();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            String name = (String) namesAndValues[i];
+            data.put(name, new OutputVariable<>(name, namesAndValues[i + 1]));
+        }
+        return data;
+    }
+
+    private static List<Map<String, Object>> readRows(BinaryStatisticsReader reader) throws IOException {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        reader.forEachRow(rows::add);
+        return rows;
+    }
+
+    @Test
+    public void testWriteAndRead() throws IOException {
+        BinaryStatisticsBackend backend = new BinaryStatisticsBackend();
+        backend.writeData(null, row("TARGET_CLASS", "foo.Bar", "Coverage", 0.5, "Size", 3, "Timeout", false));
+        backend.writeData(null, row("TARGET_CLASS", "foo.Foo", "Coverage", 1.0, "Size", 7, "Timeout", true));
+        backend.writeData(null, row("TARGET_CLASS", "foo.Baz", "Coverage", null));
+
+        BinaryStatisticsReader reader = new BinaryStatisticsReader(folder.getRoot());
+        Assert.assertEquals(2, reader.getSchemas().size());
+
+        List<Map<String, Object>> rows = readRows(reader);
+        Assert.assertEquals(3, rows.size());
+
+        Assert.assertEquals("foo.Bar", rows.get(0).get("TARGET_CLASS"));
+        Assert.assertEquals(0.5, (Double) rows.get(0).get("Coverage"), 0.0);
+        Assert.assertEquals(3L, rows.get(0).get("Size"));
+        Assert.assertEquals(false, rows.get(0).get("Timeout"));
+
+        Assert.assertEquals("foo.Foo", rows.get(1).get("TARGET_CLASS"));
+        Assert.assertEquals(7L, rows.get(1).get("Size"));
+        Assert.assertEquals(true, rows.get(1).get("Timeout"));
+
+        Assert.assertEquals(2, rows.get(2).size());
+        Assert.assertTrue(rows.get(2).containsKey("Coverage"));
+        Assert.assertNull(rows.get(2).get("Coverage"));
+    }
+
+    @Test
+    public void testLongString() throws IOException {
+        StringBuilder bitString = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            bitString.append(i % 3 == 0 ? '1' : '0');
+        }
+        new BinaryStatisticsBackend().writeData(null, row("BranchCoverageBitString", bitString.toString()));
+
+        List<Map<String, Object>> rows = readRows(new BinaryStatisticsReader(folder.getRoot()));
+        Assert.assertEquals(1, rows.size());
+        Assert.assertEquals(bitString.toString(), rows.get(0).get("BranchCoverageBitString"));
+    }
+
+    /**
+     * Simulate a process killed while writing, by cutting the end of the given file
+     */
+    private static void cut(File file, int bytes) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - bytes);
+        }
+    }
+
+    @Test
+    public void testPartialRow() throws IOException {
+        File dataFile = new File(folder.getRoot(), BinaryStatisticsBackend.DATA_FILE_NAME);
+        BinaryStatisticsBackend backend = new BinaryStatisticsBackend();
+        backend.writeData(null, row("TARGET_CLASS", "foo.Bar", "Size", 3));
+        backend.writeData(null, row("TARGET_CLASS", "foo.Foo", "Size", 7));
+        cut(dataFile, 5);
+
+        // the partial row is not read
+        List<Map<String, Object>> rows = readRows(new BinaryStatisticsReader(folder.getRoot()));
+        Assert.assertEquals(1, rows.size());
+        Assert.assertEquals("foo.Bar", rows.get(0).get("TARGET_CLASS"));
+
+        // and is removed by the next writer
+        backend.writeData(null, row("TARGET_CLASS", "foo.Baz", "Size", 11));
+        rows = readRows(new BinaryStatisticsReader(folder.getRoot()));
+        Assert.assertEquals(2, rows.size());
+        Assert.assertEquals("foo.Bar", rows.get(0).get("TARGET_CLASS"));
+        Assert.assertEquals("foo.Baz", rows.get(1).get("TARGET_CLASS"));
+        Assert.assertEquals(11L, rows.get(1).get("Size"));
+    }
+
+    @Test
+    public void testPartialSchema() throws IOException {
+        File schemaFile = new File(folder.getRoot(), BinaryStatisticsBackend.SCHEMA_FILE_NAME);
+        BinaryStatisticsBackend backend = new BinaryStatisticsBackend();
+        backend.writeData(null, row("TARGET_CLASS", "foo.Bar"));
+        backend.writeData(null, row("TARGET_CLASS", "foo.Foo", "Size", 7));
+        cut(schemaFile, 2);
+        cut(new File(folder.getRoot(), BinaryStatisticsBackend.DATA_FILE_NAME), 1);
+
+        Assert.assertEquals(1, new BinaryStatisticsReader(folder.getRoot()).getSchemas().size());
+
+        backend.writeData(null, row("TARGET_CLASS", "foo.Baz", "Coverage", 0.5));
+        BinaryStatisticsReader reader = new BinaryStatisticsReader(folder.getRoot());
+        Assert.assertEquals(2, reader.getSchemas().size());
+        List<Map<String, Object>> rows = readRows(reader);
+        Assert.assertEquals(2, rows.size());
+        Assert.assertEquals("foo.Bar", rows.get(0).get("TARGET_CLASS"));
+        Assert.assertEquals(0.5, (Double) rows.get(1).get("Coverage"), 0.0);
+    }
+
+    @Test
+    public void testRowsAcrossWindows() throws IOException {
+        StringBuilder longString = new StringBuilder();
+        for (int i = 0; i < 1_000; i++) {
+            longString.append('x');
+        }
+
+        BinaryStatisticsBackend backend = new BinaryStatisticsBackend();
+        for (int i = 0; i < 20; i++) {
+            backend.writeData(null, row("TARGET_CLASS", i == 10 ? longString.toString() : "foo.Bar" + i, "Size", i));
+        }
+
+        // much smaller than the rows, and than the long one in particular
+        List<Map<String, Object>> rows = readRows(new BinaryStatisticsReader(folder.getRoot(), 48));
+        Assert.assertEquals(20, rows.size());
+        for (int i = 0; i < 20; i++) {
+            Assert.assertEquals(i == 10 ? longString.toString() : "foo.Bar" + i, rows.get(i).get("TARGET_CLASS"));
+            Assert.assertEquals((long) i, rows.get(i).get("Size"));
+        }
+    }
+}
@@ -78,6 +78,13 @@ public class ClassResetter {
         this.loader = loader;
     }
 
+    /**
+     * @return the loader of the classes to reset, null if not set yet
+     */
+    public ClassLoader getClassLoader() {
+        return loader;
+    }
+
 
     /**
      * Only log once for a class